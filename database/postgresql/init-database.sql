@@ -269,16 +269,18 @@ $$ LANGUAGE plpgsql;
 
 -- Table principale d'audit
 CREATE TABLE audit.audit_log (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
     table_name VARCHAR(100) NOT NULL,
     operation VARCHAR(10) NOT NULL,
     old_values JSONB,
     new_values JSONB,
     user_id VARCHAR(50),
-    timestamp TIMESTAMP DEFAULT NOW(),
+    timestamp TIMESTAMP NOT NULL DEFAULT NOW(),
     ip_address INET,
-    user_agent TEXT
-);
+    user_agent TEXT,
+
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
 
 -- Index pour performance
 CREATE INDEX idx_audit_log_table_name ON audit.audit_log(table_name);
@@ -286,7 +288,7 @@ CREATE INDEX idx_audit_log_timestamp ON audit.audit_log(timestamp);
 CREATE INDEX idx_audit_log_user_id ON audit.audit_log(user_id);
 CREATE INDEX idx_audit_log_operation ON audit.audit_log(operation);
 
--- Partitioning par mois pour l'audit
+-- Partitioning par mois pour l'audit (mois suivants créés par le gestionnaire de partitions du wallet-service)
 CREATE TABLE audit.audit_log_y2024m01 PARTITION OF audit.audit_log
     FOR VALUES FROM ('2024-01-01') TO ('2024-02-01');
 
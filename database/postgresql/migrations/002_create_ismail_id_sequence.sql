@@ -0,0 +1,18 @@
+-- Migration 002: Séquence de réservation des identifiants ISMAIL
+-- Chaque valeur réserve un bloc de compteurs consommé en mémoire par une
+-- instance du service d'authentification (voir IsmailIdGenerator).
+
+CREATE SEQUENCE IF NOT EXISTS core.ismail_id_block_seq
+    AS BIGINT
+    START WITH 1
+    INCREMENT BY 1
+    NO CYCLE;
+
+COMMENT ON SEQUENCE core.ismail_id_block_seq IS 'Numéros de blocs de compteurs pour la génération des ISMAIL ID (format: CCYYMMDD-XXXX-UL)';
+
+-- Premier bloc réservé chaque jour : au-delà de 36^4 compteurs réservés dans
+-- la journée, les codes XXXX se répéteraient et la réservation est refusée.
+CREATE TABLE IF NOT EXISTS core.ismail_id_block_days (
+    day DATE PRIMARY KEY,
+    first_block BIGINT NOT NULL
+);
@@ -0,0 +1,29 @@
+-- Migration 003: File persistante des vérifications biométriques KYC
+-- Les travaux sont réclamés par les instances du service d'authentification
+-- avec un bail ; un bail expiré (instance arrêtée) rend le travail à la file.
+
+CREATE TABLE core.kyc_biometric_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES core.users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    payload BYTEA, -- Données soumises, effacées une fois le travail terminé
+    attempts INTEGER NOT NULL DEFAULT 0,
+    verified BOOLEAN,
+    score DECIMAL(5,4) CHECK (score >= 0 AND score <= 1),
+    error_message VARCHAR(500),
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Travaux en attente ou en cours, dans l'ordre de soumission
+CREATE INDEX idx_biometric_jobs_pending ON core.kyc_biometric_jobs(created_at)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE INDEX idx_biometric_jobs_user ON core.kyc_biometric_jobs(user_id, created_at DESC);
+
+-- Un seul travail actif par utilisateur
+CREATE UNIQUE INDEX idx_biometric_jobs_active_user ON core.kyc_biometric_jobs(user_id)
+    WHERE status IN ('QUEUED', 'RUNNING');
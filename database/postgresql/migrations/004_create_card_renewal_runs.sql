@@ -0,0 +1,28 @@
+-- Migration 004: Renouvellement par lots des cartes professionnelles
+-- Chaque exécution conserve un point de reprise (curseur de pagination par
+-- clé sur expires_at, id) mis à jour dans la même transaction que les cartes
+-- renouvelées ; une exécution interrompue reprend là où elle s'était arrêtée.
+
+CREATE TABLE core.card_renewal_runs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING' CHECK (status IN ('RUNNING', 'INTERRUPTED', 'COMPLETED')),
+    window_end TIMESTAMP NOT NULL, -- Cartes expirant avant cette date
+    cursor_expires_at TIMESTAMP,
+    cursor_card_id UUID,
+    renewed_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0,
+    error_message VARCHAR(500),
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    completed_at TIMESTAMP
+);
+
+-- Une seule exécution non terminée à la fois
+CREATE UNIQUE INDEX idx_card_renewal_runs_unfinished ON core.card_renewal_runs((true))
+    WHERE status IN ('RUNNING', 'INTERRUPTED');
+
+-- Parcours des cartes actives par date d'expiration puis identifiant
+CREATE INDEX idx_cards_active_expiry ON core.professional_cards(expires_at, id)
+    WHERE status = 'ACTIVE';
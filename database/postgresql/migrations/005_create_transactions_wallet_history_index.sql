@@ -0,0 +1,9 @@
+-- Migration 005: Historique des transactions par portefeuille
+-- Index composite parcouru par la pagination par clé (created_at, id)
+-- décroissante ; il remplace idx_transactions_wallet_id dont il couvre
+-- les recherches par portefeuille. Créé sur la table partitionnée, il est
+-- propagé à chaque partition mensuelle.
+
+CREATE INDEX idx_transactions_wallet_created ON core.transactions(wallet_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS core.idx_transactions_wallet_id;
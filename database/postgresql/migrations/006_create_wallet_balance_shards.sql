@@ -0,0 +1,21 @@
+-- Migration 006: Soldes fractionnés des portefeuilles à fort trafic
+-- Un portefeuille dont balance_shards > 0 reçoit ses crédits sur l'une de
+-- ses N lignes de sous-solde (choisie par hachage) plutôt que sur la ligne
+-- core.wallets : les crédits concurrents ne se sérialisent plus sur un même
+-- verrou de ligne. Son solde est wallets.balance + SUM(sous-soldes) ; un
+-- consolidateur reverse périodiquement les sous-soldes dans wallets.balance.
+
+ALTER TABLE core.wallets
+    ADD COLUMN balance_shards SMALLINT NOT NULL DEFAULT 0 CHECK (balance_shards BETWEEN 0 AND 64);
+
+CREATE TABLE core.wallet_balance_shards (
+    wallet_id UUID NOT NULL REFERENCES core.wallets(id) ON DELETE CASCADE,
+    shard SMALLINT NOT NULL CHECK (shard >= 0),
+    balance DECIMAL(15,2) NOT NULL DEFAULT 0.00 CHECK (balance >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    PRIMARY KEY (wallet_id, shard)
+) WITH (fillfactor = 70); -- Place libre pour des mises à jour HOT sans maintenance d'index
+
+-- Portefeuilles parcourus par le consolidateur
+CREATE INDEX idx_wallets_sharded ON core.wallets(id) WHERE balance_shards > 0;
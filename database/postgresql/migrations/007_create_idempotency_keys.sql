@@ -0,0 +1,21 @@
+-- Migration 007: Clés d'idempotence des opérations du portefeuille
+-- Table de repli du magasin d'idempotence (Redis en temps normal) : elle
+-- n'est écrite que lorsque Redis est injoignable, et consultée à chaque
+-- nouvelle réservation Redis pour reprendre l'état d'une clé traitée
+-- pendant l'indisponibilité. Chaque clé, propre à un utilisateur,
+-- conserve l'empreinte de la requête et la réponse renvoyée jusqu'à son
+-- expiration.
+
+CREATE TABLE core.idempotency_keys (
+    scope_key VARCHAR(300) PRIMARY KEY, -- Utilisateur + en-tête Idempotency-Key
+    fingerprint CHAR(64) NOT NULL, -- SHA-256 de la méthode, du chemin et du corps
+    state VARCHAR(20) NOT NULL CHECK (state IN ('PENDING', 'COMPLETED')),
+    response_status SMALLINT,
+    content_type VARCHAR(100),
+    response_body BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Purge des clés expirées
+CREATE INDEX idx_idempotency_keys_expires_at ON core.idempotency_keys(expires_at);
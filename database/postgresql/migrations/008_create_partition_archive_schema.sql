@@ -0,0 +1,10 @@
+-- Migration 008: Schéma d'archive des partitions mensuelles
+-- Les partitions de core.transactions et audit.audit_log sorties de la
+-- durée de rétention y sont déplacées après détachement par le
+-- gestionnaire de partitions du wallet-service, qui crée aussi les
+-- partitions des mois à venir. Les tables archivées ne sont plus lues par
+-- l'application : elles restent disponibles pour l'export puis la purge.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+COMMENT ON SCHEMA archive IS 'Partitions mensuelles détachées (transactions, audit)';
@@ -0,0 +1,40 @@
+-- Migration 009: Agrégats de statistiques par portefeuille
+-- Cumuls journaliers et mensuels des transactions validées, tenus à jour
+-- dans la transaction de chaque lot du registre : les statistiques d'un
+-- portefeuille se lisent sur quelques lignes au lieu d'agréger toutes les
+-- partitions de core.transactions. Les mois clos sont recalculés une fois
+-- depuis leur partition (historique antérieur, rattrapage).
+
+CREATE TABLE core.wallet_stats_daily (
+    wallet_id UUID NOT NULL,
+    day DATE NOT NULL,
+    credit_count INTEGER NOT NULL DEFAULT 0,
+    credit_total DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    debit_count INTEGER NOT NULL DEFAULT 0,
+    debit_total DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    fees_total DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    PRIMARY KEY (wallet_id, day)
+) WITH (fillfactor = 80); -- Mises à jour HOT des lignes du jour
+
+CREATE TABLE core.wallet_stats_monthly (
+    wallet_id UUID NOT NULL,
+    month DATE NOT NULL, -- Premier jour du mois
+    credit_count INTEGER NOT NULL DEFAULT 0,
+    credit_total DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    debit_count INTEGER NOT NULL DEFAULT 0,
+    debit_total DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    fees_total DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    PRIMARY KEY (wallet_id, month)
+) WITH (fillfactor = 80);
+
+-- Partitions mensuelles de core.transactions déjà recalculées
+CREATE TABLE core.wallet_stats_backfill (
+    partition_name VARCHAR(63) PRIMARY KEY,
+    month DATE NOT NULL,
+    transactions BIGINT NOT NULL,
+    completed_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,28 @@
+-- Migration 010: Boîte d'envoi transactionnelle des événements de domaine
+-- Un service enregistre ses événements (inscription, transaction validée...)
+-- dans la transaction du changement métier ; son relais les lit ensuite
+-- par lots (FOR UPDATE SKIP LOCKED) et les transmet aux autres services.
+-- Livraison au moins une fois : le destinataire dédoublonne sur
+-- l'identifiant de l'événement.
+
+CREATE TABLE core.outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(30) NOT NULL, -- Service émetteur : auth, wallet
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id VARCHAR(100),
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'DELIVERED', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    delivered_at TIMESTAMP
+);
+
+-- File de chaque relais : seuls les événements à livrer sont indexés
+CREATE INDEX idx_outbox_events_pending ON core.outbox_events(source, next_attempt_at, id)
+    WHERE status = 'PENDING';
+
+-- Purge des événements livrés
+CREATE INDEX idx_outbox_events_delivered ON core.outbox_events(delivered_at)
+    WHERE status = 'DELIVERED';
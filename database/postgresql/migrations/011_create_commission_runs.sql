@@ -0,0 +1,105 @@
+-- Migration 011: Calcul des commissions de fin de période
+-- Rattachement des partenaires à leur commercial et hiérarchie des
+-- commerciaux, chargés une fois en mémoire par le calcul. Une exécution
+-- par période et devise ; le chiffre d'affaires de chaque partenaire est
+-- agrégé par tranche journalière de core.transactions, et chaque tranche
+-- terminée est enregistrée : une exécution interrompue reprend aux
+-- tranches manquantes.
+
+CREATE TABLE core.partner_assignments (
+    partner_id UUID PRIMARY KEY REFERENCES core.users(id),
+    commercial_id UUID NOT NULL REFERENCES core.users(id),
+    assigned_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_partner_assignments_commercial_id ON core.partner_assignments(commercial_id);
+
+CREATE TABLE core.commercial_hierarchy (
+    commercial_id UUID PRIMARY KEY REFERENCES core.users(id),
+    manager_id UUID REFERENCES core.users(id), -- Responsable d'équipe, NULL au sommet
+    level VARCHAR(10) NOT NULL DEFAULT 'JUNIOR' CHECK (level IN ('JUNIOR', 'SENIOR')),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT check_commercial_manager CHECK (manager_id <> commercial_id)
+);
+
+CREATE TABLE core.commission_runs (
+    id BIGSERIAL PRIMARY KEY,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING' CHECK (status IN ('RUNNING', 'COMPLETED')),
+    commissions INTEGER,
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    completed_at TIMESTAMP,
+
+    CONSTRAINT unique_commission_run_period UNIQUE (period_start, period_end, currency)
+);
+
+-- Tranches journalières terminées d'une exécution
+CREATE TABLE core.commission_run_shards (
+    run_id BIGINT NOT NULL REFERENCES core.commission_runs(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    transactions BIGINT NOT NULL,
+    completed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    PRIMARY KEY (run_id, day)
+);
+
+-- Chiffre d'affaires de chaque partenaire par tranche, en unités mineures de la devise
+CREATE TABLE core.commission_run_totals (
+    run_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    partner_id UUID NOT NULL,
+    base_amount BIGINT NOT NULL,
+
+    PRIMARY KEY (run_id, day, partner_id),
+    FOREIGN KEY (run_id, day) REFERENCES core.commission_run_shards(run_id, day) ON DELETE CASCADE
+);
+
+-- Nombre de décimales de chaque devise ISO 4217, écrit au démarrage du
+-- wallet-service depuis Money.scaleOf (java.util.Currency), seule source
+-- de ces valeurs
+CREATE TABLE core.currency_scales (
+    code VARCHAR(3) PRIMARY KEY,
+    scale SMALLINT NOT NULL CHECK (scale >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Décimales d'une devise, NULL si elle n'est pas enregistrée
+CREATE OR REPLACE FUNCTION core.currency_scale(currency_code VARCHAR) RETURNS INTEGER
+LANGUAGE SQL STABLE AS $$
+    SELECT scale FROM core.currency_scales WHERE code = currency_code
+$$;
+
+-- Le montant est arrondi aux décimales de sa devise (unité pour le XOF) :
+-- le produit exact d'une base et d'un taux à quatre décimales en compte
+-- jusqu'à six. Le contrôle lit core.currency_scales : c'est un déclencheur,
+-- une contrainte CHECK ne devant dépendre que de la ligne contrôlée.
+ALTER TABLE core.commissions DROP CONSTRAINT check_commission_amount;
+
+CREATE OR REPLACE FUNCTION core.check_commission_amount()
+RETURNS TRIGGER AS $$
+DECLARE
+    amount_scale INTEGER := core.currency_scale(NEW.currency);
+BEGIN
+    IF amount_scale IS NULL THEN
+        RAISE EXCEPTION 'Décimales de la devise % inconnues', NEW.currency
+            USING ERRCODE = 'check_violation';
+    END IF;
+    IF NEW.commission_amount <> ROUND(NEW.base_amount * NEW.commission_rate, amount_scale) THEN
+        RAISE EXCEPTION 'Commission % différente de la base × taux arrondie à % décimales',
+            NEW.commission_amount, amount_scale
+            USING ERRCODE = 'check_violation';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER commissions_amount_check_trigger
+    BEFORE INSERT OR UPDATE OF base_amount, commission_rate, commission_amount, currency ON core.commissions
+    FOR EACH ROW
+    EXECUTE FUNCTION core.check_commission_amount();
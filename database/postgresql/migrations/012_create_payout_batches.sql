@@ -0,0 +1,56 @@
+-- Migration 012: Versements groupés (commissions, campagnes de cashback)
+-- Un lot reçoit ses lignes (portefeuille, montant, référence) en une
+-- fois, puis est appliqué de façon asynchrone par tranches triées par
+-- portefeuille. Le résultat de chaque ligne est conservé pour être
+-- consulté ; la référence d'une ligne devient celle de sa transaction,
+-- dont l'unicité est garantie par core.transaction_references (013).
+
+CREATE TABLE core.payout_batches (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    source VARCHAR(20) NOT NULL CHECK (source IN ('UPLOAD', 'COMMISSIONS')),
+    transaction_type VARCHAR(20) NOT NULL CHECK (transaction_type IN ('CREDIT', 'COMMISSION', 'CASHBACK', 'REFUND')),
+    currency VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RECEIVING' CHECK (status IN ('RECEIVING', 'PENDING', 'COMPLETED')),
+    total_items INTEGER NOT NULL DEFAULT 0,
+    applied_items INTEGER NOT NULL DEFAULT 0,
+    duplicate_items INTEGER NOT NULL DEFAULT 0,
+    rejected_items INTEGER NOT NULL DEFAULT 0,
+    created_by UUID,
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Lots à appliquer
+CREATE INDEX idx_payout_batches_pending ON core.payout_batches(created_at) WHERE status = 'PENDING';
+
+CREATE TABLE core.payout_items (
+    batch_id UUID NOT NULL REFERENCES core.payout_batches(id) ON DELETE CASCADE,
+    line_number INTEGER NOT NULL,
+    wallet_id UUID,
+    amount DECIMAL(15,2),
+    reference VARCHAR(100),
+    description TEXT,
+    commission_id UUID, -- Commission soldée par la ligne (lot COMMISSIONS)
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'APPLIED', 'DUPLICATE', 'REJECTED')),
+    transaction_id UUID,
+    error VARCHAR(500),
+    processed_at TIMESTAMP,
+
+    PRIMARY KEY (batch_id, line_number)
+);
+
+-- Parcours des lignes à appliquer par portefeuille croissant
+CREATE INDEX idx_payout_items_pending ON core.payout_items(batch_id, wallet_id, line_number)
+    WHERE status = 'PENDING';
+
+-- Une référence n'est retenue qu'une fois par lot
+CREATE UNIQUE INDEX idx_payout_items_reference ON core.payout_items(batch_id, reference)
+    WHERE status <> 'DUPLICATE';
+
+-- Commissions déjà retenues par un lot
+CREATE INDEX idx_payout_items_commission ON core.payout_items(commission_id)
+    WHERE commission_id IS NOT NULL AND status IN ('PENDING', 'APPLIED');
@@ -0,0 +1,24 @@
+-- Migration 013: Références uniques des transactions
+-- core.transactions est partitionnée par mois : sa contrainte UNIQUE sur
+-- reference ne peut pas porter sur toutes les partitions. Le registre
+-- inscrit donc la référence de chaque écriture dans cette table non
+-- partitionnée, dans la même transaction : une référence déjà prise fait
+-- échouer l'écriture. Les lignes survivent à l'archivage des partitions,
+-- si bien qu'une référence n'est jamais réutilisée.
+
+CREATE TABLE core.transaction_references (
+    reference VARCHAR(100) PRIMARY KEY,
+    transaction_id UUID NOT NULL,
+    payment_method VARCHAR(50),
+    payment_reference VARCHAR(100),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Références déjà écrites ; la plus ancienne transaction garde la référence
+INSERT INTO core.transaction_references (reference, transaction_id, payment_method, payment_reference, created_at)
+SELECT DISTINCT ON (reference) reference, id, payment_method, payment_reference, created_at
+FROM core.transactions
+WHERE reference IS NOT NULL
+ORDER BY reference, created_at, id;
+
+COMMENT ON TABLE core.transaction_references IS 'Référence unique de chaque transaction du registre';
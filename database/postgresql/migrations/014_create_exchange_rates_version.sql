@@ -0,0 +1,29 @@
+-- Migration 014: Version des taux de change
+-- Le service portefeuille recharge son instantané des taux quand cette
+-- version change (ExchangeRateService). Elle est incrémentée par un
+-- déclencheur à chaque instruction modifiant core.exchange_rates : la
+-- vérification périodique ne lit qu'une ligne au lieu de hacher la table.
+-- Les écritures de taux, rares, se sérialisent sur cette ligne.
+
+CREATE TABLE core.exchange_rates_version (
+    singleton BOOLEAN PRIMARY KEY DEFAULT true CHECK (singleton),
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO core.exchange_rates_version (singleton) VALUES (true);
+
+CREATE OR REPLACE FUNCTION core.bump_exchange_rates_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE core.exchange_rates_version SET version = version + 1, updated_at = NOW();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER exchange_rates_version_trigger
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON core.exchange_rates
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION core.bump_exchange_rates_version();
+
+COMMENT ON TABLE core.exchange_rates_version IS 'Version de core.exchange_rates, incrémentée à chaque modification';
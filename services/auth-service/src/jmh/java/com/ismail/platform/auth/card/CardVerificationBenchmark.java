@@ -0,0 +1,92 @@
+package com.ismail.platform.auth.card;
+
+import com.ismail.platform.auth.dto.response.CardVerificationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de vérification des QR codes de cartes professionnelles
+ *
+ * {@code signature} mesure la vérification Ed25519 seule (premier scan
+ * d'une carte) ; {@code cachedScan} et {@code cachedScanContended} mesurent
+ * {@link CardVerificationService#verify} sur un jeu de cartes tenant dans
+ * le cache, cas des scans répétés aux entrées d'un événement.
+ *
+ * Lancement : {@code mvn -Pbenchmarks test-compile exec:exec} ; le profileur
+ * {@code gc} rapporte les octets alloués par opération
+ * ({@code gc.alloc.rate.norm}).
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardVerificationBenchmark {
+
+    private static final int CARD_COUNT = 10_000;
+
+    private final String[] payloads = new String[CARD_COUNT];
+    private CardQrCodec codec;
+    private CardVerificationService service;
+
+    @Setup
+    public void setUp() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        codec = new CardQrCodec(1, "", "", new String[0], environment);
+        CardRevocationRegistry revocationRegistry = new CardRevocationRegistry(
+                null, null, new RedisMessageListenerContainer(), new SimpleMeterRegistry());
+        service = new CardVerificationService(codec, revocationRegistry, new SimpleMeterRegistry(),
+                CARD_COUNT * 2L, Duration.ofMinutes(10), Clock.systemDefaultZone());
+
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(365));
+        for (int i = 0; i < CARD_COUNT; i++) {
+            payloads[i] = codec.encode(new CardClaims(String.format("IC26030%05d", i), UUID.randomUUID(), expiresAt));
+            service.verify(payloads[i]);
+        }
+    }
+
+    @Benchmark
+    public Optional<CardClaims> signature() {
+        return codec.decode(nextPayload());
+    }
+
+    @Benchmark
+    public CardVerificationResponse cachedScan() {
+        return service.verify(nextPayload());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public CardVerificationResponse cachedScanContended() {
+        return service.verify(nextPayload());
+    }
+
+    private String nextPayload() {
+        return payloads[ThreadLocalRandom.current().nextInt(CARD_COUNT)];
+    }
+}
@@ -0,0 +1,212 @@
+package com.ismail.platform.auth.cache;
+
+import com.ismail.platform.auth.domain.entity.UserSession;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Vue immuable et compacte d'une session utilisateur pour le cache
+ *
+ * Ne contient aucun token : seules les informations nécessaires à la
+ * validation et à l'affichage des sessions sont conservées. Sérialisée
+ * dans un format binaire à longueurs préfixées pour Redis.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class CachedSession {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private final UUID id;
+    private final UUID userId;
+    private final boolean active;
+    private final long expiresAtMillis;
+    private final long lastActivityAtMillis;
+    private final long createdAtMillis;
+    private final String deviceType;
+    private final String deviceName;
+    private final String ipAddress;
+
+    public CachedSession(UUID id, UUID userId, boolean active, long expiresAtMillis,
+                         long lastActivityAtMillis, long createdAtMillis,
+                         String deviceType, String deviceName, String ipAddress) {
+        this.id = id;
+        this.userId = userId;
+        this.active = active;
+        this.expiresAtMillis = expiresAtMillis;
+        this.lastActivityAtMillis = lastActivityAtMillis;
+        this.createdAtMillis = createdAtMillis;
+        this.deviceType = deviceType;
+        this.deviceName = deviceName;
+        this.ipAddress = ipAddress;
+    }
+
+    public static CachedSession from(UserSession session) {
+        return new CachedSession(
+                session.getId(),
+                session.getUser().getId(),
+                Boolean.TRUE.equals(session.getIsActive()),
+                toMillis(session.getExpiresAt()),
+                toMillis(session.getLastActivityAt()),
+                toMillis(session.getCreatedAt()),
+                session.getDeviceType(),
+                session.getDeviceName(),
+                session.getIpAddress());
+    }
+
+    // Méthodes utilitaires
+    public boolean isValid(long nowMillis) {
+        return active && expiresAtMillis > nowMillis;
+    }
+
+    public long getMillisUntilExpiration(long nowMillis) {
+        return expiresAtMillis - nowMillis;
+    }
+
+    // =====================================================
+    // SÉRIALISATION
+    // =====================================================
+
+    public byte[] toBytes() {
+        byte[] type = utf8(deviceType);
+        byte[] name = utf8(deviceName);
+        byte[] ip = utf8(ipAddress);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 16 + 16 + 1 + 8 * 3 + 4 * 3 + length(type) + length(name) + length(ip));
+        buffer.put(FORMAT_VERSION);
+        putUuid(buffer, id);
+        putUuid(buffer, userId);
+        buffer.put((byte) (active ? 1 : 0));
+        buffer.putLong(expiresAtMillis);
+        buffer.putLong(lastActivityAtMillis);
+        buffer.putLong(createdAtMillis);
+        putString(buffer, type);
+        putString(buffer, name);
+        putString(buffer, ip);
+        return buffer.array();
+    }
+
+    public static CachedSession fromBytes(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    public static byte[] listToBytes(List<CachedSession> sessions) {
+        List<byte[]> encoded = new ArrayList<>(sessions.size());
+        int size = 4;
+        for (CachedSession session : sessions) {
+            byte[] bytes = session.toBytes();
+            encoded.add(bytes);
+            size += 4 + bytes.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(encoded.size());
+        for (byte[] bytes : encoded) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+        return buffer.array();
+    }
+
+    public static List<CachedSession> listFromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        List<CachedSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            sessions.add(read(buffer.slice(buffer.position(), length)));
+            buffer.position(buffer.position() + length);
+        }
+        return sessions;
+    }
+
+    private static CachedSession read(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Version de session en cache non supportée: " + version);
+        }
+        return new CachedSession(
+                getUuid(buffer),
+                getUuid(buffer),
+                buffer.get() == 1,
+                buffer.getLong(),
+                buffer.getLong(),
+                buffer.getLong(),
+                getString(buffer),
+                getString(buffer),
+                getString(buffer));
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+
+    public UUID getUserId() { return userId; }
+
+    public boolean isActive() { return active; }
+
+    public LocalDateTime getExpiresAt() { return toDateTime(expiresAtMillis); }
+
+    public LocalDateTime getLastActivityAt() { return toDateTime(lastActivityAtMillis); }
+
+    public LocalDateTime getCreatedAt() { return toDateTime(createdAtMillis); }
+
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public String getDeviceType() { return deviceType; }
+
+    public String getDeviceName() { return deviceName; }
+
+    public String getIpAddress() { return ipAddress; }
+}
@@ -0,0 +1,364 @@
+package com.ismail.platform.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ismail.platform.auth.domain.entity.UserSession;
+import com.ismail.platform.auth.domain.repository.UserSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Cache à deux niveaux des sessions utilisateur
+ *
+ * Sert les lectures de {@code core.user_sessions} par token, token de
+ * rafraîchissement ou utilisateur :
+ * <ul>
+ *   <li>L1 : cache Caffeine propre à l'instance, borné en taille et en durée ;</li>
+ *   <li>L2 : Redis, sessions sérialisées au format binaire de {@link CachedSession} ;</li>
+ *   <li>repli sur {@link UserSessionRepository} en cas d'absence aux deux niveaux.</li>
+ * </ul>
+ * Aucune entrée ne survit à l'expiration de sa session. Les tokens ne sont
+ * jamais stockés en clair : les index sont calculés sur leur empreinte SHA-256.
+ *
+ * Toute invalidation ({@code UserSession.invalidate()}, {@code logoutAll})
+ * doit être signalée via {@link #evictSession} ou {@link #evictUser} : après
+ * le commit de la transaction, les entrées Redis sont évincées et l'éviction
+ * est diffusée aux autres instances par pub/sub. {@link SessionCacheEntityListener}
+ * s'en charge pour toute session désactivée via JPA ; les mises à jour en
+ * masse doivent appeler {@link #evictUser}.
+ *
+ * Une lecture en base concurrente d'une invalidation peut lire l'état
+ * antérieur au commit et ne se terminer qu'après l'éviction. Son écriture en
+ * L2 est alors refusée par {@link SessionCacheStore} (pierre tombale ou
+ * génération), et sa copie L1 retirée : aucune session révoquée n'est
+ * republiée pour toute la durée de vie du L2.
+ *
+ * Toute création de session (connexion, rafraîchissement) doit de même être
+ * signalée via {@link #onSessionCreated}, sans quoi la liste des sessions de
+ * l'utilisateur, mise en cache vide ou incomplète, resterait servie jusqu'à
+ * l'expiration de l'entrée Redis. {@link SessionCacheEntityListener} s'en
+ * charge pour toute session persistée via JPA.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class SessionCache implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+
+    static final String EVICTION_CHANNEL = "ismail:auth:sessions:cache:evict";
+
+    private static final String TOKEN_KEY_PREFIX = "ismail:auth:session:token:";
+    private static final String REFRESH_KEY_PREFIX = "ismail:auth:session:refresh:";
+
+    private final UserSessionRepository userSessionRepository;
+    private final SessionCacheStore store;
+    private final long l1TtlNanos;
+    private final long l2TtlMillis;
+
+    private final Cache<UUID, CachedSession> sessions;
+    private final Cache<String, UUID> tokenIndex;
+    private final Cache<UUID, List<CachedSession>> userSessions;
+
+    @Autowired
+    public SessionCache(UserSessionRepository userSessionRepository,
+                        StringRedisTemplate redisTemplate,
+                        RedisMessageListenerContainer listenerContainer,
+                        MeterRegistry meterRegistry,
+                        @Value("${ismail.auth.security.session.cache.local.max-size:100000}") long l1MaxSize,
+                        @Value("${ismail.auth.security.session.cache.local.ttl:PT1M}") Duration l1Ttl,
+                        @Value("${ismail.auth.security.session.cache.redis.ttl:PT15M}") Duration l2Ttl) {
+        this(userSessionRepository, new SessionCacheStore(redisTemplate, meterRegistry), listenerContainer,
+                meterRegistry, l1MaxSize, l1Ttl, l2Ttl);
+    }
+
+    SessionCache(UserSessionRepository userSessionRepository, SessionCacheStore store,
+                 RedisMessageListenerContainer listenerContainer, MeterRegistry meterRegistry,
+                 long l1MaxSize, Duration l1Ttl, Duration l2Ttl) {
+        this.userSessionRepository = userSessionRepository;
+        this.store = store;
+        this.l1TtlNanos = l1Ttl.toNanos();
+        this.l2TtlMillis = l2Ttl.toMillis();
+
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfter(cappedExpiry(CachedSession::getExpiresAtMillis))
+                .recordStats()
+                .build();
+        this.tokenIndex = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize * 2)
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+        this.userSessions = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize / 4 + 1)
+                .expireAfter(cappedExpiry(SessionCache::earliestExpiration))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "auth.sessions");
+        CaffeineCacheMetrics.monitor(meterRegistry, tokenIndex, "auth.sessions.tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, userSessions, "auth.sessions.users");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICTION_CHANNEL));
+    }
+
+    // =====================================================
+    // CONSULTATION
+    // =====================================================
+
+    /**
+     * @return la session valide (active et non expirée) associée au token
+     */
+    public Optional<CachedSession> getBySessionToken(String sessionToken) {
+        return getByToken(TOKEN_KEY_PREFIX, sessionToken, userSessionRepository::findBySessionToken);
+    }
+
+    /**
+     * @return la session valide (active et non expirée) associée au token de rafraîchissement
+     */
+    public Optional<CachedSession> getByRefreshToken(String refreshToken) {
+        return getByToken(REFRESH_KEY_PREFIX, refreshToken, userSessionRepository::findByRefreshToken);
+    }
+
+    /**
+     * @return les sessions valides de l'utilisateur
+     */
+    public List<CachedSession> getActiveSessions(UUID userId) {
+        long now = System.currentTimeMillis();
+        List<CachedSession> cached = userSessions.getIfPresent(userId);
+        if (cached == null) {
+            cached = loadUserSessions(userId);
+        }
+        if (cached.stream().allMatch(session -> session.isValid(now))) {
+            return cached;
+        }
+        return cached.stream().filter(session -> session.isValid(now)).toList();
+    }
+
+    private Optional<CachedSession> getByToken(String indexPrefix, String token,
+                                               Function<String, Optional<UserSession>> loader) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String indexKey = indexPrefix + DigestUtils.sha256Hex(token);
+        long now = System.currentTimeMillis();
+
+        UUID sessionId = tokenIndex.getIfPresent(indexKey);
+        if (sessionId == null) {
+            sessionId = store.getIndex(indexKey);
+        }
+        if (sessionId != null) {
+            CachedSession session = getById(sessionId);
+            if (session != null) {
+                tokenIndex.put(indexKey, sessionId);
+                return session.isValid(now) ? Optional.of(session) : Optional.empty();
+            }
+        }
+
+        Optional<UserSession> loaded = loader.apply(token);
+        if (loaded.isEmpty()) {
+            return Optional.empty();
+        }
+        CachedSession session = CachedSession.from(loaded.get());
+        long ttl = Math.min(l2TtlMillis, session.getMillisUntilExpiration(now));
+        if (ttl > 0) {
+            // Copie L1 posée avant l'écriture L2 : une éviction passée entre
+            // les deux la retire, une éviction passée avant fait refuser l'écriture
+            sessions.put(session.getId(), session);
+            tokenIndex.put(indexKey, session.getId());
+            if (!store.writeSession(indexKey, session, ttl)) {
+                sessions.invalidate(session.getId());
+                return Optional.empty();
+            }
+        }
+        return session.isValid(now) ? Optional.of(session) : Optional.empty();
+    }
+
+    private CachedSession getById(UUID sessionId) {
+        CachedSession session = sessions.getIfPresent(sessionId);
+        if (session != null) {
+            return session;
+        }
+        byte[] bytes = store.getSession(sessionId);
+        if (bytes == null) {
+            return null;
+        }
+        session = CachedSession.fromBytes(bytes);
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    private List<CachedSession> loadUserSessions(UUID userId) {
+        byte[] bytes = store.getUserSessions(userId);
+        if (bytes != null) {
+            List<CachedSession> cached = CachedSession.listFromBytes(bytes);
+            userSessions.put(userId, cached);
+            return cached;
+        }
+
+        // Lue avant la base : toute éviction commitée pendant la lecture la change
+        String generation = store.getGeneration(userId);
+        long now = System.currentTimeMillis();
+        List<CachedSession> loaded = userSessionRepository
+                .findByUser_IdAndIsActiveTrueAndExpiresAtAfter(userId, LocalDateTime.now())
+                .stream()
+                .map(CachedSession::from)
+                .toList();
+        long ttl = Math.min(l2TtlMillis, earliestExpiration(loaded) - now);
+        if (ttl > 0) {
+            userSessions.put(userId, loaded);
+            if (!store.writeUserSessions(userId, CachedSession.listToBytes(loaded), generation, ttl)) {
+                userSessions.invalidate(userId);
+            }
+        }
+        return loaded;
+    }
+
+    // =====================================================
+    // INVALIDATION
+    // =====================================================
+
+    /**
+     * Retire une session invalidée des deux niveaux de cache
+     *
+     * Les index de tokens ne sont pas retirés : ils pointent vers une
+     * session évincée et la lecture suivante repasse par la base.
+     */
+    public void evictSession(UUID sessionId, UUID userId) {
+        afterCommit(() -> {
+            store.evict(userId, List.of(sessionId), l2TtlMillis);
+            evictLocal(sessionId, userId);
+            store.publish(EVICTION_CHANNEL, userId + ":" + sessionId);
+        });
+    }
+
+    /**
+     * Retire toutes les sessions d'un utilisateur des deux niveaux de cache
+     */
+    public void evictUser(UUID userId, Collection<UUID> sessionIds) {
+        List<UUID> evicted = List.copyOf(sessionIds);
+
+        afterCommit(() -> {
+            store.evict(userId, evicted, l2TtlMillis);
+            userSessions.invalidate(userId);
+            sessions.invalidateAll(evicted);
+            store.publish(EVICTION_CHANNEL,
+                    userId + ":" + evicted.stream().map(UUID::toString).collect(Collectors.joining(",")));
+        });
+    }
+
+    /**
+     * Retire la liste des sessions de l'utilisateur après la création d'une
+     * session : la lecture suivante de {@link #getActiveSessions} repasse par
+     * la base et voit la nouvelle session
+     */
+    public void onSessionCreated(UUID userId) {
+        afterCommit(() -> {
+            store.evict(userId, List.of(), l2TtlMillis);
+            userSessions.invalidate(userId);
+            store.publish(EVICTION_CHANNEL, userId + ":");
+        });
+    }
+
+    /**
+     * Message d'éviction : {@code userId:sessionId[,sessionId...]}
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = body.indexOf(':');
+            UUID userId = UUID.fromString(body.substring(0, separator));
+            userSessions.invalidate(userId);
+            if (separator + 1 < body.length()) {
+                for (String sessionId : body.substring(separator + 1).split(",")) {
+                    sessions.invalidate(UUID.fromString(sessionId));
+                }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            logger.warn("Message d'éviction de session invalide ignoré");
+        }
+    }
+
+    private void evictLocal(UUID sessionId, UUID userId) {
+        sessions.invalidate(sessionId);
+        userSessions.invalidate(userId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // =====================================================
+    // EXPIRATION
+    // =====================================================
+
+    /**
+     * Durée de vie L1 plafonnée par l'expiration de la session
+     */
+    private <K, V> Expiry<K, V> cappedExpiry(ToLongFunction<V> expiresAtMillis) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(K key, V value, long currentTime) {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(expiresAtMillis.applyAsLong(value) - System.currentTimeMillis());
+                return Math.max(0, Math.min(l1TtlNanos, remaining));
+            }
+
+            @Override
+            public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static long earliestExpiration(List<CachedSession> sessions) {
+        long earliest = Long.MAX_VALUE;
+        for (CachedSession session : sessions) {
+            earliest = Math.min(earliest, session.getExpiresAtMillis());
+        }
+        return earliest;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ismail.platform.auth.cache;
+
+import com.ismail.platform.auth.domain.entity.UserSession;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Écouteur JPA qui signale à {@link SessionCache} toute session créée ou désactivée
+ *
+ * Les évictions sont différées au commit de la transaction par
+ * {@link SessionCache#onSessionCreated} et {@link SessionCache#evictSession}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class SessionCacheEntityListener {
+
+    private final SessionCache sessionCache;
+
+    @Autowired
+    public SessionCacheEntityListener(@Lazy SessionCache sessionCache) {
+        this.sessionCache = sessionCache;
+    }
+
+    @PostPersist
+    public void afterInsert(UserSession session) {
+        sessionCache.onSessionCreated(session.getUser().getId());
+    }
+
+    /**
+     * Appelé avant {@code UserSession.rememberPersistedState()} : l'état
+     * persisté est encore celui d'avant la mise à jour
+     */
+    @PostUpdate
+    public void afterUpdate(UserSession session) {
+        if (Boolean.TRUE.equals(session.getPersistedActive()) && !Boolean.TRUE.equals(session.getIsActive())) {
+            sessionCache.evictSession(session.getId(), session.getUser().getId());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.ismail.platform.auth.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Niveau L2 du cache des sessions (Redis)
+ *
+ * Une éviction ne se contente pas de supprimer les entrées : elle dépose une
+ * pierre tombale sur chaque session évincée et incrémente la génération de
+ * l'utilisateur. Les écritures issues d'une lecture en base passent par des
+ * scripts Lua qui les refusent si la session porte une pierre tombale, ou si
+ * la génération a changé depuis le début de la lecture. Une lecture en base
+ * antérieure au commit d'une invalidation ne peut donc pas republier une
+ * session révoquée ou une liste périmée après l'éviction.
+ *
+ * Redis indisponible n'est jamais une erreur : les lectures manquent et les
+ * écritures sont abandonnées.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class SessionCacheStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCacheStore.class);
+
+    private static final String SESSION_KEY_PREFIX = "ismail:auth:session:";
+    private static final String USER_KEY_PREFIX = "ismail:auth:session:user:";
+    private static final String GENERATION_KEY_PREFIX = "ismail:auth:session:user:gen:";
+
+    private static final byte[] TOMBSTONE = "evicted".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final byte[] writeScript;
+    private final byte[] writeUserScript;
+    private final byte[] evictScript;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    SessionCacheStore(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.writeScript = script("redis/session-cache-write.lua");
+        this.writeUserScript = script("redis/session-cache-write-user.lua");
+        this.evictScript = script("redis/session-cache-evict.lua");
+        this.hits = Counter.builder("ismail.auth.sessions.cache.redis")
+                .tag("result", "hit")
+                .description("Lectures de sessions servies par Redis")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ismail.auth.sessions.cache.redis")
+                .tag("result", "miss")
+                .description("Lectures de sessions servies par Redis")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // LECTURE
+    // =====================================================
+
+    /**
+     * @return la session sérialisée, ou null si absente ou évincée
+     */
+    byte[] getSession(UUID sessionId) {
+        byte[] bytes = get(SESSION_KEY_PREFIX + sessionId);
+        return bytes == null || Arrays.equals(bytes, TOMBSTONE) ? null : bytes;
+    }
+
+    /**
+     * @return la liste sérialisée des sessions de l'utilisateur, ou null si absente
+     */
+    byte[] getUserSessions(UUID userId) {
+        return get(USER_KEY_PREFIX + userId);
+    }
+
+    /**
+     * @return l'identifiant de session associé à l'index, ou null si absent
+     */
+    UUID getIndex(String indexKey) {
+        byte[] bytes = get(indexKey);
+        return bytes == null ? null : UUID.fromString(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Génération de l'utilisateur, à lire avant la lecture en base de ses
+     * sessions et à rendre à {@link #writeUserSessions}
+     *
+     * @return la génération ("" si aucune éviction récente), ou null si Redis est indisponible
+     */
+    String getGeneration(UUID userId) {
+        try {
+            byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key(GENERATION_KEY_PREFIX + userId)));
+            return bytes == null ? "" : new String(bytes, StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            logger.debug("Lecture Redis de la génération de {} impossible: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] get(String key) {
+        try {
+            byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key(key)));
+            (bytes == null ? misses : hits).increment();
+            return bytes;
+        } catch (Exception e) {
+            logger.debug("Lecture Redis de {} impossible: {}", key, e.getMessage());
+            misses.increment();
+            return null;
+        }
+    }
+
+    // =====================================================
+    // ÉCRITURE
+    // =====================================================
+
+    /**
+     * Met en cache une session lue en base et son index
+     *
+     * @return false si la session a été évincée entre-temps (l'appelant doit
+     *         alors retirer sa propre copie), true sinon, y compris si Redis est indisponible
+     */
+    boolean writeSession(String indexKey, CachedSession session, long ttlMillis) {
+        return eval(writeScript, "la session " + session.getId(), 2,
+                key(SESSION_KEY_PREFIX + session.getId()), key(indexKey),
+                session.toBytes(), key(session.getId().toString()), key(Long.toString(ttlMillis)), TOMBSTONE);
+    }
+
+    /**
+     * Met en cache la liste des sessions d'un utilisateur lue en base
+     *
+     * @param generation génération lue par {@link #getGeneration} avant la lecture en base
+     * @return false si la liste a été évincée depuis (l'appelant doit alors
+     *         retirer sa propre copie), true sinon, y compris si Redis est indisponible
+     */
+    boolean writeUserSessions(UUID userId, byte[] sessions, String generation, long ttlMillis) {
+        if (generation == null) {
+            return true;
+        }
+        return eval(writeUserScript, "les sessions de " + userId, 2,
+                key(USER_KEY_PREFIX + userId), key(GENERATION_KEY_PREFIX + userId),
+                sessions, key(Long.toString(ttlMillis)), key(generation));
+    }
+
+    /**
+     * Évince la liste des sessions de l'utilisateur et les sessions données
+     *
+     * @param ttlMillis durée de vie des pierres tombales, au moins celle d'une entrée L2
+     */
+    void evict(UUID userId, Collection<UUID> sessionIds, long ttlMillis) {
+        byte[][] keysAndArgs = new byte[sessionIds.size() + 4][];
+        int i = 0;
+        keysAndArgs[i++] = key(GENERATION_KEY_PREFIX + userId);
+        keysAndArgs[i++] = key(USER_KEY_PREFIX + userId);
+        for (UUID sessionId : sessionIds) {
+            keysAndArgs[i++] = key(SESSION_KEY_PREFIX + sessionId);
+        }
+        keysAndArgs[i++] = TOMBSTONE;
+        keysAndArgs[i] = key(Long.toString(ttlMillis));
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.scriptingCommands().eval(evictScript, ReturnType.INTEGER, sessionIds.size() + 2, keysAndArgs));
+        } catch (Exception e) {
+            logger.warn("Éviction Redis de {} sessions en cache impossible: {}", sessionIds.size() + 1, e.getMessage());
+        }
+    }
+
+    /**
+     * Diffuse une éviction aux autres instances
+     */
+    void publish(String channel, String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // Les autres instances conservent au plus la durée de vie du L1
+            logger.warn("Diffusion de l'éviction de session impossible: {}", e.getMessage());
+        }
+    }
+
+    private boolean eval(byte[] script, String description, int numKeys, byte[]... keysAndArgs) {
+        try {
+            Long written = redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, numKeys, keysAndArgs));
+            return written == null || written != 0;
+        } catch (Exception e) {
+            logger.debug("Écriture Redis de {} impossible: {}", description, e.getMessage());
+            return true;
+        }
+    }
+
+    private static byte[] key(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] script(String path) {
+        try {
+            return new ClassPathResource(path).getContentAsByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Script Redis introuvable: " + path, e);
+        }
+    }
+}
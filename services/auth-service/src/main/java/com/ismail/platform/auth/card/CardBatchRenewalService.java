@@ -0,0 +1,442 @@
+package com.ismail.platform.auth.card;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renouvellement par lots des cartes professionnelles arrivant à expiration
+ *
+ * Parcourt les cartes actives expirant avant la fin de la fenêtre
+ * ({@code auto-renewal-days}) par pagination par clé sur
+ * {@code (expires_at, id)}, signe leurs nouveaux QR codes en parallèle sur
+ * un {@link ForkJoinPool} dédié, puis écrit chaque page par un
+ * {@code batchUpdate} JDBC. La page suivante est signée pendant l'écriture
+ * de la précédente.
+ *
+ * Le curseur de l'exécution ({@code core.card_renewal_runs}) est mis à jour
+ * dans la même transaction que les cartes : une exécution interrompue
+ * reprend exactement après la dernière page écrite. L'exécution est tenue
+ * sous bail ; si l'instance s'arrête, une autre la reprend à l'expiration
+ * du bail.
+ *
+ * Le rendu d'une carte se limite à ce que {@code core.professional_cards}
+ * conserve : échéance, QR code signé et {@code template_version}. L'image de
+ * la carte n'est pas produite ici ; elle est composée à l'affichage à partir
+ * de ces champs et de {@code photo_url}, comme pour une carte émise à
+ * l'unité. Le débit visé (1 000 cartes/s sur 8 coeurs) est suivi par la
+ * jauge {@code ismail.auth.cards.renewal.throughput}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class CardBatchRenewalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardBatchRenewalService.class);
+
+    private static final Timestamp CURSOR_START = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+    private static final UUID CURSOR_START_ID = new UUID(0L, 0L);
+
+    private static final String INSERT_RUN_SQL =
+            "INSERT INTO core.card_renewal_runs (id, window_end) VALUES (?, ?) " +
+            "ON CONFLICT ((true)) WHERE status IN ('RUNNING', 'INTERRUPTED') DO NOTHING";
+
+    private static final String UNFINISHED_RUN_SQL =
+            "SELECT id FROM core.card_renewal_runs WHERE status IN ('RUNNING', 'INTERRUPTED')";
+
+    private static final String ABANDONED_RUN_SQL =
+            "SELECT id FROM core.card_renewal_runs " +
+            "WHERE status = 'RUNNING' AND (lease_expires_at IS NULL OR lease_expires_at < NOW())";
+
+    private static final String CLAIM_RUN_SQL =
+            "UPDATE core.card_renewal_runs " +
+            "SET status = 'RUNNING', lease_owner = ?, lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', " +
+            "    error_message = NULL, updated_at = NOW() " +
+            "WHERE id = ? AND (status = 'INTERRUPTED' " +
+            "    OR (status = 'RUNNING' AND (lease_expires_at IS NULL OR lease_expires_at < NOW()))) " +
+            "RETURNING window_end, cursor_expires_at, cursor_card_id";
+
+    private static final String SELECT_PAGE_SQL =
+            "SELECT id, user_id, card_number, expires_at FROM core.professional_cards " +
+            "WHERE status = 'ACTIVE' AND expires_at < ? AND (expires_at, id) > (?, ?) " +
+            "ORDER BY expires_at, id LIMIT ?";
+
+    // Une carte révoquée ou renouvelée entre la lecture et l'écriture n'est pas modifiée
+    private static final String RENEW_CARD_SQL =
+            "UPDATE core.professional_cards " +
+            "SET expires_at = ?, qr_code_data = ?, template_version = ?, issued_at = NOW() " +
+            "WHERE id = ? AND status = 'ACTIVE' AND expires_at = ?";
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE core.card_renewal_runs " +
+            "SET cursor_expires_at = ?, cursor_card_id = ?, renewed_count = renewed_count + ?, " +
+            "    skipped_count = skipped_count + ?, lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', " +
+            "    updated_at = NOW() " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String COMPLETE_RUN_SQL =
+            "UPDATE core.card_renewal_runs " +
+            "SET status = 'COMPLETED', completed_at = NOW(), updated_at = NOW(), " +
+            "    lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String INTERRUPT_RUN_SQL =
+            "UPDATE core.card_renewal_runs " +
+            "SET status = 'INTERRUPTED', error_message = ?, updated_at = NOW(), " +
+            "    lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String RELEASE_RUN_SQL =
+            "UPDATE core.card_renewal_runs SET lease_expires_at = NOW(), updated_at = NOW() " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String SELECT_RUN_SQL =
+            "SELECT id, status, window_end, cursor_expires_at, renewed_count, skipped_count, error_message, " +
+            "       created_at, updated_at, completed_at " +
+            "FROM core.card_renewal_runs WHERE id = ?";
+
+    private static final RowMapper<CardRenewalRun> RUN_ROW_MAPPER = (rs, rowNum) -> new CardRenewalRun(
+            rs.getObject("id", UUID.class),
+            CardRenewalRun.Status.valueOf(rs.getString("status")),
+            toLocalDateTime(rs.getTimestamp("window_end")),
+            toLocalDateTime(rs.getTimestamp("cursor_expires_at")),
+            rs.getLong("renewed_count"),
+            rs.getLong("skipped_count"),
+            rs.getString("error_message"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    private static final RowMapper<CardRow> CARD_ROW_MAPPER = (rs, rowNum) -> new CardRow(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("card_number"),
+            rs.getTimestamp("expires_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CardQrCodec codec;
+    private final int pageSize;
+    private final Duration renewalWindow;
+    private final Duration validity;
+    private final String templateVersion;
+    private final Duration leaseDuration;
+    private final String leaseOwner;
+
+    private final ExecutorService runner;
+    private final ForkJoinPool renderPool;
+    private volatile boolean running = true;
+
+    private final Counter renewedCards;
+    private final Counter skippedCards;
+    private final Timer pageTimer;
+    private final AtomicLong runThroughput = new AtomicLong();
+
+    @Autowired
+    public CardBatchRenewalService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   CardQrCodec codec,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${ismail.auth.professional-cards.auto-renewal-days:30}") int autoRenewalDays,
+                                   @Value("${ismail.auth.professional-cards.card-validity-days:365}") int cardValidityDays,
+                                   @Value("${ismail.auth.professional-cards.template-version:1.0}") String templateVersion,
+                                   @Value("${ismail.auth.professional-cards.renewal.page-size:1000}") int pageSize,
+                                   @Value("${ismail.auth.professional-cards.renewal.parallelism:0}") int parallelism,
+                                   @Value("${ismail.auth.professional-cards.renewal.lease-duration:PT5M}") Duration leaseDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.codec = codec;
+        this.pageSize = pageSize;
+        this.renewalWindow = Duration.ofDays(autoRenewalDays);
+        this.validity = Duration.ofDays(cardValidityDays);
+        this.templateVersion = templateVersion;
+        this.leaseDuration = leaseDuration;
+        this.leaseOwner = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+        this.runner = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("card-renewal").daemon(true).factory());
+        this.renderPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("card-render-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+
+        this.renewedCards = Counter.builder("ismail.auth.cards.renewal.cards")
+                .tag("outcome", "renewed")
+                .description("Cartes traitées par le renouvellement par lots")
+                .register(meterRegistry);
+        this.skippedCards = Counter.builder("ismail.auth.cards.renewal.cards")
+                .tag("outcome", "skipped")
+                .description("Cartes traitées par le renouvellement par lots")
+                .register(meterRegistry);
+        this.pageTimer = Timer.builder("ismail.auth.cards.renewal.page")
+                .description("Durée d'écriture d'une page de cartes renouvelées")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.cards.renewal.throughput", runThroughput, AtomicLong::get)
+                .description("Débit de l'exécution en cours ou de la dernière exécution (cartes/s)")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // LANCEMENT ET SUIVI
+    // =====================================================
+
+    /**
+     * Lance un renouvellement, ou reprend l'exécution non terminée s'il en existe une
+     *
+     * @return Identifiant de l'exécution
+     */
+    public UUID start() {
+        while (true) {
+            UUID runId = UUID.randomUUID();
+            int inserted = jdbcTemplate.update(INSERT_RUN_SQL, runId,
+                    Timestamp.valueOf(LocalDateTime.now().plus(renewalWindow)));
+            if (inserted == 0) {
+                List<UUID> unfinished = jdbcTemplate.queryForList(UNFINISHED_RUN_SQL, UUID.class);
+                if (unfinished.isEmpty()) {
+                    // L'exécution en cours s'est terminée entre l'insertion et la lecture
+                    continue;
+                }
+                runId = unfinished.get(0);
+            }
+            schedule(runId);
+            return runId;
+        }
+    }
+
+    public Optional<CardRenewalRun> getRun(UUID runId) {
+        return jdbcTemplate.query(SELECT_RUN_SQL, RUN_ROW_MAPPER, runId).stream().findFirst();
+    }
+
+    /**
+     * Reprend les exécutions dont l'instance propriétaire a disparu
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ismail.auth.professional-cards.renewal.lease-duration:PT5M}",
+               initialDelayString = "${ismail.auth.professional-cards.renewal.lease-duration:PT5M}")
+    public void resumeAbandoned() {
+        try {
+            jdbcTemplate.queryForList(ABANDONED_RUN_SQL, UUID.class).forEach(this::schedule);
+        } catch (Exception e) {
+            logger.warn("Recherche des renouvellements abandonnés impossible: {}", e.getMessage());
+        }
+    }
+
+    private void schedule(UUID runId) {
+        try {
+            runner.execute(() -> execute(runId));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Renouvellement {} non planifié: arrêt en cours", runId);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        runner.shutdown();
+        try {
+            runner.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderPool.shutdownNow();
+    }
+
+    // =====================================================
+    // EXÉCUTION
+    // =====================================================
+
+    private void execute(UUID runId) {
+        List<Cursor> claimed = jdbcTemplate.query(CLAIM_RUN_SQL, (rs, rowNum) -> new Cursor(
+                rs.getTimestamp("window_end"),
+                Optional.ofNullable(rs.getTimestamp("cursor_expires_at")).orElse(CURSOR_START),
+                Optional.ofNullable(rs.getObject("cursor_card_id", UUID.class)).orElse(CURSOR_START_ID)),
+                leaseOwner, leaseDuration.toMillis(), runId);
+        if (claimed.isEmpty()) {
+            // Exécution terminée ou tenue par une autre instance
+            return;
+        }
+        Cursor cursor = claimed.get(0);
+
+        logger.info("Renouvellement des cartes {} démarré (cartes expirant avant {})", runId, cursor.windowEnd);
+        long runStart = System.nanoTime();
+        long processed = 0;
+        try {
+            List<CardRow> page = fetchPage(cursor);
+            CompletableFuture<List<RenderedCard>> rendering = render(page);
+            while (!page.isEmpty()) {
+                if (!running) {
+                    jdbcTemplate.update(RELEASE_RUN_SQL, runId, leaseOwner);
+                    logger.info("Renouvellement {} suspendu par l'arrêt de l'instance", runId);
+                    return;
+                }
+                List<RenderedCard> rendered = rendering.join();
+                CardRow last = page.get(page.size() - 1);
+                cursor = cursor.after(last);
+
+                List<CardRow> next = page.size() < pageSize ? List.of() : fetchPage(cursor);
+                rendering = render(next);
+                write(runId, rendered, cursor);
+
+                processed += rendered.size();
+                runThroughput.set(processed * 1_000_000_000L / Math.max(1, System.nanoTime() - runStart));
+                page = next;
+            }
+
+            jdbcTemplate.update(COMPLETE_RUN_SQL, runId, leaseOwner);
+            logger.info("Renouvellement des cartes {} terminé: {} cartes en {} ms",
+                    runId, processed, (System.nanoTime() - runStart) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Renouvellement des cartes {} interrompu", runId, e);
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            jdbcTemplate.update(INTERRUPT_RUN_SQL, message.length() > 500 ? message.substring(0, 500) : message,
+                    runId, leaseOwner);
+        }
+    }
+
+    private List<CardRow> fetchPage(Cursor cursor) {
+        return jdbcTemplate.query(SELECT_PAGE_SQL, CARD_ROW_MAPPER,
+                cursor.windowEnd, cursor.expiresAt, cursor.cardId, pageSize);
+    }
+
+    private CompletableFuture<List<RenderedCard>> render(List<CardRow> page) {
+        if (page.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        // Le flux parallèle s'exécute dans le pool qui l'invoque
+        return CompletableFuture.supplyAsync(() -> page.parallelStream().map(this::render).toList(), renderPool);
+    }
+
+    private RenderedCard render(CardRow card) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime current = card.expiresAt.toLocalDateTime();
+        LocalDateTime renewedUntil = (current.isAfter(now) ? current : now).plus(validity);
+        String qrCodeData = codec.encode(new CardClaims(card.cardNumber, card.userId,
+                renewedUntil.atZone(ZoneId.systemDefault()).toInstant()));
+        return new RenderedCard(card, Timestamp.valueOf(renewedUntil), qrCodeData);
+    }
+
+    private void write(UUID runId, List<RenderedCard> rendered, Cursor cursor) {
+        pageTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(RENEW_CARD_SQL, rendered, rendered.size(), (ps, card) -> {
+                ps.setTimestamp(1, card.expiresAt);
+                ps.setString(2, card.qrCodeData);
+                ps.setString(3, templateVersion);
+                ps.setObject(4, card.source.id);
+                ps.setTimestamp(5, card.source.expiresAt);
+            })[0];
+            int renewed = 0;
+            for (int count : counts) {
+                if (count != 0) {
+                    renewed++;
+                }
+            }
+            int skipped = counts.length - renewed;
+
+            int updated = jdbcTemplate.update(CHECKPOINT_SQL, cursor.expiresAt, cursor.cardId, renewed, skipped,
+                    leaseDuration.toMillis(), runId, leaseOwner);
+            if (updated == 0) {
+                throw new IllegalStateException("Bail du renouvellement " + runId + " perdu");
+            }
+            renewedCards.increment(renewed);
+            skippedCards.increment(skipped);
+        }));
+    }
+
+    // =====================================================
+    // UTILITAIRES
+    // =====================================================
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "auth-service";
+        }
+    }
+
+    /**
+     * Position de reprise dans le parcours par clé
+     */
+    private static final class Cursor {
+
+        final Timestamp windowEnd;
+        final Timestamp expiresAt;
+        final UUID cardId;
+
+        Cursor(Timestamp windowEnd, Timestamp expiresAt, UUID cardId) {
+            this.windowEnd = windowEnd;
+            this.expiresAt = expiresAt;
+            this.cardId = cardId;
+        }
+
+        Cursor after(CardRow card) {
+            return new Cursor(windowEnd, card.expiresAt, card.id);
+        }
+    }
+
+    private static final class CardRow {
+
+        final UUID id;
+        final UUID userId;
+        final String cardNumber;
+        final Timestamp expiresAt;
+
+        CardRow(UUID id, UUID userId, String cardNumber, Timestamp expiresAt) {
+            this.id = id;
+            this.userId = userId;
+            this.cardNumber = cardNumber;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class RenderedCard {
+
+        final CardRow source;
+        final Timestamp expiresAt;
+        final String qrCodeData;
+
+        RenderedCard(CardRow source, Timestamp expiresAt, String qrCodeData) {
+            this.source = source;
+            this.expiresAt = expiresAt;
+            this.qrCodeData = qrCodeData;
+        }
+    }
+}
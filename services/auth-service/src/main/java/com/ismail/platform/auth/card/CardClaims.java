@@ -0,0 +1,30 @@
+package com.ismail.platform.auth.card;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Contenu signé du QR code d'une carte professionnelle
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class CardClaims {
+
+    private final String cardNumber;
+    private final UUID userId;
+    private final Instant expiresAt;
+
+    public CardClaims(String cardNumber, UUID userId, Instant expiresAt) {
+        this.cardNumber = cardNumber;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    public String getCardNumber() { return cardNumber; }
+
+    public UUID getUserId() { return userId; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,175 @@
+package com.ismail.platform.auth.card;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Format signé des QR codes de cartes professionnelles
+ *
+ * Charge utile binaire compacte signée en Ed25519, encodée en Base64 URL :
+ * <pre>
+ * version(1) | keyId(1) | expiresAt(8, secondes epoch) | userId(16) | len(1) | cardNumber(len) | signature(64)
+ * </pre>
+ * La vérification ne nécessite que la clé publique : aucun accès à
+ * {@code core.professional_cards}. Le {@code keyId} permet la rotation des
+ * clés sans invalider les cartes déjà émises.
+ *
+ * La paire de clés ({@code CARD_SIGNING_PRIVATE_KEY} et sa clé publique)
+ * est obligatoire hors des profils {@code dev} et {@code test}, où une clé
+ * éphémère est générée à défaut.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class CardQrCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardQrCodec.class);
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final String ALGORITHM = "Ed25519";
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int HEADER_LENGTH = 1 + 1 + 8 + 16 + 1;
+    private static final int MAX_CARD_NUMBER_LENGTH = 32;
+
+    private final byte signingKeyId;
+    private final PrivateKey signingKey;
+    private final Map<Byte, PublicKey> verificationKeys;
+
+    @Autowired
+    public CardQrCodec(@Value("${ismail.auth.professional-cards.signing.key-id:1}") int keyId,
+                       @Value("${ismail.auth.professional-cards.signing.private-key:}") String privateKey,
+                       @Value("${ismail.auth.professional-cards.signing.public-key:}") String publicKey,
+                       @Value("${ismail.auth.professional-cards.signing.previous-public-keys:}") String[] previousPublicKeys,
+                       Environment environment) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            this.signingKeyId = (byte) keyId;
+            this.verificationKeys = new HashMap<>();
+
+            if (privateKey.isBlank() || publicKey.isBlank()) {
+                if (!environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+                    throw new IllegalStateException("Clés de signature des cartes absentes (CARD_SIGNING_PRIVATE_KEY)");
+                }
+                // Clé éphémère : les QR codes émis ne survivent pas au redémarrage
+                logger.warn("Aucune clé de signature de carte configurée, génération d'une clé éphémère");
+                KeyPair keyPair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+                this.signingKey = keyPair.getPrivate();
+                this.verificationKeys.put(signingKeyId, keyPair.getPublic());
+            } else {
+                this.signingKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey)));
+                this.verificationKeys.put(signingKeyId,
+                        keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey))));
+            }
+
+            // Format « keyId:clé publique Base64 » pour les clés retirées encore valides
+            for (String entry : previousPublicKeys) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                int colon = entry.indexOf(':');
+                byte previousId = (byte) Integer.parseInt(entry.substring(0, colon).trim());
+                this.verificationKeys.putIfAbsent(previousId,
+                        keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(entry.substring(colon + 1).trim()))));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Configuration des clés de signature des cartes invalide", e);
+        }
+    }
+
+    /**
+     * Produit la charge utile signée à inscrire dans le QR code
+     */
+    public String encode(CardClaims claims) {
+        byte[] cardNumber = claims.getCardNumber().getBytes(StandardCharsets.US_ASCII);
+        if (cardNumber.length == 0 || cardNumber.length > MAX_CARD_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Numéro de carte invalide");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + cardNumber.length + SIGNATURE_LENGTH);
+        buffer.put(FORMAT_VERSION);
+        buffer.put(signingKeyId);
+        buffer.putLong(claims.getExpiresAt().getEpochSecond());
+        buffer.putLong(claims.getUserId().getMostSignificantBits());
+        buffer.putLong(claims.getUserId().getLeastSignificantBits());
+        buffer.put((byte) cardNumber.length);
+        buffer.put(cardNumber);
+
+        try {
+            Signature signer = Signature.getInstance(ALGORITHM);
+            signer.initSign(signingKey);
+            signer.update(buffer.array(), 0, buffer.position());
+            buffer.put(signer.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signature du QR code impossible", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Décode et vérifie la signature d'une charge utile
+     *
+     * L'expiration et la révocation ne sont pas contrôlées ici.
+     *
+     * @return vide si la charge utile est malformée ou la signature invalide
+     */
+    public Optional<CardClaims> decode(String payload) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(payload);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length < HEADER_LENGTH + 1 + SIGNATURE_LENGTH || bytes[0] != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        PublicKey key = verificationKeys.get(buffer.get());
+        long expiresAt = buffer.getLong();
+        UUID userId = new UUID(buffer.getLong(), buffer.getLong());
+        int cardNumberLength = buffer.get() & 0xFF;
+        int signedLength = HEADER_LENGTH + cardNumberLength;
+        if (key == null || cardNumberLength == 0 || bytes.length != signedLength + SIGNATURE_LENGTH) {
+            return Optional.empty();
+        }
+
+        try {
+            Signature verifier = Signature.getInstance(ALGORITHM);
+            verifier.initVerify(key);
+            verifier.update(bytes, 0, signedLength);
+            if (!verifier.verify(bytes, signedLength, SIGNATURE_LENGTH)) {
+                return Optional.empty();
+            }
+        } catch (GeneralSecurityException e) {
+            return Optional.empty();
+        }
+
+        String cardNumber = new String(bytes, HEADER_LENGTH, cardNumberLength, StandardCharsets.US_ASCII);
+        return Optional.of(new CardClaims(cardNumber, userId, Instant.ofEpochSecond(expiresAt)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ismail.platform.auth.card;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * État d'une exécution de renouvellement par lots des cartes professionnelles
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class CardRenewalRun {
+
+    public enum Status {
+        RUNNING, INTERRUPTED, COMPLETED
+    }
+
+    private final UUID id;
+    private final Status status;
+    private final LocalDateTime windowEnd;
+    private final LocalDateTime cursorExpiresAt;
+    private final long renewedCount;
+    private final long skippedCount;
+    private final String errorMessage;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime completedAt;
+
+    public CardRenewalRun(UUID id, Status status, LocalDateTime windowEnd, LocalDateTime cursorExpiresAt,
+                          long renewedCount, long skippedCount, String errorMessage,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.status = status;
+        this.windowEnd = windowEnd;
+        this.cursorExpiresAt = cursorExpiresAt;
+        this.renewedCount = renewedCount;
+        this.skippedCount = skippedCount;
+        this.errorMessage = errorMessage;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+
+    public Status getStatus() { return status; }
+
+    public LocalDateTime getWindowEnd() { return windowEnd; }
+
+    public LocalDateTime getCursorExpiresAt() { return cursorExpiresAt; }
+
+    public long getRenewedCount() { return renewedCount; }
+
+    public long getSkippedCount() { return skippedCount; }
+
+    public String getErrorMessage() { return errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
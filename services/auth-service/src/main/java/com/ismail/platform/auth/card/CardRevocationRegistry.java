@@ -0,0 +1,177 @@
+package com.ismail.platform.auth.card;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre en mémoire des cartes professionnelles révoquées ou suspendues
+ *
+ * Le QR code signé suffit à prouver l'authenticité d'une carte ; seule la
+ * révocation impose un état partagé. L'ensemble des numéros révoqués non
+ * expirés est chargé depuis {@code core.professional_cards}, tenu à jour
+ * entre instances via Redis pub/sub et rechargé périodiquement.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class CardRevocationRegistry implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardRevocationRegistry.class);
+
+    static final String REVOCATION_CHANNEL = "ismail:auth:cards:revoked";
+
+    private static final String REVOKED_PREFIX = "R:";
+    private static final String REINSTATED_PREFIX = "A:";
+
+    private static final String SELECT_REVOKED_SQL =
+            "SELECT card_number FROM core.professional_cards " +
+            "WHERE status IN ('REVOKED', 'SUSPENDED') AND expires_at > NOW()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile Set<String> revoked = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> rebuilding;
+
+    @Autowired
+    public CardRevocationRegistry(JdbcTemplate jdbcTemplate,
+                                  StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        Gauge.builder("ismail.auth.cards.revoked", this, registry -> registry.revoked.size())
+                .description("Cartes professionnelles révoquées ou suspendues connues de l'instance")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // CONSULTATION
+    // =====================================================
+
+    public boolean isRevoked(String cardNumber) {
+        return revoked.contains(cardNumber);
+    }
+
+    // =====================================================
+    // MISE À JOUR
+    // =====================================================
+
+    /**
+     * Enregistre la révocation ou la suspension d'une carte
+     *
+     * Si une transaction est en cours, la révocation n'est diffusée qu'après
+     * son commit afin que le rechargement depuis la base ne puisse pas la manquer.
+     */
+    public void revoke(String cardNumber) {
+        afterCommit(REVOKED_PREFIX + cardNumber);
+    }
+
+    /**
+     * Retire une carte du registre (fin de suspension)
+     */
+    public void reinstate(String cardNumber) {
+        afterCommit(REINSTATED_PREFIX + cardNumber);
+    }
+
+    private void afterCommit(String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAndPublish(message);
+                }
+            });
+        } else {
+            applyAndPublish(message);
+        }
+    }
+
+    private void applyAndPublish(String message) {
+        apply(message);
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, message);
+        } catch (Exception e) {
+            // Les autres instances rattraperont la mise à jour au prochain rechargement
+            logger.warn("Diffusion de la révocation de carte impossible: {}", e.getMessage());
+        }
+    }
+
+    private void apply(String message) {
+        String cardNumber = message.substring(2);
+        Set<String> next = rebuilding;
+        if (message.startsWith(REVOKED_PREFIX)) {
+            revoked.add(cardNumber);
+            if (next != null) {
+                next.add(cardNumber);
+            }
+        } else {
+            revoked.remove(cardNumber);
+            if (next != null) {
+                next.remove(cardNumber);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.length() > 2 && (body.startsWith(REVOKED_PREFIX) || body.startsWith(REINSTATED_PREFIX))) {
+            apply(body);
+        } else {
+            logger.warn("Message de révocation de carte invalide ignoré");
+        }
+    }
+
+    // =====================================================
+    // RECHARGEMENT
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Recharge le registre depuis la base, ce qui en retire les cartes expirées
+     */
+    @Scheduled(fixedDelayString = "${ismail.auth.professional-cards.revocation.reload-interval:PT5M}",
+               initialDelayString = "${ismail.auth.professional-cards.revocation.reload-interval:PT5M}")
+    public void reload() {
+        Set<String> next = ConcurrentHashMap.newKeySet();
+        rebuilding = next;
+        try {
+            jdbcTemplate.query(SELECT_REVOKED_SQL, rs -> {
+                next.add(rs.getString(1));
+            });
+            revoked = next;
+            logger.info("Registre des cartes révoquées rechargé: {} cartes", next.size());
+        } catch (Exception e) {
+            logger.error("Échec du rechargement des cartes révoquées, conservation du registre courant", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ismail.platform.auth.card;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ismail.platform.auth.dto.response.CardVerificationResponse;
+import com.ismail.platform.auth.dto.response.CardVerificationResponse.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Vérification des cartes professionnelles scannées
+ *
+ * L'authenticité est établie par la seule signature du QR code
+ * ({@link CardQrCodec}), sans lecture de {@code core.professional_cards}.
+ * Le résultat de la vérification de signature est mis en cache par charge
+ * utile : aux entrées d'événements, une même carte est scannée de nombreuses
+ * fois. L'expiration et la révocation ({@link CardRevocationRegistry}) sont
+ * réévaluées à chaque scan, un résultat en cache ne peut donc pas survivre
+ * à une révocation.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class CardVerificationService {
+
+    private final CardQrCodec codec;
+    private final CardRevocationRegistry revocationRegistry;
+    private final Clock clock;
+
+    /** Réponses VALID partagées entre les scans : ne pas les modifier */
+    private final Cache<String, CardVerificationResponse> verifications;
+    private final Map<Status, Counter> outcomes = new EnumMap<>(Status.class);
+
+    @Autowired
+    public CardVerificationService(CardQrCodec codec,
+                                   CardRevocationRegistry revocationRegistry,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${ismail.auth.professional-cards.verification-cache.max-size:100000}") long maxSize,
+                                   @Value("${ismail.auth.professional-cards.verification-cache.ttl:PT10M}") Duration ttl) {
+        this(codec, revocationRegistry, meterRegistry, maxSize, ttl, Clock.systemDefaultZone());
+    }
+
+    CardVerificationService(CardQrCodec codec, CardRevocationRegistry revocationRegistry, MeterRegistry meterRegistry,
+                            long maxSize, Duration ttl, Clock clock) {
+        this.codec = codec;
+        this.revocationRegistry = revocationRegistry;
+        this.clock = clock;
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifications, "auth.cards.verifications");
+        for (Status status : Status.values()) {
+            outcomes.put(status, Counter.builder("ismail.auth.cards.verifications")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .description("Cartes professionnelles vérifiées par statut")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Vérifie la charge utile lue dans un QR code de carte professionnelle
+     */
+    public CardVerificationResponse verify(String qrCodeData) {
+        // Les charges utiles invalides ne sont pas mises en cache pour qu'un
+        // balayage de QR codes forgés ne puisse pas en chasser les cartes valides
+        CardVerificationResponse response = verifications.get(qrCodeData, this::verifySignature);
+        if (response == null) {
+            response = CardVerificationResponse.invalid();
+        } else if (revocationRegistry.isRevoked(response.getCardNumber())) {
+            response = response.withStatus(Status.REVOKED);
+        } else if (!response.getExpiresAt().isAfter(LocalDateTime.now(clock))) {
+            response = response.withStatus(Status.EXPIRED);
+        }
+        outcomes.get(response.getStatus()).increment();
+        return response;
+    }
+
+    private CardVerificationResponse verifySignature(String qrCodeData) {
+        return codec.decode(qrCodeData)
+                .map(claims -> new CardVerificationResponse(Status.VALID, claims.getCardNumber(), claims.getUserId(),
+                        LocalDateTime.ofInstant(claims.getExpiresAt(), clock.getZone())))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ismail.platform.auth.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+import java.util.List;
+
+/**
+ * Résolution multipart du service d'authentification
+ *
+ * La résolution multipart reste active pour l'ensemble des endpoints, sauf
+ * pour les chemins lus en flux par
+ * {@link com.ismail.platform.auth.service.KycDocumentIngestionService} :
+ * leur corps n'est ni analysé ni mis en tampon par le conteneur avant
+ * d'atteindre le contrôleur.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Configuration
+public class MultipartConfig {
+
+    @Bean
+    public MultipartResolver multipartResolver(
+            @Value("${ismail.auth.kyc.upload.streaming-paths:/api/auth/kyc/documents}") List<String> streamingPaths) {
+        return new StreamingAwareMultipartResolver(streamingPaths);
+    }
+
+    /**
+     * {@link StandardServletMultipartResolver} qui ignore les chemins lus en flux
+     */
+    static class StreamingAwareMultipartResolver extends StandardServletMultipartResolver {
+
+        private final List<String> streamingPaths;
+
+        StreamingAwareMultipartResolver(List<String> streamingPaths) {
+            this.streamingPaths = List.copyOf(streamingPaths);
+        }
+
+        @Override
+        public boolean isMultipart(HttpServletRequest request) {
+            return super.isMultipart(request) && !streamingPaths.contains(pathWithinApplication(request));
+        }
+
+        private static String pathWithinApplication(HttpServletRequest request) {
+            String uri = request.getRequestURI();
+            String contextPath = request.getContextPath();
+            return contextPath != null && uri.startsWith(contextPath) ? uri.substring(contextPath.length()) : uri;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ismail.platform.auth.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Configuration Redis du service d'authentification
+ *
+ * Fournit le conteneur d'écoute pub/sub partagé par les composants
+ * qui diffusent des invalidations entre les instances du service.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
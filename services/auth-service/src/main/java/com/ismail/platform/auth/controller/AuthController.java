@@ -1,9 +1,15 @@
 package com.ismail.platform.auth.controller;
 
+import com.ismail.platform.auth.card.CardBatchRenewalService;
+import com.ismail.platform.auth.card.CardVerificationService;
 import com.ismail.platform.auth.dto.request.*;
 import com.ismail.platform.auth.dto.response.*;
+import com.ismail.platform.auth.kyc.BiometricVerificationQueue;
+import com.ismail.platform.auth.security.LoginRateLimiter;
 import com.ismail.platform.auth.service.AuthService;
+import com.ismail.platform.auth.service.KycDocumentIngestionService;
 import com.ismail.platform.auth.service.KycService;
+import com.ismail.platform.auth.storage.KycDocumentSet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,11 +20,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -42,18 +49,33 @@ public class AuthController {
 
     private final AuthService authService;
     private final KycService kycService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final KycDocumentIngestionService kycDocumentIngestionService;
+    private final BiometricVerificationQueue biometricVerificationQueue;
+    private final CardVerificationService cardVerificationService;
+    private final CardBatchRenewalService cardBatchRenewalService;
 
     @Autowired
-    public AuthController(AuthService authService, KycService kycService) {
+    public AuthController(AuthService authService, KycService kycService, LoginRateLimiter loginRateLimiter,
+                          KycDocumentIngestionService kycDocumentIngestionService,
+                          BiometricVerificationQueue biometricVerificationQueue,
+                          CardVerificationService cardVerificationService,
+                          CardBatchRenewalService cardBatchRenewalService) {
         this.authService = authService;
         this.kycService = kycService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.kycDocumentIngestionService = kycDocumentIngestionService;
+        this.biometricVerificationQueue = biometricVerificationQueue;
+        this.cardVerificationService = cardVerificationService;
+        this.cardBatchRenewalService = cardBatchRenewalService;
     }
 
     @Operation(summary = "Inscription d'un nouvel utilisateur")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Utilisateur créé avec succès"),
         @ApiResponse(responseCode = "400", description = "Données d'inscription invalides"),
-        @ApiResponse(responseCode = "409", description = "Email ou téléphone déjà utilisé")
+        @ApiResponse(responseCode = "409", description = "Email ou téléphone déjà utilisé"),
+        @ApiResponse(responseCode = "503", description = "Service saturé, réessayer après Retry-After")
     })
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
@@ -68,14 +90,18 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Connexion réussie"),
         @ApiResponse(responseCode = "401", description = "Identifiants invalides"),
-        @ApiResponse(responseCode = "423", description = "Compte verrouillé")
+        @ApiResponse(responseCode = "423", description = "Compte verrouillé"),
+        @ApiResponse(responseCode = "429", description = "Trop de tentatives de connexion"),
+        @ApiResponse(responseCode = "503", description = "Service saturé, réessayer après Retry-After")
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest) {
         
+        loginRateLimiter.checkLoginAttempt(httpRequest, request.getEmail());
         AuthResponse response = authService.login(request, httpRequest);
+        loginRateLimiter.onSuccessfulLogin(request.getEmail());
         return ResponseEntity.ok(response);
     }
 
@@ -222,30 +248,64 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Soumettre les documents d'identité")
+    @Operation(summary = "Soumettre les documents d'identité",
+               description = "Corps multipart/form-data : idCard et selfie obligatoires, additionalDoc facultatif")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Documents soumis avec succès"),
+        @ApiResponse(responseCode = "400", description = "Requête multipart invalide ou document manquant"),
+        @ApiResponse(responseCode = "413", description = "Document trop volumineux"),
+        @ApiResponse(responseCode = "415", description = "Type de document non pris en charge"),
+        @ApiResponse(responseCode = "429", description = "Téléversement déjà en cours pour cet utilisateur"),
+        @ApiResponse(responseCode = "503", description = "Service saturé, réessayer après Retry-After")
+    })
     @SecurityRequirement(name = "bearerAuth")
-    @PostMapping("/kyc/documents")
+    @PostMapping(value = "/kyc/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse> submitDocuments(
-            @RequestParam("idCard") MultipartFile idCard,
-            @RequestParam("selfie") MultipartFile selfie,
-            @RequestParam(value = "additionalDoc", required = false) MultipartFile additionalDoc,
+            HttpServletRequest httpRequest,
             @Parameter(hidden = true) @RequestAttribute("userId") UUID userId) {
         
-        kycService.submitDocuments(userId, idCard, selfie, additionalDoc);
+        // Lecture en flux : chemin exclu de la résolution multipart (MultipartConfig)
+        KycDocumentSet documents = kycDocumentIngestionService.ingest(userId, httpRequest);
+        try {
+            kycService.submitDocuments(userId, documents);
+        } catch (RuntimeException e) {
+            kycDocumentIngestionService.discard(documents);
+            throw e;
+        }
         return ResponseEntity.ok(new ApiResponse("Documents soumis avec succès", true));
     }
 
-    @Operation(summary = "Soumettre les données biométriques")
+    @Operation(summary = "Soumettre les données biométriques",
+               description = "La vérification est traitée de manière asynchrone ; suivre le travail renvoyé")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Vérification mise en file d'attente"),
+        @ApiResponse(responseCode = "400", description = "Données biométriques invalides")
+    })
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/kyc/biometric")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<BiometricVerificationResponse> submitBiometric(
+    public ResponseEntity<BiometricJobResponse> submitBiometric(
             @Valid @RequestBody BiometricDataRequest request,
             @Parameter(hidden = true) @RequestAttribute("userId") UUID userId) {
         
-        BiometricVerificationResponse response = kycService.submitBiometricData(request, userId);
-        return ResponseEntity.ok(response);
+        UUID jobId = biometricVerificationQueue.submit(userId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/auth/kyc/biometric/jobs/" + jobId))
+                .body(BiometricJobResponse.queued(jobId));
+    }
+
+    @Operation(summary = "Suivre une vérification biométrique")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/kyc/biometric/jobs/{jobId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BiometricJobResponse> getBiometricJob(
+            @PathVariable UUID jobId,
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId) {
+        
+        return biometricVerificationQueue.getJob(jobId, userId)
+                .map(job -> ResponseEntity.ok(BiometricJobResponse.from(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Obtenir le statut de la vérification KYC")
@@ -296,12 +356,13 @@ public class AuthController {
         return ResponseEntity.ok(card);
     }
 
-    @Operation(summary = "Vérifier une carte d'identité professionnelle via QR code")
+    @Operation(summary = "Vérifier une carte d'identité professionnelle via QR code",
+               description = "Vérification par signature du QR code, sans accès à la base")
     @PostMapping("/professional-card/verify")
     public ResponseEntity<CardVerificationResponse> verifyProfessionalCard(
             @Valid @RequestBody VerifyCardRequest request) {
         
-        CardVerificationResponse verification = authService.verifyProfessionalCard(request);
+        CardVerificationResponse verification = cardVerificationService.verify(request.getQrCodeData());
         return ResponseEntity.ok(verification);
     }
 
@@ -333,6 +394,30 @@ public class AuthController {
         return ResponseEntity.ok(new ApiResponse("KYC rejeté", true));
     }
 
+    @Operation(summary = "Renouveler les cartes professionnelles arrivant à expiration (Admin)",
+               description = "Lance le renouvellement par lots, ou reprend l'exécution non terminée")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/admin/professional-cards/renewals")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardRenewalRunResponse> startCardRenewal() {
+        
+        UUID runId = cardBatchRenewalService.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/auth/admin/professional-cards/renewals/" + runId))
+                .body(CardRenewalRunResponse.started(runId));
+    }
+
+    @Operation(summary = "Suivre un renouvellement de cartes professionnelles (Admin)")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/admin/professional-cards/renewals/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardRenewalRunResponse> getCardRenewal(@PathVariable UUID runId) {
+        
+        return cardBatchRenewalService.getRun(runId)
+                .map(run -> ResponseEntity.ok(CardRenewalRunResponse.from(run)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "Suspendre un utilisateur (Admin)")
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/admin/users/{userId}/suspend")
@@ -1,7 +1,9 @@
 package com.ismail.platform.auth.domain.entity;
 
+import com.ismail.platform.auth.stats.AuthStatsEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,7 +24,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "users", schema = "core")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AuthStatsEntityListener.class})
+@DynamicUpdate
 public class User {
 
     @Id
@@ -113,6 +116,13 @@ public class User {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // État tel que lu ou écrit en base, pour le suivi incrémental des statistiques
+    @Transient
+    private UserStatus persistedStatus;
+
+    @Transient
+    private KycStatus persistedKycStatus;
+
     // Constructeurs
     public User() {}
 
@@ -157,6 +167,11 @@ public class User {
         this.lockedUntil = LocalDateTime.now().plusMinutes(lockoutDurationMinutes);
     }
 
+    /**
+     * Sur le chemin de connexion, préférer
+     * {@link com.ismail.platform.auth.service.ActivityWriteBehindBuffer#recordLogin}
+     * qui évite une mise à jour JPA de la ligne utilisateur.
+     */
     public void updateLastLogin() {
         this.lastLoginAt = LocalDateTime.now();
         resetLoginAttempts();
@@ -175,6 +190,25 @@ public class User {
         this.kycVerifiedAt = null;
     }
 
+    /**
+     * Appelé après les écouteurs d'entité, qui voient donc encore l'état précédent
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        this.persistedStatus = status;
+        this.persistedKycStatus = kycStatus;
+    }
+
+    /**
+     * Remplace le hachage par un hachage de coût supérieur du même mot de passe,
+     * sans modifier la date de changement du mot de passe.
+     */
+    public void rehashPassword(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
     // Getters et Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -215,6 +249,10 @@ public class User {
     public KycStatus getKycStatus() { return kycStatus; }
     public void setKycStatus(KycStatus kycStatus) { this.kycStatus = kycStatus; }
 
+    public UserStatus getPersistedStatus() { return persistedStatus; }
+
+    public KycStatus getPersistedKycStatus() { return persistedKycStatus; }
+
     public LocalDateTime getKycVerifiedAt() { return kycVerifiedAt; }
     public void setKycVerifiedAt(LocalDateTime kycVerifiedAt) { this.kycVerifiedAt = kycVerifiedAt; }
 
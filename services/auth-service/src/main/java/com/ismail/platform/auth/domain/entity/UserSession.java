@@ -1,8 +1,11 @@
 package com.ismail.platform.auth.domain.entity;
 
+import com.ismail.platform.auth.cache.SessionCacheEntityListener;
+import com.ismail.platform.auth.stats.AuthStatsEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -21,7 +24,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "user_sessions", schema = "core")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AuthStatsEntityListener.class, SessionCacheEntityListener.class})
+@DynamicUpdate
 public class UserSession {
 
     @Id
@@ -74,6 +78,10 @@ public class UserSession {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // État tel que lu ou écrit en base, pour le suivi incrémental des statistiques
+    @Transient
+    private Boolean persistedActive;
+
     // Constructeurs
     public UserSession() {}
 
@@ -97,6 +105,16 @@ public class UserSession {
         this.userAgent = userAgent;
     }
 
+    /**
+     * Appelé après les écouteurs d'entité, qui voient donc encore l'état précédent
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        this.persistedActive = isActive;
+    }
+
     // Méthodes utilitaires
     public boolean isExpired() {
         return expiresAt.isBefore(LocalDateTime.now());
@@ -106,6 +124,11 @@ public class UserSession {
         return isActive && !isExpired();
     }
 
+    /**
+     * Sur le chemin des requêtes authentifiées, préférer
+     * {@link com.ismail.platform.auth.service.ActivityWriteBehindBuffer#recordSessionActivity}
+     * qui évite une mise à jour JPA de la ligne de session.
+     */
     public void updateActivity() {
         this.lastActivityAt = LocalDateTime.now();
     }
@@ -170,6 +193,8 @@ public class UserSession {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public Boolean getPersistedActive() { return persistedActive; }
+
     // equals, hashCode et toString
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,50 @@
+package com.ismail.platform.auth.domain.repository;
+
+import com.ismail.platform.auth.domain.entity.UserSession;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Repository des sessions utilisateur
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, UUID> {
+
+    Optional<UserSession> findBySessionToken(String sessionToken);
+
+    Optional<UserSession> findByRefreshToken(String refreshToken);
+
+    List<UserSession> findByUser_IdAndIsActiveTrueAndExpiresAtAfter(UUID userId, LocalDateTime now);
+
+    /**
+     * Vérifie qu'une session est toujours active et non expirée
+     *
+     * Utilisé uniquement lorsque le filtre de révocation en mémoire
+     * signale une révocation possible.
+     */
+    @Query("SELECT COUNT(s) > 0 FROM UserSession s " +
+           "WHERE s.id = :sessionId AND s.isActive = true AND s.expiresAt > :now")
+    boolean isSessionActive(@Param("sessionId") UUID sessionId, @Param("now") LocalDateTime now);
+
+    /**
+     * Identifiants des sessions révoquées dont le token n'a pas encore expiré
+     *
+     * Doit être consommé dans une transaction en lecture seule.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.id FROM UserSession s WHERE s.isActive = false AND s.expiresAt > :now")
+    Stream<UUID> streamRevokedSessionIds(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,31 @@
+package com.ismail.platform.auth.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO pour la vérification d'une carte professionnelle scannée
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Contenu du QR code d'une carte professionnelle")
+public class VerifyCardRequest {
+
+    @Schema(description = "Charge utile signée lue dans le QR code (Base64 URL)")
+    @NotBlank(message = "Contenu du QR code obligatoire")
+    @Size(max = 512, message = "Contenu du QR code trop long")
+    private String qrCodeData;
+
+    // Constructeurs
+    public VerifyCardRequest() {}
+
+    public VerifyCardRequest(String qrCodeData) {
+        this.qrCodeData = qrCodeData;
+    }
+
+    // Getters et Setters
+    public String getQrCodeData() { return qrCodeData; }
+    public void setQrCodeData(String qrCodeData) { this.qrCodeData = qrCodeData; }
+}
@@ -0,0 +1,71 @@
+package com.ismail.platform.auth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ismail.platform.auth.domain.entity.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO de réponse pour les statistiques d'authentification
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Statistiques d'authentification de la plateforme")
+public class AuthStatsResponse {
+
+    @Schema(description = "Nombre total d'utilisateurs", example = "125000")
+    private long totalUsers;
+
+    @Schema(description = "Utilisateurs par statut de compte")
+    private Map<User.UserStatus, Long> usersByStatus;
+
+    @Schema(description = "Utilisateurs par statut KYC")
+    private Map<User.KycStatus, Long> usersByKycStatus;
+
+    @Schema(description = "Utilisateurs par type de profil")
+    private Map<User.ProfileType, Long> usersByProfileType;
+
+    @Schema(description = "Inscriptions du jour", example = "340")
+    private long registrationsToday;
+
+    @Schema(description = "Connexions (sessions ouvertes) du jour", example = "18250")
+    private long loginsToday;
+
+    @Schema(description = "Sessions actives non expirées", example = "42000")
+    private long activeSessions;
+
+    @Schema(description = "Date de la dernière réconciliation avec la base")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime reconciledAt;
+
+    // Constructeurs
+    public AuthStatsResponse() {}
+
+    // Getters et Setters
+    public long getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(long totalUsers) { this.totalUsers = totalUsers; }
+
+    public Map<User.UserStatus, Long> getUsersByStatus() { return usersByStatus; }
+    public void setUsersByStatus(Map<User.UserStatus, Long> usersByStatus) { this.usersByStatus = usersByStatus; }
+
+    public Map<User.KycStatus, Long> getUsersByKycStatus() { return usersByKycStatus; }
+    public void setUsersByKycStatus(Map<User.KycStatus, Long> usersByKycStatus) { this.usersByKycStatus = usersByKycStatus; }
+
+    public Map<User.ProfileType, Long> getUsersByProfileType() { return usersByProfileType; }
+    public void setUsersByProfileType(Map<User.ProfileType, Long> usersByProfileType) { this.usersByProfileType = usersByProfileType; }
+
+    public long getRegistrationsToday() { return registrationsToday; }
+    public void setRegistrationsToday(long registrationsToday) { this.registrationsToday = registrationsToday; }
+
+    public long getLoginsToday() { return loginsToday; }
+    public void setLoginsToday(long loginsToday) { this.loginsToday = loginsToday; }
+
+    public long getActiveSessions() { return activeSessions; }
+    public void setActiveSessions(long activeSessions) { this.activeSessions = activeSessions; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -0,0 +1,87 @@
+package com.ismail.platform.auth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ismail.platform.auth.kyc.BiometricJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour le suivi d'une vérification biométrique asynchrone
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "État d'une vérification biométrique en file d'attente")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BiometricJobResponse {
+
+    @Schema(description = "Identifiant du travail de vérification")
+    private UUID jobId;
+
+    @Schema(description = "Statut du travail", example = "QUEUED")
+    private BiometricJob.Status status;
+
+    @Schema(description = "Résultat de la vérification (une fois terminée)", example = "true")
+    private Boolean verified;
+
+    @Schema(description = "Score de correspondance biométrique", example = "0.9312")
+    private Double score;
+
+    @Schema(description = "Motif de rejet ou d'échec")
+    private String message;
+
+    @Schema(description = "Date de soumission")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Date de fin de traitement")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime completedAt;
+
+    // Constructeurs
+    public BiometricJobResponse() {}
+
+    public static BiometricJobResponse from(BiometricJob job) {
+        BiometricJobResponse response = new BiometricJobResponse();
+        response.jobId = job.getId();
+        response.status = job.getStatus();
+        response.verified = job.getVerified();
+        response.score = job.getScore();
+        response.message = job.getErrorMessage();
+        response.submittedAt = job.getCreatedAt();
+        response.completedAt = job.getCompletedAt();
+        return response;
+    }
+
+    public static BiometricJobResponse queued(UUID jobId) {
+        BiometricJobResponse response = new BiometricJobResponse();
+        response.jobId = jobId;
+        response.status = BiometricJob.Status.QUEUED;
+        return response;
+    }
+
+    // Getters et Setters
+    public UUID getJobId() { return jobId; }
+    public void setJobId(UUID jobId) { this.jobId = jobId; }
+
+    public BiometricJob.Status getStatus() { return status; }
+    public void setStatus(BiometricJob.Status status) { this.status = status; }
+
+    public Boolean getVerified() { return verified; }
+    public void setVerified(Boolean verified) { this.verified = verified; }
+
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,103 @@
+package com.ismail.platform.auth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ismail.platform.auth.card.CardRenewalRun;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour le suivi d'un renouvellement par lots des cartes professionnelles
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Progression d'un renouvellement par lots des cartes professionnelles")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CardRenewalRunResponse {
+
+    @Schema(description = "Identifiant de l'exécution")
+    private UUID runId;
+
+    @Schema(description = "Statut de l'exécution", example = "RUNNING")
+    private CardRenewalRun.Status status;
+
+    @Schema(description = "Cartes expirant avant cette date")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime windowEnd;
+
+    @Schema(description = "Date d'expiration de la dernière carte traitée (point de reprise)")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime progressExpiresAt;
+
+    @Schema(description = "Cartes renouvelées", example = "12500")
+    private Long renewedCount;
+
+    @Schema(description = "Cartes ignorées (révoquées ou renouvelées entre-temps)", example = "3")
+    private Long skippedCount;
+
+    @Schema(description = "Cause de la dernière interruption")
+    private String message;
+
+    @Schema(description = "Date de lancement")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Date de fin")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime completedAt;
+
+    // Constructeurs
+    public CardRenewalRunResponse() {}
+
+    public static CardRenewalRunResponse from(CardRenewalRun run) {
+        CardRenewalRunResponse response = new CardRenewalRunResponse();
+        response.runId = run.getId();
+        response.status = run.getStatus();
+        response.windowEnd = run.getWindowEnd();
+        response.progressExpiresAt = run.getCursorExpiresAt();
+        response.renewedCount = run.getRenewedCount();
+        response.skippedCount = run.getSkippedCount();
+        response.message = run.getErrorMessage();
+        response.startedAt = run.getCreatedAt();
+        response.completedAt = run.getCompletedAt();
+        return response;
+    }
+
+    public static CardRenewalRunResponse started(UUID runId) {
+        CardRenewalRunResponse response = new CardRenewalRunResponse();
+        response.runId = runId;
+        response.status = CardRenewalRun.Status.RUNNING;
+        return response;
+    }
+
+    // Getters et Setters
+    public UUID getRunId() { return runId; }
+    public void setRunId(UUID runId) { this.runId = runId; }
+
+    public CardRenewalRun.Status getStatus() { return status; }
+    public void setStatus(CardRenewalRun.Status status) { this.status = status; }
+
+    public LocalDateTime getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(LocalDateTime windowEnd) { this.windowEnd = windowEnd; }
+
+    public LocalDateTime getProgressExpiresAt() { return progressExpiresAt; }
+    public void setProgressExpiresAt(LocalDateTime progressExpiresAt) { this.progressExpiresAt = progressExpiresAt; }
+
+    public Long getRenewedCount() { return renewedCount; }
+    public void setRenewedCount(Long renewedCount) { this.renewedCount = renewedCount; }
+
+    public Long getSkippedCount() { return skippedCount; }
+    public void setSkippedCount(Long skippedCount) { this.skippedCount = skippedCount; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
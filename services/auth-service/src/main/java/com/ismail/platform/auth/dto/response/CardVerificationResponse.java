@@ -0,0 +1,77 @@
+package com.ismail.platform.auth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour la vérification d'une carte professionnelle
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Résultat de la vérification d'une carte professionnelle")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CardVerificationResponse {
+
+    public enum Status {
+        VALID, INVALID, EXPIRED, REVOKED
+    }
+
+    @Schema(description = "La carte est authentique, en cours de validité et non révoquée", example = "true")
+    private boolean valid;
+
+    @Schema(description = "Statut de la vérification", example = "VALID")
+    private Status status;
+
+    @Schema(description = "Numéro de la carte", example = "IC2401150001")
+    private String cardNumber;
+
+    @Schema(description = "Identifiant du titulaire")
+    private UUID userId;
+
+    @Schema(description = "Date d'expiration de la carte")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime expiresAt;
+
+    // Constructeurs
+    public CardVerificationResponse() {}
+
+    public CardVerificationResponse(Status status, String cardNumber, UUID userId, LocalDateTime expiresAt) {
+        this.valid = status == Status.VALID;
+        this.status = status;
+        this.cardNumber = cardNumber;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public static CardVerificationResponse invalid() {
+        return new CardVerificationResponse(Status.INVALID, null, null, null);
+    }
+
+    /**
+     * @return une copie de cette réponse avec un autre statut
+     */
+    public CardVerificationResponse withStatus(Status status) {
+        return new CardVerificationResponse(status, cardNumber, userId, expiresAt);
+    }
+
+    // Getters et Setters
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getCardNumber() { return cardNumber; }
+    public void setCardNumber(String cardNumber) { this.cardNumber = cardNumber; }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,30 @@
+package com.ismail.platform.auth.exception;
+
+/**
+ * Exception levée lorsqu'un document KYC téléversé est refusé
+ *
+ * Traduite en réponse 400, 413 ou 415 selon {@link Reason}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class InvalidDocumentException extends RuntimeException {
+
+    public enum Reason {
+        MALFORMED, MISSING, TOO_LARGE, UNSUPPORTED_TYPE
+    }
+
+    private final Reason reason;
+
+    public InvalidDocumentException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public InvalidDocumentException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() { return reason; }
+}
@@ -0,0 +1,21 @@
+package com.ismail.platform.auth.exception;
+
+/**
+ * Exception levée lorsqu'un client dépasse la limite de requêtes autorisée
+ *
+ * Traduite en réponse 429 avec un en-tête {@code Retry-After}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
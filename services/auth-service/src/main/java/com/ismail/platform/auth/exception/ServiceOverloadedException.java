@@ -0,0 +1,21 @@
+package com.ismail.platform.auth.exception;
+
+/**
+ * Exception levée lorsqu'une ressource interne du service est saturée
+ *
+ * Traduite en réponse 503 avec un en-tête {@code Retry-After}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
@@ -0,0 +1,60 @@
+package com.ismail.platform.auth.kyc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * État d'un travail de vérification biométrique
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class BiometricJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID id;
+    private final UUID userId;
+    private final Status status;
+    private final Boolean verified;
+    private final Double score;
+    private final String errorMessage;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime completedAt;
+
+    public BiometricJob(UUID id, UUID userId, Status status, Boolean verified, Double score,
+                        String errorMessage, LocalDateTime createdAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.status = status;
+        this.verified = verified;
+        this.score = score;
+        this.errorMessage = errorMessage;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+
+    // Méthodes utilitaires
+    public boolean isTerminal() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+
+    public UUID getUserId() { return userId; }
+
+    public Status getStatus() { return status; }
+
+    public Boolean getVerified() { return verified; }
+
+    public Double getScore() { return score; }
+
+    public String getErrorMessage() { return errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
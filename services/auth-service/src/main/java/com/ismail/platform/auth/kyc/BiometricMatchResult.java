@@ -0,0 +1,60 @@
+package com.ismail.platform.auth.kyc;
+
+/**
+ * Résultat d'une comparaison biométrique
+ *
+ * Un résultat vérifié porte le gabarit produit par le SDK, enregistré dans
+ * {@code core.user_biometrics} à la validation du travail.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class BiometricMatchResult {
+
+    private final boolean verified;
+    private final double score;
+    private final String rejectionReason;
+    private final String fingerprintHash;
+    private final String faceEncoding;
+    private final byte[] template;
+    private final String algorithmVersion;
+
+    public BiometricMatchResult(boolean verified, double score, String rejectionReason) {
+        this(verified, score, rejectionReason, null, null, null, null);
+    }
+
+    public BiometricMatchResult(boolean verified, double score, String rejectionReason,
+                                String fingerprintHash, String faceEncoding, byte[] template,
+                                String algorithmVersion) {
+        this.verified = verified;
+        this.score = score;
+        this.rejectionReason = rejectionReason;
+        this.fingerprintHash = fingerprintHash;
+        this.faceEncoding = faceEncoding;
+        this.template = template;
+        this.algorithmVersion = algorithmVersion;
+    }
+
+    /**
+     * @return true si le résultat porte de quoi enregistrer l'utilisateur
+     */
+    public boolean hasEnrolment() {
+        return fingerprintHash != null && faceEncoding != null;
+    }
+
+    // Getters
+    public boolean isVerified() { return verified; }
+
+    public double getScore() { return score; }
+
+    public String getRejectionReason() { return rejectionReason; }
+
+    public String getFingerprintHash() { return fingerprintHash; }
+
+    public String getFaceEncoding() { return faceEncoding; }
+
+    /** Gabarit chiffré par le SDK */
+    public byte[] getTemplate() { return template; }
+
+    public String getAlgorithmVersion() { return algorithmVersion; }
+}
@@ -0,0 +1,32 @@
+package com.ismail.platform.auth.kyc;
+
+import com.ismail.platform.auth.dto.request.BiometricDataRequest;
+
+import java.util.List;
+
+/**
+ * Comparaison biométrique déléguée au SDK
+ *
+ * Appelé uniquement par les travailleurs de {@link BiometricVerificationQueue},
+ * jamais sur un thread de requête.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public interface BiometricMatcher {
+
+    /**
+     * Nombre maximal de soumissions comparées en un appel ; 1 si le SDK ne
+     * permet pas le traitement par lot
+     */
+    int maxBatchSize();
+
+    /**
+     * Compare un lot de soumissions
+     *
+     * @return Un résultat par soumission, dans le même ordre ; un résultat
+     *         vérifié doit porter le gabarit ({@link BiometricMatchResult#hasEnrolment()})
+     * @throws RuntimeException en cas d'échec transitoire ; le lot sera retenté
+     */
+    List<BiometricMatchResult> match(List<BiometricDataRequest> batch);
+}
@@ -0,0 +1,125 @@
+package com.ismail.platform.auth.kyc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Chiffrement des soumissions biométriques en attente de traitement
+ *
+ * Les données soumises sont chiffrées en AES-256-GCM avant leur écriture
+ * dans {@code core.kyc_biometric_jobs.payload} : version, nonce de 12 octets
+ * puis texte chiffré et étiquette d'authentification. L'identifiant du
+ * travail est lié au chiffré comme donnée associée, si bien qu'une charge
+ * recopiée sur un autre travail est refusée.
+ *
+ * La clé ({@code KYC_PAYLOAD_KEY}, 32 octets en Base64) est obligatoire
+ * hors des profils {@code dev} et {@code test}, où une clé éphémère est
+ * générée à défaut.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class BiometricPayloadCipher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BiometricPayloadCipher.class);
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_LENGTH = 32;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public BiometricPayloadCipher(@Value("${ismail.auth.kyc.biometric-queue.payload-key:}") String encodedKey,
+                                  Environment environment) {
+        if (encodedKey.isBlank()) {
+            if (!environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+                throw new IllegalStateException("Clé de chiffrement des soumissions biométriques absente (KYC_PAYLOAD_KEY)");
+            }
+            // Clé éphémère : les travaux en attente ne survivent pas au redémarrage
+            logger.warn("Aucune clé de chiffrement biométrique configurée, génération d'une clé éphémère");
+            this.key = generateKey();
+        } else {
+            byte[] bytes = Base64.getDecoder().decode(encodedKey.trim());
+            if (bytes.length != KEY_LENGTH) {
+                throw new IllegalStateException("La clé de chiffrement biométrique doit faire " + KEY_LENGTH + " octets");
+            }
+            this.key = new SecretKeySpec(bytes, "AES");
+        }
+    }
+
+    /**
+     * Chiffre la soumission du travail {@code jobId}
+     */
+    public byte[] encrypt(UUID jobId, byte[] plaintext) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(associatedData(jobId));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+
+            return ByteBuffer.allocate(1 + NONCE_LENGTH + ciphertext.length)
+                    .put(FORMAT_VERSION)
+                    .put(nonce)
+                    .put(ciphertext)
+                    .array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chiffrement de la soumission biométrique impossible", e);
+        }
+    }
+
+    /**
+     * Déchiffre la soumission du travail {@code jobId}
+     *
+     * @throws GeneralSecurityException si la charge est altérée, d'un autre
+     *         travail, ou chiffrée avec une autre clé
+     */
+    public byte[] decrypt(UUID jobId, byte[] payload) throws GeneralSecurityException {
+        if (payload.length < 1 + NONCE_LENGTH + TAG_BITS / 8 || payload[0] != FORMAT_VERSION) {
+            throw new GeneralSecurityException("Format de soumission biométrique inconnu");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, payload, 1, NONCE_LENGTH));
+        cipher.updateAAD(associatedData(jobId));
+        return cipher.doFinal(payload, 1 + NONCE_LENGTH, payload.length - 1 - NONCE_LENGTH);
+    }
+
+    private static byte[] associatedData(UUID jobId) {
+        return ByteBuffer.allocate(16)
+                .putLong(jobId.getMostSignificantBits())
+                .putLong(jobId.getLeastSignificantBits())
+                .array();
+    }
+
+    private static SecretKey generateKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(KEY_LENGTH * 8);
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
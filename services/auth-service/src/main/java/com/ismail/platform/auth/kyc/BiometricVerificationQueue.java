@@ -0,0 +1,586 @@
+package com.ismail.platform.auth.kyc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ismail.platform.auth.dto.request.BiometricDataRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.security.GeneralSecurityException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File persistante des vérifications biométriques KYC
+ *
+ * La soumission enregistre un travail dans {@code core.kyc_biometric_jobs}
+ * et rend immédiatement son identifiant. Un pool de travailleurs de taille
+ * bornée (par défaut, le nombre de cœurs) réclame les travaux par lots avec
+ * {@code FOR UPDATE SKIP LOCKED} et un bail : si l'instance s'arrête, le bail
+ * expire et le travail est repris par une autre instance.
+ *
+ * Les données soumises sont chiffrées au repos par
+ * {@link BiometricPayloadCipher} et effacées une fois le travail terminé.
+ * Le résultat est appliqué dans la transaction qui termine le travail :
+ * gabarit enregistré dans {@code core.user_biometrics} et statut KYC de
+ * l'utilisateur mis à jour comme par {@code User.verifyKyc()} et
+ * {@code User.rejectKyc()}. Un rejet ne retire pas une vérification
+ * antérieure. Ces mises à jour JDBC échappent à
+ * {@code AuthStatsEntityListener} et ne sont comptées qu'à la réconciliation.
+ *
+ * L'état de chaque travail est publié dans Redis pour que le suivi
+ * ({@link #getJob}) ne sollicite pas la base.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class BiometricVerificationQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(BiometricVerificationQueue.class);
+
+    /** Tentatives d'insertion quand le travail actif se termine pendant la soumission */
+    private static final int MAX_SUBMIT_ATTEMPTS = 3;
+
+    private static final String JOB_KEY_PREFIX = "ismail:auth:kyc:biometric:job:";
+    private static final String USER_KEY_PREFIX = "ismail:auth:kyc:biometric:user:";
+
+    private static final String INSERT_JOB_SQL =
+            "INSERT INTO core.kyc_biometric_jobs (id, user_id, payload) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING";
+
+    private static final String ACTIVE_JOB_SQL =
+            "SELECT id FROM core.kyc_biometric_jobs WHERE user_id = ? AND status IN ('QUEUED', 'RUNNING')";
+
+    private static final String CLAIM_SQL =
+            "UPDATE core.kyc_biometric_jobs j " +
+            "SET status = 'RUNNING', attempts = j.attempts + 1, lease_owner = ?, " +
+            "    lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', " +
+            "    started_at = COALESCE(j.started_at, NOW()) " +
+            "FROM (" +
+            "  SELECT id FROM core.kyc_biometric_jobs" +
+            "  WHERE status = 'QUEUED' OR (status = 'RUNNING' AND lease_expires_at < NOW())" +
+            "  ORDER BY created_at LIMIT ?" +
+            "  FOR UPDATE SKIP LOCKED" +
+            ") claimed " +
+            "WHERE j.id = claimed.id " +
+            "RETURNING j.id, j.user_id, j.payload, j.attempts, j.created_at";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE core.kyc_biometric_jobs " +
+            "SET status = 'COMPLETED', verified = ?, score = ?, error_message = ?, payload = NULL, " +
+            "    completed_at = NOW(), lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String SAVE_BIOMETRICS_SQL =
+            "INSERT INTO core.user_biometrics (user_id, fingerprint_hash, face_encoding, biometric_template, " +
+            "    verification_score, algorithm_version, created_at, expires_at) " +
+            "VALUES (?, ?, ?, ?, ?, COALESCE(?, '1.0'), NOW(), NOW() + INTERVAL '1 year') " +
+            "ON CONFLICT (user_id) DO UPDATE SET fingerprint_hash = EXCLUDED.fingerprint_hash, " +
+            "    face_encoding = EXCLUDED.face_encoding, biometric_template = EXCLUDED.biometric_template, " +
+            "    verification_score = EXCLUDED.verification_score, algorithm_version = EXCLUDED.algorithm_version, " +
+            "    created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at";
+
+    private static final String VERIFY_KYC_SQL =
+            "UPDATE core.users " +
+            "SET kyc_status = 'VERIFIED', kyc_verified_at = NOW(), " +
+            "    status = CASE WHEN status = 'PENDING' THEN 'ACTIVE' ELSE status END " +
+            "WHERE id = ?";
+
+    private static final String REJECT_KYC_SQL =
+            "UPDATE core.users SET kyc_status = 'REJECTED', kyc_verified_at = NULL " +
+            "WHERE id = ? AND kyc_status = 'PENDING'";
+
+    private static final String FAIL_SQL =
+            "UPDATE core.kyc_biometric_jobs " +
+            "SET status = 'FAILED', error_message = ?, payload = NULL, " +
+            "    completed_at = NOW(), lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String REQUEUE_SQL =
+            "UPDATE core.kyc_biometric_jobs " +
+            "SET status = 'QUEUED', lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String SELECT_JOB_SQL =
+            "SELECT id, user_id, status, verified, score, error_message, created_at, completed_at " +
+            "FROM core.kyc_biometric_jobs WHERE id = ?";
+
+    private static final String LATEST_JOB_SQL =
+            "SELECT id FROM core.kyc_biometric_jobs WHERE user_id = ? ORDER BY created_at DESC LIMIT 1";
+
+    private static final String PENDING_COUNT_SQL =
+            "SELECT COUNT(*) FROM core.kyc_biometric_jobs WHERE status IN ('QUEUED', 'RUNNING')";
+
+    private static final RowMapper<BiometricJob> JOB_ROW_MAPPER = (rs, rowNum) -> new BiometricJob(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            BiometricJob.Status.valueOf(rs.getString("status")),
+            (Boolean) rs.getObject("verified"),
+            rs.getBigDecimal("score") == null ? null : rs.getBigDecimal("score").doubleValue(),
+            rs.getString("error_message"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final BiometricMatcher matcher;
+    private final BiometricPayloadCipher payloadCipher;
+    private final ObjectMapper objectMapper;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration leaseDuration;
+    private final Duration pollInterval;
+    private final Duration statusTtl;
+    private final String leaseOwner;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong pendingJobs = new AtomicLong();
+    private final Timer processingTimer;
+    private final Timer queueWaitTimer;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+
+    @Autowired
+    public BiometricVerificationQueue(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      StringRedisTemplate redisTemplate,
+                                      BiometricMatcher matcher,
+                                      BiometricPayloadCipher payloadCipher,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${ismail.auth.kyc.biometric-queue.workers:0}") int workers,
+                                      @Value("${ismail.auth.kyc.biometric-queue.batch-size:8}") int batchSize,
+                                      @Value("${ismail.auth.kyc.biometric-queue.max-attempts:3}") int maxAttempts,
+                                      @Value("${ismail.auth.kyc.biometric-queue.lease-duration:PT5M}") Duration leaseDuration,
+                                      @Value("${ismail.auth.kyc.biometric-queue.poll-interval:PT2S}") Duration pollInterval,
+                                      @Value("${ismail.auth.kyc.biometric-queue.status-ttl:PT24H}") Duration statusTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.matcher = matcher;
+        this.payloadCipher = payloadCipher;
+        this.objectMapper = objectMapper;
+        this.workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(1, Math.min(batchSize, matcher.maxBatchSize()));
+        this.maxAttempts = maxAttempts;
+        this.leaseDuration = leaseDuration;
+        this.pollInterval = pollInterval;
+        this.statusTtl = statusTtl;
+        this.leaseOwner = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+        this.processingTimer = Timer.builder("ismail.auth.kyc.biometric.processing")
+                .description("Durée de comparaison biométrique par travail")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("ismail.auth.kyc.biometric.queue.wait")
+                .description("Attente entre la soumission et le début du traitement")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("ismail.auth.kyc.biometric.jobs")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ismail.auth.kyc.biometric.jobs")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("ismail.auth.kyc.biometric.jobs")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.kyc.biometric.queue.depth", pendingJobs, AtomicLong::get)
+                .description("Travaux biométriques en attente ou en cours (toutes instances)")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // SOUMISSION ET SUIVI
+    // =====================================================
+
+    /**
+     * Enregistre une soumission biométrique
+     *
+     * Si l'utilisateur a déjà un travail en attente ou en cours, son
+     * identifiant est renvoyé et la nouvelle soumission est ignorée.
+     *
+     * @return Identifiant du travail
+     */
+    public UUID submit(UUID userId, BiometricDataRequest request) {
+        byte[] serialized;
+        try {
+            serialized = objectMapper.writeValueAsBytes(request);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Sérialisation de la soumission biométrique impossible", e);
+        }
+
+        for (int attempt = 1; attempt <= MAX_SUBMIT_ATTEMPTS; attempt++) {
+            UUID jobId = UUID.randomUUID();
+            int inserted = jdbcTemplate.update(INSERT_JOB_SQL, jobId, userId, payloadCipher.encrypt(jobId, serialized));
+            if (inserted > 0) {
+                publish(new BiometricJob(jobId, userId, BiometricJob.Status.QUEUED, null, null, null, LocalDateTime.now(), null));
+                rememberLatest(userId, jobId);
+                pendingJobs.incrementAndGet();
+                wakeUp.release();
+                return jobId;
+            }
+            List<UUID> active = jdbcTemplate.queryForList(ACTIVE_JOB_SQL, UUID.class, userId);
+            if (!active.isEmpty()) {
+                return active.get(0);
+            }
+            // Le travail actif s'est terminé entre-temps : nouvelle tentative
+        }
+        throw new IllegalStateException("Soumission biométrique impossible: conflit persistant sur le travail actif");
+    }
+
+    /**
+     * État d'un travail, lu dans Redis puis en base à défaut
+     *
+     * @return vide si le travail n'existe pas ou n'appartient pas à l'utilisateur
+     */
+    public Optional<BiometricJob> getJob(UUID jobId, UUID userId) {
+        BiometricJob job = readCached(jobId);
+        if (job == null) {
+            List<BiometricJob> rows = jdbcTemplate.query(SELECT_JOB_SQL, JOB_ROW_MAPPER, jobId);
+            if (rows.isEmpty()) {
+                return Optional.empty();
+            }
+            job = rows.get(0);
+            publish(job);
+        }
+        return job.getUserId().equals(userId) ? Optional.of(job) : Optional.empty();
+    }
+
+    /**
+     * Dernier travail de l'utilisateur, pour le calcul du statut KYC
+     */
+    public Optional<BiometricJob> getLatestJob(UUID userId) {
+        String cachedId = null;
+        try {
+            cachedId = redisTemplate.opsForValue().get(USER_KEY_PREFIX + userId);
+        } catch (Exception e) {
+            logger.debug("Lecture du dernier travail de {} impossible: {}", userId, e.getMessage());
+        }
+        if (cachedId != null) {
+            return getJob(UUID.fromString(cachedId), userId);
+        }
+
+        List<UUID> latest = jdbcTemplate.queryForList(LATEST_JOB_SQL, UUID.class, userId);
+        if (latest.isEmpty()) {
+            return Optional.empty();
+        }
+        rememberLatest(userId, latest.get(0));
+        return getJob(latest.get(0), userId);
+    }
+
+    // =====================================================
+    // TRAVAILLEURS
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = Thread.ofPlatform()
+                    .name("kyc-biometric-" + i)
+                    .daemon(true)
+                    .start(this::runWorker);
+            workers.add(worker);
+        }
+        logger.info("File biométrique démarrée: {} travailleurs, lots de {}", workerCount, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        // Les travaux interrompus seront repris à l'expiration de leur bail
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                List<ClaimedJob> batch = claim();
+                if (batch.isEmpty()) {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Erreur du travailleur biométrique", e);
+                sleepQuietly(pollInterval);
+            }
+        }
+    }
+
+    private List<ClaimedJob> claim() {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedJob(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getBytes("payload"),
+                rs.getInt("attempts"),
+                toLocalDateTime(rs.getTimestamp("created_at"))),
+                leaseOwner, leaseDuration.toMillis(), batchSize);
+    }
+
+    private void process(List<ClaimedJob> claimed) {
+        List<ClaimedJob> batch = new ArrayList<>(claimed.size());
+        List<BiometricDataRequest> requests = new ArrayList<>(claimed.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (ClaimedJob job : claimed) {
+            if (job.attempts == 1) {
+                queueWaitTimer.record(Duration.between(job.createdAt, now));
+            }
+            if (job.attempts > maxAttempts || job.payload == null) {
+                fail(job, "Nombre maximal de tentatives atteint");
+                continue;
+            }
+            try {
+                requests.add(objectMapper.readValue(payloadCipher.decrypt(job.id, job.payload), BiometricDataRequest.class));
+                batch.add(job);
+            } catch (IOException | GeneralSecurityException e) {
+                fail(job, "Soumission biométrique illisible");
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        publishAll(batch, BiometricJob.Status.RUNNING);
+
+        long start = System.nanoTime();
+        List<BiometricMatchResult> results;
+        try {
+            results = matcher.match(requests);
+        } catch (RuntimeException e) {
+            logger.warn("Échec de la comparaison biométrique d'un lot de {} travaux: {}", batch.size(), e.getMessage());
+            for (ClaimedJob job : batch) {
+                if (job.attempts >= maxAttempts) {
+                    fail(job, "Échec de la comparaison biométrique");
+                } else {
+                    requeue(job);
+                }
+            }
+            return;
+        }
+        if (results == null || results.size() != batch.size()) {
+            logger.error("Le comparateur biométrique a renvoyé {} résultats pour {} travaux",
+                    results == null ? 0 : results.size(), batch.size());
+            batch.forEach(job -> fail(job, "Résultat de comparaison incohérent"));
+            return;
+        }
+        long perJobNanos = (System.nanoTime() - start) / batch.size();
+
+        for (int i = 0; i < batch.size(); i++) {
+            ClaimedJob job = batch.get(i);
+            BiometricMatchResult result = results.get(i);
+            processingTimer.record(perJobNanos, TimeUnit.NANOSECONDS);
+            complete(job, result);
+        }
+    }
+
+    void complete(ClaimedJob job, BiometricMatchResult result) {
+        if (result.isVerified() && !result.hasEnrolment()) {
+            fail(job, "Gabarit biométrique absent du résultat");
+            return;
+        }
+        Boolean applied = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(COMPLETE_SQL,
+                    result.isVerified(), result.getScore(), result.getRejectionReason(), job.id, leaseOwner);
+            if (updated == 0) {
+                // Bail perdu : une autre instance a repris le travail
+                return false;
+            }
+            if (result.isVerified()) {
+                jdbcTemplate.update(SAVE_BIOMETRICS_SQL, job.userId, result.getFingerprintHash(),
+                        result.getFaceEncoding(), result.getTemplate(), result.getScore(), result.getAlgorithmVersion());
+                jdbcTemplate.update(VERIFY_KYC_SQL, job.userId);
+            } else {
+                jdbcTemplate.update(REJECT_KYC_SQL, job.userId);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            return;
+        }
+        completedCounter.increment();
+        pendingJobs.decrementAndGet();
+        publish(new BiometricJob(job.id, job.userId, BiometricJob.Status.COMPLETED, result.isVerified(),
+                result.getScore(), result.getRejectionReason(), job.createdAt, LocalDateTime.now()));
+    }
+
+    private void fail(ClaimedJob job, String reason) {
+        if (jdbcTemplate.update(FAIL_SQL, reason, job.id, leaseOwner) == 0) {
+            return;
+        }
+        failedCounter.increment();
+        pendingJobs.decrementAndGet();
+        publish(new BiometricJob(job.id, job.userId, BiometricJob.Status.FAILED, null, null, reason,
+                job.createdAt, LocalDateTime.now()));
+    }
+
+    private void requeue(ClaimedJob job) {
+        if (jdbcTemplate.update(REQUEUE_SQL, job.id, leaseOwner) > 0) {
+            retriedCounter.increment();
+            publish(new BiometricJob(job.id, job.userId, BiometricJob.Status.QUEUED, null, null, null, job.createdAt, null));
+        }
+    }
+
+    /**
+     * Recalage périodique de la profondeur de file sur l'état de la base
+     */
+    @Scheduled(fixedDelayString = "${ismail.auth.kyc.biometric-queue.depth-refresh-interval:PT15S}")
+    public void refreshQueueDepth() {
+        try {
+            Long count = jdbcTemplate.queryForObject(PENDING_COUNT_SQL, Long.class);
+            pendingJobs.set(count == null ? 0 : count);
+        } catch (Exception e) {
+            logger.debug("Mesure de la profondeur de la file biométrique impossible: {}", e.getMessage());
+        }
+    }
+
+    // =====================================================
+    // CACHE D'ÉTAT
+    // =====================================================
+
+    private void publishAll(List<ClaimedJob> jobs, BiometricJob.Status status) {
+        for (ClaimedJob job : jobs) {
+            publish(new BiometricJob(job.id, job.userId, status, null, null, null, job.createdAt, null));
+        }
+    }
+
+    private void publish(BiometricJob job) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("userId", job.getUserId().toString());
+        fields.put("status", job.getStatus().name());
+        fields.put("verified", job.getVerified());
+        fields.put("score", job.getScore());
+        fields.put("error", job.getErrorMessage());
+        fields.put("createdAt", job.getCreatedAt().toString());
+        fields.put("completedAt", job.getCompletedAt() == null ? null : job.getCompletedAt().toString());
+
+        try {
+            redisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getId(), objectMapper.writeValueAsString(fields), statusTtl);
+        } catch (Exception e) {
+            // Le suivi se rabattra sur la base
+            logger.debug("Publication de l'état du travail {} impossible: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void rememberLatest(UUID userId, UUID jobId) {
+        try {
+            redisTemplate.opsForValue().set(USER_KEY_PREFIX + userId, jobId.toString(), statusTtl);
+        } catch (Exception e) {
+            logger.debug("Publication du dernier travail de {} impossible: {}", userId, e.getMessage());
+        }
+    }
+
+    private BiometricJob readCached(UUID jobId) {
+        try {
+            String json = redisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+            if (json == null) {
+                return null;
+            }
+            Map<?, ?> fields = objectMapper.readValue(json, Map.class);
+            Number score = (Number) fields.get("score");
+            String completedAt = (String) fields.get("completedAt");
+            return new BiometricJob(
+                    jobId,
+                    UUID.fromString((String) fields.get("userId")),
+                    BiometricJob.Status.valueOf((String) fields.get("status")),
+                    (Boolean) fields.get("verified"),
+                    score == null ? null : score.doubleValue(),
+                    (String) fields.get("error"),
+                    LocalDateTime.parse((String) fields.get("createdAt")),
+                    completedAt == null ? null : LocalDateTime.parse(completedAt));
+        } catch (Exception e) {
+            logger.debug("Lecture de l'état du travail {} impossible: {}", jobId, e.getMessage());
+            return null;
+        }
+    }
+
+    // =====================================================
+    // UTILITAIRES
+    // =====================================================
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "auth-service";
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static final class ClaimedJob {
+
+        final UUID id;
+        final UUID userId;
+        final byte[] payload;
+        final int attempts;
+        final LocalDateTime createdAt;
+
+        ClaimedJob(UUID id, UUID userId, byte[] payload, int attempts, LocalDateTime createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.payload = payload;
+            this.attempts = attempts;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ismail.platform.auth.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.ismail.platform.auth.domain.repository.UserSessionRepository;
+import com.ismail.platform.auth.service.SessionRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation sans état des tokens d'accès JWT
+ *
+ * Chemin nominal : vérification de la signature, de l'émetteur, de l'audience
+ * et de l'expiration par un {@link JWTVerifier} construit une seule fois, puis
+ * consultation du filtre de révocation en mémoire. La base n'est interrogée
+ * que lorsque le filtre signale une révocation possible.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class JwtTokenValidator {
+
+    /** Claim portant l'identifiant de la session ({@code core.user_sessions.id}) */
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    private final JWTVerifier verifier;
+    private final SessionRevocationService revocationService;
+    private final UserSessionRepository userSessionRepository;
+
+    private final Timer validationTimer;
+    private final Counter revocationLookups;
+    private final Counter revokedTokens;
+
+    @Autowired
+    public JwtTokenValidator(SessionRevocationService revocationService,
+                             UserSessionRepository userSessionRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${ismail.auth.jwt.secret}") String secret,
+                             @Value("${ismail.auth.jwt.algorithm:HS256}") String algorithm,
+                             @Value("${ismail.auth.jwt.issuer}") String issuer,
+                             @Value("${ismail.auth.jwt.audience}") String audience,
+                             @Value("${ismail.auth.jwt.leeway:5}") long leewaySeconds) {
+        this.revocationService = revocationService;
+        this.userSessionRepository = userSessionRepository;
+        this.verifier = JWT.require(resolveAlgorithm(algorithm, secret))
+                .withIssuer(issuer)
+                .withAudience(audience)
+                .withClaimPresence(SESSION_ID_CLAIM)
+                .acceptLeeway(leewaySeconds)
+                .build();
+
+        this.validationTimer = Timer.builder("ismail.auth.token.validation")
+                .description("Durée de validation des tokens d'accès")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.revocationLookups = Counter.builder("ismail.auth.token.revocation.lookups")
+                .description("Vérifications en base déclenchées par le filtre de révocation")
+                .register(meterRegistry);
+        this.revokedTokens = Counter.builder("ismail.auth.token.revoked")
+                .description("Tokens rejetés car leur session a été révoquée")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valide un token d'accès
+     *
+     * @param token Token JWT sans le préfixe « Bearer »
+     * @return Token décodé si la signature, l'expiration et la session sont valides
+     * @throws JWTVerificationException si le token est invalide, expiré ou révoqué
+     */
+    public DecodedJWT validate(String token) {
+        long start = System.nanoTime();
+        try {
+            DecodedJWT jwt = verifier.verify(token);
+            UUID sessionId = parseUuid(jwt.getClaim(SESSION_ID_CLAIM).asString());
+
+            if (revocationService.mightBeRevoked(sessionId)) {
+                revocationLookups.increment();
+                if (!userSessionRepository.isSessionActive(sessionId, LocalDateTime.now())) {
+                    revokedTokens.increment();
+                    throw new JWTVerificationException("Session révoquée");
+                }
+            }
+            return jwt;
+        } finally {
+            validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Extrait l'identifiant utilisateur (claim {@code sub}) d'un token valide
+     */
+    public UUID extractUserId(String token) {
+        return parseUuid(validate(token).getSubject());
+    }
+
+    /**
+     * Extrait l'identifiant de session d'un token valide
+     */
+    public UUID extractSessionId(String token) {
+        return parseUuid(validate(token).getClaim(SESSION_ID_CLAIM).asString());
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null) {
+            throw new JWTVerificationException("Identifiant manquant dans le token");
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new JWTVerificationException("Identifiant invalide dans le token", e);
+        }
+    }
+
+    private static Algorithm resolveAlgorithm(String algorithm, String secret) {
+        return switch (algorithm) {
+            case "HS256" -> Algorithm.HMAC256(secret);
+            case "HS384" -> Algorithm.HMAC384(secret);
+            case "HS512" -> Algorithm.HMAC512(secret);
+            default -> throw new IllegalStateException("Algorithme JWT non supporté: " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.ismail.platform.auth.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons local, sans verrou, par clé
+ *
+ * Implémenté selon l'algorithme GCRA : chaque clé ne stocke qu'un instant
+ * d'arrivée théorique mis à jour par CAS, ce qui équivaut à un seau de
+ * {@code capacity} jetons rechargé d'un jeton toutes les {@code refillPeriodNanos}.
+ * Aucune allocation sur le chemin d'une clé déjà connue.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class LocalRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+
+    /**
+     * @param capacity Nombre de requêtes admises en rafale
+     * @param refillPeriodNanos Délai de recharge d'un jeton
+     * @param maxKeys Nombre maximal de clés suivies avant purge forcée
+     */
+    public LocalRateLimiter(int capacity, long refillPeriodNanos, int maxKeys) {
+        if (capacity <= 0 || refillPeriodNanos <= 0) {
+            throw new IllegalArgumentException("Capacité et période de recharge doivent être positives");
+        }
+        this.emissionIntervalNanos = refillPeriodNanos;
+        this.burstToleranceNanos = (capacity - 1) * refillPeriodNanos;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Consomme un jeton pour la clé
+     *
+     * @return 0 si la requête est admise, sinon le délai en nanosecondes avant le prochain jeton
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle(nowNanos);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long next = base + emissionIntervalNanos;
+            long wait = next - nowNanos - burstToleranceNanos - emissionIntervalNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Recharge entièrement le seau d'une clé
+     */
+    public void reset(String key) {
+        buckets.remove(key);
+    }
+
+    /**
+     * Retire les clés dont le seau est entièrement rechargé
+     */
+    public void evictIdle(long nowNanos) {
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= nowNanos);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,179 @@
+package com.ismail.platform.auth.security;
+
+import com.ismail.platform.auth.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation du débit des tentatives de connexion
+ *
+ * Deux niveaux, consultés avant toute lecture JPA ou calcul bcrypt :
+ * <ul>
+ *   <li>un seau à jetons local sans verrou par IP et par empreinte d'email,
+ *       qui absorbe les rafales sans aller-retour réseau ;</li>
+ *   <li>une fenêtre glissante Redis (script Lua atomique) partagée par
+ *       toutes les instances, qui porte la limite métier
+ *       {@code ismail.auth.security.rate-limiting.login-attempts}.</li>
+ * </ul>
+ * Une connexion réussie remet à zéro la fenêtre de l'email, ce qui remplace
+ * le verrouillage par écriture de {@code login_attempts}/{@code locked_until}.
+ *
+ * L'IP du client est lue dans {@code X-Forwarded-For} à la position ajoutée
+ * par le dernier proxy de confiance ({@code trusted-proxy-hops} adresses en
+ * partant de la droite) : les entrées de gauche, fournies par le client, ne
+ * sont jamais retenues.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private static final String IP_KEY_PREFIX = "ismail:auth:ratelimit:login:ip:";
+    private static final String EMAIL_KEY_PREFIX = "ismail:auth:ratelimit:login:email:";
+    private static final String RATE_LIMIT_MESSAGE = "Trop de tentatives de connexion, veuillez réessayer plus tard";
+
+    private final StringRedisTemplate redisTemplate;
+    private final DefaultRedisScript<Long> slidingWindowScript;
+    private final LocalRateLimiter localIpLimiter;
+    private final LocalRateLimiter localEmailLimiter;
+    private final int ipAttempts;
+    private final int emailAttempts;
+    private final int trustedProxyHops;
+    private final Duration window;
+
+    private final Counter localRejections;
+    private final Counter clusterRejections;
+
+    @Autowired
+    public LoginRateLimiter(StringRedisTemplate redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${ismail.auth.security.rate-limiting.login-attempts:5}") int emailAttempts,
+                            @Value("${ismail.auth.security.rate-limiting.login-window:300}") long windowSeconds,
+                            @Value("${ismail.auth.security.rate-limiting.login-ip-attempts:50}") int ipAttempts,
+                            @Value("${ismail.auth.security.rate-limiting.local.ip-burst:20}") int localIpBurst,
+                            @Value("${ismail.auth.security.rate-limiting.local.ip-refill-period:PT1S}") Duration localIpRefill,
+                            @Value("${ismail.auth.security.rate-limiting.local.max-keys:100000}") int localMaxKeys,
+                            @Value("${ismail.auth.security.rate-limiting.trusted-proxy-hops:1}") int trustedProxyHops) {
+        this.redisTemplate = redisTemplate;
+        this.slidingWindowScript = new DefaultRedisScript<>();
+        this.slidingWindowScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/sliding-window-rate-limit.lua")));
+        this.slidingWindowScript.setResultType(Long.class);
+
+        this.emailAttempts = emailAttempts;
+        this.ipAttempts = ipAttempts;
+        this.trustedProxyHops = trustedProxyHops;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.localIpLimiter = new LocalRateLimiter(localIpBurst, localIpRefill.toNanos(), localMaxKeys);
+        this.localEmailLimiter = new LocalRateLimiter(emailAttempts, window.toNanos() / emailAttempts, localMaxKeys);
+
+        this.localRejections = Counter.builder("ismail.auth.ratelimit.login.rejected")
+                .tag("tier", "local")
+                .description("Tentatives de connexion rejetées par le limiteur")
+                .register(meterRegistry);
+        this.clusterRejections = Counter.builder("ismail.auth.ratelimit.login.rejected")
+                .tag("tier", "redis")
+                .description("Tentatives de connexion rejetées par le limiteur")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Comptabilise une tentative de connexion
+     *
+     * @throws RateLimitExceededException si l'IP ou l'email a dépassé sa limite
+     */
+    public void checkLoginAttempt(HttpServletRequest httpRequest, String email) {
+        String ip = resolveClientIp(httpRequest, trustedProxyHops);
+        String emailHash = hashEmail(email);
+        long now = System.nanoTime();
+
+        long localWait = Math.max(localIpLimiter.tryAcquire(ip, now), localEmailLimiter.tryAcquire(emailHash, now));
+        if (localWait > 0) {
+            localRejections.increment();
+            throw new RateLimitExceededException(RATE_LIMIT_MESSAGE, toRetryAfterSeconds(TimeUnit.NANOSECONDS.toMillis(localWait)));
+        }
+
+        Long clusterWait;
+        try {
+            clusterWait = redisTemplate.execute(slidingWindowScript,
+                    List.of(IP_KEY_PREFIX + ip, EMAIL_KEY_PREFIX + emailHash),
+                    String.valueOf(window.toMillis()),
+                    UUID.randomUUID().toString(),
+                    String.valueOf(ipAttempts),
+                    String.valueOf(emailAttempts));
+        } catch (Exception e) {
+            // Redis indisponible : seul le niveau local protège le service
+            logger.warn("Limiteur Redis indisponible, niveau local seul appliqué: {}", e.getMessage());
+            return;
+        }
+
+        if (clusterWait != null && clusterWait > 0) {
+            clusterRejections.increment();
+            throw new RateLimitExceededException(RATE_LIMIT_MESSAGE, toRetryAfterSeconds(clusterWait));
+        }
+    }
+
+    /**
+     * Remet à zéro les limites de l'email après une connexion réussie
+     */
+    public void onSuccessfulLogin(String email) {
+        String emailHash = hashEmail(email);
+        localEmailLimiter.reset(emailHash);
+        try {
+            redisTemplate.delete(EMAIL_KEY_PREFIX + emailHash);
+        } catch (Exception e) {
+            logger.warn("Réinitialisation du limiteur impossible: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.auth.security.rate-limiting.local.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        localIpLimiter.evictIdle(now);
+        localEmailLimiter.evictIdle(now);
+    }
+
+    private static String hashEmail(String email) {
+        return DigestUtils.sha256Hex(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param trustedProxyHops nombre de proxys de confiance (Kong) devant le
+     *                         service ; 0 ignore {@code X-Forwarded-For}
+     */
+    static String resolveClientIp(HttpServletRequest request, int trustedProxyHops) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (trustedProxyHops <= 0 || forwarded == null || forwarded.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        // Chaque proxy ajoute à droite l'adresse qui l'a appelé : l'entrée ajoutée
+        // par le proxy de confiance le plus éloigné est l'adresse du client
+        String[] hops = forwarded.split(",");
+        return hops[Math.max(0, hops.length - trustedProxyHops)].trim();
+    }
+
+    private static long toRetryAfterSeconds(long waitMillis) {
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+}
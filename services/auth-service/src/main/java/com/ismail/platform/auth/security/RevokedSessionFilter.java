@@ -0,0 +1,90 @@
+package com.ismail.platform.auth.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom concurrent des sessions révoquées
+ *
+ * Répond « certainement pas révoquée » sans accès base de données ;
+ * une réponse positive n'est qu'une présomption à confirmer en base.
+ * Les insertions sont sans verrou (CAS sur des mots de 64 bits) et
+ * les lectures ne font aucune allocation.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class RevokedSessionFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions Nombre de sessions révoquées attendues
+     * @param falsePositiveRate Taux de faux positifs visé (ex: 0.001)
+     */
+    public RevokedSessionFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Le nombre d'insertions attendues doit être positif");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Le taux de faux positifs doit être compris entre 0 et 1");
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void add(UUID sessionId) {
+        long h1 = mix(sessionId.getMostSignificantBits());
+        long h2 = mix(sessionId.getLeastSignificantBits()) | 1L;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current = words.get(index);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(index, current, current | mask)) {
+                    break;
+                }
+                current = words.get(index);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID sessionId) {
+        long h1 = mix(sessionId.getMostSignificantBits());
+        long h2 = mix(sessionId.getLeastSignificantBits()) | 1L;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() { return bitCount; }
+
+    public int getHashCount() { return hashCount; }
+
+    /**
+     * Finaliseur MurmurHash3 64 bits
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
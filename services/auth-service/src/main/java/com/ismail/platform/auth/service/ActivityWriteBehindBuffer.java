@@ -0,0 +1,268 @@
+package com.ismail.platform.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Écriture différée des horodatages d'activité
+ *
+ * Remplace, sur le chemin chaud, les appels à {@code User.updateLastLogin()}
+ * et {@code UserSession.updateActivity()} suivis d'un dirty-check JPA : les
+ * horodatages sont agrégés en mémoire (le plus récent par utilisateur ou
+ * session) puis écrits par lots JDBC à intervalle régulier. La perte maximale
+ * en cas d'arrêt brutal est bornée par l'intervalle de vidage ; un arrêt
+ * normal vide le tampon. Un horodatage dont l'écriture échoue est retenté
+ * au plus {@code max-attempts} fois, et abandonné si le tampon est plein.
+ *
+ * Au-delà de {@code max-pending} entrées, un vidage anticipé est confié au
+ * fil de vidage : l'appelant n'attend jamais l'écriture en base. Si le tampon
+ * continue de croître pendant ce vidage, les nouvelles entrées sont refusées
+ * et comptées au-delà de {@code hard-limit} ; la mise à jour d'une entrée déjà
+ * présente, qui ne fait pas croître le tampon, reste acceptée.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class ActivityWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityWriteBehindBuffer.class);
+
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE core.users SET last_login_at = ? " +
+            "WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private static final String UPDATE_SESSION_ACTIVITY_SQL =
+            "UPDATE core.user_sessions SET last_activity_at = ? " +
+            "WHERE id = ? AND (last_activity_at IS NULL OR last_activity_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPending;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int hardLimit;
+    private final Executor flushExecutor;
+
+    private final ConcurrentHashMap<UUID, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, LocalDateTime> pendingActivity = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Integer> loginFailures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Integer> activityFailures = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean earlyFlushRequested = new AtomicBoolean();
+
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private final Counter droppedRows;
+
+    @Autowired
+    public ActivityWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${ismail.auth.write-behind.max-pending:50000}") int maxPending,
+                                     @Value("${ismail.auth.write-behind.batch-size:500}") int batchSize,
+                                     @Value("${ismail.auth.write-behind.max-attempts:5}") int maxAttempts,
+                                     @Value("${ismail.auth.write-behind.hard-limit:200000}") int hardLimit) {
+        this(jdbcTemplate, meterRegistry, maxPending, batchSize, maxAttempts, hardLimit,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("write-behind-flush").daemon(true).factory()));
+    }
+
+    ActivityWriteBehindBuffer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, int maxPending,
+                              int batchSize, int maxAttempts, int hardLimit, Executor flushExecutor) {
+        if (hardLimit < maxPending) {
+            throw new IllegalArgumentException("hard-limit (" + hardLimit + ") inférieur à max-pending (" + maxPending + ")");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.hardLimit = hardLimit;
+        this.flushExecutor = flushExecutor;
+
+        this.flushTimer = Timer.builder("ismail.auth.write-behind.flush")
+                .description("Durée de vidage du tampon d'activité")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("ismail.auth.write-behind.rows")
+                .description("Horodatages d'activité écrits en base")
+                .register(meterRegistry);
+        this.droppedRows = Counter.builder("ismail.auth.write-behind.dropped")
+                .description("Horodatages abandonnés après échecs d'écriture répétés ou tampon plein")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.write-behind.pending", this, ActivityWriteBehindBuffer::pendingCount)
+                .description("Horodatages en attente d'écriture")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // ENREGISTREMENT
+    // =====================================================
+
+    /**
+     * Enregistre une connexion réussie (équivalent différé de {@code User.updateLastLogin()})
+     */
+    public void recordLogin(UUID userId, LocalDateTime loginAt) {
+        record(pendingLogins, userId, loginAt);
+    }
+
+    /**
+     * Enregistre une activité de session (équivalent différé de {@code UserSession.updateActivity()})
+     */
+    public void recordSessionActivity(UUID sessionId, LocalDateTime activityAt) {
+        record(pendingActivity, sessionId, activityAt);
+    }
+
+    public int pendingCount() {
+        return pendingLogins.size() + pendingActivity.size();
+    }
+
+    private void record(ConcurrentHashMap<UUID, LocalDateTime> pending, UUID id, LocalDateTime at) {
+        if (pendingCount() >= hardLimit && !pending.containsKey(id)) {
+            droppedRows.increment();
+            return;
+        }
+        pending.merge(id, at, ActivityWriteBehindBuffer::latest);
+        if (pendingCount() >= maxPending) {
+            requestEarlyFlush();
+        }
+    }
+
+    // =====================================================
+    // VIDAGE
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${ismail.auth.write-behind.flush-interval:PT2S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (flushExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+        flush();
+        logger.info("Tampon d'activité vidé à l'arrêt");
+    }
+
+    /**
+     * Confie un vidage anticipé au fil de vidage, au plus un à la fois : le
+     * premier appelant qui trouve le tampon plein le demande, les autres
+     * continuent sans attendre.
+     */
+    private void requestEarlyFlush() {
+        if (!earlyFlushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(() -> {
+                try {
+                    flush();
+                } catch (Exception e) {
+                    logger.warn("Vidage anticipé du tampon d'activité impossible: {}", e.getMessage());
+                } finally {
+                    earlyFlushRequested.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Fil de vidage arrêté : le vidage planifié ou celui de l'arrêt prend le relais
+            earlyFlushRequested.set(false);
+        }
+    }
+
+    private void doFlush() {
+        long start = System.nanoTime();
+        int rows = write(UPDATE_LAST_LOGIN_SQL, pendingLogins, loginFailures)
+                + write(UPDATE_SESSION_ACTIVITY_SQL, pendingActivity, activityFailures);
+        if (rows > 0) {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushedRows.increment(rows);
+        }
+    }
+
+    private int write(String sql, ConcurrentHashMap<UUID, LocalDateTime> pending,
+                      ConcurrentHashMap<UUID, Integer> failures) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        int written = 0;
+        for (Map.Entry<UUID, LocalDateTime> entry : pending.entrySet()) {
+            UUID id = entry.getKey();
+            LocalDateTime at = entry.getValue();
+            // Ne retire l'entrée que si elle n'a pas été remplacée entre-temps
+            if (!pending.remove(id, at)) {
+                continue;
+            }
+            Timestamp timestamp = Timestamp.valueOf(at);
+            batch.add(new Object[]{timestamp, id, timestamp});
+
+            if (batch.size() == batchSize) {
+                written += execute(sql, batch, pending, failures);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            written += execute(sql, batch, pending, failures);
+        }
+        return written;
+    }
+
+    private int execute(String sql, List<Object[]> batch, ConcurrentHashMap<UUID, LocalDateTime> pending,
+                        ConcurrentHashMap<UUID, Integer> failures) {
+        try {
+            jdbcTemplate.batchUpdate(sql, batch);
+            if (!failures.isEmpty()) {
+                batch.forEach(args -> failures.remove((UUID) args[1]));
+            }
+            return batch.size();
+        } catch (Exception e) {
+            // Réinjecte le lot pour la prochaine tentative sans écraser des valeurs plus récentes
+            int dropped = 0;
+            for (Object[] args : batch) {
+                UUID id = (UUID) args[1];
+                if (failures.merge(id, 1, Integer::sum) >= maxAttempts || pendingCount() >= maxPending) {
+                    failures.remove(id);
+                    dropped++;
+                    continue;
+                }
+                pending.merge(id, ((Timestamp) args[0]).toLocalDateTime(), ActivityWriteBehindBuffer::latest);
+            }
+            droppedRows.increment(dropped);
+            logger.warn("Échec de l'écriture différée de {} horodatages ({} abandonnés), nouvel essai au prochain vidage: {}",
+                    batch.size(), dropped, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ismail.platform.auth.service;
 
+import com.ismail.platform.auth.cache.SessionCache;
 import com.ismail.platform.auth.dto.request.*;
 import com.ismail.platform.auth.dto.response.*;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +19,11 @@ import java.util.UUID;
  */
 public interface AuthService {
 
+    /**
+     * Type de l'événement de domaine publié à l'inscription
+     */
+    String USER_REGISTERED = "user.registered";
+
     // =====================================================
     // AUTHENTIFICATION ET INSCRIPTION
     // =====================================================
@@ -25,6 +31,11 @@ public interface AuthService {
     /**
      * Inscription d'un nouvel utilisateur
      * 
+     * Le mot de passe est haché via {@link PasswordHashingService}.
+     * L'événement {@code user.registered} est enregistré via
+     * {@link com.ismail.platform.common.outbox.OutboxPublisher} dans la
+     * transaction d'inscription.
+     * 
      * @param request Données d'inscription
      * @param httpRequest Requête HTTP pour extraire les informations de contexte
      * @return Réponse d'authentification avec tokens
@@ -34,6 +45,12 @@ public interface AuthService {
     /**
      * Connexion d'un utilisateur
      * 
+     * Le mot de passe est vérifié via {@link PasswordHashingService#verifyAndUpgrade},
+     * qui re-hache les mots de passe stockés avec un coût obsolète.
+     * Le débit des tentatives est limité en amont par
+     * {@link com.ismail.platform.auth.security.LoginRateLimiter}.
+     * La session créée est signalée à {@link SessionCache#onSessionCreated}.
+     * 
      * @param request Données de connexion
      * @param httpRequest Requête HTTP pour extraire les informations de contexte
      * @return Réponse d'authentification avec tokens
@@ -43,6 +60,8 @@ public interface AuthService {
     /**
      * Rafraîchissement du token d'accès
      * 
+     * La session est résolue via {@link SessionCache#getByRefreshToken}.
+     * 
      * @param request Token de rafraîchissement
      * @return Nouveaux tokens d'accès
      */
@@ -51,6 +70,9 @@ public interface AuthService {
     /**
      * Déconnexion d'un utilisateur
      * 
+     * La session invalidée doit être signalée à {@link SessionRevocationService}
+     * et retirée de {@link SessionCache}.
+     * 
      * @param authHeader Header d'autorisation contenant le token
      */
     void logout(String authHeader);
@@ -58,6 +80,9 @@ public interface AuthService {
     /**
      * Déconnexion de toutes les sessions d'un utilisateur
      * 
+     * Les sessions invalidées doivent être signalées à {@link SessionRevocationService}
+     * et retirées de {@link SessionCache#evictUser}.
+     * 
      * @param userId Identifiant de l'utilisateur
      */
     void logoutAll(UUID userId);
@@ -134,6 +159,8 @@ public interface AuthService {
     /**
      * Obtenir les sessions actives d'un utilisateur
      * 
+     * Lecture servie par {@link SessionCache#getActiveSessions}.
+     * 
      * @param userId Identifiant de l'utilisateur
      * @return Liste des sessions actives
      */
@@ -142,6 +169,9 @@ public interface AuthService {
     /**
      * Terminer une session spécifique
      * 
+     * La session est recherchée via {@link SessionCache}, et son invalidation
+     * signalée à {@link SessionRevocationService} et {@link SessionCache#evictSession}.
+     * 
      * @param sessionId Identifiant de la session
      * @param userId Identifiant de l'utilisateur
      */
@@ -149,6 +179,8 @@ public interface AuthService {
 
     /**
      * Nettoyer les sessions expirées
+     * 
+     * La purge planifiée est assurée par {@link ExpiredSessionReaper}.
      */
     void cleanupExpiredSessions();
 
@@ -159,6 +191,10 @@ public interface AuthService {
     /**
      * Générer une carte d'identité professionnelle
      * 
+     * Le contenu du QR code ({@code qr_code_data}) est produit par
+     * {@link com.ismail.platform.auth.card.CardQrCodec#encode} afin d'être
+     * vérifiable hors ligne.
+     * 
      * @param userId Identifiant de l'utilisateur
      * @return Carte professionnelle générée
      */
@@ -175,6 +211,11 @@ public interface AuthService {
     /**
      * Renouveler la carte d'identité professionnelle
      * 
+     * Les renouvellements de masse passent par
+     * {@link com.ismail.platform.auth.card.CardBatchRenewalService}, qui
+     * applique les mêmes règles (prolongation de {@code card-validity-days}
+     * et nouveau QR code signé) en conservant le numéro de carte.
+     * 
      * @param userId Identifiant de l'utilisateur
      * @return Carte professionnelle renouvelée
      */
@@ -183,6 +224,12 @@ public interface AuthService {
     /**
      * Vérifier une carte d'identité professionnelle
      * 
+     * L'endpoint public de vérification est servi par
+     * {@link com.ismail.platform.auth.card.CardVerificationService}, qui ne
+     * consulte pas la base ; les implémentations doivent lui déléguer.
+     * Toute révocation ou suspension de carte doit être signalée à
+     * {@link com.ismail.platform.auth.card.CardRevocationRegistry}.
+     * 
      * @param request Données de vérification (QR code ou ID)
      * @return Résultat de la vérification
      */
@@ -210,6 +257,10 @@ public interface AuthService {
     /**
      * Obtenir les statistiques d'authentification
      * 
+     * Servies depuis la mémoire par
+     * {@link com.ismail.platform.auth.stats.AuthStatsCollector#snapshot()},
+     * sans agrégation sur {@code core.users} à chaque appel.
+     * 
      * @return Statistiques d'authentification
      */
     AuthStatsResponse getAuthStats();
@@ -221,6 +272,9 @@ public interface AuthService {
     /**
      * Valider un token JWT
      * 
+     * S'appuie sur {@link com.ismail.platform.auth.security.JwtTokenValidator} :
+     * aucun accès base tant que la session n'est pas signalée comme révoquée.
+     * 
      * @param token Token à valider
      * @return Informations du token si valide
      */
@@ -253,6 +307,8 @@ public interface AuthService {
     /**
      * Générer un ID ISMAIL unique
      *
+     * Délégué à {@link IsmailIdGenerator} : aucune vérification d'unicité en base.
+     *
      * @param countryCode Code pays (ex: CI)
      * @param profileType Type de profil
      * @return ID ISMAIL généré
@@ -0,0 +1,213 @@
+package com.ismail.platform.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purge des sessions expirées par lots
+ *
+ * Supprime les lignes de {@code core.user_sessions} expirées depuis plus que
+ * le délai de grâce, par tranches bornées parcourues dans l'ordre de
+ * {@code idx_sessions_expires_at} (pagination par clé : chaque tranche
+ * reprend après la dernière date supprimée, sans re-parcourir les entrées
+ * d'index mortes). La taille des tranches s'adapte à la latence observée
+ * et une pause proportionnelle laisse respirer la base.
+ *
+ * Un verrou consultatif PostgreSQL garantit qu'une seule instance exécute
+ * la purge à un instant donné.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class ExpiredSessionReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredSessionReaper.class);
+
+    /** Clé du verrou consultatif (« SESSREAP ») */
+    private static final long ADVISORY_LOCK_KEY = 0x5345535352454150L;
+
+    private static final String DELETE_CHUNK_SQL =
+            "WITH chunk AS (" +
+            "  SELECT id FROM core.user_sessions" +
+            "  WHERE expires_at >= ? AND expires_at < ?" +
+            "  ORDER BY expires_at LIMIT ?" +
+            "  FOR UPDATE SKIP LOCKED" +
+            ") " +
+            "DELETE FROM core.user_sessions s USING chunk WHERE s.id = chunk.id " +
+            "RETURNING s.expires_at";
+
+    private static final String OLDEST_EXPIRED_SQL =
+            "SELECT MIN(expires_at) FROM core.user_sessions WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration gracePeriod;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final Duration targetChunkLatency;
+    private final double pauseRatio;
+    private final Duration maxRunDuration;
+
+    private final Counter deletedRows;
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Autowired
+    public ExpiredSessionReaper(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${ismail.auth.security.session.reaper.grace-period:PT1H}") Duration gracePeriod,
+                                @Value("${ismail.auth.security.session.reaper.min-chunk-size:100}") int minChunkSize,
+                                @Value("${ismail.auth.security.session.reaper.max-chunk-size:5000}") int maxChunkSize,
+                                @Value("${ismail.auth.security.session.reaper.target-chunk-latency:PT0.2S}") Duration targetChunkLatency,
+                                @Value("${ismail.auth.security.session.reaper.pause-ratio:1.0}") double pauseRatio,
+                                @Value("${ismail.auth.security.session.reaper.max-run-duration:PT10M}") Duration maxRunDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gracePeriod = gracePeriod;
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetChunkLatency = targetChunkLatency;
+        this.pauseRatio = pauseRatio;
+        this.maxRunDuration = maxRunDuration;
+
+        this.deletedRows = Counter.builder("ismail.auth.sessions.reaper.deleted")
+                .description("Sessions expirées supprimées")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.sessions.reaper.throughput", lastRunRowsPerSecond, AtomicLong::get)
+                .description("Débit de la dernière purge (lignes/s)")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.sessions.reaper.lag", lagSeconds, AtomicLong::get)
+                .description("Âge en secondes de la plus ancienne session expirée restante")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${ismail.auth.security.session.reaper.cron:0 */10 * * * *}")
+    public void reap() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    logger.debug("Purge des sessions déjà en cours sur une autre instance");
+                    return null;
+                }
+                try {
+                    run(connection);
+                } finally {
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("Échec de la purge des sessions expirées", e);
+        }
+    }
+
+    private void run(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(gracePeriod);
+        Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+        Timestamp cursor = new Timestamp(0);
+        int chunkSize = minChunkSize;
+        long total = 0;
+        long runStart = System.nanoTime();
+        long deadline = runStart + maxRunDuration.toNanos();
+
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_CHUNK_SQL)) {
+            while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+                long chunkStart = System.nanoTime();
+                delete.setTimestamp(1, cursor);
+                delete.setTimestamp(2, cutoffTs);
+                delete.setInt(3, chunkSize);
+
+                int deleted = 0;
+                try (ResultSet rs = delete.executeQuery()) {
+                    while (rs.next()) {
+                        Timestamp expiresAt = rs.getTimestamp(1);
+                        if (expiresAt.after(cursor)) {
+                            cursor = expiresAt;
+                        }
+                        deleted++;
+                    }
+                }
+                long chunkNanos = System.nanoTime() - chunkStart;
+
+                total += deleted;
+                deletedRows.increment(deleted);
+                if (deleted < chunkSize) {
+                    break;
+                }
+
+                // Ajustement additif/multiplicatif de la taille des tranches
+                if (chunkNanos > targetChunkLatency.toNanos()) {
+                    chunkSize = Math.max(minChunkSize, chunkSize / 2);
+                } else {
+                    chunkSize = Math.min(maxChunkSize, chunkSize + minChunkSize);
+                }
+                pause((long) (chunkNanos * pauseRatio));
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - runStart);
+        lastRunRowsPerSecond.set(total * 1_000_000_000L / elapsedNanos);
+        updateLag(connection, cutoffTs);
+        if (total > 0) {
+            logger.info("Purge des sessions: {} lignes supprimées en {} ms", total, elapsedNanos / 1_000_000);
+        }
+    }
+
+    private void updateLag(Connection connection, Timestamp cutoff) throws SQLException {
+        try (PreparedStatement oldest = connection.prepareStatement(OLDEST_EXPIRED_SQL)) {
+            oldest.setTimestamp(1, cutoff);
+            try (ResultSet rs = oldest.executeQuery()) {
+                Timestamp min = rs.next() ? rs.getTimestamp(1) : null;
+                lagSeconds.set(min == null ? 0 : Duration.between(min.toLocalDateTime(), cutoff.toLocalDateTime()).toSeconds());
+            }
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(" + ADVISORY_LOCK_KEY + ")")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+        }
+    }
+
+    private static void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
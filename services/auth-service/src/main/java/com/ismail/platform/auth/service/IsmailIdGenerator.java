@@ -0,0 +1,242 @@
+package com.ismail.platform.auth.service;
+
+import com.ismail.platform.auth.domain.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Générateur d'identifiants ISMAIL sans sonde d'unicité
+ *
+ * Format : {@code CCYYMMDD-XXXX-UL} (pays, date, code, type de profil).
+ * Chaque instance réserve des blocs de {@link #BLOCK_SIZE} compteurs via
+ * la séquence {@code core.ismail_id_block_seq} et les consomme en mémoire
+ * sans verrou. Le code {@code XXXX} est une permutation du compteur modulo
+ * 36<sup>4</sup> : deux compteurs distincts émis le même jour donnent des
+ * codes distincts tant que moins de {@value #CODE_SPACE} compteurs sont
+ * réservés dans la journée. Un bloc réservé un autre jour est abandonné.
+ *
+ * La séquence n'étant jamais remise à zéro, le premier bloc réservé chaque
+ * jour est enregistré dans {@code core.ismail_id_block_days}. Au-delà de
+ * {@value #MAX_BLOCKS_PER_DAY} blocs depuis ce premier bloc, les codes
+ * se répéteraient : la réservation échoue avec une
+ * {@link IllegalStateException} jusqu'au lendemain, au lieu d'émettre des
+ * doublons.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class IsmailIdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IsmailIdGenerator.class);
+
+    /** Taille d'un bloc ; ne doit jamais changer une fois des identifiants émis */
+    static final long BLOCK_SIZE = 4096;
+
+    /** Nombre de codes {@code XXXX} distincts (36^4) */
+    static final long CODE_SPACE = 1_679_616L;
+
+    /** Blocs entiers réservables dans une journée sans répétition de code */
+    static final long MAX_BLOCKS_PER_DAY = CODE_SPACE / BLOCK_SIZE;
+
+    /** Multiplicateur premier avec 2 et 3, donc inversible modulo 36^4 */
+    private static final long CODE_MULTIPLIER = 1_000_003L;
+    private static final long CODE_OFFSET = 524_287L;
+
+    private static final byte[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(StandardCharsets.US_ASCII);
+    private static final int ID_LENGTH = 16;
+
+    private static final String RESERVE_BLOCK_SQL = "SELECT nextval('core.ismail_id_block_seq')";
+
+    // LEAST : une instance plus lente peut enregistrer un bloc plus ancien après un plus récent
+    private static final String RECORD_BLOCK_DAY_SQL =
+            "INSERT INTO core.ismail_id_block_days (day, first_block) VALUES (?, ?) " +
+            "ON CONFLICT (day) DO UPDATE " +
+            "SET first_block = LEAST(core.ismail_id_block_days.first_block, EXCLUDED.first_block) " +
+            "RETURNING first_block";
+
+    private final LongSupplier blockReserver;
+    private final BlockDays blockDays;
+    private final Clock clock;
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private volatile Block current;
+    private volatile LocalDate exhaustedDay;
+
+    @Autowired
+    public IsmailIdGenerator(JdbcTemplate jdbcTemplate) {
+        this(() -> jdbcTemplate.queryForObject(RESERVE_BLOCK_SQL, Long.class),
+                (day, blockNumber) -> jdbcTemplate.queryForObject(RECORD_BLOCK_DAY_SQL, Long.class,
+                        Date.valueOf(day), blockNumber),
+                Clock.systemDefaultZone());
+    }
+
+    IsmailIdGenerator(LongSupplier blockReserver, BlockDays blockDays, Clock clock) {
+        this.blockReserver = blockReserver;
+        this.blockDays = blockDays;
+        this.clock = clock;
+        this.current = Block.EXHAUSTED;
+    }
+
+    /**
+     * @param profileType Nom d'un {@link User.ProfileType}
+     */
+    public String generate(String countryCode, String profileType) {
+        return generate(countryCode, profileType == null ? null : User.ProfileType.valueOf(profileType));
+    }
+
+    /**
+     * Génère un identifiant ISMAIL
+     *
+     * @param countryCode Code pays ISO 3166-1 alpha-2
+     * @param profileType Type de profil ({@link User.ProfileType})
+     * @throws IllegalStateException si les codes de la journée sont épuisés
+     */
+    public String generate(String countryCode, User.ProfileType profileType) {
+        if (countryCode == null || countryCode.length() != 2
+                || !isUpperLetter(countryCode.charAt(0)) || !isUpperLetter(countryCode.charAt(1))) {
+            throw new IllegalArgumentException("Code pays invalide: " + countryCode);
+        }
+        String suffix = suffix(profileType);
+
+        while (true) {
+            Block block = current;
+            long now = clock.millis();
+            if (now >= block.dayStartMillis && now < block.dayEndMillis) {
+                long counter = block.next.getAndIncrement();
+                if (counter < block.end) {
+                    return encode(countryCode, block.datePart, counter, suffix);
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current != exhausted) {
+                return; // Un autre thread a déjà réservé un bloc
+            }
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            LocalDate today = now.toLocalDate();
+            if (today.equals(exhaustedDay)) {
+                throw exhausted(today);
+            }
+            long blockNumber = blockReserver.getAsLong();
+            long firstBlock = blockDays.recordBlock(today, blockNumber);
+            if (blockNumber - firstBlock >= MAX_BLOCKS_PER_DAY) {
+                exhaustedDay = today;
+                logger.error("Codes ISMAIL épuisés pour le {}: bloc {} réservé, premier bloc du jour {}",
+                        today, blockNumber, firstBlock);
+                throw exhausted(today);
+            }
+            long start = Math.multiplyExact(blockNumber, BLOCK_SIZE);
+            current = new Block(
+                    today.atStartOfDay(now.getZone()).toInstant().toEpochMilli(),
+                    today.plusDays(1).atStartOfDay(now.getZone()).toInstant().toEpochMilli(),
+                    datePart(today),
+                    start,
+                    start + BLOCK_SIZE);
+            logger.debug("Bloc d'identifiants ISMAIL {} réservé pour le {}", blockNumber, today);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static IllegalStateException exhausted(LocalDate day) {
+        return new IllegalStateException("Plus aucun identifiant ISMAIL disponible pour le " + day);
+    }
+
+    private static String encode(String countryCode, byte[] datePart, long counter, String suffix) {
+        long code = (counter % CODE_SPACE * CODE_MULTIPLIER + CODE_OFFSET) % CODE_SPACE;
+
+        byte[] id = new byte[ID_LENGTH];
+        id[0] = (byte) countryCode.charAt(0);
+        id[1] = (byte) countryCode.charAt(1);
+        System.arraycopy(datePart, 0, id, 2, 6);
+        id[8] = '-';
+        for (int i = 12; i >= 9; i--) {
+            id[i] = ALPHABET[(int) (code % 36)];
+            code /= 36;
+        }
+        id[13] = '-';
+        id[14] = (byte) suffix.charAt(0);
+        id[15] = (byte) suffix.charAt(1);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] datePart(LocalDate date) {
+        int value = (date.getYear() % 100) * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+        byte[] digits = new byte[6];
+        for (int i = 5; i >= 0; i--) {
+            digits[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return digits;
+    }
+
+    private static String suffix(User.ProfileType profileType) {
+        if (profileType == null) {
+            return "CL";
+        }
+        return switch (profileType) {
+            case CLIENT -> "CL";
+            case PARTNER -> "PT";
+            case COMMERCIAL -> "CM";
+            case ADMIN -> "AD";
+        };
+    }
+
+    private static boolean isUpperLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    /**
+     * Registre des premiers blocs réservés chaque jour
+     */
+    @FunctionalInterface
+    interface BlockDays {
+
+        /**
+         * Enregistre un bloc réservé pour le jour donné
+         *
+         * @return le premier bloc réservé ce jour-là, toutes instances confondues
+         */
+        long recordBlock(LocalDate day, long blockNumber);
+    }
+
+    /**
+     * Bloc de compteurs réservé pour une journée donnée
+     */
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(0, 0, new byte[6], 0, 0);
+
+        final long dayStartMillis;
+        final long dayEndMillis;
+        final byte[] datePart;
+        final AtomicLong next;
+        final long end;
+
+        Block(long dayStartMillis, long dayEndMillis, byte[] datePart, long start, long end) {
+            this.dayStartMillis = dayStartMillis;
+            this.dayEndMillis = dayEndMillis;
+            this.datePart = datePart;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.ismail.platform.auth.service;
+
+import com.ismail.platform.auth.exception.InvalidDocumentException;
+import com.ismail.platform.auth.exception.InvalidDocumentException.Reason;
+import com.ismail.platform.auth.exception.RateLimitExceededException;
+import com.ismail.platform.auth.exception.ServiceOverloadedException;
+import com.ismail.platform.auth.storage.DigestingChannel;
+import com.ismail.platform.auth.storage.DocumentStore;
+import com.ismail.platform.auth.storage.KycDocumentSet;
+import com.ismail.platform.auth.storage.MultipartStream;
+import com.ismail.platform.auth.storage.StoredDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réception en flux des documents KYC
+ *
+ * Lit le corps {@code multipart/form-data} de la requête partie par partie
+ * (sans résolution multipart préalable par le conteneur), identifie le type
+ * de chaque fichier à partir de ses premiers octets, puis le transfère vers
+ * le {@link DocumentStore} par canaux NIO en calculant son empreinte SHA-256
+ * et en bornant sa taille. Seul un tampon de taille fixe par requête réside
+ * en mémoire.
+ *
+ * Les documents d'une soumission refusée en aval doivent être retirés via
+ * {@link #discard(KycDocumentSet)} pour ne pas rester orphelins.
+ *
+ * Le nombre de téléversements simultanés est borné par utilisateur et pour
+ * l'instance, afin de protéger le tas pendant les campagnes KYC.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class KycDocumentIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KycDocumentIngestionService.class);
+
+    static final String FIELD_ID_CARD = "idCard";
+    static final String FIELD_SELFIE = "selfie";
+    static final String FIELD_ADDITIONAL_DOC = "additionalDoc";
+
+    private static final int SNIFF_BYTES = 12;
+
+    private final DocumentStore documentStore;
+    private final long maxFileBytes;
+    private final int maxHeaderBytes;
+    private final int maxUploadsPerUser;
+    private final long retryAfterSeconds;
+    private final Semaphore uploadPermits;
+    private final ConcurrentHashMap<UUID, Integer> uploadsInFlight = new ConcurrentHashMap<>();
+
+    private final Timer uploadTimer;
+    private final Counter uploadedBytes;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public KycDocumentIngestionService(DocumentStore documentStore,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${ismail.auth.kyc.upload.max-file-size:10MB}") DataSize maxFileSize,
+                                       @Value("${ismail.auth.kyc.upload.max-header-size:8KB}") DataSize maxHeaderSize,
+                                       @Value("${ismail.auth.kyc.upload.max-concurrent-per-user:1}") int maxUploadsPerUser,
+                                       @Value("${ismail.auth.kyc.upload.max-concurrent:32}") int maxConcurrentUploads,
+                                       @Value("${ismail.auth.kyc.upload.retry-after:5}") long retryAfterSeconds) {
+        this.documentStore = documentStore;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxHeaderBytes = (int) maxHeaderSize.toBytes();
+        this.maxUploadsPerUser = maxUploadsPerUser;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.uploadPermits = new Semaphore(maxConcurrentUploads);
+        this.meterRegistry = meterRegistry;
+
+        this.uploadTimer = Timer.builder("ismail.auth.kyc.upload")
+                .description("Durée de réception et d'écriture des documents KYC")
+                .register(meterRegistry);
+        this.uploadedBytes = Counter.builder("ismail.auth.kyc.upload.bytes")
+                .description("Octets de documents KYC écrits")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reçoit et stocke les documents d'une soumission KYC
+     *
+     * @throws InvalidDocumentException si la requête ou un document est refusé
+     * @throws RateLimitExceededException si l'utilisateur a déjà un téléversement en cours
+     * @throws ServiceOverloadedException si l'instance a atteint sa limite de téléversements
+     */
+    public KycDocumentSet ingest(UUID userId, HttpServletRequest request) {
+        String boundary = MultipartStream.extractBoundary(request.getContentType());
+        if (boundary == null) {
+            throw reject(Reason.MALFORMED, "Requête multipart/form-data attendue");
+        }
+        long declaredLength = request.getContentLengthLong();
+        if (declaredLength > 3 * (maxFileBytes + maxHeaderBytes)) {
+            throw reject(Reason.TOO_LARGE, "Requête trop volumineuse");
+        }
+
+        acquire(userId);
+        long start = System.nanoTime();
+        try {
+            return receive(userId, request.getInputStream(), boundary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la lecture de la requête KYC", e);
+        } finally {
+            uploadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            release(userId);
+        }
+    }
+
+    private KycDocumentSet receive(UUID userId, InputStream body, String boundary) {
+        List<StoredDocument> stored = new ArrayList<>(3);
+        StoredDocument idCard = null;
+        StoredDocument selfie = null;
+        StoredDocument additionalDoc = null;
+        boolean complete = false;
+
+        try {
+            MultipartStream multipart = new MultipartStream(body, boundary, maxHeaderBytes);
+            MultipartStream.Part part;
+            while ((part = multipart.nextPart()) != null) {
+                String field = part.getName();
+                if (!FIELD_ID_CARD.equals(field) && !FIELD_SELFIE.equals(field) && !FIELD_ADDITIONAL_DOC.equals(field)) {
+                    throw reject(Reason.MALFORMED, "Champ inattendu: " + field);
+                }
+                if (stored.stream().anyMatch(document -> document.getField().equals(field))) {
+                    throw reject(Reason.MALFORMED, "Champ en double: " + field);
+                }
+
+                StoredDocument document = store(userId, field, part);
+                stored.add(document);
+                switch (field) {
+                    case FIELD_ID_CARD -> idCard = document;
+                    case FIELD_SELFIE -> selfie = document;
+                    default -> additionalDoc = document;
+                }
+            }
+
+            if (idCard == null || selfie == null) {
+                throw reject(Reason.MISSING, "La pièce d'identité et le selfie sont obligatoires");
+            }
+            complete = true;
+            return new KycDocumentSet(idCard, selfie, additionalDoc);
+        } catch (DigestingChannel.SizeLimitExceededException e) {
+            throw reject(Reason.TOO_LARGE, "Document trop volumineux (maximum " + e.getMaxBytes() + " octets)");
+        } catch (MultipartStream.MalformedMultipartException e) {
+            throw reject(Reason.MALFORMED, e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'écriture des documents KYC", e);
+        } finally {
+            if (!complete) {
+                discard(stored);
+            }
+        }
+    }
+
+    private StoredDocument store(UUID userId, String field, MultipartStream.Part part) throws IOException {
+        InputStream body = part.getBody();
+        byte[] head = body.readNBytes(SNIFF_BYTES);
+        DocumentType type = DocumentType.sniff(head);
+        if (type == null || (FIELD_SELFIE.equals(field) && !type.image)) {
+            throw reject(Reason.UNSUPPORTED_TYPE, "Type de document non pris en charge pour " + field);
+        }
+
+        DigestingChannel source = new DigestingChannel(
+                Channels.newChannel(new SequenceInputStream(new ByteArrayInputStream(head), body)),
+                sha256(),
+                maxFileBytes);
+        String key = "kyc/" + userId + "/" + UUID.randomUUID() + "-" + field + type.extension;
+        long size = documentStore.write(key, source);
+        uploadedBytes.increment(size);
+
+        return new StoredDocument(field, key, type.mimeType, part.getFilename(), size, HexFormat.of().formatHex(source.digest()));
+    }
+
+    /**
+     * Supprime les documents d'une soumission dont l'enregistrement a échoué
+     */
+    public void discard(KycDocumentSet documents) {
+        discard(documents.all());
+    }
+
+    private void discard(List<StoredDocument> stored) {
+        for (StoredDocument document : stored) {
+            try {
+                documentStore.delete(document.getKey());
+            } catch (IOException e) {
+                logger.warn("Suppression du document KYC orphelin {} impossible: {}", document.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    // =====================================================
+    // LIMITES DE CONCURRENCE
+    // =====================================================
+
+    private void acquire(UUID userId) {
+        uploadsInFlight.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxUploadsPerUser) {
+                throw new RateLimitExceededException("Un téléversement de documents est déjà en cours", retryAfterSeconds);
+            }
+            return current + 1;
+        });
+        if (!uploadPermits.tryAcquire()) {
+            releaseUser(userId);
+            meterRegistry.counter("ismail.auth.kyc.upload.rejected", "reason", "overloaded").increment();
+            throw new ServiceOverloadedException("Service temporairement saturé, veuillez réessayer", retryAfterSeconds);
+        }
+    }
+
+    private void release(UUID userId) {
+        uploadPermits.release();
+        releaseUser(userId);
+    }
+
+    private void releaseUser(UUID userId) {
+        uploadsInFlight.computeIfPresent(userId, (id, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private InvalidDocumentException reject(Reason reason, String message) {
+        meterRegistry.counter("ismail.auth.kyc.upload.rejected", "reason", reason.name().toLowerCase(Locale.ROOT)).increment();
+        return new InvalidDocumentException(reason, message);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Types acceptés, reconnus à leur signature binaire
+     */
+    private enum DocumentType {
+        JPEG("image/jpeg", ".jpg", true),
+        PNG("image/png", ".png", true),
+        WEBP("image/webp", ".webp", true),
+        PDF("application/pdf", ".pdf", false);
+
+        final String mimeType;
+        final String extension;
+        final boolean image;
+
+        DocumentType(String mimeType, String extension, boolean image) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+            this.image = image;
+        }
+
+        static DocumentType sniff(byte[] head) {
+            if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+                return JPEG;
+            }
+            if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+                return PNG;
+            }
+            if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+                return WEBP;
+            }
+            if (startsWith(head, 0, '%', 'P', 'D', 'F', '-')) {
+                return PDF;
+            }
+            return null;
+        }
+
+        private static boolean startsWith(byte[] head, int offset, int... signature) {
+            if (head.length < offset + signature.length) {
+                return false;
+            }
+            for (int i = 0; i < signature.length; i++) {
+                if ((head[offset + i] & 0xFF) != signature[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.ismail.platform.auth.service;
+
+import com.ismail.platform.auth.domain.entity.User;
+import com.ismail.platform.auth.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hachage des mots de passe sur un pool dédié et borné
+ *
+ * Les calculs bcrypt de {@code login} et {@code register} sont exécutés hors
+ * des threads Tomcat. Lorsque la file d'attente est pleine, la requête est
+ * rejetée immédiatement (503 + Retry-After) au lieu d'affamer les autres
+ * endpoints. Le coût bcrypt est calibré au démarrage pour viser une durée
+ * de hachage cible, et les hachages d'un coût inférieur sont remplacés
+ * à la connexion suivante.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final String CALIBRATION_PASSWORD = "Calibration#2024!ismail";
+
+    private final ThreadPoolExecutor executor;
+    private final Duration targetHashTime;
+    private final int minCost;
+    private final int maxCost;
+    private final Duration waitTimeout;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+    private final Counter rehashCounter;
+
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int currentCost;
+
+    @Autowired
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${ismail.auth.security.password.hashing.threads:0}") int threads,
+                                  @Value("${ismail.auth.security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${ismail.auth.security.password.hashing.target-hash-time:PT0.25S}") Duration targetHashTime,
+                                  @Value("${ismail.auth.security.password.hashing.min-cost:10}") int minCost,
+                                  @Value("${ismail.auth.security.password.hashing.max-cost:14}") int maxCost,
+                                  @Value("${ismail.auth.security.password.hashing.wait-timeout:PT5S}") Duration waitTimeout,
+                                  @Value("${ismail.auth.security.password.hashing.retry-after:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.targetHashTime = targetHashTime;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.waitTimeout = waitTimeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.encoder = new BCryptPasswordEncoder(minCost);
+        this.currentCost = minCost;
+
+        this.encodeTimer = Timer.builder("ismail.auth.password.hashing")
+                .tag("operation", "encode")
+                .description("Durée de hachage bcrypt")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("ismail.auth.password.hashing")
+                .tag("operation", "matches")
+                .description("Durée de vérification bcrypt")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("ismail.auth.password.hashing.queue.wait")
+                .description("Attente dans la file du pool de hachage")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ismail.auth.password.hashing.rejected")
+                .description("Demandes de hachage rejetées pour saturation")
+                .register(meterRegistry);
+        this.rehashCounter = Counter.builder("ismail.auth.password.hashing.rehashed")
+                .description("Mots de passe re-hachés avec le coût courant")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Demandes en attente dans le pool de hachage")
+                .register(meterRegistry);
+        Gauge.builder("ismail.auth.password.hashing.cost", this, PasswordHashingService::getCurrentCost)
+                .description("Coût bcrypt calibré")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // CALIBRATION
+    // =====================================================
+
+    /**
+     * Retient le coût le plus élevé dont la durée reste sous la cible
+     */
+    @PostConstruct
+    public void calibrate() {
+        int selected = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(cost);
+            candidate.encode(CALIBRATION_PASSWORD); // préchauffage
+            long start = System.nanoTime();
+            candidate.encode(CALIBRATION_PASSWORD);
+            long elapsed = System.nanoTime() - start;
+
+            if (elapsed > targetHashTime.toNanos()) {
+                break;
+            }
+            selected = cost;
+        }
+        this.encoder = new BCryptPasswordEncoder(selected);
+        this.currentCost = selected;
+        logger.info("Coût bcrypt calibré à {} (cible {} ms)", selected, targetHashTime.toMillis());
+    }
+
+    // =====================================================
+    // HACHAGE ET VÉRIFICATION
+    // =====================================================
+
+    /**
+     * Hache un mot de passe avec le coût calibré
+     *
+     * @throws ServiceOverloadedException si le pool est saturé
+     */
+    public String encode(CharSequence rawPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return execute(encodeTimer, () -> current.encode(rawPassword));
+    }
+
+    /**
+     * Vérifie un mot de passe contre son hachage
+     *
+     * @throws ServiceOverloadedException si le pool est saturé
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return execute(matchesTimer, () -> current.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Vérifie le mot de passe d'un utilisateur et remplace son hachage
+     * s'il a été produit avec un coût inférieur au coût courant
+     *
+     * L'entité est modifiée en place ; la persistance est assurée par la
+     * transaction de connexion de l'appelant.
+     *
+     * @return true si le mot de passe est correct
+     */
+    public boolean verifyAndUpgrade(User user, CharSequence rawPassword) {
+        String stored = user.getPasswordHash();
+        if (!matches(rawPassword, stored)) {
+            return false;
+        }
+
+        if (encoder.upgradeEncoding(stored)) {
+            try {
+                user.rehashPassword(encode(rawPassword));
+                rehashCounter.increment();
+            } catch (ServiceOverloadedException e) {
+                // La mise à niveau sera retentée à la prochaine connexion
+                logger.debug("Re-hachage reporté pour l'utilisateur {}", user.getId());
+            }
+        }
+        return true;
+    }
+
+    public int getCurrentCost() { return currentCost; }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Service temporairement saturé, veuillez réessayer", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Service temporairement saturé, veuillez réessayer", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Hachage du mot de passe interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec du hachage du mot de passe", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.ismail.platform.auth.service;
+
+import com.ismail.platform.auth.domain.repository.UserSessionRepository;
+import com.ismail.platform.auth.security.RevokedSessionFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Registre des sessions révoquées
+ *
+ * Maintient en mémoire un filtre de Bloom des sessions invalidées par
+ * {@code logout}, {@code logoutAll} et {@code terminateSession}, synchronisé
+ * entre les instances via Redis pub/sub et reconstruit périodiquement depuis
+ * {@code core.user_sessions} pour purger les sessions expirées.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class SessionRevocationService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionRevocationService.class);
+
+    static final String REVOCATION_CHANNEL = "ismail:auth:sessions:revoked";
+
+    private final UserSessionRepository userSessionRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile RevokedSessionFilter filter;
+    private volatile RevokedSessionFilter rebuilding;
+    private final AtomicLong revocationCount = new AtomicLong();
+
+    @Autowired
+    public SessionRevocationService(UserSessionRepository userSessionRepository,
+                                    StringRedisTemplate redisTemplate,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${ismail.auth.security.session.revocation.expected-revocations:1000000}") long expectedRevocations,
+                                    @Value("${ismail.auth.security.session.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.userSessionRepository = userSessionRepository;
+        this.redisTemplate = redisTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new RevokedSessionFilter(expectedRevocations, falsePositiveRate);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        Gauge.builder("ismail.auth.sessions.revocation.filter.insertions", revocationCount, AtomicLong::get)
+                .description("Sessions insérées dans le filtre de révocation depuis la dernière reconstruction")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // CONSULTATION
+    // =====================================================
+
+    /**
+     * @return false si la session n'a certainement pas été révoquée
+     */
+    public boolean mightBeRevoked(UUID sessionId) {
+        return filter.mightContain(sessionId);
+    }
+
+    // =====================================================
+    // RÉVOCATION
+    // =====================================================
+
+    /**
+     * Enregistre la révocation d'une session
+     *
+     * Si une transaction est en cours, la révocation n'est publiée qu'après
+     * son commit afin que la reconstruction depuis la base ne puisse pas la manquer.
+     */
+    public void revoke(UUID sessionId) {
+        revokeAll(List.of(sessionId));
+    }
+
+    public void revokeAll(Collection<UUID> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+
+        List<UUID> revoked = List.copyOf(sessionIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAndPublish(revoked);
+                }
+            });
+        } else {
+            applyAndPublish(revoked);
+        }
+    }
+
+    private void applyAndPublish(List<UUID> sessionIds) {
+        for (UUID sessionId : sessionIds) {
+            apply(sessionId);
+            try {
+                redisTemplate.convertAndSend(REVOCATION_CHANNEL, sessionId.toString());
+            } catch (Exception e) {
+                // Les autres instances rattraperont la révocation à la prochaine reconstruction
+                logger.warn("Diffusion de la révocation de la session {} impossible: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    private void apply(UUID sessionId) {
+        filter.add(sessionId);
+        RevokedSessionFilter next = rebuilding;
+        if (next != null) {
+            next.add(sessionId);
+        }
+        revocationCount.incrementAndGet();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            apply(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Message de révocation invalide ignoré");
+        }
+    }
+
+    // =====================================================
+    // RECONSTRUCTION
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruit le filtre depuis la base pour en retirer les sessions expirées
+     */
+    @Scheduled(fixedDelayString = "${ismail.auth.security.session.revocation.rebuild-interval:PT15M}",
+               initialDelayString = "${ismail.auth.security.session.revocation.rebuild-interval:PT15M}")
+    public void rebuild() {
+        RevokedSessionFilter next = new RevokedSessionFilter(expectedRevocations, falsePositiveRate);
+        rebuilding = next;
+        try {
+            AtomicLong loaded = new AtomicLong();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UUID> revoked = userSessionRepository.streamRevokedSessionIds(LocalDateTime.now())) {
+                    revoked.forEach(sessionId -> {
+                        next.add(sessionId);
+                        loaded.incrementAndGet();
+                    });
+                }
+            });
+            filter = next;
+            revocationCount.set(loaded.get());
+            logger.info("Filtre de révocation reconstruit: {} sessions révoquées", loaded.get());
+        } catch (Exception e) {
+            logger.error("Échec de la reconstruction du filtre de révocation, conservation du filtre courant", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.ismail.platform.auth.stats;
+
+import com.ismail.platform.auth.domain.entity.User;
+import com.ismail.platform.auth.dto.response.AuthStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Statistiques d'authentification tenues à jour de manière incrémentale
+ *
+ * Chaque compteur est une valeur de référence issue de la base, augmentée
+ * d'un delta {@link LongAdder} alimenté par {@link AuthStatsEntityListener}
+ * après le commit des transactions. {@link #snapshot()} ne lit donc que la
+ * mémoire : les tableaux de bord qui interrogent les statistiques toutes les
+ * quelques secondes ne déclenchent plus de parcours de {@code core.users}.
+ *
+ * Une réconciliation périodique (une agrégation par table) recale les
+ * valeurs de référence. Entre deux réconciliations, chaque instance ne voit
+ * que ses propres événements en plus de la dernière référence.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class AuthStatsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthStatsCollector.class);
+
+    private static final String USERS_SQL =
+            "SELECT status, kyc_status, profile_type, COUNT(*) AS total, " +
+            "       COUNT(*) FILTER (WHERE created_at >= ?) AS registered_today " +
+            "FROM core.users GROUP BY status, kyc_status, profile_type";
+
+    private static final String SESSIONS_SQL =
+            "SELECT COUNT(*) FILTER (WHERE is_active AND expires_at > NOW()) AS active, " +
+            "       COUNT(*) FILTER (WHERE created_at >= ?) AS opened_today " +
+            "FROM core.user_sessions";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<User.UserStatus, Tally> usersByStatus = tallies(User.UserStatus.class);
+    private final Map<User.KycStatus, Tally> usersByKycStatus = tallies(User.KycStatus.class);
+    private final Map<User.ProfileType, Tally> usersByProfileType = tallies(User.ProfileType.class);
+    private final Tally registrationsToday = new Tally();
+    private final Tally loginsToday = new Tally();
+    private final Tally activeSessions = new Tally();
+
+    private volatile LocalDateTime reconciledAt;
+
+    @Autowired
+    public AuthStatsCollector(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // =====================================================
+    // ÉVÉNEMENTS
+    // =====================================================
+
+    public void onUserRegistered(User.UserStatus status, User.KycStatus kycStatus, User.ProfileType profileType) {
+        afterCommit(() -> {
+            usersByStatus.get(status).delta.increment();
+            usersByKycStatus.get(kycStatus).delta.increment();
+            usersByProfileType.get(profileType).delta.increment();
+            registrationsToday.delta.increment();
+        });
+    }
+
+    public void onUserStatusChanged(User.UserStatus from, User.UserStatus to) {
+        afterCommit(() -> {
+            usersByStatus.get(from).delta.decrement();
+            usersByStatus.get(to).delta.increment();
+        });
+    }
+
+    public void onKycStatusChanged(User.KycStatus from, User.KycStatus to) {
+        afterCommit(() -> {
+            usersByKycStatus.get(from).delta.decrement();
+            usersByKycStatus.get(to).delta.increment();
+        });
+    }
+
+    public void onUserDeleted(User.UserStatus status, User.KycStatus kycStatus, User.ProfileType profileType) {
+        afterCommit(() -> {
+            usersByStatus.get(status).delta.decrement();
+            usersByKycStatus.get(kycStatus).delta.decrement();
+            usersByProfileType.get(profileType).delta.decrement();
+        });
+    }
+
+    /**
+     * Une connexion réussie ouvre une session
+     */
+    public void onSessionOpened() {
+        afterCommit(() -> {
+            loginsToday.delta.increment();
+            activeSessions.delta.increment();
+        });
+    }
+
+    /**
+     * Une session active est invalidée (déconnexion, révocation) ou supprimée
+     */
+    public void onSessionClosed() {
+        afterCommit(activeSessions.delta::decrement);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    // =====================================================
+    // CONSULTATION
+    // =====================================================
+
+    /**
+     * @return les statistiques courantes, sans accès à la base
+     */
+    public AuthStatsResponse snapshot() {
+        AuthStatsResponse response = new AuthStatsResponse();
+        Map<User.UserStatus, Long> byStatus = values(User.UserStatus.class, usersByStatus);
+        response.setUsersByStatus(byStatus);
+        response.setUsersByKycStatus(values(User.KycStatus.class, usersByKycStatus));
+        response.setUsersByProfileType(values(User.ProfileType.class, usersByProfileType));
+        response.setTotalUsers(byStatus.values().stream().mapToLong(Long::longValue).sum());
+        response.setRegistrationsToday(registrationsToday.value());
+        response.setLoginsToday(loginsToday.value());
+        response.setActiveSessions(activeSessions.value());
+        response.setReconciledAt(reconciledAt);
+        return response;
+    }
+
+    // =====================================================
+    // RÉCONCILIATION
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Recale les valeurs de référence sur la base
+     *
+     * Les deltas observés avant les requêtes en sont retranchés ; un
+     * événement survenu pendant les requêtes peut être compté deux fois
+     * jusqu'à la réconciliation suivante.
+     */
+    @Scheduled(fixedDelayString = "${ismail.auth.stats.reconcile-interval:PT5M}",
+               initialDelayString = "${ismail.auth.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Timestamp startOfDay = Timestamp.valueOf(LocalDate.now().atStartOfDay());
+        Map<Tally, Long> observed = new IdentityHashMap<>();
+        forEachTally(tally -> observed.put(tally, tally.delta.sum()));
+
+        try {
+            Map<Tally, Long> counts = new IdentityHashMap<>();
+            forEachTally(tally -> counts.put(tally, 0L));
+            jdbcTemplate.query(USERS_SQL, rs -> {
+                long total = rs.getLong("total");
+                counts.merge(usersByStatus.get(User.UserStatus.valueOf(rs.getString("status"))), total, Long::sum);
+                counts.merge(usersByKycStatus.get(User.KycStatus.valueOf(rs.getString("kyc_status"))), total, Long::sum);
+                counts.merge(usersByProfileType.get(User.ProfileType.valueOf(rs.getString("profile_type"))), total, Long::sum);
+                counts.merge(registrationsToday, rs.getLong("registered_today"), Long::sum);
+            }, startOfDay);
+            jdbcTemplate.query(SESSIONS_SQL, rs -> {
+                counts.put(activeSessions, rs.getLong("active"));
+                counts.put(loginsToday, rs.getLong("opened_today"));
+            }, startOfDay);
+
+            forEachTally(tally -> tally.rebase(counts.get(tally), observed.get(tally)));
+            reconciledAt = LocalDateTime.now();
+        } catch (Exception e) {
+            logger.error("Échec de la réconciliation des statistiques d'authentification", e);
+        }
+    }
+
+    /**
+     * Remet à zéro les compteurs du jour
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void startNewDay() {
+        reconcile();
+    }
+
+    private void forEachTally(Consumer<Tally> action) {
+        usersByStatus.values().forEach(action);
+        usersByKycStatus.values().forEach(action);
+        usersByProfileType.values().forEach(action);
+        action.accept(registrationsToday);
+        action.accept(loginsToday);
+        action.accept(activeSessions);
+    }
+
+    private static <E extends Enum<E>> Map<E, Tally> tallies(Class<E> type) {
+        Map<E, Tally> tallies = new EnumMap<>(type);
+        for (E key : type.getEnumConstants()) {
+            tallies.put(key, new Tally());
+        }
+        return tallies;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> values(Class<E> type, Map<E, Tally> tallies) {
+        Map<E, Long> values = new EnumMap<>(type);
+        tallies.forEach((key, tally) -> values.put(key, tally.value()));
+        return values;
+    }
+
+    /**
+     * Valeur de référence (base) + delta local (événements depuis la réconciliation)
+     */
+    private static final class Tally {
+
+        final LongAdder delta = new LongAdder();
+        volatile long baseline;
+
+        long value() {
+            return Math.max(0, baseline + delta.sum());
+        }
+
+        void rebase(long counted, long observedDelta) {
+            delta.add(-observedDelta);
+            baseline = counted;
+        }
+    }
+}
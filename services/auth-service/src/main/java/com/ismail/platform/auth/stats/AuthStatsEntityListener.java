@@ -0,0 +1,73 @@
+package com.ismail.platform.auth.stats;
+
+import com.ismail.platform.auth.domain.entity.User;
+import com.ismail.platform.auth.domain.entity.UserSession;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Écouteur JPA qui alimente {@link AuthStatsCollector}
+ *
+ * Les inscriptions, changements de statut, décisions KYC, ouvertures et
+ * fermetures de session sont comptés quel que soit le chemin de code qui les provoque.
+ * Les mises à jour en masse (JPQL ou JDBC) échappent à l'écouteur et ne
+ * sont prises en compte qu'à la réconciliation suivante.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class AuthStatsEntityListener {
+
+    private final AuthStatsCollector collector;
+
+    @Autowired
+    public AuthStatsEntityListener(AuthStatsCollector collector) {
+        this.collector = collector;
+    }
+
+    @PostPersist
+    public void afterInsert(Object entity) {
+        if (entity instanceof User user) {
+            collector.onUserRegistered(user.getStatus(), user.getKycStatus(), user.getProfileType());
+        } else if (entity instanceof UserSession) {
+            collector.onSessionOpened();
+        }
+    }
+
+    @PostUpdate
+    public void afterUpdate(Object entity) {
+        if (entity instanceof User user) {
+            if (user.getPersistedStatus() != null && user.getPersistedStatus() != user.getStatus()) {
+                collector.onUserStatusChanged(user.getPersistedStatus(), user.getStatus());
+            }
+            if (user.getPersistedKycStatus() != null && user.getPersistedKycStatus() != user.getKycStatus()) {
+                collector.onKycStatusChanged(user.getPersistedKycStatus(), user.getKycStatus());
+            }
+        } else if (entity instanceof UserSession session) {
+            if (wasCounted(session) && !Boolean.TRUE.equals(session.getIsActive())) {
+                collector.onSessionClosed();
+            }
+        }
+    }
+
+    @PostRemove
+    public void afterDelete(Object entity) {
+        if (entity instanceof User user && user.getPersistedStatus() != null) {
+            collector.onUserDeleted(user.getPersistedStatus(), user.getPersistedKycStatus(), user.getProfileType());
+        } else if (entity instanceof UserSession session && wasCounted(session)) {
+            collector.onSessionClosed();
+        }
+    }
+
+    /**
+     * Les sessions expirées ne sont plus comptées comme actives depuis la
+     * dernière réconciliation ; leur fermeture ne doit pas être décomptée
+     */
+    private static boolean wasCounted(UserSession session) {
+        return Boolean.TRUE.equals(session.getPersistedActive()) && !session.isExpired();
+    }
+}
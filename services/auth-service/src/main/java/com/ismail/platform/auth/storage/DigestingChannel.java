@@ -0,0 +1,75 @@
+package com.ismail.platform.auth.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+
+/**
+ * Canal de lecture qui calcule une empreinte et borne la taille du flux
+ *
+ * L'empreinte est mise à jour directement depuis le tampon du consommateur,
+ * sans copie supplémentaire.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class DigestingChannel implements ReadableByteChannel {
+
+    private final ReadableByteChannel source;
+    private final MessageDigest digest;
+    private final long maxBytes;
+    private long count;
+
+    public DigestingChannel(ReadableByteChannel source, MessageDigest digest, long maxBytes) {
+        this.source = source;
+        this.digest = digest;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        int read = source.read(dst);
+        if (read > 0) {
+            count += read;
+            if (count > maxBytes) {
+                throw new SizeLimitExceededException(maxBytes);
+            }
+            ByteBuffer view = dst.duplicate();
+            view.limit(dst.position());
+            view.position(start);
+            digest.update(view);
+        }
+        return read;
+    }
+
+    public long getCount() { return count; }
+
+    public byte[] digest() { return digest.digest(); }
+
+    @Override
+    public boolean isOpen() {
+        return source.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * Levée dès que le flux dépasse la taille autorisée
+     */
+    public static final class SizeLimitExceededException extends IOException {
+
+        private final long maxBytes;
+
+        SizeLimitExceededException(long maxBytes) {
+            super("Taille maximale dépassée: " + maxBytes + " octets");
+            this.maxBytes = maxBytes;
+        }
+
+        public long getMaxBytes() { return maxBytes; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ismail.platform.auth.storage;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Stockage des documents KYC
+ *
+ * Les implémentations consomment la source par blocs, sans la charger
+ * entièrement en mémoire, et ne rendent le document visible qu'une fois
+ * intégralement écrit.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public interface DocumentStore {
+
+    /**
+     * Écrit le contenu de la source sous la clé donnée
+     *
+     * @return Nombre d'octets écrits
+     */
+    long write(String key, ReadableByteChannel source) throws IOException;
+
+    /**
+     * Supprime un document ; sans effet s'il n'existe pas
+     */
+    void delete(String key) throws IOException;
+}
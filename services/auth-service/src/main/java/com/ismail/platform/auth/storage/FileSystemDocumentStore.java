@@ -0,0 +1,72 @@
+package com.ismail.platform.auth.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stockage des documents sur un système de fichiers local ou monté
+ *
+ * Le contenu est transféré vers un fichier temporaire par
+ * {@link FileChannel#transferFrom}, synchronisé sur disque, puis renommé
+ * atomiquement vers sa destination finale.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class FileSystemDocumentStore implements DocumentStore {
+
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    private final Path root;
+
+    @Autowired
+    public FileSystemDocumentStore(@Value("${ismail.auth.kyc.storage.root:/var/lib/ismail/kyc}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public long write(String key, ReadableByteChannel source) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+
+        try {
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long transferred;
+                while ((transferred = channel.transferFrom(source, written, TRANSFER_CHUNK)) > 0) {
+                    written += transferred;
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return written;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Clé de document invalide: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ismail.platform.auth.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Documents KYC d'une soumission, déjà écrits dans le {@link DocumentStore}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class KycDocumentSet {
+
+    private final StoredDocument idCard;
+    private final StoredDocument selfie;
+    private final StoredDocument additionalDoc;
+
+    public KycDocumentSet(StoredDocument idCard, StoredDocument selfie, StoredDocument additionalDoc) {
+        this.idCard = idCard;
+        this.selfie = selfie;
+        this.additionalDoc = additionalDoc;
+    }
+
+    public List<StoredDocument> all() {
+        List<StoredDocument> documents = new ArrayList<>(3);
+        documents.add(idCard);
+        documents.add(selfie);
+        if (additionalDoc != null) {
+            documents.add(additionalDoc);
+        }
+        return Collections.unmodifiableList(documents);
+    }
+
+    // Getters
+    public StoredDocument getIdCard() { return idCard; }
+
+    public StoredDocument getSelfie() { return selfie; }
+
+    public StoredDocument getAdditionalDoc() { return additionalDoc; }
+}
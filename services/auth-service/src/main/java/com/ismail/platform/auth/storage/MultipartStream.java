@@ -0,0 +1,295 @@
+package com.ismail.platform.auth.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Lecteur séquentiel d'un corps {@code multipart/form-data}
+ *
+ * Les parties sont exposées une à une sous forme de flux lus directement
+ * depuis la requête : seul un tampon de taille fixe est conservé en
+ * mémoire, quelle que soit la taille des fichiers transmis. Le corps d'une
+ * partie non consommé est ignoré à l'appel suivant de {@link #nextPart()}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class MultipartStream {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final int maxHeaderBytes;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+
+    private PartInputStream currentBody;
+    private boolean finished;
+
+    /**
+     * @param in Corps de la requête
+     * @param boundary Délimiteur déclaré dans l'en-tête {@code Content-Type}
+     * @param maxHeaderBytes Taille maximale des en-têtes d'une partie
+     */
+    public MultipartStream(InputStream in, String boundary, int maxHeaderBytes) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.maxHeaderBytes = maxHeaderBytes;
+        this.buffer = new byte[Math.max(DEFAULT_BUFFER_SIZE, Math.max(delimiter.length * 4, maxHeaderBytes + 2))];
+        // Le premier délimiteur n'est pas précédé de CRLF : on l'ajoute pour un traitement uniforme
+        this.buffer[0] = '\r';
+        this.buffer[1] = '\n';
+        this.tail = 2;
+        // Le préambule éventuel est consommé comme le corps d'une partie
+        this.currentBody = new PartInputStream();
+    }
+
+    /**
+     * Extrait le délimiteur d'un en-tête {@code Content-Type}
+     *
+     * @return null si l'en-tête n'est pas un {@code multipart/form-data} valide
+     */
+    public static String extractBoundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            return null;
+        }
+        String boundary = parameter(contentType, "boundary");
+        return boundary == null || boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+    }
+
+    /**
+     * Passe à la partie suivante
+     *
+     * @return null lorsque le délimiteur de fin a été atteint
+     */
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (currentBody != null) {
+            currentBody.skipRemaining();
+            currentBody = null;
+        }
+
+        if (!ensure(2)) {
+            throw new MalformedMultipartException("Flux multipart tronqué");
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        // Espaces de remplissage tolérés après le délimiteur (RFC 2046)
+        String rest = readLine();
+        if (!rest.isBlank()) {
+            throw new MalformedMultipartException("Délimiteur multipart invalide");
+        }
+
+        String disposition = null;
+        String contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            headerBytes += line.length() + 2;
+            if (headerBytes > maxHeaderBytes) {
+                throw new MalformedMultipartException("En-têtes de partie multipart trop volumineux");
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("Content-Disposition")) {
+                disposition = value;
+            } else if (name.equalsIgnoreCase("Content-Type")) {
+                contentType = value;
+            }
+        }
+
+        if (disposition == null) {
+            throw new MalformedMultipartException("Partie multipart sans Content-Disposition");
+        }
+        currentBody = new PartInputStream();
+        return new Part(parameter(disposition, "name"), parameter(disposition, "filename"), contentType, currentBody);
+    }
+
+    // =====================================================
+    // TAMPON
+    // =====================================================
+
+    /**
+     * Garantit au moins {@code n} octets disponibles dans le tampon
+     *
+     * @return false si la fin du flux est atteinte avant
+     */
+    private boolean ensure(int n) throws IOException {
+        while (tail - head < n) {
+            if (head > 0 && buffer.length - tail < n) {
+                System.arraycopy(buffer, head, buffer, 0, tail - head);
+                tail -= head;
+                head = 0;
+            }
+            int read = in.read(buffer, tail, buffer.length - tail);
+            if (read < 0) {
+                return false;
+            }
+            tail += read;
+        }
+        return true;
+    }
+
+    private int indexOf(byte[] pattern, int from) {
+        int last = tail - pattern.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private String readLine() throws IOException {
+        int from = head;
+        while (true) {
+            int end = indexOf(CRLF, from);
+            if (end >= 0) {
+                String line = new String(buffer, head, end - head, StandardCharsets.UTF_8);
+                head = end + 2;
+                return line;
+            }
+            if (tail - head >= maxHeaderBytes) {
+                throw new MalformedMultipartException("Ligne d'en-tête multipart trop longue");
+            }
+            from = Math.max(head, tail - 1);
+            int consumedOffset = head;
+            if (!ensure(tail - head + 1)) {
+                throw new MalformedMultipartException("Flux multipart tronqué");
+            }
+            // Le tampon a pu être compacté
+            from -= consumedOffset - head;
+        }
+    }
+
+    private static String parameter(String header, String name) {
+        for (String token : header.split(";")) {
+            int eq = token.indexOf('=');
+            if (eq > 0 && token.substring(0, eq).trim().equalsIgnoreCase(name)) {
+                String value = token.substring(eq + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // =====================================================
+    // PARTIES
+    // =====================================================
+
+    /**
+     * Partie d'un corps multipart ; le flux n'est valide que jusqu'à l'appel
+     * suivant de {@link MultipartStream#nextPart()}
+     */
+    public static final class Part {
+
+        private final String name;
+        private final String filename;
+        private final String contentType;
+        private final InputStream body;
+
+        Part(String name, String filename, String contentType, InputStream body) {
+            this.name = name;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String getName() { return name; }
+
+        public String getFilename() { return filename; }
+
+        public String getContentType() { return contentType; }
+
+        public InputStream getBody() { return body; }
+    }
+
+    private final class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+
+            while (true) {
+                boolean more = ensure(delimiter.length);
+                int found = indexOf(delimiter, head);
+                int available;
+                if (found >= 0) {
+                    available = found - head;
+                    if (available == 0) {
+                        head += delimiter.length;
+                        done = true;
+                        return -1;
+                    }
+                } else if (!more) {
+                    throw new MalformedMultipartException("Flux multipart tronqué");
+                } else {
+                    // Les derniers octets peuvent être le début du délimiteur
+                    available = tail - head - (delimiter.length - 1);
+                    if (available <= 0) {
+                        if (!ensure(tail - head + 1)) {
+                            throw new MalformedMultipartException("Flux multipart tronqué");
+                        }
+                        continue;
+                    }
+                }
+
+                int count = Math.min(len, available);
+                System.arraycopy(buffer, head, b, off, count);
+                head += count;
+                return count;
+            }
+        }
+
+        void skipRemaining() throws IOException {
+            byte[] scratch = new byte[4096];
+            while (read(scratch, 0, scratch.length) >= 0) {
+                // ignoré
+            }
+        }
+    }
+
+    /**
+     * Levée lorsque le corps de la requête n'est pas un multipart valide
+     */
+    public static final class MalformedMultipartException extends IOException {
+
+        MalformedMultipartException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ismail.platform.auth.storage;
+
+/**
+ * Document KYC écrit dans le {@link DocumentStore}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class StoredDocument {
+
+    private final String field;
+    private final String key;
+    private final String contentType;
+    private final String originalFilename;
+    private final long size;
+    private final String sha256;
+
+    public StoredDocument(String field, String key, String contentType, String originalFilename, long size, String sha256) {
+        this.field = field;
+        this.key = key;
+        this.contentType = contentType;
+        this.originalFilename = originalFilename;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    // Getters
+    public String getField() { return field; }
+
+    public String getKey() { return key; }
+
+    public String getContentType() { return contentType; }
+
+    public String getOriginalFilename() { return originalFilename; }
+
+    public long getSize() { return size; }
+
+    public String getSha256() { return sha256; }
+}
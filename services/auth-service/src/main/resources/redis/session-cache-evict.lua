@@ -0,0 +1,18 @@
+-- Éviction de sessions après le commit de leur invalidation
+--
+-- KEYS[1]    : génération de l'utilisateur
+-- KEYS[2]    : liste des sessions de l'utilisateur
+-- KEYS[3..n] : sessions évincées
+-- ARGV[1]    : pierre tombale
+-- ARGV[2]    : durée de vie en millisecondes de la génération et des pierres tombales
+--
+-- Les pierres tombales et la nouvelle génération font refuser les écritures
+-- des lectures en base commencées avant l'éviction.
+
+redis.call('INCR', KEYS[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[2])
+redis.call('DEL', KEYS[2])
+for i = 3, #KEYS do
+    redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2])
+end
+return 1
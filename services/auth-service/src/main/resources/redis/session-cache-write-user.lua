@@ -0,0 +1,17 @@
+-- Mise en cache de la liste des sessions d'un utilisateur lue en base, sauf
+-- si elle a été évincée depuis le début de la lecture
+--
+-- KEYS[1] : liste des sessions de l'utilisateur
+-- KEYS[2] : génération de l'utilisateur, incrémentée à chaque éviction
+-- ARGV[1] : liste sérialisée
+-- ARGV[2] : durée de vie en millisecondes
+-- ARGV[3] : génération lue avant la lecture en base ('' si absente)
+--
+-- Retourne 1 si la liste a été écrite, 0 si la génération a changé.
+
+local generation = redis.call('GET', KEYS[2]) or ''
+if generation ~= ARGV[3] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return 1
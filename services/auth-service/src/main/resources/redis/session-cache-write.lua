@@ -0,0 +1,17 @@
+-- Mise en cache d'une session lue en base, sauf si elle a été évincée depuis
+--
+-- KEYS[1] : session
+-- KEYS[2] : index du token vers la session
+-- ARGV[1] : session sérialisée
+-- ARGV[2] : identifiant de la session
+-- ARGV[3] : durée de vie en millisecondes
+-- ARGV[4] : pierre tombale déposée par l'éviction
+--
+-- Retourne 1 si la session a été écrite, 0 si elle porte une pierre tombale.
+
+if redis.call('GET', KEYS[1]) == ARGV[4] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+return 1
@@ -0,0 +1,32 @@
+-- Limiteur à fenêtre glissante partagé entre les instances
+--
+-- KEYS[i]   : clé de fenêtre (une par dimension : IP, email...)
+-- ARGV[1]   : durée de la fenêtre en millisecondes
+-- ARGV[2]   : identifiant unique de la requête
+-- ARGV[2+i] : limite associée à KEYS[i]
+--
+-- La requête n'est comptabilisée dans aucune fenêtre si l'une d'elles est pleine.
+-- Retourne 0 si la requête est admise, sinon le délai d'attente en millisecondes.
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local window = tonumber(ARGV[1])
+local wait = 0
+
+for i, key in ipairs(KEYS) do
+    redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+    if redis.call('ZCARD', key) >= tonumber(ARGV[2 + i]) then
+        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        wait = math.max(wait, tonumber(oldest[2]) + window - now, 1)
+    end
+end
+
+if wait > 0 then
+    return wait
+end
+
+for _, key in ipairs(KEYS) do
+    redis.call('ZADD', key, now, ARGV[2])
+    redis.call('PEXPIRE', key, window)
+end
+return 0
@@ -0,0 +1,175 @@
+package com.ismail.platform.auth.cache;
+
+import com.ismail.platform.auth.domain.entity.User;
+import com.ismail.platform.auth.domain.entity.UserSession;
+import com.ismail.platform.auth.domain.repository.UserSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de l'éviction du cache des sessions
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class SessionCacheTest {
+
+    private final UserSessionRepository repository = mock(UserSessionRepository.class);
+    private final InMemoryStore store = new InMemoryStore();
+    private final SessionCache cache = new SessionCache(repository, store,
+            mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry(),
+            100, Duration.ofMinutes(1), Duration.ofMinutes(15));
+
+    private final User user = new User();
+    private final UserSession session;
+
+    SessionCacheTest() {
+        user.setId(UUID.randomUUID());
+        session = new UserSession(user, "token", "refresh", LocalDateTime.now().plusHours(1));
+        session.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void newSessionIsVisibleAfterAnEmptyListWasCached() {
+        when(repository.findByUser_IdAndIsActiveTrueAndExpiresAtAfter(eq(user.getId()), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(session));
+
+        assertThat(cache.getActiveSessions(user.getId())).isEmpty();
+        assertThat(cache.getActiveSessions(user.getId())).isEmpty();
+
+        cache.onSessionCreated(user.getId());
+
+        assertThat(cache.getActiveSessions(user.getId()))
+                .extracting(CachedSession::getId)
+                .containsExactly(session.getId());
+        assertThat(store.published).containsExactly(user.getId() + ":");
+        verify(repository, times(2)).findByUser_IdAndIsActiveTrueAndExpiresAtAfter(eq(user.getId()), any());
+    }
+
+    @Test
+    void sessionReadBeforeALogoutCommitIsNotCachedAfterTheEviction() {
+        // La lecture en base voit la session encore active ; la déconnexion
+        // est commitée et évincée avant que la lecture n'écrive en cache
+        when(repository.findBySessionToken("token")).thenAnswer(invocation -> {
+            UserSession stale = new UserSession(user, "token", "refresh", session.getExpiresAt());
+            stale.setId(session.getId());
+            session.invalidate();
+            cache.evictSession(session.getId(), user.getId());
+            return Optional.of(stale);
+        }).thenAnswer(invocation -> Optional.of(session));
+
+        assertThat(cache.getBySessionToken("token")).isEmpty();
+
+        assertThat(store.sessions).doesNotContainKey(session.getId());
+        assertThat(cache.getBySessionToken("token")).isEmpty();
+        verify(repository, times(2)).findBySessionToken("token");
+    }
+
+    @Test
+    void sessionListReadBeforeALogoutCommitIsNotCachedAfterTheEviction() {
+        when(repository.findByUser_IdAndIsActiveTrueAndExpiresAtAfter(eq(user.getId()), any()))
+                .thenAnswer(invocation -> {
+                    cache.evictUser(user.getId(), List.of(session.getId()));
+                    return List.of(session);
+                })
+                .thenReturn(List.of());
+
+        assertThat(cache.getActiveSessions(user.getId())).hasSize(1);
+
+        assertThat(store.userSessions).doesNotContainKey(user.getId());
+        assertThat(cache.getActiveSessions(user.getId())).isEmpty();
+        verify(repository, times(2)).findByUser_IdAndIsActiveTrueAndExpiresAtAfter(eq(user.getId()), any());
+    }
+
+    /**
+     * L2 en mémoire reproduisant les gardes des scripts Lua
+     */
+    private static class InMemoryStore extends SessionCacheStore {
+
+        private final Map<UUID, byte[]> sessions = new HashMap<>();
+        private final Set<UUID> tombstones = new HashSet<>();
+        private final Map<String, UUID> indexes = new HashMap<>();
+        private final Map<UUID, byte[]> userSessions = new HashMap<>();
+        private final Map<UUID, Integer> generations = new HashMap<>();
+        private final List<String> published = new ArrayList<>();
+
+        InMemoryStore() {
+            super(mock(StringRedisTemplate.class), new SimpleMeterRegistry());
+        }
+
+        @Override
+        byte[] getSession(UUID sessionId) {
+            return sessions.get(sessionId);
+        }
+
+        @Override
+        byte[] getUserSessions(UUID userId) {
+            return userSessions.get(userId);
+        }
+
+        @Override
+        UUID getIndex(String indexKey) {
+            return indexes.get(indexKey);
+        }
+
+        @Override
+        String getGeneration(UUID userId) {
+            Integer generation = generations.get(userId);
+            return generation == null ? "" : generation.toString();
+        }
+
+        @Override
+        boolean writeSession(String indexKey, CachedSession session, long ttlMillis) {
+            if (tombstones.contains(session.getId())) {
+                return false;
+            }
+            sessions.put(session.getId(), session.toBytes());
+            indexes.put(indexKey, session.getId());
+            return true;
+        }
+
+        @Override
+        boolean writeUserSessions(UUID userId, byte[] sessions, String generation, long ttlMillis) {
+            if (!getGeneration(userId).equals(generation)) {
+                return false;
+            }
+            userSessions.put(userId, sessions);
+            return true;
+        }
+
+        @Override
+        void evict(UUID userId, Collection<UUID> sessionIds, long ttlMillis) {
+            generations.merge(userId, 1, Integer::sum);
+            userSessions.remove(userId);
+            sessionIds.forEach(sessionId -> {
+                sessions.remove(sessionId);
+                tombstones.add(sessionId);
+            });
+        }
+
+        @Override
+        void publish(String channel, String message) {
+            published.add(message);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.ismail.platform.auth.card;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la reprise, du point de contrôle et du bail du renouvellement par lots
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class CardBatchRenewalServiceTest {
+
+    private static final UUID RUN_ID = UUID.randomUUID();
+    private static final Timestamp WINDOW_END = Timestamp.valueOf(LocalDateTime.now().plusDays(30));
+
+    private final FakeJdbcTemplate jdbcTemplate = new FakeJdbcTemplate();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void resumesAfterStoredCursorAndCheckpointsEachPage() {
+        Card resumedAfter = card(1);
+        Card first = card(2);
+        Card second = card(3);
+        Card third = card(4);
+        jdbcTemplate.claimed = cursorRow(resumedAfter.expiresAt, resumedAfter.id);
+        jdbcTemplate.pages.add(List.of(first, second));
+        jdbcTemplate.pages.add(List.of(third));
+        jdbcTemplate.batchCounts.add(new int[]{1, 0});
+        jdbcTemplate.batchCounts.add(new int[]{1});
+
+        run(2);
+
+        // Parcours par clé à partir du curseur enregistré, puis de la dernière carte de chaque page
+        assertThat(jdbcTemplate.pageQueries).containsExactly(
+                new Object[]{WINDOW_END, resumedAfter.expiresAt, resumedAfter.id, 2},
+                new Object[]{WINDOW_END, second.expiresAt, second.id, 2});
+        assertThat(jdbcTemplate.updates("SET cursor_expires_at")).containsExactly(
+                new Object[]{second.expiresAt, second.id, 1, 1, Duration.ofMinutes(5).toMillis(), RUN_ID, jdbcTemplate.owner()},
+                new Object[]{third.expiresAt, third.id, 1, 0, Duration.ofMinutes(5).toMillis(), RUN_ID, jdbcTemplate.owner()});
+        assertThat(jdbcTemplate.updates("'COMPLETED'")).hasSize(1);
+        assertThat(meterRegistry.counter("ismail.auth.cards.renewal.cards", "outcome", "renewed").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("ismail.auth.cards.renewal.cards", "outcome", "skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesRunHeldByAnotherInstanceUntouched() {
+        jdbcTemplate.claimed = null;
+
+        run(2);
+
+        assertThat(jdbcTemplate.pageQueries).isEmpty();
+        assertThat(jdbcTemplate.updateCalls).isEmpty();
+    }
+
+    @Test
+    void stopsAndRollsBackPageWhenLeaseWasTakenOver() {
+        jdbcTemplate.claimed = cursorRow(null, null);
+        jdbcTemplate.pages.add(List.of(card(1), card(2)));
+        jdbcTemplate.pages.add(List.of(card(3)));
+        jdbcTemplate.batchCounts.add(new int[]{1, 1});
+        jdbcTemplate.leaseLost = true;
+
+        run(2);
+
+        // Reprise depuis le début de la fenêtre, puis abandon à la première page
+        assertThat(jdbcTemplate.pageQueries.get(0)[2]).isEqualTo(new UUID(0L, 0L));
+        assertThat(jdbcTemplate.batchCalls).isEqualTo(1);
+        assertThat(jdbcTemplate.updates("'COMPLETED'")).isEmpty();
+        assertThat(jdbcTemplate.updates("'INTERRUPTED', error_message")).hasSize(1);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertThat(meterRegistry.counter("ismail.auth.cards.renewal.cards", "outcome", "renewed").count()).isZero();
+    }
+
+    @Test
+    void startRetriesWhenTheUnfinishedRunCompletesInBetween() throws InterruptedException {
+        jdbcTemplate.claimed = null;
+        jdbcTemplate.insertConflicts = 1;
+        CardBatchRenewalService service = service(2, 2);
+
+        UUID runId;
+        try {
+            runId = service.start();
+            assertThat(jdbcTemplate.finished.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            service.stop();
+        }
+
+        // Insertion refusée, aucune exécution non terminée trouvée : nouvelle insertion
+        List<Object[]> inserts = jdbcTemplate.updates("INSERT INTO core.card_renewal_runs");
+        assertThat(inserts).hasSize(2);
+        assertThat(runId).isEqualTo(inserts.get(1)[0]);
+    }
+
+    @Test
+    void renewsAtLeastAThousandCardsPerSecondOnEightCores() {
+        int cards = 5_000;
+        jdbcTemplate.claimed = cursorRow(null, null);
+        for (int page = 0; page < cards / 1000; page++) {
+            List<Card> rows = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                rows.add(card(page * 1000 + i));
+            }
+            jdbcTemplate.pages.add(rows);
+        }
+
+        run(1000, 0);
+
+        assertThat(meterRegistry.counter("ismail.auth.cards.renewal.cards", "outcome", "renewed").count())
+                .isEqualTo(cards);
+        // Signature réelle (Ed25519) des QR codes sur tous les coeurs, base simulée :
+        // l'objectif de 1 000 cartes/s sur 8 coeurs, ramené aux coeurs disponibles
+        int cores = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        assertThat(meterRegistry.get("ismail.auth.cards.renewal.throughput").gauge().value())
+                .isGreaterThanOrEqualTo(1000.0 * cores / 8);
+    }
+
+    private void run(int pageSize) {
+        run(pageSize, 2);
+    }
+
+    private void run(int pageSize, int parallelism) {
+        CardBatchRenewalService service = service(pageSize, parallelism);
+        jdbcTemplate.abandoned = List.of(RUN_ID);
+        service.resumeAbandoned();
+        try {
+            assertThat(jdbcTemplate.finished.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            service.stop();
+        }
+    }
+
+    private CardBatchRenewalService service(int pageSize, int parallelism) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        return new CardBatchRenewalService(jdbcTemplate, transactionManager,
+                new CardQrCodec(1, "", "", new String[0], environment), meterRegistry,
+                30, 365, "1.0", pageSize, parallelism, Duration.ofMinutes(5));
+    }
+
+    private static Card card(int minutes) {
+        return new Card(UUID.randomUUID(), UUID.randomUUID(), String.format("IC2603%06d", minutes),
+                Timestamp.valueOf(LocalDateTime.now().plusDays(1).withNano(0).plusMinutes(minutes)));
+    }
+
+    private static ResultSet cursorRow(Timestamp expiresAt, UUID cardId) {
+        try {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getTimestamp("window_end")).thenReturn(WINDOW_END);
+            when(rs.getTimestamp("cursor_expires_at")).thenReturn(expiresAt);
+            when(rs.getObject("cursor_card_id", UUID.class)).thenReturn(cardId);
+            return rs;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Card(UUID id, UUID userId, String cardNumber, Timestamp expiresAt) {
+
+        // Proxy plutôt que mock : le test de débit lit des milliers de lignes
+        ResultSet toRow() {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch ((String) args[0]) {
+                        case "id" -> id;
+                        case "user_id" -> userId;
+                        case "card_number" -> cardNumber;
+                        case "expires_at" -> expiresAt;
+                        default -> throw new SQLException("Colonne inconnue: " + args[0]);
+                    });
+        }
+    }
+
+    /**
+     * Base simulée, répondant selon la forme des requêtes du service
+     */
+    private static final class FakeJdbcTemplate extends JdbcTemplate {
+
+        ResultSet claimed;
+        List<UUID> abandoned = List.of();
+        final Deque<List<Card>> pages = new ArrayDeque<>();
+        final Deque<int[]> batchCounts = new ArrayDeque<>();
+        boolean leaseLost;
+        int insertConflicts;
+
+        final List<Object[]> pageQueries = new ArrayList<>();
+        final List<Map.Entry<String, Object[]>> updateCalls = new ArrayList<>();
+        int batchCalls;
+        final CountDownLatch finished = new CountDownLatch(1);
+        private String owner;
+
+        String owner() {
+            return owner;
+        }
+
+        List<Object[]> updates(String fragment) {
+            return updateCalls.stream().filter(call -> call.getKey().contains(fragment)).map(Map.Entry::getValue).toList();
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType) {
+            return abandoned.stream().map(elementType::cast).toList();
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            try {
+                if (sql.contains("RETURNING window_end")) {
+                    owner = (String) args[0];
+                    if (claimed == null) {
+                        finished.countDown();
+                        return List.of();
+                    }
+                    return List.of(rowMapper.mapRow(claimed, 0));
+                }
+                pageQueries.add(args);
+                List<T> rows = new ArrayList<>();
+                for (Card card : pages.isEmpty() ? List.<Card>of() : pages.poll()) {
+                    rows.add(rowMapper.mapRow(card.toRow(), rows.size()));
+                }
+                return rows;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            updateCalls.add(Map.entry(sql, args));
+            if (sql.startsWith("INSERT INTO core.card_renewal_runs") && insertConflicts > 0) {
+                insertConflicts--;
+                return 0;
+            }
+            if (sql.contains("'COMPLETED'") || sql.contains("'INTERRUPTED', error_message")) {
+                finished.countDown();
+            }
+            return sql.contains("SET cursor_expires_at") && leaseLost ? 0 : 1;
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            batchCalls++;
+            if (batchCounts.isEmpty()) {
+                int[] renewed = new int[batchArgs.size()];
+                Arrays.fill(renewed, 1);
+                return new int[][]{renewed};
+            }
+            return new int[][]{batchCounts.poll()};
+        }
+    }
+}
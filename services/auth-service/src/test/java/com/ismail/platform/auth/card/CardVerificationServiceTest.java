@@ -0,0 +1,106 @@
+package com.ismail.platform.auth.card;
+
+import com.ismail.platform.auth.dto.response.CardVerificationResponse;
+import com.ismail.platform.auth.dto.response.CardVerificationResponse.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la vérification hors ligne des cartes professionnelles
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class CardVerificationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+    private static final UUID USER_ID = UUID.fromString("7d1c2a8e-52b4-4f0e-9a3c-1b2d3e4f5a6b");
+    private static final MockEnvironment TEST_PROFILE = new MockEnvironment().withProperty("spring.profiles.active", "test");
+
+    private final CardQrCodec codec = new CardQrCodec(1, "", "", new String[0], TEST_PROFILE);
+    private final CardRevocationRegistry revocationRegistry = mock(CardRevocationRegistry.class);
+    private CardVerificationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CardVerificationService(codec, revocationRegistry, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(10), Clock.fixed(NOW, ZoneId.of("UTC")));
+    }
+
+    @Test
+    void acceptsGenuineCard() {
+        String payload = codec.encode(new CardClaims("IC2603010001", USER_ID, NOW.plus(Duration.ofDays(365))));
+
+        CardVerificationResponse response = service.verify(payload);
+
+        assertThat(response.isValid()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(Status.VALID);
+        assertThat(response.getCardNumber()).isEqualTo("IC2603010001");
+        assertThat(response.getUserId()).isEqualTo(USER_ID);
+        assertThat(service.verify(payload).isValid()).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedOrForeignPayloads() {
+        byte[] bytes = Base64.getUrlDecoder().decode(
+                codec.encode(new CardClaims("IC2603010001", USER_ID, NOW.plus(Duration.ofDays(365)))));
+        // Prolongation frauduleuse de la date d'expiration
+        bytes[5]++;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String foreign = new CardQrCodec(1, "", "", new String[0], TEST_PROFILE)
+                .encode(new CardClaims("IC2603010001", USER_ID, NOW.plus(Duration.ofDays(365))));
+
+        assertThat(service.verify(tampered).getStatus()).isEqualTo(Status.INVALID);
+        assertThat(service.verify(foreign).getStatus()).isEqualTo(Status.INVALID);
+        assertThat(service.verify("not a qr code").getStatus()).isEqualTo(Status.INVALID);
+        assertThat(service.verify("").getStatus()).isEqualTo(Status.INVALID);
+    }
+
+    @Test
+    void rejectsExpiredCard() {
+        String payload = codec.encode(new CardClaims("IC2503010001", USER_ID, NOW.minusSeconds(1)));
+
+        CardVerificationResponse response = service.verify(payload);
+
+        assertThat(response.isValid()).isFalse();
+        assertThat(response.getStatus()).isEqualTo(Status.EXPIRED);
+    }
+
+    @Test
+    void revocationOverridesCachedVerification() {
+        String payload = codec.encode(new CardClaims("IC2603010002", USER_ID, NOW.plus(Duration.ofDays(30))));
+        assertThat(service.verify(payload).getStatus()).isEqualTo(Status.VALID);
+
+        when(revocationRegistry.isRevoked("IC2603010002")).thenReturn(true);
+        CardVerificationResponse revoked = service.verify(payload);
+
+        assertThat(revoked.isValid()).isFalse();
+        assertThat(revoked.getStatus()).isEqualTo(Status.REVOKED);
+        // La réponse en cache n'est pas altérée par la révocation
+        when(revocationRegistry.isRevoked("IC2603010002")).thenReturn(false);
+        assertThat(service.verify(payload).getStatus()).isEqualTo(Status.VALID);
+    }
+
+    @Test
+    void refusesEphemeralKeysOutsideDevAndTestProfiles() {
+        MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+
+        assertThatThrownBy(() -> new CardQrCodec(1, "", "", new String[0], prod))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ismail.platform.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de l'exclusion des chemins lus en flux de la résolution multipart
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class MultipartConfigTest {
+
+    private final MultipartConfig.StreamingAwareMultipartResolver resolver =
+            new MultipartConfig.StreamingAwareMultipartResolver(List.of("/api/auth/kyc/documents"));
+
+    @Test
+    void skipsResolutionOnlyForStreamingPaths() {
+        assertThat(resolver.isMultipart(multipart("", "/api/auth/kyc/documents"))).isFalse();
+        assertThat(resolver.isMultipart(multipart("/auth", "/auth/api/auth/kyc/documents"))).isFalse();
+        assertThat(resolver.isMultipart(multipart("", "/api/auth/profile/avatar"))).isTrue();
+    }
+
+    private static MockHttpServletRequest multipart(String contextPath, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath(contextPath);
+        request.setContentType("multipart/form-data; boundary=abc");
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ismail.platform.auth.kyc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.crypto.AEADBadTagException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests du chiffrement des soumissions biométriques
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class BiometricPayloadCipherTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final BiometricPayloadCipher cipher = new BiometricPayloadCipher(KEY, new MockEnvironment());
+
+    @Test
+    void roundTripsWithoutStoringPlaintext() throws GeneralSecurityException {
+        UUID jobId = UUID.randomUUID();
+        byte[] plaintext = "{\"selfie\":\"...\"}".getBytes(StandardCharsets.UTF_8);
+
+        byte[] payload = cipher.encrypt(jobId, plaintext);
+
+        assertThat(new String(payload, StandardCharsets.ISO_8859_1)).doesNotContain("selfie");
+        assertThat(cipher.decrypt(jobId, payload)).isEqualTo(plaintext);
+    }
+
+    @Test
+    void rejectsPayloadCopiedToAnotherJob() {
+        byte[] payload = cipher.encrypt(UUID.randomUUID(), new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> cipher.decrypt(UUID.randomUUID(), payload))
+                .isInstanceOf(AEADBadTagException.class);
+    }
+
+    @Test
+    void requiresKeyOutsideDevAndTestProfiles() {
+        MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+        MockEnvironment test = new MockEnvironment();
+        test.setActiveProfiles("test");
+
+        assertThatThrownBy(() -> new BiometricPayloadCipher("", prod)).isInstanceOf(IllegalStateException.class);
+        BiometricPayloadCipher ephemeral = new BiometricPayloadCipher("", test);
+        UUID jobId = UUID.randomUUID();
+        assertThat(ephemeral.encrypt(jobId, new byte[]{7})).hasSize(1 + 12 + 1 + 16);
+    }
+}
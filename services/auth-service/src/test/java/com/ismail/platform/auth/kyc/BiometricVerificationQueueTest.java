@@ -0,0 +1,98 @@
+package com.ismail.platform.auth.kyc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ismail.platform.auth.dto.request.BiometricDataRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la soumission à la file biométrique et de l'application des résultats
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class BiometricVerificationQueueTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+    private final BiometricVerificationQueue queue = new BiometricVerificationQueue(
+            jdbcTemplate,
+            transactionManager,
+            mock(StringRedisTemplate.class),
+            mock(BiometricMatcher.class),
+            new BiometricPayloadCipher(Base64.getEncoder().encodeToString(new byte[32]), new MockEnvironment()),
+            objectMapper,
+            new SimpleMeterRegistry(),
+            1, 8, 3, Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofHours(24));
+
+    @Test
+    void submitGivesUpAfterBoundedConflicts() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(objectMapper.writeValueAsBytes(any())).thenReturn(new byte[]{1});
+        when(jdbcTemplate.update(anyString(), any(), eq(userId), any())).thenReturn(0);
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), eq(userId))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> queue.submit(userId, mock(BiometricDataRequest.class)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(userId), any());
+    }
+
+    @Test
+    void verifiedResultEnrolsTheUserInTheTransactionThatCompletesTheJob() {
+        UUID userId = UUID.randomUUID();
+        BiometricVerificationQueue.ClaimedJob job = claimed(userId);
+        byte[] template = {7, 7};
+        when(jdbcTemplate.update(contains("'COMPLETED'"), any(Object[].class))).thenReturn(1);
+
+        queue.complete(job, new BiometricMatchResult(true, 0.97, null, "fp-hash", "face", template, "2.1"));
+
+        verify(jdbcTemplate).update(contains("core.user_biometrics"),
+                eq(userId), eq("fp-hash"), eq("face"), eq(template), eq(0.97), eq("2.1"));
+        verify(jdbcTemplate).update(contains("kyc_status = 'VERIFIED'"), eq(userId));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void resultOfALostLeaseIsNotApplied() {
+        UUID userId = UUID.randomUUID();
+        when(jdbcTemplate.update(contains("'COMPLETED'"), any(Object[].class))).thenReturn(0);
+
+        queue.complete(claimed(userId), new BiometricMatchResult(false, 0.2, "Visage non reconnu"));
+
+        verify(jdbcTemplate, never()).update(contains("core.users"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(contains("core.user_biometrics"), any(Object[].class));
+    }
+
+    @Test
+    void verifiedResultWithoutTemplateFailsTheJob() {
+        UUID userId = UUID.randomUUID();
+        when(jdbcTemplate.update(contains("'FAILED'"), any(Object[].class))).thenReturn(1);
+
+        queue.complete(claimed(userId), new BiometricMatchResult(true, 0.97, null));
+
+        verify(jdbcTemplate).update(contains("'FAILED'"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(contains("kyc_status"), any(Object[].class));
+    }
+
+    private BiometricVerificationQueue.ClaimedJob claimed(UUID userId) {
+        return new BiometricVerificationQueue.ClaimedJob(UUID.randomUUID(), userId, new byte[]{1}, 1, LocalDateTime.now());
+    }
+}
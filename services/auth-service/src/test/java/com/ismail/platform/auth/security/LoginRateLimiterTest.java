@@ -0,0 +1,59 @@
+package com.ismail.platform.auth.security;
+
+import com.ismail.platform.auth.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la limitation du débit des connexions
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class LoginRateLimiterTest {
+
+    @Test
+    void keepsTheAddressAppendedByTheTrustedProxy() {
+        MockHttpServletRequest request = request("6.6.6.6, 203.0.113.7");
+
+        assertThat(LoginRateLimiter.resolveClientIp(request, 1)).isEqualTo("203.0.113.7");
+        assertThat(LoginRateLimiter.resolveClientIp(request, 2)).isEqualTo("6.6.6.6");
+        assertThat(LoginRateLimiter.resolveClientIp(request, 0)).isEqualTo("10.0.0.2");
+        assertThat(LoginRateLimiter.resolveClientIp(request(null), 1)).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void spoofedForwardedForDoesNotBypassTheIpLimit() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(), anyList(), any(Object[].class))).thenThrow(new IllegalStateException("redis"));
+        LoginRateLimiter limiter = new LoginRateLimiter(redisTemplate, new SimpleMeterRegistry(),
+                100, 300, 50, 2, Duration.ofMinutes(1), 1000, 1);
+
+        limiter.checkLoginAttempt(request("1.1.1.1, 203.0.113.7"), "a@example.com");
+        limiter.checkLoginAttempt(request("2.2.2.2, 203.0.113.7"), "b@example.com");
+
+        assertThatThrownBy(() -> limiter.checkLoginAttempt(request("3.3.3.3, 203.0.113.7"), "c@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ismail.platform.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de l'écriture différée des horodatages d'activité
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class ActivityWriteBehindBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> flushTasks = new ArrayList<>();
+    private final ActivityWriteBehindBuffer buffer =
+            new ActivityWriteBehindBuffer(jdbcTemplate, meterRegistry, 2, 100, 3, 3, flushTasks::add);
+
+    @Test
+    void retriesAFailedBatchAtMostMaxAttemptsTimes() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+
+        buffer.flush();
+        buffer.flush();
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+        buffer.flush();
+        buffer.flush();
+
+        assertThat(buffer.pendingCount()).isZero();
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        assertThat(meterRegistry.get("ismail.auth.write-behind.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void writesSessionsWithoutPreviousActivity() {
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(contains("last_activity_at IS NULL OR"), anyList());
+    }
+
+    @Test
+    void fullBufferIsFlushedOffTheCallerThreadAndBoundedByTheHardLimit() {
+        UUID session = UUID.randomUUID();
+        buffer.recordSessionActivity(session, LocalDateTime.now());
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+
+        // Vidage demandé une seule fois, sans écriture sur le fil appelant
+        assertThat(flushTasks).hasSize(1);
+        verifyNoInteractions(jdbcTemplate);
+
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+        buffer.recordSessionActivity(session, LocalDateTime.now().plusSeconds(1));
+        assertThat(buffer.pendingCount()).isEqualTo(3);
+        assertThat(meterRegistry.get("ismail.auth.write-behind.dropped").counter().count()).isEqualTo(1);
+
+        flushTasks.get(0).run();
+
+        assertThat(buffer.pendingCount()).isZero();
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+        buffer.recordSessionActivity(UUID.randomUUID(), LocalDateTime.now());
+        assertThat(flushTasks).hasSize(2);
+    }
+}
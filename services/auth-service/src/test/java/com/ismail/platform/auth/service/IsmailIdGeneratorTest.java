@@ -0,0 +1,200 @@
+package com.ismail.platform.auth.service;
+
+import com.ismail.platform.auth.domain.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests du générateur d'identifiants ISMAIL
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class IsmailIdGeneratorTest {
+
+    private static final Pattern ISMAIL_ID = Pattern.compile("^[A-Z]{2}\\d{6}-[A-Z0-9]{4}-[A-Z]{2}$");
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<LocalDate, Long> firstBlocks = new ConcurrentHashMap<>();
+
+    @Test
+    void generatesIdsMatchingFormat() {
+        IsmailIdGenerator generator = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock,
+                fixedClock("2024-03-15T10:00:00Z"));
+
+        String id = generator.generate("CI", User.ProfileType.PARTNER);
+
+        assertThat(id).matches(ISMAIL_ID).startsWith("CI240315-").endsWith("-PT");
+    }
+
+    @Test
+    void rejectsInvalidCountryCode() {
+        IsmailIdGenerator generator = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock, Clock.systemUTC());
+
+        assertThatThrownBy(() -> generator.generate("ci", User.ProfileType.CLIENT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> generator.generate("CIV", User.ProfileType.CLIENT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reservesOneBlockPerBlockSizeIds() {
+        IsmailIdGenerator generator = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock, Clock.systemUTC());
+
+        for (int i = 0; i < IsmailIdGenerator.BLOCK_SIZE * 3; i++) {
+            generator.generate("CI", User.ProfileType.CLIENT);
+        }
+
+        assertThat(sequence.get()).isEqualTo(3);
+    }
+
+    @Test
+    void abandonsBlockReservedOnPreviousDay() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-03-15T23:59:59Z"));
+        IsmailIdGenerator generator = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock, clock);
+
+        String before = generator.generate("SN", User.ProfileType.CLIENT);
+        clock.instant = Instant.parse("2024-03-16T00:00:01Z");
+        String after = generator.generate("SN", User.ProfileType.CLIENT);
+
+        assertThat(before).startsWith("SN240315-");
+        assertThat(after).startsWith("SN240316-");
+        assertThat(sequence.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentGenerationNeverProducesDuplicates() throws Exception {
+        int threads = 16;
+        int idsPerThread = 25_000;
+        IsmailIdGenerator generator = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock, Clock.systemUTC());
+        Set<String> ids = ConcurrentHashMap.newKeySet(threads * idsPerThread);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        String id = generator.generate("CI", User.ProfileType.CLIENT);
+                        assertThat(id).matches(ISMAIL_ID);
+                        ids.add(id);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+    }
+
+    @Test
+    void nodesSharingSequenceNeverProduceDuplicates() {
+        IsmailIdGenerator nodeA = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock, Clock.systemUTC());
+        IsmailIdGenerator nodeB = new IsmailIdGenerator(sequence::incrementAndGet, this::recordBlock, Clock.systemUTC());
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(nodeA.generate("CI", User.ProfileType.ADMIN));
+            ids.add(nodeB.generate("CI", User.ProfileType.ADMIN));
+        }
+
+        assertThat(ids).hasSize(200_000);
+    }
+
+    @Test
+    void refusesBlocksThatWouldRepeatTheCodesOfTheDay() {
+        long first = 1_000;
+        long last = first + IsmailIdGenerator.MAX_BLOCKS_PER_DAY - 1;
+        Iterator<Long> blocks = List.of(first, last, last + 1).iterator();
+        IsmailIdGenerator generator = new IsmailIdGenerator(blocks::next, this::recordBlock,
+                fixedClock("2024-03-15T10:00:00Z"));
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < IsmailIdGenerator.BLOCK_SIZE * 2; i++) {
+            ids.add(generator.generate("CI", User.ProfileType.CLIENT));
+        }
+
+        // Le dernier bloc admis ne répète aucun code du premier
+        assertThat(ids).hasSize((int) IsmailIdGenerator.BLOCK_SIZE * 2);
+        assertThatThrownBy(() -> generator.generate("CI", User.ProfileType.CLIENT))
+                .isInstanceOf(IllegalStateException.class);
+        // Échec immédiat ensuite, sans consommer la séquence
+        assertThatThrownBy(() -> generator.generate("CI", User.ProfileType.CLIENT))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(blocks.hasNext()).isFalse();
+    }
+
+    @Test
+    void countsTheDailyCodeSpaceFromTheFirstBlockOfAnyNode() {
+        IsmailIdGenerator nodeA = new IsmailIdGenerator(() -> 1_000, this::recordBlock,
+                fixedClock("2024-03-15T10:00:00Z"));
+        IsmailIdGenerator nodeB = new IsmailIdGenerator(() -> 1_000 + IsmailIdGenerator.MAX_BLOCKS_PER_DAY,
+                this::recordBlock, fixedClock("2024-03-15T11:00:00Z"));
+
+        nodeA.generate("CI", User.ProfileType.CLIENT);
+
+        assertThatThrownBy(() -> nodeB.generate("CI", User.ProfileType.CLIENT))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private long recordBlock(LocalDate day, long blockNumber) {
+        return firstBlocks.merge(day, blockNumber, Math::min);
+    }
+
+    private static Clock fixedClock(String instant) {
+        return Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ismail.platform.auth.stats;
+
+import com.ismail.platform.auth.domain.entity.User;
+import com.ismail.platform.auth.dto.response.AuthStatsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests des statistiques d'authentification incrémentales
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class AuthStatsCollectorTest {
+
+    private final AuthStatsCollector collector = new AuthStatsCollector(mock(JdbcTemplate.class));
+
+    @Test
+    void countsRegistrationsAndTransitions() {
+        collector.onUserRegistered(User.UserStatus.PENDING, User.KycStatus.PENDING, User.ProfileType.CLIENT);
+        collector.onUserRegistered(User.UserStatus.PENDING, User.KycStatus.PENDING, User.ProfileType.PARTNER);
+        collector.onKycStatusChanged(User.KycStatus.PENDING, User.KycStatus.VERIFIED);
+        collector.onUserStatusChanged(User.UserStatus.PENDING, User.UserStatus.ACTIVE);
+        collector.onSessionOpened();
+
+        AuthStatsResponse stats = collector.snapshot();
+
+        assertThat(stats.getTotalUsers()).isEqualTo(2);
+        assertThat(stats.getRegistrationsToday()).isEqualTo(2);
+        assertThat(stats.getUsersByStatus())
+                .containsEntry(User.UserStatus.PENDING, 1L)
+                .containsEntry(User.UserStatus.ACTIVE, 1L)
+                .containsEntry(User.UserStatus.SUSPENDED, 0L);
+        assertThat(stats.getUsersByKycStatus()).containsEntry(User.KycStatus.VERIFIED, 1L);
+        assertThat(stats.getUsersByProfileType()).containsEntry(User.ProfileType.PARTNER, 1L);
+        assertThat(stats.getLoginsToday()).isEqualTo(1);
+        assertThat(stats.getActiveSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void removesDeletedUsers() {
+        collector.onUserRegistered(User.UserStatus.PENDING, User.KycStatus.PENDING, User.ProfileType.CLIENT);
+        collector.onUserDeleted(User.UserStatus.PENDING, User.KycStatus.PENDING, User.ProfileType.CLIENT);
+
+        AuthStatsResponse stats = collector.snapshot();
+
+        assertThat(stats.getTotalUsers()).isZero();
+        assertThat(stats.getUsersByProfileType()).containsEntry(User.ProfileType.CLIENT, 0L);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ismail.platform.auth.stats;
+
+import com.ismail.platform.auth.domain.entity.User;
+import com.ismail.platform.auth.domain.entity.UserSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests du décompte des sessions par l'écouteur JPA
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class AuthStatsEntityListenerTest {
+
+    private final AuthStatsCollector collector = new AuthStatsCollector(mock(JdbcTemplate.class));
+    private final AuthStatsEntityListener listener = new AuthStatsEntityListener(collector);
+
+    @Test
+    void invalidatedSessionIsNoLongerActive() throws Exception {
+        UserSession session = persisted(LocalDateTime.now().plusHours(1));
+        UserSession other = persisted(LocalDateTime.now().plusHours(1));
+
+        session.invalidate();
+        listener.afterUpdate(session);
+        // Mise à jour sans changement d'état (activité)
+        other.updateActivity();
+        listener.afterUpdate(other);
+
+        assertThat(collector.snapshot().getActiveSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredSessionIsNotCountedTwice() throws Exception {
+        UserSession session = persisted(LocalDateTime.now().minusMinutes(1));
+
+        session.invalidate();
+        listener.afterUpdate(session);
+
+        assertThat(collector.snapshot().getActiveSessions()).isEqualTo(1);
+    }
+
+    /**
+     * Session insérée puis rappel {@code @PostPersist} de l'entité, comme le fait Hibernate
+     */
+    private UserSession persisted(LocalDateTime expiresAt) throws Exception {
+        UserSession session = new UserSession(new User(), "token", "refresh", expiresAt);
+        listener.afterInsert(session);
+        Method callback = UserSession.class.getDeclaredMethod("rememberPersistedState");
+        callback.setAccessible(true);
+        callback.invoke(session);
+        return session;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ismail.platform.auth.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests du lecteur multipart en flux
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class MultipartStreamTest {
+
+    private static final String BOUNDARY = "----IsmailBoundary7MA4YWxk";
+
+    @Test
+    void extractsBoundaryFromContentType() {
+        assertThat(MultipartStream.extractBoundary("multipart/form-data; boundary=" + BOUNDARY)).isEqualTo(BOUNDARY);
+        assertThat(MultipartStream.extractBoundary("multipart/form-data; boundary=\"abc def\"")).isEqualTo("abc def");
+        assertThat(MultipartStream.extractBoundary("application/json")).isNull();
+        assertThat(MultipartStream.extractBoundary(null)).isNull();
+    }
+
+    @Test
+    void readsPartsWhateverTheChunkBoundaries() throws IOException {
+        byte[] image = new byte[100_000];
+        new Random(42).nextBytes(image);
+        // Contenu qui ressemble au début du délimiteur sans le compléter
+        byte[] tricky = ("\r\n--" + BOUNDARY.substring(0, 10) + "\r\n--").getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(tricky, 0, image, 5000, tricky.length);
+
+        byte[] body = multipart(
+                part("idCard", "id.jpg", "image/jpeg", image),
+                part("selfie", "me.png", "image/png", "selfie".getBytes(StandardCharsets.US_ASCII)));
+
+        for (int chunk : new int[]{1, 7, 4096, body.length}) {
+            MultipartStream stream = new MultipartStream(new ChunkedInputStream(body, chunk), BOUNDARY, 8192);
+
+            MultipartStream.Part first = stream.nextPart();
+            assertThat(first.getName()).isEqualTo("idCard");
+            assertThat(first.getFilename()).isEqualTo("id.jpg");
+            assertThat(first.getContentType()).isEqualTo("image/jpeg");
+            assertThat(first.getBody().readAllBytes()).isEqualTo(image);
+
+            MultipartStream.Part second = stream.nextPart();
+            assertThat(second.getName()).isEqualTo("selfie");
+            assertThat(second.getBody().readAllBytes()).isEqualTo("selfie".getBytes(StandardCharsets.US_ASCII));
+
+            assertThat(stream.nextPart()).isNull();
+        }
+    }
+
+    @Test
+    void skipsUnreadPartBodies() throws IOException {
+        byte[] body = multipart(
+                part("idCard", "id.jpg", "image/jpeg", new byte[50_000]),
+                part("selfie", "me.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+
+        MultipartStream stream = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, 8192);
+        stream.nextPart();
+        MultipartStream.Part second = stream.nextPart();
+
+        assertThat(second.getName()).isEqualTo("selfie");
+        assertThat(second.getBody().readAllBytes()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void rejectsTruncatedBody() throws IOException {
+        byte[] body = multipart(part("idCard", "id.jpg", "image/jpeg", new byte[1000]));
+        byte[] truncated = new byte[body.length - BOUNDARY.length() - 10];
+        System.arraycopy(body, 0, truncated, 0, truncated.length);
+
+        MultipartStream stream = new MultipartStream(new ByteArrayInputStream(truncated), BOUNDARY, 8192);
+        MultipartStream.Part part = stream.nextPart();
+
+        assertThatThrownBy(() -> part.getBody().readAllBytes())
+                .isInstanceOf(MultipartStream.MalformedMultipartException.class);
+    }
+
+    @Test
+    void rejectsOversizedHeaders() {
+        String header = "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"idCard\"\r\nX-Padding: "
+                + "a".repeat(10_000) + "\r\n\r\n";
+        byte[] body = header.getBytes(StandardCharsets.US_ASCII);
+
+        MultipartStream stream = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, 1024);
+
+        assertThatThrownBy(stream::nextPart).isInstanceOf(MultipartStream.MalformedMultipartException.class);
+    }
+
+    private static byte[] part(String name, String filename, String contentType, byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(content);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private static byte[] multipart(byte[]... parts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write("preamble ignored\r\n".getBytes(StandardCharsets.US_ASCII));
+        for (byte[] part : parts) {
+            out.write(part);
+        }
+        out.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    /**
+     * Flux qui ne renvoie jamais plus de {@code chunk} octets par lecture
+     */
+    private static final class ChunkedInputStream extends FilterInputStream {
+
+        private final int chunk;
+
+        ChunkedInputStream(byte[] data, int chunk) {
+            super(new ByteArrayInputStream(data));
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in.read(b, off, Math.min(len, chunk));
+        }
+    }
+}
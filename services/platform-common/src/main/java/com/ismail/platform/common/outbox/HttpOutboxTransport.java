@@ -0,0 +1,57 @@
+package com.ismail.platform.common.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Livraison des événements par POST JSON vers le point de réception configuré
+ *
+ * Choisie par {@code ismail.outbox.transport=http}, qui exige l'adresse du
+ * point de réception ({@code ismail.outbox.http.url}). Le destinataire
+ * dédoublonne sur l'en-tête {@code X-Event-Id}. Toute réponse hors 2xx est
+ * traitée comme un échec et retentée.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "ismail.outbox.transport", havingValue = "http")
+public class HttpOutboxTransport implements OutboxTransport {
+
+    public static final String EVENT_ID_HEADER = "X-Event-Id";
+    public static final String EVENT_TYPE_HEADER = "X-Event-Type";
+
+    private final RestClient restClient;
+
+    @Autowired
+    public HttpOutboxTransport(RestClient.Builder builder,
+                               @Value("${ismail.outbox.http.url:}") String url,
+                               @Value("${ismail.outbox.http.connect-timeout:PT2S}") Duration connectTimeout,
+                               @Value("${ismail.outbox.http.read-timeout:PT5S}") Duration readTimeout) {
+        if (url.isBlank()) {
+            throw new IllegalStateException("ismail.outbox.http.url est requis avec le transport http");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = builder.baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(EVENT_ID_HEADER, event.getEventId())
+                .header(EVENT_TYPE_HEADER, event.getEventType())
+                .body(event.getPayload())
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ismail.platform.common.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Livraison des événements aux écouteurs Spring de l'application
+ *
+ * Transport par défaut, destiné aux déploiements sans consommateur externe
+ * et aux tests : les écouteurs reçoivent l'{@link OutboxEvent} tel qu'il a
+ * été lu.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "ismail.outbox.transport", havingValue = "in-process", matchIfMissing = true)
+public class InProcessOutboxTransport implements OutboxTransport {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessOutboxTransport(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+}
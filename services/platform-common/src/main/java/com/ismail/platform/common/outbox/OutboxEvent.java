@@ -0,0 +1,59 @@
+package com.ismail.platform.common.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement lu dans la boîte d'envoi par le relais
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class OutboxEvent {
+
+    private final long id;
+    private final String source;
+    private final String eventType;
+    private final String aggregateId;
+    private final String payload;
+    private final int attempts;
+    private final LocalDateTime createdAt;
+
+    public OutboxEvent(long id, String source, String eventType, String aggregateId, String payload,
+                       int attempts, LocalDateTime createdAt) {
+        this.id = id;
+        this.source = source;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return identifiant stable de l'événement, clé de dédoublonnage du destinataire
+     */
+    public String getEventId() {
+        return source + ":" + id;
+    }
+
+    // Getters
+    public long getId() { return id; }
+
+    public String getSource() { return source; }
+
+    public String getEventType() { return eventType; }
+
+    public String getAggregateId() { return aggregateId; }
+
+    /**
+     * @return le contenu JSON de l'événement
+     */
+    public String getPayload() { return payload; }
+
+    /**
+     * @return le nombre de tentatives de livraison, celle en cours comprise
+     */
+    public int getAttempts() { return attempts; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,32 @@
+package com.ismail.platform.common.outbox;
+
+/**
+ * Événement de domaine à enregistrer dans la boîte d'envoi
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class OutboxMessage {
+
+    private final String eventType;
+    private final String aggregateId;
+    private final Object payload;
+
+    /**
+     * @param aggregateId identifiant de l'objet concerné (portefeuille,
+     *                    utilisateur, carte professionnelle), transmis au destinataire
+     * @param payload contenu sérialisé en JSON
+     */
+    public OutboxMessage(String eventType, String aggregateId, Object payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+
+    // Getters
+    public String getEventType() { return eventType; }
+
+    public String getAggregateId() { return aggregateId; }
+
+    public Object getPayload() { return payload; }
+}
@@ -0,0 +1,71 @@
+package com.ismail.platform.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enregistrement des événements de domaine du service dans la boîte d'envoi
+ *
+ * L'événement est inséré dans la transaction de l'appelant, qui est
+ * obligatoire : il n'existe que si le changement métier est validé, et
+ * sa transmission ne retarde ni ne compromet ce dernier. {@link OutboxRelay}
+ * le livre ensuite aux autres services. Les événements sont rangés sous
+ * la source du service ({@code ismail.outbox.source}), qui préfixe leur
+ * identifiant et sépare les files des services partageant la table.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final String source;
+
+    @Autowired
+    public OutboxPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper,
+                           @Value("${ismail.outbox.source}") String source) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, String aggregateId, Object payload) {
+        publish(List.of(new OutboxMessage(eventType, aggregateId, payload)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            rows.add(new Object[] {source, message.getEventType(), message.getAggregateId(), serialize(message.getPayload())});
+        }
+        outboxRepository.insert(rows);
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.ismail.platform.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relais de la boîte d'envoi du service ({@code ismail.outbox.source})
+ *
+ * À chaque passage, le relais prend en charge un lot d'au plus
+ * {@code batch-size} événements en une requête ({@code FOR UPDATE SKIP
+ * LOCKED}, plusieurs instances se partagent donc la file sans se
+ * bloquer), les livre hors de toute transaction, puis enregistre les
+ * résultats du lot en quelques mises à jour groupées. Il enchaîne les
+ * lots tant qu'ils sont pleins.
+ *
+ * Les événements d'un lot sont livrés en parallèle, par au plus
+ * {@code concurrency} threads virtuels, et doivent l'être dans les trois
+ * quarts du bail : les livraisons encore en cours sont alors interrompues
+ * et leurs événements rendus à la file sans compter de tentative, avant
+ * qu'un autre relais ne puisse les reprendre.
+ *
+ * Un événement non livré est retenté après un délai qui double à chaque
+ * échec, jusqu'à {@code max-backoff}, et passe en échec définitif
+ * ({@code FAILED}) après {@code max-attempts} tentatives. La livraison est
+ * faite au moins une fois, sans garantie d'ordre.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxTransport transport;
+    private final String source;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration deliveryBudget;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter interrupted;
+    private final Timer deliveryTimer;
+    private final ExecutorService deliveryExecutor;
+
+    @Autowired
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxTransport transport,
+                       MeterRegistry meterRegistry,
+                       @Value("${ismail.outbox.source}") String source,
+                       @Value("${ismail.outbox.batch-size:100}") int batchSize,
+                       @Value("${ismail.outbox.concurrency:16}") int concurrency,
+                       @Value("${ismail.outbox.lease:PT1M}") Duration lease,
+                       @Value("${ismail.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${ismail.outbox.initial-backoff:PT1S}") Duration initialBackoff,
+                       @Value("${ismail.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                       @Value("${ismail.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.transport = transport;
+        this.source = source;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.deliveryBudget = lease.multipliedBy(3).dividedBy(4);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        Tags tags = Tags.of("source", source);
+        this.delivered = Counter.builder("ismail.outbox.delivered")
+                .description("Événements livrés par le relais de la boîte d'envoi")
+                .tags(tags)
+                .register(meterRegistry);
+        this.retried = Counter.builder("ismail.outbox.retried")
+                .description("Livraisons en échec reprogrammées")
+                .tags(tags)
+                .register(meterRegistry);
+        this.failed = Counter.builder("ismail.outbox.failed")
+                .description("Événements abandonnés après épuisement des tentatives")
+                .tags(tags)
+                .register(meterRegistry);
+        this.interrupted = Counter.builder("ismail.outbox.interrupted")
+                .description("Livraisons interrompues avant l'expiration du bail")
+                .tags(tags)
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("ismail.outbox.delivery")
+                .description("Durée de livraison d'un événement")
+                .tags(tags)
+                .register(meterRegistry);
+        meterRegistry.gauge("ismail.outbox.pending", tags, pending);
+        this.deliveryExecutor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofVirtual().name("outbox-relay-", 0).factory());
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.outbox.poll-interval:PT0.5S}",
+               initialDelayString = "${ismail.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            int settled;
+            do {
+                settled = relayBatch();
+            } while (settled == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Échec du relais de la boîte d'envoi", e);
+        }
+    }
+
+    /**
+     * @return le nombre d'événements livrés ou reprogrammés ; inférieur à la
+     *         taille du lot si des livraisons ont été interrompues
+     */
+    int relayBatch() throws InterruptedException {
+        List<OutboxEvent> events = outboxRepository.claim(source, batchSize, lease);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Callable<Void>> deliveries = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            deliveries.add(() -> deliveryTimer.recordCallable(() -> {
+                transport.deliver(event);
+                return null;
+            }));
+        }
+        List<Future<Void>> outcomes = deliveryExecutor.invokeAll(
+                deliveries, deliveryBudget.toMillis(), TimeUnit.MILLISECONDS);
+
+        List<Long> deliveredIds = new ArrayList<>(events.size());
+        List<Object[]> failures = new ArrayList<>();
+        List<Long> unfinishedIds = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            Future<Void> outcome = outcomes.get(i);
+            if (outcome.isCancelled()) {
+                unfinishedIds.add(event.getId());
+                continue;
+            }
+            try {
+                outcome.get();
+                deliveredIds.add(event.getId());
+            } catch (ExecutionException e) {
+                recordFailure(event, e.getCause(), failures);
+            }
+        }
+        outboxRepository.markDelivered(deliveredIds);
+        outboxRepository.markFailed(failures, maxAttempts);
+        outboxRepository.release(unfinishedIds);
+        delivered.increment(deliveredIds.size());
+        if (!unfinishedIds.isEmpty()) {
+            interrupted.increment(unfinishedIds.size());
+            logger.warn("{} livraisons interrompues après {} ms, événements rendus à la file",
+                    unfinishedIds.size(), deliveryBudget.toMillis());
+        }
+        return events.size() - unfinishedIds.size();
+    }
+
+    private void recordFailure(OutboxEvent event, Throwable cause, List<Object[]> failures) {
+        failures.add(new Object[] {event.getId(), backoff(event.getAttempts()).toMillis(), cause.toString()});
+        if (event.getAttempts() >= maxAttempts) {
+            failed.increment();
+            logger.error("Événement {} ({}) abandonné après {} tentatives: {}",
+                    event.getEventId(), event.getEventType(), event.getAttempts(), cause.getMessage());
+        } else {
+            retried.increment();
+            logger.warn("Livraison de l'événement {} ({}) en échec, tentative {}: {}",
+                    event.getEventId(), event.getEventType(), event.getAttempts(), cause.getMessage());
+        }
+    }
+
+    /**
+     * Délai avant la tentative suivante : {@code initial-backoff} doublé à
+     * chaque échec, plafonné à {@code max-backoff}
+     */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.outbox.pending-refresh-interval:PT30S}",
+               initialDelayString = "${ismail.outbox.pending-refresh-interval:PT30S}")
+    public void refreshPending() {
+        try {
+            pending.set(outboxRepository.countPending(source));
+        } catch (Exception e) {
+            logger.warn("Comptage des événements en attente impossible: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.outbox.purge-interval:PT1H}",
+               initialDelayString = "${ismail.outbox.purge-interval:PT1H}")
+    public void purgeDelivered() {
+        try {
+            int purged = outboxRepository.purgeDelivered(source, retention);
+            if (purged > 0) {
+                logger.debug("{} événements livrés supprimés de la boîte d'envoi", purged);
+            }
+        } catch (Exception e) {
+            logger.warn("Échec de la purge de la boîte d'envoi: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package com.ismail.platform.common.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Accès à la boîte d'envoi {@code core.outbox_events}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class OutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO core.outbox_events (source, event_type, aggregate_id, payload) VALUES (?, ?, ?, ?::jsonb)";
+
+    /**
+     * Prend en charge un lot d'événements : leur prochaine tentative est
+     * repoussée de la durée du bail, si bien qu'un autre relais ne les
+     * reprend que si celui-ci s'est arrêté sans les livrer
+     */
+    private static final String CLAIM_SQL =
+            "UPDATE core.outbox_events SET attempts = attempts + 1, " +
+            "next_attempt_at = NOW() + ? * INTERVAL '1 millisecond' " +
+            "WHERE id IN (SELECT id FROM core.outbox_events " +
+            "WHERE source = ? AND status = 'PENDING' AND next_attempt_at <= NOW() " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, event_type, aggregate_id, payload::text AS payload, attempts, created_at";
+
+    private static final String DELIVERED_SQL =
+            "UPDATE core.outbox_events SET status = 'DELIVERED', delivered_at = NOW(), last_error = NULL WHERE id = ?";
+
+    private static final String FAILED_SQL =
+            "UPDATE core.outbox_events SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END, " +
+            "next_attempt_at = NOW() + ? * INTERVAL '1 millisecond', last_error = ? WHERE id = ?";
+
+    // Rend à la file un événement dont la livraison a été interrompue, sans compter la tentative
+    private static final String RELEASE_SQL =
+            "UPDATE core.outbox_events SET attempts = GREATEST(attempts - 1, 0), next_attempt_at = NOW() " +
+            "WHERE id = ? AND status = 'PENDING'";
+
+    private static final String COUNT_PENDING_SQL =
+            "SELECT COUNT(*) FROM core.outbox_events WHERE source = ? AND status = 'PENDING'";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM core.outbox_events WHERE source = ? AND status = 'DELIVERED' " +
+            "AND delivered_at < NOW() - ? * INTERVAL '1 millisecond'";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param rows source, type, agrégat et contenu JSON de chaque événement
+     */
+    public void insert(List<Object[]> rows) {
+        if (rows.size() == 1) {
+            jdbcTemplate.update(INSERT_SQL, rows.get(0));
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * @return les événements pris en charge, dans l'ordre d'enregistrement
+     */
+    public List<OutboxEvent> claim(String source, int limit, Duration lease) {
+        List<OutboxEvent> events = new ArrayList<>(jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                source,
+                rs.getString("event_type"),
+                rs.getString("aggregate_id"),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        ), lease.toMillis(), source, limit));
+        events.sort(Comparator.comparingLong(OutboxEvent::getId));
+        return events;
+    }
+
+    public void markDelivered(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELIVERED_SQL, ids.stream().map(id -> new Object[] {id}).toList());
+        }
+    }
+
+    /**
+     * Reprogramme les événements non livrés ; ceux qui ont épuisé leurs
+     * tentatives passent en échec définitif
+     *
+     * @param failures identifiant, délai avant la prochaine tentative (ms) et cause de chaque échec
+     */
+    public void markFailed(List<Object[]> failures, int maxAttempts) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(FAILED_SQL, failures.stream()
+                .map(failure -> new Object[] {maxAttempts, failure[1], truncate((String) failure[2]), failure[0]})
+                .toList());
+    }
+
+    public void release(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE_SQL, ids.stream().map(id -> new Object[] {id}).toList());
+        }
+    }
+
+    public long countPending(String source) {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class, source);
+        return count == null ? 0 : count;
+    }
+
+    public int purgeDelivered(String source, Duration retention) {
+        return jdbcTemplate.update(PURGE_SQL, source, retention.toMillis());
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ismail.platform.common.outbox;
+
+/**
+ * Moyen de livraison des événements de la boîte d'envoi
+ *
+ * Une livraison qui lève une exception est retentée plus tard : le
+ * destinataire peut donc recevoir un même événement plusieurs fois.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public interface OutboxTransport {
+
+    void deliver(OutboxEvent event) throws Exception;
+}
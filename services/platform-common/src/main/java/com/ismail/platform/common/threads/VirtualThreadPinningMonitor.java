@@ -0,0 +1,100 @@
+package com.ismail.platform.common.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diagnostic d'épinglage des threads virtuels
+ *
+ * Actif uniquement lorsque {@code spring.threads.virtual.enabled=true}. Écoute
+ * l'événement JFR {@code jdk.VirtualThreadPinned} (thread virtuel bloqué dans un
+ * bloc {@code synchronized} ou un appel natif au-delà du seuil) et l'attribue à
+ * la première frame du code ISMAIL, afin de repérer les sections à convertir
+ * en {@link java.util.concurrent.locks.ReentrantLock}. Commun aux services
+ * (configuration {@code ismail.threads.pinning-diagnostics}).
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "ismail.threads.pinning-diagnostics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.ismail.platform.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recording;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${ismail.threads.pinning-diagnostics.threshold:PT0.02S}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        logger.info("Diagnostic d'épinglage des threads virtuels actif (seuil {} ms)", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = applicationFrame(event);
+        Counter.builder("ismail.threads.virtual.pinned")
+                .description("Épinglages de threads virtuels au-delà du seuil")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .increment();
+
+        if (reportedFrames.add(frame)) {
+            logger.warn("Thread virtuel épinglé {} ms dans {}", event.getDuration().toMillis(), frame);
+        }
+    }
+
+    private static String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "external";
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
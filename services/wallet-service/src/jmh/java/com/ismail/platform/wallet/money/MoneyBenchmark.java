@@ -0,0 +1,96 @@
+package com.ismail.platform.wallet.money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparaison {@link Money} / {@link BigDecimal} sur le calcul d'un lot du
+ * registre : frais de transfert, contrôle du plafond, cumul du solde
+ *
+ * Lancement : {@code mvn -Pbenchmarks test-compile exec:exec} ; le profileur
+ * {@code gc} rapporte les octets alloués par opération
+ * ({@code gc.alloc.rate.norm}).
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int BATCH_SIZE = 200;
+    private static final String CURRENCY = "EUR";
+    private static final BigDecimal FEE_RATE = new BigDecimal("0.01");
+    private static final BigDecimal LIMIT = new BigDecimal("10000.00");
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[BATCH_SIZE];
+    private final Money[] moneyAmounts = new Money[BATCH_SIZE];
+    private final Money moneyLimit = Money.of(LIMIT, CURRENCY);
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long cents = random.nextLong(100, 5_000_000);
+            decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+            moneyAmounts[i] = Money.ofMinor(cents, CURRENCY);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal balance = BigDecimal.ZERO.setScale(2);
+        for (BigDecimal amount : decimalAmounts) {
+            BigDecimal fee = amount.multiply(FEE_RATE).setScale(2, RoundingMode.HALF_EVEN);
+            BigDecimal total = amount.add(fee);
+            if (total.compareTo(LIMIT) <= 0) {
+                balance = balance.add(total);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money money() {
+        Money balance = Money.zero(CURRENCY);
+        for (Money amount : moneyAmounts) {
+            Money fee = amount.multiply(1, 2, RoundingMode.HALF_EVEN);
+            Money total = amount.plus(fee);
+            if (total.compareTo(moneyLimit) <= 0) {
+                balance = balance.plus(total);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        long balance = 0;
+        long limit = moneyLimit.getMinorUnits();
+        for (Money amount : moneyAmounts) {
+            long total = Math.addExact(amount.getMinorUnits(),
+                    Money.divide(amount.getMinorUnits(), 100, RoundingMode.HALF_EVEN));
+            if (total <= limit) {
+                balance = Math.addExact(balance, total);
+            }
+        }
+        return balance;
+    }
+}
@@ -21,7 +21,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * @author ISMAIL Platform Team
  * @version 1.0.0
  */
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.ismail.platform.wallet", "com.ismail.platform.common"})
 @EnableJpaAuditing
 @EnableAsync
 @EnableScheduling
@@ -0,0 +1,61 @@
+package com.ismail.platform.wallet.balance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Reverse périodiquement les sous-soldes dans le solde principal
+ *
+ * Les fonds crédités sur les sous-soldes redeviennent ainsi débitables
+ * depuis la seule ligne {@code core.wallets}. Chaque portefeuille est
+ * consolidé dans sa propre transaction ; l'opération est idempotente et
+ * peut s'exécuter sur plusieurs instances à la fois.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class BalanceShardConsolidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceShardConsolidator.class);
+
+    private final WalletBalanceRepository balanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter consolidations;
+
+    @Autowired
+    public BalanceShardConsolidator(WalletBalanceRepository balanceRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.balanceRepository = balanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.consolidations = Counter.builder("ismail.wallet.balance.consolidations")
+                .description("Consolidations de sous-soldes ayant reversé des fonds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.wallet.balance.shards.consolidate-interval:PT10S}",
+               initialDelayString = "${ismail.wallet.balance.shards.consolidate-interval:PT10S}")
+    public void consolidateAll() {
+        for (UUID walletId : balanceRepository.findShardedWallets()) {
+            try {
+                BigDecimal moved = transactionTemplate.execute(status -> balanceRepository.consolidate(walletId));
+                if (moved != null && moved.signum() > 0) {
+                    consolidations.increment();
+                }
+            } catch (Exception e) {
+                logger.warn("Échec de la consolidation des sous-soldes du portefeuille {}", walletId, e);
+            }
+        }
+    }
+}
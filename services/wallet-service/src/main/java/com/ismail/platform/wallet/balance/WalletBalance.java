@@ -0,0 +1,46 @@
+package com.ismail.platform.wallet.balance;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Solde d'un portefeuille, sous-soldes fractionnés compris
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class WalletBalance {
+
+    private final UUID walletId;
+    private final String currency;
+    private final String status;
+    private final int shards;
+    private final BigDecimal balance;
+
+    public WalletBalance(UUID walletId, String currency, String status, int shards, BigDecimal balance) {
+        this.walletId = walletId;
+        this.currency = currency;
+        this.status = status;
+        this.shards = shards;
+        this.balance = balance;
+    }
+
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+
+    public boolean isSharded() {
+        return shards > 0;
+    }
+
+    // Getters
+    public UUID getWalletId() { return walletId; }
+
+    public String getCurrency() { return currency; }
+
+    public String getStatus() { return status; }
+
+    public int getShards() { return shards; }
+
+    public BigDecimal getBalance() { return balance; }
+}
@@ -0,0 +1,102 @@
+package com.ismail.platform.wallet.balance;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Accès aux soldes des portefeuilles et à leurs sous-soldes fractionnés
+ *
+ * La consolidation ({@link #consolidate}) verrouille la ligne du
+ * portefeuille d'abord, puis les sous-soldes par numéro croissant, dans
+ * l'ordre suivi par le registre des transactions.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class WalletBalanceRepository {
+
+    private static final String BALANCE_COLUMNS =
+            "SELECT w.id, w.currency, w.status, w.balance_shards, " +
+            "       w.balance + COALESCE((SELECT SUM(s.balance) FROM core.wallet_balance_shards s " +
+            "                             WHERE s.wallet_id = w.id), 0) AS total_balance " +
+            "FROM core.wallets w ";
+
+    private static final String LOCK_MAIN_SQL =
+            "SELECT balance FROM core.wallets WHERE id = ? FOR UPDATE";
+
+    private static final String CONSOLIDATE_SQL =
+            "WITH drained AS (" +
+            "    SELECT shard, balance FROM core.wallet_balance_shards " +
+            "    WHERE wallet_id = ? AND balance > 0 ORDER BY shard FOR UPDATE" +
+            "), emptied AS (" +
+            "    UPDATE core.wallet_balance_shards s SET balance = 0, updated_at = NOW() " +
+            "    FROM drained d WHERE s.wallet_id = ? AND s.shard = d.shard" +
+            ") " +
+            "UPDATE core.wallets SET balance = balance + (SELECT COALESCE(SUM(balance), 0) FROM drained) " +
+            "WHERE id = ? RETURNING (SELECT COALESCE(SUM(balance), 0) FROM drained)";
+
+    private static final String SHARDED_WALLETS_SQL =
+            "SELECT id FROM core.wallets WHERE balance_shards > 0";
+
+    private static final String CREATE_SHARDS_SQL =
+            "INSERT INTO core.wallet_balance_shards (wallet_id, shard) " +
+            "SELECT ?, generate_series(0, ? - 1) ON CONFLICT DO NOTHING";
+
+    private static final String SET_SHARDS_SQL =
+            "UPDATE core.wallets SET balance_shards = ? WHERE id = ?";
+
+    private static final RowMapper<WalletBalance> BALANCE_MAPPER = (rs, rowNum) -> new WalletBalance(
+            rs.getObject("id", UUID.class),
+            rs.getString("currency"),
+            rs.getString("status"),
+            rs.getInt("balance_shards"),
+            rs.getBigDecimal("total_balance"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public WalletBalanceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<WalletBalance> findByUser(UUID userId, String currency) {
+        return jdbcTemplate.query(BALANCE_COLUMNS + "WHERE w.user_id = ? AND w.currency = ?",
+                BALANCE_MAPPER, userId, currency).stream().findFirst();
+    }
+
+    public Optional<WalletBalance> findById(UUID walletId) {
+        return jdbcTemplate.query(BALANCE_COLUMNS + "WHERE w.id = ?", BALANCE_MAPPER, walletId)
+                .stream().findFirst();
+    }
+
+    /**
+     * Reverse les sous-soldes dans le solde principal
+     *
+     * @return le montant reversé
+     */
+    public BigDecimal consolidate(UUID walletId) {
+        jdbcTemplate.queryForList(LOCK_MAIN_SQL, BigDecimal.class, walletId);
+        return jdbcTemplate.query(CONSOLIDATE_SQL, rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO,
+                walletId, walletId, walletId);
+    }
+
+    public List<UUID> findShardedWallets() {
+        return jdbcTemplate.queryForList(SHARDED_WALLETS_SQL, UUID.class);
+    }
+
+    /**
+     * Crée les sous-soldes manquants et active le mode fractionné
+     */
+    public void enableShards(UUID walletId, int shards) {
+        jdbcTemplate.update(CREATE_SHARDS_SQL, walletId, shards);
+        jdbcTemplate.update(SET_SHARDS_SQL, shards, walletId);
+    }
+}
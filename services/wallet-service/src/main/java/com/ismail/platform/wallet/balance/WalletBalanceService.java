@@ -0,0 +1,57 @@
+package com.ismail.platform.wallet.balance;
+
+import com.ismail.platform.wallet.exception.WalletNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Consultation des soldes et fractionnement des portefeuilles à fort trafic
+ *
+ * Les soldes ne sont modifiés que par le registre des transactions
+ * ({@link com.ismail.platform.wallet.ledger.LedgerWriter}) : un portefeuille
+ * fractionné (marchand, versement des commissions) y reçoit ses crédits sur
+ * l'un de ses N sous-soldes, choisi par hachage de la transaction, et N
+ * crédits concurrents tiennent N verrous de ligne distincts au lieu
+ * d'attendre tous le même.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class WalletBalanceService {
+
+    public static final int MAX_SHARDS = 64;
+
+    private final WalletBalanceRepository balanceRepository;
+
+    @Autowired
+    public WalletBalanceService(WalletBalanceRepository balanceRepository) {
+        this.balanceRepository = balanceRepository;
+    }
+
+    public WalletBalance getBalance(UUID userId, String currency) {
+        return balanceRepository.findByUser(userId, currency)
+                .orElseThrow(() -> new WalletNotFoundException("Portefeuille " + currency + " introuvable"));
+    }
+
+    /**
+     * Active le mode fractionné, ou augmente le nombre de sous-soldes
+     *
+     * Le nombre de sous-soldes ne diminue jamais : un crédit routé avec
+     * l'ancien nombre trouve toujours sa ligne.
+     */
+    @Transactional
+    public WalletBalance enableSharding(UUID walletId, int shards) {
+        WalletBalance wallet = balanceRepository.findById(walletId)
+                .orElseThrow(() -> new WalletNotFoundException("Portefeuille introuvable"));
+        if (shards < 1 || shards > MAX_SHARDS || shards < wallet.getShards()) {
+            throw new IllegalArgumentException(
+                    "Nombre de sous-soldes invalide : entre " + Math.max(1, wallet.getShards()) + " et " + MAX_SHARDS);
+        }
+        balanceRepository.enableShards(walletId, shards);
+        return balanceRepository.findById(walletId).orElseThrow();
+    }
+}
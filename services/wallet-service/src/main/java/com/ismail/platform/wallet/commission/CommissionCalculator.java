@@ -0,0 +1,99 @@
+package com.ismail.platform.wallet.commission;
+
+import com.ismail.platform.wallet.money.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Barème des commissions d'une période
+ *
+ * <ul>
+ *   <li>DIRECT : chaque commercial touche son taux (junior ou senior) sur
+ *       le chiffre d'affaires de chacun de ses partenaires ;</li>
+ *   <li>TEAM : chaque responsable touche le taux d'équipe sur le chiffre
+ *       d'affaires direct de tous les commerciaux de son équipe, à tous les
+ *       niveaux ;</li>
+ *   <li>BONUS : le taux de bonus s'ajoute pour un commercial dont le
+ *       chiffre d'affaires direct atteint le seuil.</li>
+ * </ul>
+ *
+ * Les commissions inférieures au minimum ne sont pas enregistrées. Les
+ * montants sont arrondis aux décimales de la devise ({@link Money#scaleOf}),
+ * comme l'exige {@code check_commission_amount}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+final class CommissionCalculator {
+
+    private final BigDecimal juniorRate;
+    private final BigDecimal seniorRate;
+    private final BigDecimal teamRate;
+    private final BigDecimal bonusRate;
+    private final BigDecimal bonusThreshold;
+    private final BigDecimal minimumCommission;
+
+    CommissionCalculator(BigDecimal juniorRate, BigDecimal seniorRate, BigDecimal teamRate, BigDecimal bonusRate,
+                         BigDecimal bonusThreshold, BigDecimal minimumCommission) {
+        this.juniorRate = juniorRate;
+        this.seniorRate = seniorRate;
+        this.teamRate = teamRate;
+        this.bonusRate = bonusRate;
+        this.bonusThreshold = bonusThreshold;
+        this.minimumCommission = minimumCommission;
+    }
+
+    /**
+     * @param partnerBases chiffre d'affaires de chaque partenaire de la
+     *                     hiérarchie, en unités mineures de {@code currency}
+     */
+    List<CommissionLine> calculate(CommissionHierarchy hierarchy, long[] partnerBases, String currency) {
+        List<CommissionLine> lines = new ArrayList<>();
+
+        long[] direct = new long[hierarchy.commercialCount()];
+        for (int p = 0; p < hierarchy.partnerCount(); p++) {
+            if (partnerBases[p] <= 0) {
+                continue;
+            }
+            int commercial = hierarchy.commercialOf(p);
+            direct[commercial] = Math.addExact(direct[commercial], partnerBases[p]);
+            add(lines, hierarchy, commercial, hierarchy.partner(p), CommissionType.DIRECT, partnerBases[p], currency,
+                    hierarchy.isSenior(commercial) ? seniorRate : juniorRate);
+        }
+
+        long[] team = new long[hierarchy.commercialCount()];
+        for (int c = 0; c < direct.length; c++) {
+            if (direct[c] > 0) {
+                for (int m = hierarchy.managerOf(c); m >= 0; m = hierarchy.managerOf(m)) {
+                    team[m] = Math.addExact(team[m], direct[c]);
+                }
+            }
+        }
+        for (int c = 0; c < team.length; c++) {
+            if (team[c] > 0) {
+                add(lines, hierarchy, c, null, CommissionType.TEAM, team[c], currency, teamRate);
+            }
+        }
+
+        for (int c = 0; c < direct.length; c++) {
+            if (direct[c] > 0 && Money.ofMinor(direct[c], currency).toBigDecimal().compareTo(bonusThreshold) >= 0) {
+                add(lines, hierarchy, c, null, CommissionType.BONUS, direct[c], currency, bonusRate);
+            }
+        }
+        return lines;
+    }
+
+    private void add(List<CommissionLine> lines, CommissionHierarchy hierarchy, int commercial,
+                     UUID partnerId, CommissionType type, long base, String currency, BigDecimal rate) {
+        Money baseAmount = Money.ofMinor(base, currency);
+        BigDecimal amount = baseAmount.multiply(rate, RoundingMode.HALF_UP).toBigDecimal();
+        if (amount.compareTo(minimumCommission) >= 0) {
+            lines.add(new CommissionLine(hierarchy.commercial(commercial), partnerId, type,
+                    baseAmount.toBigDecimal(), rate, amount));
+        }
+    }
+}
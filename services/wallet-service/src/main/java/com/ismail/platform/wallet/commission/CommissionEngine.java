@@ -0,0 +1,198 @@
+package com.ismail.platform.wallet.commission;
+
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Calcul des commissions de fin de mois
+ *
+ * Une exécution par mois et devise, tenue par un bail dans
+ * {@code core.commission_runs} : une seule instance la mène à la fois. La
+ * hiérarchie des commerciaux est chargée une fois ({@link CommissionHierarchy}),
+ * puis le mois est découpé en tranches journalières agrégées en parallèle.
+ * Chaque tranche ne lit que sa partition de {@code core.transactions}, par
+ * un curseur serveur, et cumule les crédits de chaque partenaire dans un
+ * tableau de {@code long} indexé par partenaire ; son résultat est enregistré
+ * dans sa propre transaction. Une exécution interrompue reprend aux
+ * tranches manquantes.
+ *
+ * Une fois toutes les tranches terminées, le barème ({@link CommissionCalculator})
+ * est appliqué aux totaux du mois et les commissions sont insérées par lots
+ * dans {@code core.commissions} (statut {@code CALCULATED}), dans la même
+ * transaction que la clôture de l'exécution.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class CommissionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommissionEngine.class);
+
+    private final CommissionRepository commissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CommissionCalculator calculator;
+    private final String currency;
+    private final int fetchSize;
+    private final Duration lease;
+    private final ZoneId zone;
+    private final String leaseOwner;
+    private final ForkJoinPool shardPool;
+    private final Timer shardTimer;
+    private final Counter transactions;
+
+    @Autowired
+    public CommissionEngine(CommissionRepository commissionRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${ismail.wallet.commissions.junior-rate:0.04}") BigDecimal juniorRate,
+                            @Value("${ismail.wallet.commissions.senior-rate:0.06}") BigDecimal seniorRate,
+                            @Value("${ismail.wallet.commissions.team-rate:0.02}") BigDecimal teamRate,
+                            @Value("${ismail.wallet.commissions.bonus-rate:0.01}") BigDecimal bonusRate,
+                            @Value("${ismail.wallet.commissions.bonus-threshold:1000000.00}") BigDecimal bonusThreshold,
+                            @Value("${ismail.wallet.commissions.minimum-commission:50.00}") BigDecimal minimumCommission,
+                            @Value("${ismail.wallet.commissions.currency:XOF}") String currency,
+                            @Value("${ismail.wallet.commissions.parallelism:4}") int parallelism,
+                            @Value("${ismail.wallet.commissions.fetch-size:5000}") int fetchSize,
+                            @Value("${ismail.wallet.commissions.lease-duration:PT10M}") Duration lease,
+                            @Value("${ismail.wallet.limits.zone:Africa/Abidjan}") ZoneId zone) {
+        this.commissionRepository = commissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.calculator = new CommissionCalculator(juniorRate, seniorRate, teamRate, bonusRate,
+                bonusThreshold, minimumCommission);
+        this.currency = currency;
+        this.fetchSize = fetchSize;
+        this.lease = lease;
+        this.zone = zone;
+        this.leaseOwner = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.shardPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("commission-shard-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.shardTimer = Timer.builder("ismail.wallet.commissions.shard")
+                .description("Durée d'agrégation d'une tranche journalière des commissions")
+                .register(meterRegistry);
+        this.transactions = Counter.builder("ismail.wallet.commissions.transactions")
+                .description("Transactions lues par le calcul des commissions")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${ismail.wallet.commissions.schedule:0 0 2 1 * *}",
+               zone = "${ismail.wallet.limits.zone:Africa/Abidjan}")
+    public void calculatePreviousMonth() {
+        try {
+            calculate(YearMonth.now(zone).minusMonths(1));
+        } catch (Exception e) {
+            logger.error("Échec du calcul des commissions", e);
+        }
+    }
+
+    /**
+     * @return le nombre de commissions enregistrées, ou -1 si le mois est
+     *         déjà calculé ou en cours de calcul sur une autre instance
+     */
+    public int calculate(YearMonth month) {
+        LocalDate periodStart = month.atDay(1);
+        LocalDate periodEnd = month.atEndOfMonth();
+        Optional<Long> claimed = commissionRepository.claimRun(periodStart, periodEnd, currency, leaseOwner, lease);
+        if (claimed.isEmpty()) {
+            logger.debug("Commissions de {} déjà calculées ou en cours de calcul", month);
+            return -1;
+        }
+        long runId = claimed.get();
+        try {
+            CommissionHierarchy hierarchy = commissionRepository.loadHierarchy();
+            Set<LocalDate> done = commissionRepository.findCompletedShards(runId);
+            List<ForkJoinTask<?>> shards = new ArrayList<>();
+            for (LocalDate day = periodStart; !day.isAfter(periodEnd); day = day.plusDays(1)) {
+                if (!done.contains(day)) {
+                    LocalDate shardDay = day;
+                    shards.add(shardPool.submit(() -> aggregateShard(runId, shardDay, hierarchy)));
+                }
+            }
+            RuntimeException failure = null;
+            for (ForkJoinTask<?> shard : shards) {
+                try {
+                    shard.join();
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            long[] partnerBases = commissionRepository.findPartnerBases(runId, hierarchy);
+            List<CommissionLine> lines = calculator.calculate(hierarchy, partnerBases, currency);
+            transactionTemplate.executeWithoutResult(status -> commissionRepository.completeRun(
+                    runId, periodStart, periodEnd, currency, lines, leaseOwner));
+            logger.info("Commissions de {} calculées: {} commissions pour {} commerciaux ({} tranches reprises)",
+                    month, lines.size(), hierarchy.commercialCount(), done.size());
+            return lines.size();
+        } catch (RuntimeException e) {
+            commissionRepository.releaseRun(runId, leaseOwner);
+            throw e;
+        }
+    }
+
+    private void aggregateShard(long runId, LocalDate day, CommissionHierarchy hierarchy) {
+        shardTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            long[] partnerBases = new long[hierarchy.partnerCount()];
+            long rows = commissionRepository.streamCredits(day, currency, fetchSize, (partnerId, amount) -> {
+                int partner = hierarchy.partnerIndexOf(partnerId);
+                if (partner >= 0) {
+                    // Une fraction d'unité mineure enregistrée (XOF en DECIMAL(15,2)) n'entre pas dans la base
+                    partnerBases[partner] = Math.addExact(partnerBases[partner],
+                            Money.ofStored(amount, currency).getMinorUnits());
+                }
+            });
+            commissionRepository.completeShard(runId, day, rows, partnerBases, hierarchy, leaseOwner, lease);
+            transactions.increment(rows);
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shardPool.shutdownNow();
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "wallet-service";
+        }
+    }
+}
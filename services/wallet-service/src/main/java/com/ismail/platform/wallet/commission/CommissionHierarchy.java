@@ -0,0 +1,113 @@
+package com.ismail.platform.wallet.commission;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Arbre des commerciaux et rattachement des partenaires, indexés par entiers
+ *
+ * Commerciaux et partenaires reçoivent chacun un indice dense : le calcul
+ * agrège dans des tableaux de {@code long} indexés par partenaire ou par
+ * commercial, et remonte la hiérarchie par le tableau des responsables,
+ * sans recherche par identifiant après le chargement.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class CommissionHierarchy {
+
+    private static final int NONE = -1;
+
+    private final UUID[] commercials;
+    private final boolean[] seniors;
+    private final int[] managers;
+    private final UUID[] partners;
+    private final int[] partnerCommercials;
+    private final Map<UUID, Integer> partnerIndexes;
+
+    private CommissionHierarchy(UUID[] commercials, boolean[] seniors, int[] managers,
+                                UUID[] partners, int[] partnerCommercials, Map<UUID, Integer> partnerIndexes) {
+        this.commercials = commercials;
+        this.seniors = seniors;
+        this.managers = managers;
+        this.partners = partners;
+        this.partnerCommercials = partnerCommercials;
+        this.partnerIndexes = partnerIndexes;
+    }
+
+    /**
+     * @param managers responsable de chaque commercial ({@code null} au sommet)
+     * @param seniors commerciaux de niveau senior
+     * @param partnerCommercials commercial de rattachement de chaque partenaire
+     * @throws IllegalStateException si la hiérarchie contient un cycle
+     */
+    public static CommissionHierarchy of(Map<UUID, UUID> managers, Set<UUID> seniors,
+                                         Map<UUID, UUID> partnerCommercials) {
+        Map<UUID, Integer> commercialIndexes = new LinkedHashMap<>();
+        managers.forEach((commercial, manager) -> {
+            commercialIndexes.putIfAbsent(commercial, commercialIndexes.size());
+            if (manager != null) {
+                commercialIndexes.putIfAbsent(manager, commercialIndexes.size());
+            }
+        });
+        partnerCommercials.values().forEach(commercial -> commercialIndexes.putIfAbsent(commercial, commercialIndexes.size()));
+
+        int commercialCount = commercialIndexes.size();
+        UUID[] commercials = commercialIndexes.keySet().toArray(new UUID[0]);
+        boolean[] seniorFlags = new boolean[commercialCount];
+        int[] managerIndexes = new int[commercialCount];
+        for (int i = 0; i < commercialCount; i++) {
+            seniorFlags[i] = seniors.contains(commercials[i]);
+            UUID manager = managers.get(commercials[i]);
+            managerIndexes[i] = manager == null ? NONE : commercialIndexes.get(manager);
+        }
+        for (int i = 0; i < commercialCount; i++) {
+            int steps = 0;
+            for (int m = managerIndexes[i]; m != NONE; m = managerIndexes[m]) {
+                if (++steps > commercialCount) {
+                    throw new IllegalStateException("Cycle dans la hiérarchie des commerciaux autour de " + commercials[i]);
+                }
+            }
+        }
+
+        List<UUID> partners = new ArrayList<>(partnerCommercials.keySet());
+        Map<UUID, Integer> partnerIndexes = new HashMap<>(partners.size() * 2);
+        int[] partnerCommercialIndexes = new int[partners.size()];
+        for (int p = 0; p < partners.size(); p++) {
+            partnerIndexes.put(partners.get(p), p);
+            partnerCommercialIndexes[p] = commercialIndexes.get(partnerCommercials.get(partners.get(p)));
+        }
+        return new CommissionHierarchy(commercials, seniorFlags, managerIndexes,
+                partners.toArray(new UUID[0]), partnerCommercialIndexes, partnerIndexes);
+    }
+
+    /**
+     * @return l'indice du partenaire, ou -1 s'il n'est rattaché à aucun commercial
+     */
+    public int partnerIndexOf(UUID partnerId) {
+        Integer index = partnerIndexes.get(partnerId);
+        return index == null ? NONE : index;
+    }
+
+    public int partnerCount() { return partners.length; }
+
+    public UUID partner(int partner) { return partners[partner]; }
+
+    public int commercialOf(int partner) { return partnerCommercials[partner]; }
+
+    public int commercialCount() { return commercials.length; }
+
+    public UUID commercial(int commercial) { return commercials[commercial]; }
+
+    public boolean isSenior(int commercial) { return seniors[commercial]; }
+
+    /**
+     * @return l'indice du responsable, ou -1 au sommet de la hiérarchie
+     */
+    public int managerOf(int commercial) { return managers[commercial]; }
+}
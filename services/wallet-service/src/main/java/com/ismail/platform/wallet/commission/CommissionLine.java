@@ -0,0 +1,47 @@
+package com.ismail.platform.wallet.commission;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Commission calculée pour une période, avant enregistrement
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class CommissionLine {
+
+    private final UUID commercialId;
+    private final UUID partnerId;
+    private final CommissionType type;
+    private final BigDecimal baseAmount;
+    private final BigDecimal rate;
+    private final BigDecimal amount;
+
+    /**
+     * @param partnerId partenaire à l'origine d'une commission directe,
+     *                  {@code null} pour les commissions d'équipe et les bonus
+     */
+    public CommissionLine(UUID commercialId, UUID partnerId, CommissionType type,
+                          BigDecimal baseAmount, BigDecimal rate, BigDecimal amount) {
+        this.commercialId = commercialId;
+        this.partnerId = partnerId;
+        this.type = type;
+        this.baseAmount = baseAmount;
+        this.rate = rate;
+        this.amount = amount;
+    }
+
+    // Getters
+    public UUID getCommercialId() { return commercialId; }
+
+    public UUID getPartnerId() { return partnerId; }
+
+    public CommissionType getType() { return type; }
+
+    public BigDecimal getBaseAmount() { return baseAmount; }
+
+    public BigDecimal getRate() { return rate; }
+
+    public BigDecimal getAmount() { return amount; }
+}
@@ -0,0 +1,237 @@
+package com.ismail.platform.wallet.commission;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Accès aux exécutions du calcul des commissions et à leurs données
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class CommissionRepository {
+
+    private static final String HIERARCHY_SQL =
+            "SELECT commercial_id, manager_id, level FROM core.commercial_hierarchy";
+
+    private static final String ASSIGNMENTS_SQL =
+            "SELECT partner_id, commercial_id FROM core.partner_assignments";
+
+    private static final String INSERT_RUN_SQL =
+            "INSERT INTO core.commission_runs (period_start, period_end, currency) VALUES (?, ?, ?) " +
+            "ON CONFLICT (period_start, period_end, currency) DO NOTHING";
+
+    private static final String CLAIM_RUN_SQL =
+            "UPDATE core.commission_runs " +
+            "SET lease_owner = ?, lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', updated_at = NOW() " +
+            "WHERE period_start = ? AND period_end = ? AND currency = ? AND status = 'RUNNING' " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < NOW()) " +
+            "RETURNING id";
+
+    private static final String RENEW_LEASE_SQL =
+            "UPDATE core.commission_runs " +
+            "SET lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', updated_at = NOW() " +
+            "WHERE id = ? AND lease_owner = ? AND status = 'RUNNING'";
+
+    private static final String COMPLETED_SHARDS_SQL =
+            "SELECT day FROM core.commission_run_shards WHERE run_id = ?";
+
+    // Crédits validés sur les portefeuilles des partenaires rattachés, pour une tranche journalière
+    private static final String CREDITS_SQL =
+            "SELECT a.partner_id, t.amount FROM core.transactions t " +
+            "JOIN core.wallets w ON w.id = t.wallet_id " +
+            "JOIN core.partner_assignments a ON a.partner_id = w.user_id " +
+            "WHERE t.created_at >= ? AND t.created_at < ? AND t.status = 'COMPLETED' " +
+            "AND t.transaction_type = 'CREDIT' AND w.currency = ?";
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO core.commission_run_shards (run_id, day, transactions) VALUES (?, ?, ?)";
+
+    private static final String INSERT_TOTAL_SQL =
+            "INSERT INTO core.commission_run_totals (run_id, day, partner_id, base_amount) VALUES (?, ?, ?, ?)";
+
+    private static final String TOTALS_SQL =
+            "SELECT partner_id, SUM(base_amount) AS base_amount FROM core.commission_run_totals " +
+            "WHERE run_id = ? GROUP BY partner_id";
+
+    private static final String INSERT_COMMISSION_SQL =
+            "INSERT INTO core.commissions (commercial_id, partner_id, commission_type, base_amount, commission_rate, " +
+            "commission_amount, currency, period_start, period_end, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'CALCULATED')";
+
+    private static final String COMPLETE_RUN_SQL =
+            "UPDATE core.commission_runs " +
+            "SET status = 'COMPLETED', commissions = ?, completed_at = NOW(), updated_at = NOW(), " +
+            "    lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE id = ? AND lease_owner = ? AND status = 'RUNNING'";
+
+    private static final String RELEASE_RUN_SQL =
+            "UPDATE core.commission_runs SET lease_expires_at = NOW(), updated_at = NOW() " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CommissionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public CommissionHierarchy loadHierarchy() {
+        Map<UUID, UUID> managers = new HashMap<>();
+        Set<UUID> seniors = new HashSet<>();
+        jdbcTemplate.query(HIERARCHY_SQL, rs -> {
+            UUID commercial = rs.getObject("commercial_id", UUID.class);
+            managers.put(commercial, rs.getObject("manager_id", UUID.class));
+            if ("SENIOR".equals(rs.getString("level"))) {
+                seniors.add(commercial);
+            }
+        });
+        Map<UUID, UUID> assignments = new HashMap<>();
+        jdbcTemplate.query(ASSIGNMENTS_SQL, rs -> {
+            assignments.put(rs.getObject("partner_id", UUID.class), rs.getObject("commercial_id", UUID.class));
+        });
+        return CommissionHierarchy.of(managers, seniors, assignments);
+    }
+
+    // =====================================================
+    // EXÉCUTIONS
+    // =====================================================
+
+    /**
+     * Crée au besoin l'exécution de la période et la prend en charge
+     *
+     * @return l'identifiant de l'exécution, vide si elle est terminée ou
+     *         menée par une autre instance
+     */
+    public Optional<Long> claimRun(LocalDate periodStart, LocalDate periodEnd, String currency,
+                                   String owner, Duration lease) {
+        jdbcTemplate.update(INSERT_RUN_SQL, Date.valueOf(periodStart), Date.valueOf(periodEnd), currency);
+        return jdbcTemplate.queryForList(CLAIM_RUN_SQL, Long.class, owner, lease.toMillis(),
+                Date.valueOf(periodStart), Date.valueOf(periodEnd), currency).stream().findFirst();
+    }
+
+    public Set<LocalDate> findCompletedShards(long runId) {
+        Set<LocalDate> days = new HashSet<>();
+        jdbcTemplate.query(COMPLETED_SHARDS_SQL, rs -> {
+            days.add(rs.getDate("day").toLocalDate());
+        }, runId);
+        return days;
+    }
+
+    public void releaseRun(long runId, String owner) {
+        jdbcTemplate.update(RELEASE_RUN_SQL, runId, owner);
+    }
+
+    // =====================================================
+    // TRANCHES
+    // =====================================================
+
+    /**
+     * Parcourt les crédits du jour par un curseur serveur ({@code fetchSize}) ;
+     * à exécuter dans une transaction
+     *
+     * @return le nombre de transactions lues
+     */
+    public long streamCredits(LocalDate day, String currency, int fetchSize, BiConsumer<UUID, BigDecimal> consumer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CREDITS_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setTimestamp(1, Timestamp.valueOf(day.atStartOfDay()));
+            statement.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+            statement.setString(3, currency);
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getObject(1, UUID.class), rs.getBigDecimal(2));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    /**
+     * Enregistre le chiffre d'affaires de la tranche et prolonge le bail de
+     * l'exécution ; à exécuter dans une transaction
+     *
+     * @param partnerBases chiffre d'affaires de chaque partenaire de la hiérarchie, en unités mineures
+     * @throws IllegalStateException si l'exécution n'est plus tenue par {@code owner}
+     */
+    public void completeShard(long runId, LocalDate day, long transactions, long[] partnerBases,
+                              CommissionHierarchy hierarchy, String owner, Duration lease) {
+        if (jdbcTemplate.update(RENEW_LEASE_SQL, lease.toMillis(), runId, owner) != 1) {
+            throw new IllegalStateException("Exécution " + runId + " reprise par une autre instance");
+        }
+        jdbcTemplate.update(INSERT_SHARD_SQL, runId, Date.valueOf(day), transactions);
+        List<Object[]> totals = new ArrayList<>();
+        for (int p = 0; p < partnerBases.length; p++) {
+            if (partnerBases[p] != 0) {
+                totals.add(new Object[] {runId, Date.valueOf(day), hierarchy.partner(p), partnerBases[p]});
+            }
+        }
+        if (!totals.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TOTAL_SQL, totals);
+        }
+    }
+
+    /**
+     * @return le chiffre d'affaires de la période par partenaire, toutes tranches confondues ;
+     *         les partenaires détachés depuis le début de l'exécution sont ignorés
+     */
+    public long[] findPartnerBases(long runId, CommissionHierarchy hierarchy) {
+        long[] bases = new long[hierarchy.partnerCount()];
+        jdbcTemplate.query(TOTALS_SQL, rs -> {
+            int partner = hierarchy.partnerIndexOf(rs.getObject("partner_id", UUID.class));
+            if (partner >= 0) {
+                bases[partner] = rs.getLong("base_amount");
+            }
+        }, runId);
+        return bases;
+    }
+
+    // =====================================================
+    // RÉSULTATS
+    // =====================================================
+
+    /**
+     * Enregistre les commissions calculées et clôt l'exécution ; à exécuter
+     * dans une transaction
+     *
+     * @throws IllegalStateException si l'exécution n'est plus tenue par {@code owner}
+     */
+    public void completeRun(long runId, LocalDate periodStart, LocalDate periodEnd, String currency,
+                            List<CommissionLine> lines, String owner) {
+        if (jdbcTemplate.update(COMPLETE_RUN_SQL, lines.size(), runId, owner) != 1) {
+            throw new IllegalStateException("Exécution " + runId + " reprise par une autre instance");
+        }
+        Date start = Date.valueOf(periodStart);
+        Date end = Date.valueOf(periodEnd);
+        jdbcTemplate.batchUpdate(INSERT_COMMISSION_SQL, lines, 1000, (ps, line) -> {
+            ps.setObject(1, line.getCommercialId());
+            ps.setObject(2, line.getPartnerId());
+            ps.setString(3, line.getType().name());
+            ps.setBigDecimal(4, line.getBaseAmount());
+            ps.setBigDecimal(5, line.getRate());
+            ps.setBigDecimal(6, line.getAmount());
+            ps.setString(7, currency);
+            ps.setDate(8, start);
+            ps.setDate(9, end);
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.ismail.platform.wallet.commission;
+
+/**
+ * Types de commission de {@code core.commissions}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public enum CommissionType {
+    DIRECT,
+    TEAM,
+    BONUS
+}
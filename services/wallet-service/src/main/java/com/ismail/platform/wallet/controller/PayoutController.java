@@ -0,0 +1,110 @@
+package com.ismail.platform.wallet.controller;
+
+import com.ismail.platform.wallet.dto.response.PayoutBatchResponse;
+import com.ismail.platform.wallet.ledger.TransactionType;
+import com.ismail.platform.wallet.payout.PayoutItem;
+import com.ismail.platform.wallet.payout.PayoutService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Contrôleur REST des versements groupés (Admin)
+ *
+ * Fournit les endpoints pour :
+ * - Dépôt d'un lot de versements (tableau JSON ou NDJSON)
+ * - Versement des commissions calculées d'une période
+ * - Suivi de l'avancement d'un lot et export NDJSON du résultat de ses lignes
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/wallet/admin/payouts")
+@Tag(name = "Versements", description = "API des versements groupés")
+public class PayoutController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final PayoutService payoutService;
+
+    @Autowired
+    public PayoutController(PayoutService payoutService) {
+        this.payoutService = payoutService;
+    }
+
+    @Operation(summary = "Déposer un lot de versements (Admin)",
+               description = "Lignes {walletId, amount, reference, description} en tableau JSON ou en NDJSON ; " +
+                             "le lot est appliqué de façon asynchrone")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayoutBatchResponse> createBatch(
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId,
+            @RequestParam(defaultValue = "CREDIT") TransactionType type,
+            @RequestParam(defaultValue = "XOF") String currency,
+            HttpServletRequest request) {
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(PayoutBatchResponse.from(
+                    payoutService.createFromStream(request.getInputStream(), type, currency, userId)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Operation(summary = "Verser les commissions calculées d'une période (Admin)")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/commissions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayoutBatchResponse> createCommissionBatch(
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodEnd,
+            @RequestParam(defaultValue = "XOF") String currency) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(PayoutBatchResponse.from(
+                payoutService.createForCommissions(periodStart, periodEnd, currency, userId)));
+    }
+
+    @Operation(summary = "Avancement d'un lot de versements (Admin)")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{batchId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayoutBatchResponse> getBatch(@PathVariable UUID batchId) {
+        return ResponseEntity.ok(PayoutBatchResponse.from(payoutService.getBatch(batchId)));
+    }
+
+    @Operation(summary = "Export NDJSON du résultat des lignes d'un lot (Admin)")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping(value = "/{batchId}/items", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @PathVariable UUID batchId,
+            @Parameter(description = "Statut des lignes à exporter (toutes par défaut)")
+            @RequestParam(required = false) PayoutItem.Status status) {
+
+        payoutService.getBatch(batchId);
+        StreamingResponseBody body = out -> payoutService.exportItems(batchId, status, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payout-" + batchId + ".ndjson\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ismail.platform.wallet.controller;
+
+import com.ismail.platform.wallet.dto.response.TransactionPageResponse;
+import com.ismail.platform.wallet.service.TransactionHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Contrôleur REST pour l'historique des transactions
+ *
+ * Fournit les endpoints pour :
+ * - Consultation paginée par curseur de l'historique
+ * - Export NDJSON de l'historique d'une période
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/wallet")
+@Tag(name = "Transactions", description = "API de consultation de l'historique des transactions")
+public class TransactionController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    public TransactionController(TransactionHistoryService transactionHistoryService) {
+        this.transactionHistoryService = transactionHistoryService;
+    }
+
+    @Operation(summary = "Historique des transactions (pagination par curseur)")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/transactions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TransactionPageResponse> getTransactions(
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId,
+            @Parameter(description = "Curseur renvoyé par la page précédente")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "XOF") String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(transactionHistoryService.getHistory(userId, currency, cursor, from, to, limit));
+    }
+
+    @Operation(summary = "Export NDJSON de l'historique des transactions")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping(value = "/transactions/export", produces = "application/x-ndjson")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId,
+            @RequestParam(defaultValue = "XOF") String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        StreamingResponseBody body = out -> transactionHistoryService.exportHistory(userId, currency, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.ndjson\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,107 @@
+package com.ismail.platform.wallet.controller;
+
+import com.ismail.platform.wallet.balance.WalletBalanceService;
+import com.ismail.platform.wallet.dto.response.ConversionResponse;
+import com.ismail.platform.wallet.dto.response.WalletBalanceResponse;
+import com.ismail.platform.wallet.dto.response.WalletStatsResponse;
+import com.ismail.platform.wallet.exchange.ExchangeRateService;
+import com.ismail.platform.wallet.exchange.ExchangeRateSnapshot;
+import com.ismail.platform.wallet.money.Money;
+import com.ismail.platform.wallet.stats.WalletStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Contrôleur REST pour les portefeuilles
+ *
+ * Fournit les endpoints pour :
+ * - Consultation du solde et des statistiques
+ * - Conversion de devises
+ * - Activation des soldes fractionnés des portefeuilles à fort trafic
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/wallet")
+@Tag(name = "Wallet", description = "API de gestion des portefeuilles")
+public class WalletController {
+
+    private final WalletBalanceService walletBalanceService;
+    private final ExchangeRateService exchangeRateService;
+    private final WalletStatsService walletStatsService;
+
+    @Autowired
+    public WalletController(WalletBalanceService walletBalanceService, ExchangeRateService exchangeRateService,
+                            WalletStatsService walletStatsService) {
+        this.walletBalanceService = walletBalanceService;
+        this.exchangeRateService = exchangeRateService;
+        this.walletStatsService = walletStatsService;
+    }
+
+    @Operation(summary = "Solde du portefeuille")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/balance")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<WalletBalanceResponse> getBalance(
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId,
+            @RequestParam(defaultValue = "XOF") String currency) {
+
+        return ResponseEntity.ok(WalletBalanceResponse.from(walletBalanceService.getBalance(userId, currency)));
+    }
+
+    @Operation(summary = "Statistiques du portefeuille",
+               description = "Cumuls des transactions validées, lus sur les agrégats mensuels")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/stats")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<WalletStatsResponse> getStats(
+            @Parameter(hidden = true) @RequestAttribute("userId") UUID userId,
+            @RequestParam(defaultValue = "XOF") String currency) {
+
+        return ResponseEntity.ok(WalletStatsResponse.from(walletStatsService.getStats(userId, currency)));
+    }
+
+    @Operation(summary = "Convertir un montant",
+               description = "Conversion au taux en vigueur, arrondie aux décimales de la devise cible")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/convert")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ConversionResponse> convert(
+            @RequestParam BigDecimal amount,
+            @RequestParam String from,
+            @RequestParam String to) {
+
+        int scale = Money.scaleOf(from);
+        if (amount.stripTrailingZeros().scale() > scale) {
+            throw new IllegalArgumentException("Le montant " + amount.toPlainString() + " " + from
+                    + " compte plus de " + scale + " décimales");
+        }
+        ExchangeRateSnapshot rates = exchangeRateService.getSnapshot();
+        BigDecimal rate = rates.rate(from, to);
+        Money converted = rates.convert(Money.of(amount, from), to);
+        return ResponseEntity.ok(new ConversionResponse(amount, from, to,
+                converted.toBigDecimal(), rate, rates.getLoadedAt()));
+    }
+
+    @Operation(summary = "Fractionner le solde d'un portefeuille à fort trafic (Admin)",
+               description = "Répartit les crédits entrants sur N sous-soldes ; N ne peut qu'augmenter")
+    @SecurityRequirement(name = "bearerAuth")
+    @PutMapping("/admin/wallets/{walletId}/balance-shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WalletBalanceResponse> enableBalanceShards(
+            @PathVariable UUID walletId,
+            @RequestParam int shards) {
+
+        return ResponseEntity.ok(WalletBalanceResponse.from(walletBalanceService.enableSharding(walletId, shards)));
+    }
+}
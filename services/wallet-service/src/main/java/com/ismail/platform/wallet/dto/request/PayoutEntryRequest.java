@@ -0,0 +1,54 @@
+package com.ismail.platform.wallet.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO d'une ligne de lot de versements
+ *
+ * Les lignes ne sont pas validées à la lecture : une ligne invalide est
+ * rejetée seule, avec son motif, sans faire échouer le lot.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Ligne d'un lot de versements")
+public class PayoutEntryRequest {
+
+    @Schema(description = "Portefeuille à créditer")
+    private UUID walletId;
+
+    @Schema(description = "Montant dans la devise du lot", example = "2500")
+    private BigDecimal amount;
+
+    @Schema(description = "Référence unique du versement, reprise par la transaction", example = "CASHBACK-2024-06-000123")
+    private String reference;
+
+    @Schema(description = "Libellé de la transaction", example = "Cashback juin 2024")
+    private String description;
+
+    // Constructeurs
+    public PayoutEntryRequest() {}
+
+    public PayoutEntryRequest(UUID walletId, BigDecimal amount, String reference, String description) {
+        this.walletId = walletId;
+        this.amount = amount;
+        this.reference = reference;
+        this.description = description;
+    }
+
+    // Getters et Setters
+    public UUID getWalletId() { return walletId; }
+    public void setWalletId(UUID walletId) { this.walletId = walletId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -0,0 +1,70 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de réponse pour une conversion de devises
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Résultat d'une conversion de devises")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversionResponse {
+
+    @Schema(description = "Montant à convertir", example = "1000")
+    private BigDecimal amount;
+
+    @Schema(description = "Devise source", example = "XOF")
+    private String fromCurrency;
+
+    @Schema(description = "Devise cible", example = "EUR")
+    private String toCurrency;
+
+    @Schema(description = "Montant converti, arrondi aux décimales de la devise cible", example = "1.52")
+    private BigDecimal convertedAmount;
+
+    @Schema(description = "Taux appliqué", example = "0.00152449")
+    private BigDecimal exchangeRate;
+
+    @Schema(description = "Date de chargement des taux appliqués")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime ratesAsOf;
+
+    // Constructeurs
+    public ConversionResponse() {}
+
+    public ConversionResponse(BigDecimal amount, String fromCurrency, String toCurrency,
+                              BigDecimal convertedAmount, BigDecimal exchangeRate, LocalDateTime ratesAsOf) {
+        this.amount = amount;
+        this.fromCurrency = fromCurrency;
+        this.toCurrency = toCurrency;
+        this.convertedAmount = convertedAmount;
+        this.exchangeRate = exchangeRate;
+        this.ratesAsOf = ratesAsOf;
+    }
+
+    // Getters et Setters
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getFromCurrency() { return fromCurrency; }
+    public void setFromCurrency(String fromCurrency) { this.fromCurrency = fromCurrency; }
+
+    public String getToCurrency() { return toCurrency; }
+    public void setToCurrency(String toCurrency) { this.toCurrency = toCurrency; }
+
+    public BigDecimal getConvertedAmount() { return convertedAmount; }
+    public void setConvertedAmount(BigDecimal convertedAmount) { this.convertedAmount = convertedAmount; }
+
+    public BigDecimal getExchangeRate() { return exchangeRate; }
+    public void setExchangeRate(BigDecimal exchangeRate) { this.exchangeRate = exchangeRate; }
+
+    public LocalDateTime getRatesAsOf() { return ratesAsOf; }
+    public void setRatesAsOf(LocalDateTime ratesAsOf) { this.ratesAsOf = ratesAsOf; }
+}
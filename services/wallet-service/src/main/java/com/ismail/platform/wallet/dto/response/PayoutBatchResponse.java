@@ -0,0 +1,116 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ismail.platform.wallet.payout.PayoutBatch;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour un lot de versements et son avancement
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Lot de versements et avancement de son application")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PayoutBatchResponse {
+
+    @Schema(description = "Identifiant du lot")
+    private UUID batchId;
+
+    @Schema(description = "Origine du lot", example = "UPLOAD")
+    private String source;
+
+    @Schema(description = "Type des transactions créées", example = "CASHBACK")
+    private String transactionType;
+
+    @Schema(description = "Devise", example = "XOF")
+    private String currency;
+
+    @Schema(description = "Statut du lot", example = "PENDING")
+    private String status;
+
+    @Schema(description = "Nombre de lignes", example = "100000")
+    private int totalItems;
+
+    @Schema(description = "Lignes créditées", example = "99850")
+    private int appliedItems;
+
+    @Schema(description = "Lignes écartées car leur référence était déjà utilisée", example = "120")
+    private int duplicateItems;
+
+    @Schema(description = "Lignes rejetées (portefeuille introuvable ou inactif, montant invalide)", example = "30")
+    private int rejectedItems;
+
+    @Schema(description = "Lignes restant à appliquer", example = "0")
+    private int pendingItems;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    // Constructeurs
+    public PayoutBatchResponse() {}
+
+    public static PayoutBatchResponse from(PayoutBatch batch) {
+        PayoutBatchResponse response = new PayoutBatchResponse();
+        response.batchId = batch.getId();
+        response.source = batch.getSource().name();
+        response.transactionType = batch.getTransactionType().name();
+        response.currency = batch.getCurrency();
+        response.status = batch.getStatus().name();
+        response.totalItems = batch.getTotalItems();
+        response.appliedItems = batch.getAppliedItems();
+        response.duplicateItems = batch.getDuplicateItems();
+        response.rejectedItems = batch.getRejectedItems();
+        response.pendingItems = batch.getPendingItems();
+        response.createdAt = batch.getCreatedAt();
+        response.startedAt = batch.getStartedAt();
+        response.completedAt = batch.getCompletedAt();
+        return response;
+    }
+
+    // Getters et Setters
+    public UUID getBatchId() { return batchId; }
+    public void setBatchId(UUID batchId) { this.batchId = batchId; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getTransactionType() { return transactionType; }
+    public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getTotalItems() { return totalItems; }
+    public void setTotalItems(int totalItems) { this.totalItems = totalItems; }
+
+    public int getAppliedItems() { return appliedItems; }
+    public void setAppliedItems(int appliedItems) { this.appliedItems = appliedItems; }
+
+    public int getDuplicateItems() { return duplicateItems; }
+    public void setDuplicateItems(int duplicateItems) { this.duplicateItems = duplicateItems; }
+
+    public int getRejectedItems() { return rejectedItems; }
+    public void setRejectedItems(int rejectedItems) { this.rejectedItems = rejectedItems; }
+
+    public int getPendingItems() { return pendingItems; }
+    public void setPendingItems(int pendingItems) { this.pendingItems = pendingItems; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,83 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ismail.platform.wallet.payout.PayoutItem;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour le résultat d'une ligne de lot de versements
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Résultat d'une ligne de lot de versements")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PayoutItemResponse {
+
+    @Schema(description = "Numéro de la ligne dans le lot, à partir de 1", example = "1")
+    private int line;
+
+    private UUID walletId;
+
+    @Schema(example = "2500")
+    private BigDecimal amount;
+
+    @Schema(example = "CASHBACK-2024-06-000123")
+    private String reference;
+
+    @Schema(description = "Statut de la ligne", example = "APPLIED")
+    private String status;
+
+    @Schema(description = "Transaction créée, ou portant déjà la référence")
+    private UUID transactionId;
+
+    @Schema(description = "Motif du rejet", example = "Portefeuille introuvable")
+    private String error;
+
+    private LocalDateTime processedAt;
+
+    // Constructeurs
+    public PayoutItemResponse() {}
+
+    public static PayoutItemResponse from(PayoutItem item) {
+        PayoutItemResponse response = new PayoutItemResponse();
+        response.line = item.getLineNumber();
+        response.walletId = item.getWalletId();
+        response.amount = item.getAmount();
+        response.reference = item.getReference();
+        response.status = item.getStatus().name();
+        response.transactionId = item.getTransactionId();
+        response.error = item.getError();
+        response.processedAt = item.getProcessedAt();
+        return response;
+    }
+
+    // Getters et Setters
+    public int getLine() { return line; }
+    public void setLine(int line) { this.line = line; }
+
+    public UUID getWalletId() { return walletId; }
+    public void setWalletId(UUID walletId) { this.walletId = walletId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
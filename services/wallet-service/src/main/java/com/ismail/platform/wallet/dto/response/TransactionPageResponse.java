@@ -0,0 +1,45 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de réponse pour une page de l'historique des transactions
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Page de l'historique des transactions, de la plus récente à la plus ancienne")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionPageResponse {
+
+    @Schema(description = "Transactions de la page")
+    private List<TransactionResponse> content;
+
+    @Schema(description = "Curseur à transmettre pour obtenir la page suivante (absent en fin d'historique)")
+    private String nextCursor;
+
+    @Schema(description = "Indique s'il reste des transactions plus anciennes", example = "true")
+    private boolean hasMore;
+
+    // Constructeurs
+    public TransactionPageResponse() {}
+
+    public TransactionPageResponse(List<TransactionResponse> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters et Setters
+    public List<TransactionResponse> getContent() { return content; }
+    public void setContent(List<TransactionResponse> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
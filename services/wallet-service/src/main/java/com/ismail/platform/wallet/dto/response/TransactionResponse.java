@@ -0,0 +1,99 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour une transaction de l'historique d'un portefeuille
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Transaction d'un portefeuille")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionResponse {
+
+    @Schema(description = "Identifiant de la transaction")
+    private UUID transactionId;
+
+    @Schema(description = "Type de transaction", example = "CREDIT",
+            allowableValues = {"CREDIT", "DEBIT", "TRANSFER", "COMMISSION", "CASHBACK", "REFUND"})
+    private String type;
+
+    @Schema(description = "Montant", example = "5000.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Frais appliqués", example = "50.00")
+    private BigDecimal fees;
+
+    @Schema(description = "Solde avant la transaction", example = "12000.00")
+    private BigDecimal balanceBefore;
+
+    @Schema(description = "Solde après la transaction", example = "17000.00")
+    private BigDecimal balanceAfter;
+
+    @Schema(description = "Statut", example = "COMPLETED")
+    private String status;
+
+    @Schema(description = "Description", example = "Achat de crédits")
+    private String description;
+
+    @Schema(description = "Référence interne", example = "TXN-20240115-000123")
+    private String reference;
+
+    @Schema(description = "Moyen de paiement", example = "ORANGE_MONEY")
+    private String paymentMethod;
+
+    @Schema(description = "Date de création")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date de traitement")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime processedAt;
+
+    // Constructeurs
+    public TransactionResponse() {}
+
+    // Getters et Setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public BigDecimal getFees() { return fees; }
+    public void setFees(BigDecimal fees) { this.fees = fees; }
+
+    public BigDecimal getBalanceBefore() { return balanceBefore; }
+    public void setBalanceBefore(BigDecimal balanceBefore) { this.balanceBefore = balanceBefore; }
+
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
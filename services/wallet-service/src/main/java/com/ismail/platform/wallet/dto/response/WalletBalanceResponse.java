@@ -0,0 +1,63 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ismail.platform.wallet.balance.WalletBalance;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour le solde d'un portefeuille
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Solde d'un portefeuille")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WalletBalanceResponse {
+
+    @Schema(description = "Identifiant du portefeuille")
+    private UUID walletId;
+
+    @Schema(description = "Solde disponible, sous-soldes fractionnés compris", example = "10000.00")
+    private BigDecimal balance;
+
+    @Schema(description = "Devise", example = "XOF")
+    private String currency;
+
+    @Schema(description = "Statut du portefeuille", example = "ACTIVE")
+    private String status;
+
+    @Schema(description = "Nombre de sous-soldes (0 : mode non fractionné)", example = "0")
+    private int balanceShards;
+
+    // Constructeurs
+    public WalletBalanceResponse() {}
+
+    public static WalletBalanceResponse from(WalletBalance wallet) {
+        WalletBalanceResponse response = new WalletBalanceResponse();
+        response.walletId = wallet.getWalletId();
+        response.balance = wallet.getBalance();
+        response.currency = wallet.getCurrency();
+        response.status = wallet.getStatus();
+        response.balanceShards = wallet.getShards();
+        return response;
+    }
+
+    // Getters et Setters
+    public UUID getWalletId() { return walletId; }
+    public void setWalletId(UUID walletId) { this.walletId = walletId; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getBalanceShards() { return balanceShards; }
+    public void setBalanceShards(int balanceShards) { this.balanceShards = balanceShards; }
+}
@@ -0,0 +1,84 @@
+package com.ismail.platform.wallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ismail.platform.wallet.stats.WalletStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour les statistiques d'un portefeuille
+ * 
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Schema(description = "Statistiques des transactions validées d'un portefeuille")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WalletStatsResponse {
+
+    @Schema(description = "Identifiant du portefeuille")
+    private UUID walletId;
+
+    @Schema(description = "Devise", example = "XOF")
+    private String currency;
+
+    @Schema(description = "Nombre total de transactions", example = "42")
+    private long totalTransactions;
+
+    @Schema(description = "Montant total crédité", example = "150000.00")
+    private BigDecimal totalCredits;
+
+    @Schema(description = "Montant total débité", example = "85000.00")
+    private BigDecimal totalDebits;
+
+    @Schema(description = "Nombre de crédits", example = "30")
+    private long creditCount;
+
+    @Schema(description = "Nombre de débits", example = "12")
+    private long debitCount;
+
+    @Schema(description = "Total des frais", example = "850.00")
+    private BigDecimal totalFees;
+
+    // Constructeurs
+    public WalletStatsResponse() {}
+
+    public static WalletStatsResponse from(WalletStats stats) {
+        WalletStatsResponse response = new WalletStatsResponse();
+        response.walletId = stats.getWalletId();
+        response.currency = stats.getCurrency();
+        response.totalTransactions = stats.getTransactionCount();
+        response.totalCredits = stats.getCreditTotal().toBigDecimal();
+        response.totalDebits = stats.getDebitTotal().toBigDecimal();
+        response.creditCount = stats.getCreditCount();
+        response.debitCount = stats.getDebitCount();
+        response.totalFees = stats.getFeesTotal().toBigDecimal();
+        return response;
+    }
+
+    // Getters et Setters
+    public UUID getWalletId() { return walletId; }
+    public void setWalletId(UUID walletId) { this.walletId = walletId; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public long getTotalTransactions() { return totalTransactions; }
+    public void setTotalTransactions(long totalTransactions) { this.totalTransactions = totalTransactions; }
+
+    public BigDecimal getTotalCredits() { return totalCredits; }
+    public void setTotalCredits(BigDecimal totalCredits) { this.totalCredits = totalCredits; }
+
+    public BigDecimal getTotalDebits() { return totalDebits; }
+    public void setTotalDebits(BigDecimal totalDebits) { this.totalDebits = totalDebits; }
+
+    public long getCreditCount() { return creditCount; }
+    public void setCreditCount(long creditCount) { this.creditCount = creditCount; }
+
+    public long getDebitCount() { return debitCount; }
+    public void setDebitCount(long debitCount) { this.debitCount = debitCount; }
+
+    public BigDecimal getTotalFees() { return totalFees; }
+    public void setTotalFees(BigDecimal totalFees) { this.totalFees = totalFees; }
+}
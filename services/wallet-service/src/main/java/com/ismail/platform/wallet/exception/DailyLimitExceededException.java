@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsqu'une dépense dépasserait le plafond quotidien du portefeuille
+ *
+ * Traduite en réponse 400.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class DailyLimitExceededException extends RuntimeException {
+
+    public DailyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ismail.platform.wallet.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Traduction des exceptions du service en réponses HTTP
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorBody("service_overloaded", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("invalid_cursor", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<Map<String, Object>> handleInsufficientBalance(InsufficientBalanceException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("insufficient_balance", ex.getMessage()));
+    }
+
+    @ExceptionHandler(DailyLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDailyLimitExceeded(DailyLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("daily_limit_exceeded", ex.getMessage()));
+    }
+
+    @ExceptionHandler(MonthlyLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMonthlyLimitExceeded(MonthlyLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("monthly_limit_exceeded", ex.getMessage()));
+    }
+
+    @ExceptionHandler(UnsupportedCurrencyPairException.class)
+    public ResponseEntity<Map<String, Object>> handleUnsupportedCurrencyPair(UnsupportedCurrencyPairException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("unsupported_currency_pair", ex.getMessage()));
+    }
+
+    @ExceptionHandler(WalletNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleWalletNotFound(WalletNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(errorBody("wallet_not_found", ex.getMessage()));
+    }
+
+    @ExceptionHandler(WalletNotActiveException.class)
+    public ResponseEntity<Map<String, Object>> handleWalletNotActive(WalletNotActiveException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(errorBody("wallet_not_active", ex.getMessage()));
+    }
+
+    @ExceptionHandler(PayoutBatchNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handlePayoutBatchNotFound(PayoutBatchNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(errorBody("payout_batch_not_found", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("invalid_request", ex.getMessage()));
+    }
+
+    static Map<String, Object> errorBody(String error, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("error", error);
+        body.put("message", message);
+        return body;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsque le solde du portefeuille ne couvre pas un débit
+ *
+ * Traduite en réponse 400.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class InsufficientBalanceException extends RuntimeException {
+
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
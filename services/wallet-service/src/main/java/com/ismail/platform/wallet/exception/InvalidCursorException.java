@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsqu'un curseur de pagination est illisible ou altéré
+ *
+ * Traduite en réponse 400.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
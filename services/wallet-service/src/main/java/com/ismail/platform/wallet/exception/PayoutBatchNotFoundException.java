@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsque le lot de versements demandé n'existe pas
+ *
+ * Traduite en réponse 404.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class PayoutBatchNotFoundException extends RuntimeException {
+
+    public PayoutBatchNotFoundException(String message) {
+        super(message);
+    }
+}
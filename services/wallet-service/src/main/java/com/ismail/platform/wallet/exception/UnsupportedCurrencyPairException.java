@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsqu'aucun taux de change ne relie deux devises
+ *
+ * Traduite en réponse 400.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class UnsupportedCurrencyPairException extends RuntimeException {
+
+    public UnsupportedCurrencyPairException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsque un mouvement vise un portefeuille gelé ou clôturé
+ *
+ * Traduite en réponse 409.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class WalletNotActiveException extends RuntimeException {
+
+    public WalletNotActiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ismail.platform.wallet.exception;
+
+/**
+ * Exception levée lorsque le portefeuille demandé n'existe pas
+ *
+ * Traduite en réponse 404.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class WalletNotFoundException extends RuntimeException {
+
+    public WalletNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ismail.platform.wallet.exchange;
+
+import java.math.BigDecimal;
+
+/**
+ * Taux de change actif d'une paire de devises
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class ExchangeRate {
+
+    private final String fromCurrency;
+    private final String toCurrency;
+    private final BigDecimal rate;
+
+    public ExchangeRate(String fromCurrency, String toCurrency, BigDecimal rate) {
+        this.fromCurrency = fromCurrency;
+        this.toCurrency = toCurrency;
+        this.rate = rate;
+    }
+
+    // Getters
+    public String getFromCurrency() { return fromCurrency; }
+
+    public String getToCurrency() { return toCurrency; }
+
+    public BigDecimal getRate() { return rate; }
+}
@@ -0,0 +1,59 @@
+package com.ismail.platform.wallet.exchange;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Lecture des taux de change de {@code core.exchange_rates}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class ExchangeRateRepository {
+
+    // Taux en vigueur : le plus récent de chaque paire parmi les taux actifs et valides
+    private static final String ACTIVE_RATES_SQL =
+            "SELECT DISTINCT ON (from_currency, to_currency) from_currency, to_currency, rate " +
+            "FROM core.exchange_rates " +
+            "WHERE is_active AND valid_from <= NOW() AND (valid_until IS NULL OR valid_until > NOW()) " +
+            "ORDER BY from_currency, to_currency, valid_from DESC";
+
+    private static final String NEXT_CHANGE_SQL =
+            "SELECT MIN(change_at) FROM (" +
+            "    SELECT valid_from AS change_at FROM core.exchange_rates WHERE is_active AND valid_from > NOW() " +
+            "    UNION ALL " +
+            "    SELECT valid_until FROM core.exchange_rates WHERE is_active AND valid_until > NOW()" +
+            ") changes";
+
+    // Incrémentée par déclencheur à chaque modification de core.exchange_rates (migration 014)
+    private static final String VERSION_SQL =
+            "SELECT CAST(version AS TEXT) FROM core.exchange_rates_version";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ExchangeRateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ExchangeRate> findActiveRates() {
+        return jdbcTemplate.query(ACTIVE_RATES_SQL, (rs, rowNum) -> new ExchangeRate(
+                rs.getString("from_currency"), rs.getString("to_currency"), rs.getBigDecimal("rate")));
+    }
+
+    /**
+     * @return le prochain début ou fin de validité d'un taux actif, ou null
+     */
+    public Timestamp findNextChange() {
+        return jdbcTemplate.queryForObject(NEXT_CHANGE_SQL, Timestamp.class);
+    }
+
+    public String findVersion() {
+        return jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+    }
+}
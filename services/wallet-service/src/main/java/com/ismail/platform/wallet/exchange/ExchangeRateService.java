@@ -0,0 +1,101 @@
+package com.ismail.platform.wallet.exchange;
+
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Conversion de devises sur un instantané des taux de change
+ *
+ * L'instantané ({@link ExchangeRateSnapshot}) est chargé au démarrage puis
+ * remplacé d'un bloc lorsqu'une vérification périodique détecte une
+ * modification de {@code core.exchange_rates}, ou lorsqu'un taux entre en
+ * vigueur ou expire. Les conversions lisent la référence courante sans
+ * verrou ni accès à la base.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class ExchangeRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateService.class);
+
+    private final ExchangeRateRepository rateRepository;
+    private final String pivotCurrency;
+
+    private volatile ExchangeRateSnapshot snapshot = ExchangeRateSnapshot.empty();
+    private volatile String loadedVersion;
+
+    @Autowired
+    public ExchangeRateService(ExchangeRateRepository rateRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${ismail.wallet.exchange-rates.pivot-currency:XOF}") String pivotCurrency) {
+        this.rateRepository = rateRepository;
+        this.pivotCurrency = pivotCurrency;
+        Gauge.builder("ismail.wallet.exchange-rates.currencies", this, service -> service.snapshot.size())
+                .description("Devises de l'instantané des taux de change")
+                .register(meterRegistry);
+    }
+
+    public ExchangeRateSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Money convert(Money amount, String to) {
+        return snapshot.convert(amount, to);
+    }
+
+    // =====================================================
+    // RAFRAÎCHISSEMENT
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Recharge l'instantané si la table a changé ou si un taux vient
+     * d'entrer en vigueur ou d'expirer
+     */
+    @Scheduled(fixedDelayString = "${ismail.wallet.exchange-rates.refresh-interval:PT30S}",
+               initialDelayString = "${ismail.wallet.exchange-rates.refresh-interval:PT30S}")
+    public void refresh() {
+        try {
+            LocalDateTime nextChangeAt = snapshot.getNextChangeAt();
+            boolean validityChanged = nextChangeAt != null && !LocalDateTime.now().isBefore(nextChangeAt);
+            if (validityChanged || !Objects.equals(rateRepository.findVersion(), loadedVersion)) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.warn("Vérification des taux de change impossible, instantané conservé: {}", e.getMessage());
+        }
+    }
+
+    private void reload() {
+        try {
+            String version = rateRepository.findVersion();
+            Timestamp nextChange = rateRepository.findNextChange();
+            ExchangeRateSnapshot loaded = ExchangeRateSnapshot.of(rateRepository.findActiveRates(), pivotCurrency,
+                    LocalDateTime.now(), nextChange == null ? null : nextChange.toLocalDateTime());
+            snapshot = loaded;
+            loadedVersion = version;
+            logger.info("Instantané des taux de change chargé: {} devises", loaded.size());
+        } catch (Exception e) {
+            logger.error("Chargement des taux de change impossible, instantané conservé", e);
+        }
+    }
+}
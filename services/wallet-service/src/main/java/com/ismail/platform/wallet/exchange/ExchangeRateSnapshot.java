@@ -0,0 +1,169 @@
+package com.ismail.platform.wallet.exchange;
+
+import com.ismail.platform.wallet.exception.UnsupportedCurrencyPairException;
+import com.ismail.platform.wallet.money.Money;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Matrice immuable des taux de change actifs à un instant donné
+ *
+ * Chaque code ISO 4217 (trois lettres majuscules) est converti en entier
+ * puis en indice de devise par un tableau ; le taux d'une paire est lu
+ * dans une matrice à plat {@code n × n}. Les taux inverses et les taux
+ * croisés (par la devise pivot, à défaut par toute devise intermédiaire)
+ * sont calculés à la construction : une conversion ne fait ni requête ni
+ * recherche dans une table associative.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class ExchangeRateSnapshot {
+
+    private static final int CODE_SPACE = 26 * 26 * 26;
+    private static final MathContext RATE_PRECISION = MathContext.DECIMAL64;
+
+    private final String[] currencies;
+    private final short[] indexByCode;
+    private final BigDecimal[] rates;
+    private final LocalDateTime loadedAt;
+    private final LocalDateTime nextChangeAt;
+
+    private ExchangeRateSnapshot(String[] currencies, short[] indexByCode, BigDecimal[] rates,
+                                 LocalDateTime loadedAt, LocalDateTime nextChangeAt) {
+        this.currencies = currencies;
+        this.indexByCode = indexByCode;
+        this.rates = rates;
+        this.loadedAt = loadedAt;
+        this.nextChangeAt = nextChangeAt;
+    }
+
+    public static ExchangeRateSnapshot empty() {
+        return of(List.of(), null, LocalDateTime.now(), null);
+    }
+
+    /**
+     * @param pivot devise par laquelle calculer en priorité les taux croisés
+     * @param nextChangeAt prochain début ou fin de validité d'un taux, ou null
+     */
+    public static ExchangeRateSnapshot of(List<ExchangeRate> directRates, String pivot,
+                                          LocalDateTime loadedAt, LocalDateTime nextChangeAt) {
+        TreeSet<String> codes = new TreeSet<>();
+        for (ExchangeRate rate : directRates) {
+            codes.add(rate.getFromCurrency());
+            codes.add(rate.getToCurrency());
+        }
+        String[] currencies = codes.stream().filter(code -> encode(code) >= 0).toArray(String[]::new);
+        short[] indexByCode = new short[CODE_SPACE];
+        Arrays.fill(indexByCode, (short) -1);
+        for (int i = 0; i < currencies.length; i++) {
+            indexByCode[encode(currencies[i])] = (short) i;
+        }
+
+        int n = currencies.length;
+        BigDecimal[] rates = new BigDecimal[n * n];
+        for (int i = 0; i < n; i++) {
+            rates[i * n + i] = BigDecimal.ONE;
+        }
+        for (ExchangeRate rate : directRates) {
+            int from = index(indexByCode, rate.getFromCurrency());
+            int to = index(indexByCode, rate.getToCurrency());
+            if (from >= 0 && to >= 0 && from != to && rate.getRate().signum() > 0) {
+                rates[from * n + to] = rate.getRate();
+            }
+        }
+        // Taux inverses des paires cotées dans un seul sens
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (rates[i * n + j] == null && rates[j * n + i] != null) {
+                    rates[i * n + j] = BigDecimal.ONE.divide(rates[j * n + i], RATE_PRECISION);
+                }
+            }
+        }
+        // Taux croisés, calculés à partir des seuls taux cotés ou inverses
+        BigDecimal[] quoted = rates.clone();
+        int pivotIndex = pivot == null ? -1 : index(indexByCode, pivot);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (rates[i * n + j] == null) {
+                    rates[i * n + j] = cross(quoted, n, i, j, pivotIndex);
+                }
+            }
+        }
+        return new ExchangeRateSnapshot(currencies, indexByCode, rates, loadedAt, nextChangeAt);
+    }
+
+    private static BigDecimal cross(BigDecimal[] quoted, int n, int from, int to, int pivot) {
+        if (pivot >= 0 && quoted[from * n + pivot] != null && quoted[pivot * n + to] != null) {
+            return quoted[from * n + pivot].multiply(quoted[pivot * n + to], RATE_PRECISION);
+        }
+        for (int k = 0; k < n; k++) {
+            if (quoted[from * n + k] != null && quoted[k * n + to] != null) {
+                return quoted[from * n + k].multiply(quoted[k * n + to], RATE_PRECISION);
+            }
+        }
+        return null;
+    }
+
+    // =====================================================
+    // CONSULTATION
+    // =====================================================
+
+    /**
+     * @throws UnsupportedCurrencyPairException si aucun taux ne relie les deux devises
+     */
+    public BigDecimal rate(String from, String to) {
+        int i = index(indexByCode, from);
+        int j = index(indexByCode, to);
+        BigDecimal rate = i < 0 || j < 0 ? null : rates[i * currencies.length + j];
+        if (rate == null) {
+            throw new UnsupportedCurrencyPairException("Aucun taux de change " + from + " → " + to);
+        }
+        return rate;
+    }
+
+    /**
+     * @return le montant converti, arrondi au nombre de décimales de la devise cible
+     */
+    public Money convert(Money amount, String to) {
+        BigDecimal rate = rate(amount.getCurrency(), to);
+        return Money.of(amount.toBigDecimal().multiply(rate), to, RoundingMode.HALF_EVEN);
+    }
+
+    public int size() {
+        return currencies.length;
+    }
+
+    public LocalDateTime getLoadedAt() { return loadedAt; }
+
+    public LocalDateTime getNextChangeAt() { return nextChangeAt; }
+
+    private static int index(short[] indexByCode, String code) {
+        int encoded = encode(code);
+        return encoded < 0 ? -1 : indexByCode[encoded];
+    }
+
+    /**
+     * @return le code ISO sous forme d'entier dans [0, 26³), ou -1 s'il est mal formé
+     */
+    static int encode(String code) {
+        if (code == null || code.length() != 3) {
+            return -1;
+        }
+        int encoded = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = code.charAt(i) - 'A';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            encoded = encoded * 26 + letter;
+        }
+        return encoded;
+    }
+}
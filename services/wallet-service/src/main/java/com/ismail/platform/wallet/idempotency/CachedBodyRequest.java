@@ -0,0 +1,86 @@
+package com.ismail.platform.wallet.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Requête dont le corps, lu une première fois pour en calculer l'empreinte,
+ * reste lisible par le contrôleur
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    /**
+     * @param maxBytes taille maximale du corps conservé en mémoire
+     * @throws BodyTooLargeException si le corps dépasse maxBytes
+     */
+    CachedBodyRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBytes) {
+            throw new BodyTooLargeException(maxBytes);
+        }
+        // Un corps transmis par morceaux n'annonce pas sa taille : lecture bornée
+        byte[] bytes = request.getInputStream().readNBytes(maxBytes + 1);
+        if (bytes.length > maxBytes) {
+            throw new BodyTooLargeException(maxBytes);
+        }
+        this.body = bytes;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() { return input.available() == 0; }
+
+            @Override
+            public boolean isReady() { return true; }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() { return input.read(); }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) { return input.read(buffer, offset, length); }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        Charset charset = getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    /**
+     * Corps trop volumineux pour être conservé en vue de son empreinte
+     */
+    static class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException(int maxBytes) {
+            super("Corps de requête supérieur à " + maxBytes + " octets");
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.ismail.platform.wallet.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Rejeu des opérations du portefeuille identifiées par l'en-tête {@code Idempotency-Key}
+ *
+ * La première requête portant une clé est exécutée et sa réponse (hors
+ * erreur 5xx) enregistrée dans {@link IdempotencyStore}. Une nouvelle
+ * requête avec la même clé et le même contenu reçoit la réponse enregistrée
+ * sans atteindre le contrôleur : ni contrôle de solde, ni verrou. Une clé
+ * réutilisée pour un contenu différent est refusée (422).
+ *
+ * Les doublons concurrents sont regroupés : sur une même instance, ils
+ * attendent l'exécution en cours sans consulter le magasin ; entre
+ * instances, ils interrogent le magasin jusqu'à l'enregistrement de la
+ * réponse, puis reçoivent un 409 passé {@code wait-timeout}.
+ *
+ * Les clés sont propres à l'utilisateur authentifié : le filtre est placé
+ * après la chaîne de Spring Security ({@link #ORDER}) et refuse (401) une
+ * requête dont le sujet n'a pas été établi par l'authentification.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Order(IdempotencyFilter.ORDER)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /** Après la chaîne de Spring Security, qui établit l'utilisateur */
+    public static final int ORDER = SecurityProperties.DEFAULT_FILTER_ORDER + 10;
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final List<String> paths;
+    private final Duration waitTimeout;
+    private final int maxBodyBytes;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${ismail.wallet.idempotency.paths:/api/wallet/transfer,/api/wallet/credit,/api/wallet/withdraw}") List<String> paths,
+                             @Value("${ismail.wallet.idempotency.wait-timeout:PT5S}") Duration waitTimeout,
+                             @Value("${ismail.wallet.idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = paths;
+        this.waitTimeout = waitTimeout;
+        this.maxBodyBytes = Math.toIntExact(maxBodySize.toBytes());
+        this.replays = Counter.builder("ismail.wallet.idempotency.replays")
+                .description("Réponses rejouées pour une clé d'idempotence déjà utilisée")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "invalid_idempotency_key",
+                    "L'en-tête " + IDEMPOTENCY_KEY_HEADER + " doit compter de 1 à " + MAX_KEY_LENGTH + " caractères");
+            return;
+        }
+        Optional<String> subject = subject(request);
+        if (subject.isEmpty()) {
+            writeError(response, HttpStatus.UNAUTHORIZED, "authentication_required",
+                    "Authentification requise pour une requête portant l'en-tête " + IDEMPOTENCY_KEY_HEADER);
+            return;
+        }
+        CachedBodyRequest cachedRequest;
+        try {
+            cachedRequest = request instanceof CachedBodyRequest cached ? cached : new CachedBodyRequest(request, maxBodyBytes);
+        } catch (CachedBodyRequest.BodyTooLargeException e) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "payload_too_large",
+                    "Le corps d'une requête portant l'en-tête " + IDEMPOTENCY_KEY_HEADER
+                            + " ne peut dépasser " + maxBodyBytes + " octets");
+            return;
+        }
+        String fingerprint = fingerprint(cachedRequest);
+        String scopedKey = subject.get() + ":" + key;
+
+        CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(scopedKey, execution);
+        if (running != null) {
+            awaitLocal(running, cachedRequest, response, chain, fingerprint);
+            return;
+        }
+
+        try {
+            Optional<IdempotencyRecord> existing = store.claim(scopedKey, fingerprint);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                if (fingerprint.equals(record.getFingerprint()) && !record.isCompleted()) {
+                    record = awaitStore(scopedKey).orElse(record);
+                }
+                execution.complete(record);
+                replay(record, fingerprint, response);
+                return;
+            }
+            execute(scopedKey, fingerprint, cachedRequest, response, chain, execution);
+        } finally {
+            execution.complete(null);
+            inFlight.remove(scopedKey, execution);
+        }
+    }
+
+    private void execute(String scopedKey, String fingerprint, CachedBodyRequest request, HttpServletResponse response,
+                         FilterChain chain, CompletableFuture<IdempotencyRecord> execution)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.release(scopedKey);
+            throw e;
+        }
+
+        if (wrapper.getStatus() >= 500) {
+            store.release(scopedKey);
+        } else {
+            IdempotencyRecord record = IdempotencyRecord.completed(fingerprint, wrapper.getStatus(),
+                    wrapper.getContentType(), wrapper.getContentAsByteArray());
+            store.complete(scopedKey, record);
+            execution.complete(record);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Attend la requête de même clé en cours sur cette instance ; si elle
+     * n'a pas enregistré de réponse, la requête est traitée à son tour
+     */
+    private void awaitLocal(CompletableFuture<IdempotencyRecord> running, CachedBodyRequest request,
+                            HttpServletResponse response, FilterChain chain, String fingerprint)
+            throws ServletException, IOException {
+        IdempotencyRecord record;
+        try {
+            record = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            writeInProgress(response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeInProgress(response);
+            return;
+        } catch (ExecutionException e) {
+            record = null;
+        }
+        if (record == null) {
+            doFilterInternal(request, response, chain);
+        } else {
+            replay(record, fingerprint, response);
+        }
+    }
+
+    private Optional<IdempotencyRecord> awaitStore(String scopedKey) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            Optional<IdempotencyRecord> record = store.find(scopedKey);
+            if (record.isEmpty() || record.get().isCompleted()) {
+                return record;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void replay(IdempotencyRecord record, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!fingerprint.equals(record.getFingerprint())) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "idempotency_key_reused",
+                    "Cette clé d'idempotence a déjà servi pour une requête différente");
+            return;
+        }
+        if (!record.isCompleted()) {
+            writeInProgress(response);
+            return;
+        }
+        replays.increment();
+        response.setStatus(record.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getBody() != null) {
+            response.getOutputStream().write(record.getBody());
+        }
+    }
+
+    private void writeInProgress(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        writeError(response, HttpStatus.CONFLICT, "idempotency_request_in_progress",
+                "Une requête avec cette clé d'idempotence est en cours de traitement");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String error, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("error", error);
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Sujet authentifié : identifiant posé par l'authentification (celui
+     * qu'utilisent les contrôleurs), à défaut principal de Spring Security
+     */
+    private static Optional<String> subject(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return Optional.of(userId.toString());
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.of(authentication.getName());
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        byte[] target = (request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[target.length + request.getBody().length];
+        System.arraycopy(target, 0, content, 0, target.length);
+        System.arraycopy(request.getBody(), 0, content, target.length, request.getBody().length);
+        return sha256(content);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
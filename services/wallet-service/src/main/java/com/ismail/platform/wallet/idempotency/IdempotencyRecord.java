@@ -0,0 +1,59 @@
+package com.ismail.platform.wallet.idempotency;
+
+/**
+ * État d'une clé d'idempotence : requête en cours ou réponse enregistrée
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public class IdempotencyRecord {
+
+    public enum State {
+        PENDING, COMPLETED
+    }
+
+    private State state;
+    private String fingerprint;
+    private int status;
+    private String contentType;
+    private byte[] body;
+
+    // Constructeurs
+    public IdempotencyRecord() {}
+
+    public static IdempotencyRecord pending(String fingerprint) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.state = State.PENDING;
+        record.fingerprint = fingerprint;
+        return record;
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, int status, String contentType, byte[] body) {
+        IdempotencyRecord record = pending(fingerprint);
+        record.state = State.COMPLETED;
+        record.status = status;
+        record.contentType = contentType;
+        record.body = body;
+        return record;
+    }
+
+    public boolean isCompleted() {
+        return state == State.COMPLETED;
+    }
+
+    // Getters et Setters
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public byte[] getBody() { return body; }
+    public void setBody(byte[] body) { this.body = body; }
+}
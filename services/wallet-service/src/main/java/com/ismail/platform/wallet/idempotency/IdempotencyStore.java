@@ -0,0 +1,311 @@
+package com.ismail.platform.wallet.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Magasin des clés d'idempotence
+ *
+ * Redis porte les clés en temps normal : un script réserve la clé ou
+ * renvoie l'état déjà enregistré en un seul aller-retour, si bien qu'un
+ * doublon ne coûte qu'une lecture. Lorsque Redis est injoignable, les
+ * mêmes opérations s'appuient sur {@code core.idempotency_keys}.
+ *
+ * Une clé peut ainsi être réservée dans un magasin et terminée dans
+ * l'autre. La réponse enregistrée faute de Redis est donc insérée ou mise
+ * à jour en base quel que soit le magasin de la réservation. Après un repli,
+ * les états vivants de la base sont recopiés dans Redis dès qu'il répond
+ * ({@link #replayFallbackRecords}) ; d'ici là, toute nouvelle réservation
+ * Redis vérifie qu'aucun état n'attend en base : la clé Redis reprend alors
+ * cet état (en cours ou terminé) au lieu de laisser la requête s'exécuter
+ * une seconde fois. En l'absence de repli, une réservation ne coûte qu'un
+ * aller-retour Redis. La recopie incombe à l'instance qui a subi le repli ;
+ * les autres instances ne consultent pas la base.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final String KEY_PREFIX = "ismail:wallet:idempotency:";
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO core.idempotency_keys (scope_key, fingerprint, state, expires_at) " +
+            "VALUES (?, ?, 'PENDING', NOW() + ? * INTERVAL '1 millisecond') ON CONFLICT DO NOTHING";
+
+    private static final String FIND_SQL =
+            "SELECT fingerprint, state, response_status, content_type, response_body FROM core.idempotency_keys " +
+            "WHERE scope_key = ? AND expires_at > NOW()";
+
+    private static final String LIVE_KEYS_SQL =
+            "SELECT scope_key, fingerprint, state, response_status, content_type, response_body, " +
+            "CAST(EXTRACT(EPOCH FROM (expires_at - NOW())) * 1000 AS BIGINT) AS remaining_millis " +
+            "FROM core.idempotency_keys WHERE expires_at > NOW()";
+
+    private static final String DELETE_EXPIRED_KEY_SQL =
+            "DELETE FROM core.idempotency_keys WHERE scope_key = ? AND expires_at <= NOW()";
+
+    // La réservation a pu être faite dans Redis : aucune ligne n'existe alors en base
+    private static final String COMPLETE_SQL =
+            "INSERT INTO core.idempotency_keys (scope_key, fingerprint, state, response_status, content_type, " +
+            "response_body, expires_at) VALUES (?, ?, 'COMPLETED', ?, ?, ?, NOW() + ? * INTERVAL '1 millisecond') " +
+            "ON CONFLICT (scope_key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, state = 'COMPLETED', " +
+            "response_status = EXCLUDED.response_status, content_type = EXCLUDED.content_type, " +
+            "response_body = EXCLUDED.response_body, expires_at = EXCLUDED.expires_at";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM core.idempotency_keys WHERE scope_key = ? AND state = 'PENDING'";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM core.idempotency_keys WHERE expires_at <= NOW()";
+
+    private static final RowMapper<IdempotencyRecord> RECORD_MAPPER = (rs, rowNum) -> {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setFingerprint(rs.getString("fingerprint"));
+        record.setState(IdempotencyRecord.State.valueOf(rs.getString("state")));
+        record.setStatus(rs.getInt("response_status"));
+        record.setContentType(rs.getString("content_type"));
+        record.setBody(rs.getBytes("response_body"));
+        return record;
+    };
+
+    private final StringRedisTemplate redisTemplate;
+    private final DefaultRedisScript<String> claimScript;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration pendingTtl;
+    private final Duration responseTtl;
+    private final Counter fallbacks;
+
+    // Replis sur PostgreSQL depuis le démarrage, et nombre de replis déjà recopiés dans Redis
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private volatile long replayedFallbackCount;
+
+    @Autowired
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${ismail.wallet.idempotency.pending-ttl:PT1M}") Duration pendingTtl,
+                            @Value("${ismail.wallet.idempotency.response-ttl:PT24H}") Duration responseTtl) {
+        this.redisTemplate = redisTemplate;
+        this.claimScript = new DefaultRedisScript<>();
+        this.claimScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("redis/idempotency-claim.lua")));
+        this.claimScript.setResultType(String.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pendingTtl = pendingTtl;
+        this.responseTtl = responseTtl;
+        this.fallbacks = Counter.builder("ismail.wallet.idempotency.fallback")
+                .description("Opérations d'idempotence servies par PostgreSQL faute de Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Réserve la clé pour une nouvelle exécution
+     *
+     * @return vide si la clé est réservée par l'appelant, sinon l'état déjà enregistré
+     */
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        try {
+            String existing = redisTemplate.execute(claimScript, List.of(KEY_PREFIX + key),
+                    serialize(IdempotencyRecord.pending(fingerprint)), String.valueOf(pendingTtl.toMillis()));
+            if (existing != null) {
+                return Optional.of(deserialize(existing));
+            }
+            return databaseInDoubt() ? inDoubt(key) : Optional.empty();
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logRedisFailure(e);
+            return jdbcClaim(key, fingerprint);
+        }
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        try {
+            return redisFind(key);
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logRedisFailure(e);
+            return jdbcFind(key);
+        }
+    }
+
+    /**
+     * Enregistre la réponse renvoyée pour la clé
+     */
+    public void complete(String key, IdempotencyRecord record) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, serialize(record), responseTtl);
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logRedisFailure(e);
+            jdbcTemplate.update(COMPLETE_SQL, key, record.getFingerprint(), record.getStatus(),
+                    record.getContentType(), record.getBody(), responseTtl.toMillis());
+        }
+    }
+
+    /**
+     * Libère une clé dont l'exécution a échoué : la requête pourra être rejouée
+     */
+    public void release(String key) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } catch (RuntimeException e) {
+            logRedisFailure(e);
+            jdbcTemplate.update(RELEASE_SQL, key);
+            return;
+        }
+        try {
+            // Réservation éventuellement faite en base pendant une indisponibilité de Redis
+            jdbcTemplate.update(RELEASE_SQL, key);
+        } catch (RuntimeException e) {
+            logger.debug("Libération en base de la clé d'idempotence impossible: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recopie dans Redis les états vivants de la base après un repli : les
+     * réservations Redis cessent ensuite de consulter la base
+     */
+    @Scheduled(fixedDelayString = "${ismail.wallet.idempotency.replay-interval:PT10S}")
+    public void replayFallbackRecords() {
+        long count = fallbackCount.get();
+        if (count == replayedFallbackCount) {
+            return;
+        }
+        try {
+            jdbcTemplate.query(LIVE_KEYS_SQL, rs -> {
+                IdempotencyRecord record = RECORD_MAPPER.mapRow(rs, 0);
+                Duration remaining = Duration.ofMillis(Math.max(1, rs.getLong("remaining_millis")));
+                String key = KEY_PREFIX + rs.getString("scope_key");
+                if (record.isCompleted()) {
+                    redisTemplate.opsForValue().set(key, serialize(record), remaining);
+                } else {
+                    redisTemplate.opsForValue().setIfAbsent(key, serialize(record), remaining);
+                }
+            });
+            replayedFallbackCount = count;
+            logger.info("États d'idempotence enregistrés en base recopiés dans Redis");
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logger.debug("Recopie des états d'idempotence dans Redis impossible: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.wallet.idempotency.purge-interval:PT1H}",
+               initialDelayString = "${ismail.wallet.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL);
+            if (purged > 0) {
+                logger.debug("{} clés d'idempotence expirées supprimées", purged);
+            }
+        } catch (Exception e) {
+            logger.warn("Échec de la purge des clés d'idempotence: {}", e.getMessage());
+        }
+    }
+
+    // =====================================================
+    // REDIS
+    // =====================================================
+
+    private boolean databaseInDoubt() {
+        return fallbackCount.get() != replayedFallbackCount;
+    }
+
+    /**
+     * Clé nouvellement réservée dans Redis : l'état éventuellement enregistré
+     * en base pendant une indisponibilité de Redis prévaut
+     */
+    private Optional<IdempotencyRecord> inDoubt(String key) {
+        Optional<IdempotencyRecord> fallback;
+        try {
+            fallback = jdbcFind(key);
+        } catch (RuntimeException e) {
+            logger.debug("Vérification en base de la clé d'idempotence impossible: {}", e.getMessage());
+            return Optional.empty();
+        }
+        fallback.filter(IdempotencyRecord::isCompleted).ifPresent(record -> {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + key, serialize(record), responseTtl);
+            } catch (UncheckedIOException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                logRedisFailure(e);
+            }
+        });
+        return fallback;
+    }
+
+    private Optional<IdempotencyRecord> redisFind(String key) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        return value == null ? Optional.empty() : Optional.of(deserialize(value));
+    }
+
+    private String serialize(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IdempotencyRecord deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void logRedisFailure(RuntimeException e) {
+        fallbackCount.incrementAndGet();
+        fallbacks.increment();
+        logger.warn("Magasin d'idempotence Redis indisponible, repli sur PostgreSQL: {}", e.getMessage());
+    }
+
+    // =====================================================
+    // REPLI POSTGRESQL
+    // =====================================================
+
+    private Optional<IdempotencyRecord> jdbcClaim(String key, String fingerprint) {
+        jdbcTemplate.update(DELETE_EXPIRED_KEY_SQL, key);
+        if (jdbcTemplate.update(CLAIM_SQL, key, fingerprint, pendingTtl.toMillis()) == 1) {
+            return Optional.empty();
+        }
+        Optional<IdempotencyRecord> existing = jdbcFind(key);
+        return existing.isPresent() ? existing : jdbcClaim(key, fingerprint);
+    }
+
+    private Optional<IdempotencyRecord> jdbcFind(String key) {
+        return jdbcTemplate.query(FIND_SQL, RECORD_MAPPER, key).stream().findFirst();
+    }
+}
@@ -0,0 +1,308 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.common.outbox.OutboxMessage;
+import com.ismail.platform.wallet.exception.InsufficientBalanceException;
+import com.ismail.platform.wallet.exception.WalletNotActiveException;
+import com.ismail.platform.wallet.exception.WalletNotFoundException;
+import com.ismail.platform.wallet.money.Money;
+import com.ismail.platform.wallet.stats.WalletStatsDelta;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Application en mémoire d'un lot d'opérations sur des portefeuilles verrouillés
+ *
+ * Les opérations sont appliquées dans l'ordre de soumission : pour un même
+ * portefeuille, le solde après une écriture est le solde avant de la
+ * suivante, ce qui respecte {@code check_balance_consistency}. Une opération
+ * est appliquée entièrement ou pas du tout.
+ *
+ * Les soldes verrouillés sont tenus en unités mineures de la devise du
+ * portefeuille ({@link Money}) : l'application d'un lot ne fait que des
+ * additions d'entiers.
+ *
+ * Un crédit sur un portefeuille fractionné est porté au sous-solde désigné
+ * par le hachage de l'identifiant de sa transaction ({@link #shardOf}) ; un
+ * débit vide le solde principal puis les sous-soldes, tous verrouillés. Une
+ * écriture dont les lignes ne sont pas verrouillées est refusée.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+final class LedgerBatch {
+
+    static final String TRANSACTION_COMPLETED = "wallet.transaction.completed";
+
+    private final Map<UUID, LockedWallet> wallets;
+    private final LocalDateTime createdAt;
+    private final List<LedgerEntry> entries = new ArrayList<>();
+    private final Map<LedgerEntry, UUID> relatedTransactions = new HashMap<>();
+    private final Map<LedgerEntry, LedgerPosting> postings = new LinkedHashMap<>();
+
+    LedgerBatch(Map<UUID, LockedWallet> wallets, LocalDateTime createdAt) {
+        this.wallets = wallets;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return les écritures enregistrées de l'opération
+     * @throws RuntimeException si l'opération est refusée ; le lot est alors inchangé
+     */
+    List<LedgerPosting> apply(List<LedgerEntry> operation) {
+        for (int i = 0; i < operation.size(); i++) {
+            LedgerEntry entry = operation.get(i);
+            LockedWallet wallet = wallets.get(entry.getWalletId());
+            if (wallet == null) {
+                throw new WalletNotFoundException("Portefeuille introuvable");
+            }
+            if (!wallet.isActive()) {
+                throw new WalletNotActiveException("Portefeuille " + wallet.getStatus());
+            }
+            if (!wallet.getCurrency().equals(entry.getAmount().getCurrency())) {
+                throw new IllegalArgumentException("Écriture en " + entry.getAmount().getCurrency()
+                        + " sur un portefeuille en " + wallet.getCurrency());
+            }
+            if (!wallet.isLockedFor(entry)) {
+                throw new IllegalStateException("Soldes du portefeuille " + wallet.getWalletId() + " non verrouillés");
+            }
+            // Solde projeté après les écritures précédentes de l'opération sur le même portefeuille
+            long balance = wallet.totalMinor();
+            for (int j = 0; j <= i; j++) {
+                if (operation.get(j).getWalletId().equals(entry.getWalletId())) {
+                    balance = Math.addExact(balance, operation.get(j).signedAmount().getMinorUnits());
+                }
+            }
+            if (balance < 0) {
+                throw new InsufficientBalanceException("Solde insuffisant");
+            }
+        }
+
+        List<LedgerPosting> result = new ArrayList<>(operation.size());
+        for (LedgerEntry entry : operation) {
+            LockedWallet wallet = wallets.get(entry.getWalletId());
+            Money before = wallet.total();
+            wallet.apply(entry);
+            LedgerPosting posting = new LedgerPosting(entry.getTransactionId(), entry.getWalletId(),
+                    before, wallet.total(), createdAt);
+            entries.add(entry);
+            postings.put(entry, posting);
+            result.add(posting);
+        }
+        if (operation.size() > 1) {
+            // Chaque écriture d'une opération composée renvoie à la précédente (la première à la dernière)
+            for (int i = 0; i < operation.size(); i++) {
+                LedgerEntry related = operation.get((i + operation.size() - 1) % operation.size());
+                relatedTransactions.put(operation.get(i), related.getTransactionId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return les variations des cumuls de chaque portefeuille écrit par le lot
+     */
+    Collection<WalletStatsDelta> statsDeltas() {
+        Map<UUID, WalletStatsDelta> deltas = new LinkedHashMap<>();
+        for (LedgerEntry entry : entries) {
+            deltas.computeIfAbsent(entry.getWalletId(),
+                            walletId -> new WalletStatsDelta(walletId, entry.getAmount().getCurrency()))
+                    .add(entry.getType().isCredit(), entry.getAmount(), entry.getFees());
+        }
+        return deltas.values();
+    }
+
+    /**
+     * @return un événement {@value #TRANSACTION_COMPLETED} par écriture du lot
+     */
+    List<OutboxMessage> events() {
+        List<OutboxMessage> events = new ArrayList<>(entries.size());
+        for (LedgerEntry entry : entries) {
+            LedgerPosting posting = postings.get(entry);
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("transactionId", entry.getTransactionId());
+            payload.put("walletId", entry.getWalletId());
+            payload.put("type", entry.getType());
+            payload.put("amount", entry.getAmount());
+            payload.put("fees", entry.getFees());
+            payload.put("balanceAfter", posting.getBalanceAfter());
+            payload.put("reference", entry.getReference());
+            payload.put("relatedTransactionId", relatedTransactions.get(entry));
+            payload.put("createdAt", createdAt);
+            events.add(new OutboxMessage(TRANSACTION_COMPLETED, entry.getWalletId().toString(), payload));
+        }
+        return events;
+    }
+
+    List<LedgerEntry> getEntries() { return entries; }
+
+    LedgerPosting postingOf(LedgerEntry entry) { return postings.get(entry); }
+
+    UUID relatedTransactionOf(LedgerEntry entry) { return relatedTransactions.get(entry); }
+
+    LocalDateTime getCreatedAt() { return createdAt; }
+
+    /**
+     * @return le sous-solde crédité par {@code entry} sur un portefeuille de {@code shards} sous-soldes
+     */
+    static int shardOf(LedgerEntry entry, int shards) {
+        int hash = entry.getTransactionId().hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards);
+    }
+
+    /**
+     * Solde d'un portefeuille : solde principal et sous-soldes, dont seuls
+     * ceux verrouillés peuvent être modifiés
+     */
+    static final class LockedWallet {
+
+        private final UUID walletId;
+        private final String status;
+        private final String currency;
+        private long main;
+        private final boolean mainLocked;
+        private final long[] shards;
+        private final boolean[] lockedShards;
+        private final boolean[] dirtyShards;
+        private boolean dirtyMain;
+
+        /**
+         * Portefeuille dont le solde principal et tous les sous-soldes sont verrouillés
+         *
+         * @param main solde principal en unités mineures de {@code currency}
+         * @param shards sous-soldes en unités mineures de {@code currency}
+         */
+        LockedWallet(UUID walletId, String status, String currency, long main, long[] shards) {
+            this(walletId, status, currency, main, true, shards, filled(shards.length));
+        }
+
+        /**
+         * @param mainLocked true si la ligne {@code core.wallets} est verrouillée
+         * @param lockedShards sous-soldes verrouillés, les autres n'étant que lus
+         */
+        LockedWallet(UUID walletId, String status, String currency, long main, boolean mainLocked,
+                     long[] shards, boolean[] lockedShards) {
+            this.walletId = walletId;
+            this.status = status;
+            this.currency = currency;
+            this.main = main;
+            this.mainLocked = mainLocked;
+            this.shards = shards;
+            this.lockedShards = lockedShards;
+            this.dirtyShards = new boolean[shards.length];
+        }
+
+        private static boolean[] filled(int length) {
+            boolean[] values = new boolean[length];
+            Arrays.fill(values, true);
+            return values;
+        }
+
+        boolean isActive() {
+            return "ACTIVE".equals(status);
+        }
+
+        Money total() {
+            return Money.ofMinor(totalMinor(), currency);
+        }
+
+        long totalMinor() {
+            long total = main;
+            for (long shard : shards) {
+                total = Math.addExact(total, shard);
+            }
+            return total;
+        }
+
+        /**
+         * @return le sous-solde crédité par {@code entry}, ou -1 pour le solde principal
+         */
+        int creditTarget(LedgerEntry entry) {
+            return shards.length == 0 ? -1 : shardOf(entry, shards.length);
+        }
+
+        /**
+         * @return true si le solde principal et tous les sous-soldes sont verrouillés
+         */
+        boolean isFullyLocked() {
+            if (!mainLocked) {
+                return false;
+            }
+            for (boolean locked : lockedShards) {
+                if (!locked) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return true si les lignes que l'écriture peut modifier sont verrouillées
+         */
+        boolean isLockedFor(LedgerEntry entry) {
+            if (!entry.getType().isCredit()) {
+                return isFullyLocked();
+            }
+            int target = creditTarget(entry);
+            return target < 0 ? mainLocked : lockedShards[target];
+        }
+
+        /**
+         * Crédite le sous-solde de l'écriture, ou le solde principal d'un
+         * portefeuille non fractionné ; débite le solde principal puis les sous-soldes
+         */
+        void apply(LedgerEntry entry) {
+            long delta = entry.signedAmount().getMinorUnits();
+            if (delta >= 0) {
+                int target = creditTarget(entry);
+                if (target < 0) {
+                    main = Math.addExact(main, delta);
+                    dirtyMain = true;
+                } else {
+                    shards[target] = Math.addExact(shards[target], delta);
+                    dirtyShards[target] = true;
+                }
+                return;
+            }
+            if (main >= -delta) {
+                main = Math.addExact(main, delta);
+                dirtyMain = true;
+                return;
+            }
+            long remaining = -delta - main;
+            main = 0;
+            dirtyMain = true;
+            for (int i = 0; i < shards.length && remaining > 0; i++) {
+                long taken = Math.min(remaining, shards[i]);
+                if (taken > 0) {
+                    shards[i] -= taken;
+                    dirtyShards[i] = true;
+                    remaining -= taken;
+                }
+            }
+        }
+
+        UUID getWalletId() { return walletId; }
+
+        String getStatus() { return status; }
+
+        String getCurrency() { return currency; }
+
+        Money getMain() { return Money.ofMinor(main, currency); }
+
+        boolean isMainDirty() { return dirtyMain; }
+
+        Money getShard(int shard) { return Money.ofMinor(shards[shard], currency); }
+
+        int getShardCount() { return shards.length; }
+
+        boolean isShardDirty(int shard) { return dirtyShards[shard]; }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.wallet.money.Money;
+
+import java.util.UUID;
+
+/**
+ * Écriture à enregistrer dans {@code core.transactions}
+ *
+ * L'identifiant de la transaction est attribué à la création de l'écriture,
+ * ce qui permet de relier les écritures d'une même opération (transfert).
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class LedgerEntry {
+
+    private final UUID transactionId = UUID.randomUUID();
+    private final UUID walletId;
+    private final TransactionType type;
+    private final Money amount;
+    private final Money fees;
+    private final String reference;
+    private final String description;
+    private final String paymentMethod;
+    private final String paymentReference;
+
+    public LedgerEntry(UUID walletId, TransactionType type, Money amount, Money fees,
+                       String reference, String description, String paymentMethod, String paymentReference) {
+        if (amount == null || !amount.isPositive()) {
+            throw new IllegalArgumentException("Le montant d'une écriture doit être positif");
+        }
+        if (fees != null && !fees.getCurrency().equals(amount.getCurrency())) {
+            throw new IllegalArgumentException("Les frais doivent être exprimés dans la devise de l'écriture");
+        }
+        this.walletId = walletId;
+        this.type = type;
+        this.amount = amount;
+        this.fees = fees == null ? Money.zero(amount.getCurrency()) : fees;
+        this.reference = reference;
+        this.description = description;
+        this.paymentMethod = paymentMethod;
+        this.paymentReference = paymentReference;
+    }
+
+    /**
+     * @return la variation de solde produite par l'écriture
+     */
+    public Money signedAmount() {
+        return type.isCredit() ? amount : amount.negate();
+    }
+
+    // Getters
+    public UUID getTransactionId() { return transactionId; }
+
+    public UUID getWalletId() { return walletId; }
+
+    public TransactionType getType() { return type; }
+
+    public Money getAmount() { return amount; }
+
+    public Money getFees() { return fees; }
+
+    public String getReference() { return reference; }
+
+    public String getDescription() { return description; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+
+    public String getPaymentReference() { return paymentReference; }
+}
@@ -0,0 +1,41 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.wallet.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Écriture enregistrée et validée en base
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class LedgerPosting {
+
+    private final UUID transactionId;
+    private final UUID walletId;
+    private final Money balanceBefore;
+    private final Money balanceAfter;
+    private final LocalDateTime createdAt;
+
+    public LedgerPosting(UUID transactionId, UUID walletId, Money balanceBefore, Money balanceAfter,
+                         LocalDateTime createdAt) {
+        this.transactionId = transactionId;
+        this.walletId = walletId;
+        this.balanceBefore = balanceBefore;
+        this.balanceAfter = balanceAfter;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public UUID getTransactionId() { return transactionId; }
+
+    public UUID getWalletId() { return walletId; }
+
+    public Money getBalanceBefore() { return balanceBefore; }
+
+    public Money getBalanceAfter() { return balanceAfter; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
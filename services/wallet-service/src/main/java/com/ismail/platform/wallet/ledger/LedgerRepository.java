@@ -0,0 +1,281 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.wallet.money.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Écritures groupées du registre : verrouillage des soldes, insertion des
+ * transactions et mise à jour des soldes, chacune en un seul lot JDBC
+ *
+ * Seules les lignes que le lot peut modifier sont verrouillées. Un
+ * portefeuille fractionné qui ne reçoit que des crédits n'a que les
+ * sous-soldes visés verrouillés : sa ligne {@code core.wallets} et ses autres
+ * sous-soldes sont lus sans verrou, si bien que des lots concurrents
+ * l'alimentent en parallèle et que le solde inscrit sur ses transactions
+ * est celui lu à ce moment. Un portefeuille non fractionné, ou débité par
+ * le lot, a sa ligne puis tous ses sous-soldes verrouillés : le débit
+ * porte sur un solde total exact.
+ *
+ * Les lignes des portefeuilles sont verrouillées par identifiant croissant,
+ * puis les sous-soldes par portefeuille et numéro croissants, dans l'ordre
+ * suivi par les autres écrivains de soldes. Un solde enregistré avec plus
+ * de décimales que sa devise est lu arrondi vers le bas
+ * ({@link Money#ofStored}) et réécrit à l'échelle de la devise. La
+ * référence d'une écriture est inscrite dans {@code core.transaction_references},
+ * dont la clé primaire fait échouer le lot si elle est déjà prise.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class LedgerRepository {
+
+    private static final String SHARD_COUNTS_SQL =
+            "SELECT id, balance_shards FROM core.wallets WHERE id = ANY(?)";
+
+    private static final String LOCK_WALLETS_SQL =
+            "SELECT id, status, currency, balance FROM core.wallets WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+    private static final String READ_WALLETS_SQL =
+            "SELECT id, status, currency, balance FROM core.wallets WHERE id = ANY(?)";
+
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT s.wallet_id, s.shard, s.balance FROM core.wallet_balance_shards s " +
+            "JOIN UNNEST(CAST(? AS UUID[]), CAST(? AS INT[])) AS t(wallet_id, shard) ON s.wallet_id = t.wallet_id AND s.shard = t.shard " +
+            "ORDER BY s.wallet_id, s.shard FOR UPDATE OF s";
+
+    private static final String READ_SHARDS_SQL =
+            "SELECT wallet_id, shard, balance FROM core.wallet_balance_shards WHERE wallet_id = ANY(?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO core.transactions (id, wallet_id, transaction_type, amount, balance_before, balance_after, " +
+            "description, reference, related_transaction_id, payment_method, payment_reference, fees, status, " +
+            "processed_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'COMPLETED', ?, ?)";
+
+    private static final String INSERT_REFERENCE_SQL =
+            "INSERT INTO core.transaction_references (reference, transaction_id, payment_method, payment_reference, " +
+            "created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_MAIN_SQL =
+            "UPDATE core.wallets SET balance = ? WHERE id = ?";
+
+    private static final String UPDATE_SHARD_SQL =
+            "UPDATE core.wallet_balance_shards SET balance = ?, updated_at = NOW() WHERE wallet_id = ? AND shard = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Verrouille jusqu'à la fin de la transaction les soldes que les
+     * écritures peuvent modifier et lit les autres
+     *
+     * @return les portefeuilles trouvés, par identifiant
+     */
+    Map<UUID, LedgerBatch.LockedWallet> lockWallets(Collection<LedgerEntry> entries) {
+        Map<UUID, Integer> shardCounts = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SHARD_COUNTS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", walletIds(entries).toArray()));
+            return statement;
+        }, rs -> {
+            shardCounts.put(rs.getObject("id", UUID.class), rs.getInt("balance_shards"));
+        });
+
+        // Portefeuilles entièrement verrouillés : non fractionnés ou débités par le lot
+        Set<UUID> fullyLocked = new TreeSet<>();
+        Map<UUID, Set<Integer>> creditedShards = new TreeMap<>();
+        for (LedgerEntry entry : entries) {
+            Integer shards = shardCounts.get(entry.getWalletId());
+            if (shards == null) {
+                continue;
+            }
+            if (shards == 0 || !entry.getType().isCredit()) {
+                fullyLocked.add(entry.getWalletId());
+            } else {
+                creditedShards.computeIfAbsent(entry.getWalletId(), id -> new TreeSet<>())
+                        .add(LedgerBatch.shardOf(entry, shards));
+            }
+        }
+        creditedShards.keySet().removeAll(fullyLocked);
+
+        Map<UUID, WalletRow> rows = new HashMap<>();
+        if (!fullyLocked.isEmpty()) {
+            readWallets(LOCK_WALLETS_SQL, fullyLocked, rows);
+        }
+
+        // Un seul verrouillage des sous-soldes, dans l'ordre (portefeuille, sous-solde)
+        List<UUID> lockedWalletIds = new ArrayList<>();
+        List<Integer> lockedShardNumbers = new ArrayList<>();
+        Set<UUID> shardedWallets = new TreeSet<>(creditedShards.keySet());
+        for (UUID walletId : fullyLocked) {
+            int shards = shardCounts.get(walletId);
+            for (int shard = 0; shard < shards; shard++) {
+                lockedWalletIds.add(walletId);
+                lockedShardNumbers.add(shard);
+            }
+            if (shards > 0) {
+                shardedWallets.add(walletId);
+            }
+        }
+        creditedShards.forEach((walletId, shards) -> shards.forEach(shard -> {
+            lockedWalletIds.add(walletId);
+            lockedShardNumbers.add(shard);
+        }));
+        Map<UUID, boolean[]> lockedShards = new HashMap<>();
+        if (!lockedWalletIds.isEmpty()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOCK_SHARDS_SQL);
+                statement.setArray(1, connection.createArrayOf("uuid", lockedWalletIds.toArray()));
+                statement.setArray(2, connection.createArrayOf("int4", lockedShardNumbers.toArray()));
+                return statement;
+            }, rs -> {
+                UUID walletId = rs.getObject("wallet_id", UUID.class);
+                lockedShards.computeIfAbsent(walletId, id -> new boolean[shardCounts.get(id)])[rs.getInt("shard")] = true;
+            });
+        }
+
+        // Lectures sans verrou, postérieures aux verrous pour refléter les validations qu'ils ont attendues
+        if (!creditedShards.isEmpty()) {
+            readWallets(READ_WALLETS_SQL, creditedShards.keySet(), rows);
+        }
+        Map<UUID, BigDecimal[]> shardBalances = new HashMap<>();
+        if (!shardedWallets.isEmpty()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(READ_SHARDS_SQL);
+                statement.setArray(1, connection.createArrayOf("uuid", shardedWallets.toArray()));
+                return statement;
+            }, rs -> {
+                UUID walletId = rs.getObject("wallet_id", UUID.class);
+                int shard = rs.getInt("shard");
+                BigDecimal[] balances = shardBalances.computeIfAbsent(walletId,
+                        id -> new BigDecimal[shardCounts.get(id)]);
+                // Un sous-solde créé depuis la lecture du nombre de sous-soldes attend le lot suivant
+                if (shard < balances.length) {
+                    balances[shard] = rs.getBigDecimal("balance");
+                }
+            });
+        }
+
+        Map<UUID, LedgerBatch.LockedWallet> wallets = new HashMap<>();
+        rows.forEach((walletId, row) -> {
+            int shards = shardCounts.get(walletId);
+            BigDecimal[] balances = shardBalances.getOrDefault(walletId, new BigDecimal[shards]);
+            long[] minorBalances = new long[shards];
+            for (int shard = 0; shard < shards; shard++) {
+                if (balances[shard] != null) {
+                    minorBalances[shard] = Money.ofStored(balances[shard], row.currency).getMinorUnits();
+                }
+            }
+            wallets.put(walletId, new LedgerBatch.LockedWallet(walletId, row.status, row.currency,
+                    Money.ofStored(row.balance, row.currency).getMinorUnits(), fullyLocked.contains(walletId),
+                    minorBalances, lockedShards.getOrDefault(walletId, new boolean[shards])));
+        });
+        return wallets;
+    }
+
+    private void readWallets(String sql, Collection<UUID> walletIds, Map<UUID, WalletRow> rows) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("uuid", walletIds.toArray()));
+            return statement;
+        }, rs -> {
+            rows.put(rs.getObject("id", UUID.class), new WalletRow(rs.getString("status"),
+                    rs.getString("currency"), rs.getBigDecimal("balance")));
+        });
+    }
+
+    private static Set<UUID> walletIds(Collection<LedgerEntry> entries) {
+        Set<UUID> walletIds = new TreeSet<>();
+        entries.forEach(entry -> walletIds.add(entry.getWalletId()));
+        return walletIds;
+    }
+
+    private static final class WalletRow {
+
+        final String status;
+        final String currency;
+        final BigDecimal balance;
+
+        WalletRow(String status, String currency, BigDecimal balance) {
+            this.status = status;
+            this.currency = currency;
+            this.balance = balance;
+        }
+    }
+
+    /**
+     * Enregistre les écritures du lot et les nouveaux soldes des portefeuilles
+     *
+     * @throws org.springframework.dao.DuplicateKeyException si la référence d'une écriture est déjà prise
+     */
+    void write(LedgerBatch batch, Collection<LedgerBatch.LockedWallet> wallets) {
+        Timestamp createdAt = Timestamp.valueOf(batch.getCreatedAt());
+        List<LedgerEntry> referenced = batch.getEntries().stream()
+                .filter(entry -> entry.getReference() != null)
+                .toList();
+        if (!referenced.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REFERENCE_SQL, referenced, referenced.size(), (ps, entry) -> {
+                ps.setString(1, entry.getReference());
+                ps.setObject(2, entry.getTransactionId());
+                ps.setString(3, entry.getPaymentMethod());
+                ps.setString(4, entry.getPaymentReference());
+                ps.setTimestamp(5, createdAt);
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch.getEntries(), batch.getEntries().size(), (ps, entry) -> {
+            LedgerPosting posting = batch.postingOf(entry);
+            ps.setObject(1, entry.getTransactionId());
+            ps.setObject(2, entry.getWalletId());
+            ps.setString(3, entry.getType().name());
+            ps.setBigDecimal(4, entry.getAmount().toBigDecimal());
+            ps.setBigDecimal(5, posting.getBalanceBefore().toBigDecimal());
+            ps.setBigDecimal(6, posting.getBalanceAfter().toBigDecimal());
+            ps.setString(7, entry.getDescription());
+            ps.setString(8, entry.getReference());
+            ps.setObject(9, batch.relatedTransactionOf(entry));
+            ps.setString(10, entry.getPaymentMethod());
+            ps.setString(11, entry.getPaymentReference());
+            ps.setBigDecimal(12, entry.getFees().toBigDecimal());
+            ps.setTimestamp(13, createdAt);
+            ps.setTimestamp(14, createdAt);
+        });
+
+        List<Object[]> mainUpdates = new ArrayList<>();
+        List<Object[]> shardUpdates = new ArrayList<>();
+        for (LedgerBatch.LockedWallet wallet : wallets) {
+            if (wallet.isMainDirty()) {
+                mainUpdates.add(new Object[] {wallet.getMain().toBigDecimal(), wallet.getWalletId()});
+            }
+            for (int shard = 0; shard < wallet.getShardCount(); shard++) {
+                if (wallet.isShardDirty(shard)) {
+                    shardUpdates.add(new Object[] {wallet.getShard(shard).toBigDecimal(), wallet.getWalletId(), shard});
+                }
+            }
+        }
+        if (!mainUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_MAIN_SQL, mainUpdates);
+        }
+        if (!shardUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SHARD_SQL, shardUpdates);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.common.outbox.OutboxPublisher;
+import com.ismail.platform.wallet.exception.ServiceOverloadedException;
+import com.ismail.platform.wallet.limits.SpendingLimitEngine;
+import com.ismail.platform.wallet.limits.SpendingReservation;
+import com.ismail.platform.wallet.stats.WalletStatsRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écrivain du registre des transactions par validation groupée
+ *
+ * Les opérations soumises par les requêtes concurrentes sont rassemblées
+ * pendant au plus {@code max-delay} ou jusqu'à {@code max-batch-size}
+ * opérations, puis validées en une seule transaction : un verrouillage des
+ * soldes concernés (les seuls sous-soldes crédités d'un portefeuille
+ * fractionné qui n'est pas débité, voir {@link LedgerRepository}), un lot
+ * d'insertions dans {@code core.transactions}, un lot de mises à jour des
+ * soldes et un lot de mises à jour des cumuls statistiques du jour et du
+ * mois, ainsi que l'enregistrement dans la boîte d'envoi d'un événement par
+ * écriture (commissions, notifications). Le coût de la synchronisation du
+ * journal PostgreSQL est ainsi partagé par toutes les opérations du lot.
+ *
+ * Un seul fil d'écriture consomme la file dans l'ordre de soumission :
+ * l'ordre des écritures d'un même portefeuille est conservé. Le
+ * {@link CompletableFuture} rendu à l'appelant n'est complété qu'après la
+ * validation de la transaction. Si la validation d'un lot échoue (référence
+ * en double par exemple), chacune de ses opérations est rejouée seule afin
+ * que l'opération fautive n'entraîne pas les autres dans son échec.
+ *
+ * Chaque débit est réservé sur les plafonds de dépense du portefeuille
+ * ({@link SpendingLimitEngine}) à la soumission, sur le fil de l'appelant et
+ * avant tout verrou : un dépassement de plafond est rendu comme un refus de
+ * l'opération. La réservation est compensée si l'opération n'est pas écrite.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class LedgerWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerWriter.class);
+
+    private final LedgerRepository ledgerRepository;
+    private final WalletStatsRepository statsRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final SpendingLimitEngine spendingLimitEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingOperation> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public LedgerWriter(LedgerRepository ledgerRepository,
+                        WalletStatsRepository statsRepository,
+                        OutboxPublisher outboxPublisher,
+                        SpendingLimitEngine spendingLimitEngine,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${ismail.wallet.ledger.max-batch-size:200}") int maxBatchSize,
+                        @Value("${ismail.wallet.ledger.max-delay:PT0.002S}") Duration maxDelay,
+                        @Value("${ismail.wallet.ledger.queue-capacity:10000}") int queueCapacity) {
+        this.ledgerRepository = ledgerRepository;
+        this.statsRepository = statsRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.spendingLimitEngine = spendingLimitEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.batchSizes = DistributionSummary.builder("ismail.wallet.ledger.batch.size")
+                .description("Opérations validées par transaction du registre")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("ismail.wallet.ledger.commit")
+                .description("Durée d'écriture et de validation d'un lot du registre")
+                .register(meterRegistry);
+        Gauge.builder("ismail.wallet.ledger.queue.size", queue, BlockingQueue::size)
+                .description("Opérations en attente d'écriture dans le registre")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // SOUMISSION
+    // =====================================================
+
+    public CompletableFuture<LedgerPosting> submit(LedgerEntry entry) {
+        return submit(List.of(entry)).thenApply(postings -> postings.get(0));
+    }
+
+    /**
+     * Soumet une opération composée de plusieurs écritures (transfert),
+     * enregistrées ensemble ou pas du tout
+     *
+     * @return les écritures validées, dans l'ordre de l'opération ; en échec
+     *         si un plafond de dépense serait dépassé
+     * @throws ServiceOverloadedException si la file d'écriture est pleine
+     */
+    public CompletableFuture<List<LedgerPosting>> submit(List<LedgerEntry> entries) {
+        if (!running) {
+            throw new ServiceOverloadedException("Registre des transactions indisponible", 1);
+        }
+        List<SpendingReservation> reservations;
+        try {
+            reservations = reserveSpending(entries);
+        } catch (RuntimeException rejected) {
+            return CompletableFuture.failedFuture(rejected);
+        }
+        PendingOperation operation = new PendingOperation(List.copyOf(entries));
+        if (!queue.offer(operation)) {
+            releaseSpending(reservations);
+            throw new ServiceOverloadedException("Registre des transactions saturé", 1);
+        }
+        if (!reservations.isEmpty()) {
+            // Hors du fil d'écriture, qui n'attend pas Redis
+            operation.result.whenCompleteAsync((postings, failure) -> {
+                if (failure != null) {
+                    releaseSpending(reservations);
+                }
+            });
+        }
+        return operation.result;
+    }
+
+    private List<SpendingReservation> reserveSpending(List<LedgerEntry> entries) {
+        List<SpendingReservation> reservations = new ArrayList<>(1);
+        try {
+            for (LedgerEntry entry : entries) {
+                if (!entry.getType().isCredit()) {
+                    reservations.add(spendingLimitEngine.reserve(entry.getWalletId(), entry.getAmount()));
+                }
+            }
+        } catch (RuntimeException e) {
+            releaseSpending(reservations);
+            throw e;
+        }
+        return reservations;
+    }
+
+    private void releaseSpending(List<SpendingReservation> reservations) {
+        for (SpendingReservation reservation : reservations) {
+            try {
+                spendingLimitEngine.release(reservation);
+            } catch (RuntimeException e) {
+                logger.warn("Compensation du plafond de dépense de {} impossible: {}",
+                        reservation.getWalletId(), e.getMessage());
+            }
+        }
+    }
+
+    // =====================================================
+    // ÉCRITURE
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("ledger-writer")
+                .daemon(true)
+                .start(this::runWriter);
+        logger.info("Écrivain du registre démarré: lots de {} au plus, attente de {} µs au plus",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMicros(maxDelayNanos));
+    }
+
+    /**
+     * Écrit les opérations déjà soumises avant l'arrêt
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingOperation operation;
+        while ((operation = queue.poll()) != null) {
+            operation.result.completeExceptionally(
+                    new ServiceOverloadedException("Registre des transactions arrêté", 1));
+        }
+    }
+
+    private void runWriter() {
+        List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOperation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingOperation next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Erreur de l'écrivain du registre", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingOperation> batch) {
+        try {
+            commitTimer.record(() -> transactionTemplate.executeWithoutResult(status -> writeInTransaction(batch)));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Échec de validation d'un lot de {} opérations, écriture unitaire", batch.size(), e);
+            for (PendingOperation operation : batch) {
+                write(List.of(operation));
+            }
+            return;
+        }
+        batchSizes.record(batch.size());
+        batch.forEach(PendingOperation::complete);
+    }
+
+    /**
+     * Détermine pour chaque opération ses écritures ou le motif de son refus,
+     * transmis à l'appelant une fois la transaction validée
+     */
+    private void writeInTransaction(List<PendingOperation> batch) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        batch.forEach(operation -> entries.addAll(operation.entries));
+        Map<UUID, LedgerBatch.LockedWallet> wallets = ledgerRepository.lockWallets(entries);
+
+        LedgerBatch ledgerBatch = new LedgerBatch(wallets, LocalDateTime.now());
+        for (PendingOperation operation : batch) {
+            try {
+                operation.postings = ledgerBatch.apply(operation.entries);
+                operation.rejection = null;
+            } catch (RuntimeException rejected) {
+                operation.postings = null;
+                operation.rejection = rejected;
+            }
+        }
+        if (!ledgerBatch.getEntries().isEmpty()) {
+            ledgerRepository.write(ledgerBatch, wallets.values());
+            statsRepository.increment(ledgerBatch.statsDeltas(), ledgerBatch.getCreatedAt().toLocalDate());
+            outboxPublisher.publish(ledgerBatch.events());
+        }
+    }
+
+    private static final class PendingOperation {
+
+        final List<LedgerEntry> entries;
+        final CompletableFuture<List<LedgerPosting>> result = new CompletableFuture<>();
+        List<LedgerPosting> postings;
+        RuntimeException rejection;
+
+        PendingOperation(List<LedgerEntry> entries) {
+            this.entries = entries;
+        }
+
+        void complete() {
+            if (rejection != null) {
+                result.completeExceptionally(rejection);
+            } else {
+                result.complete(postings);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ismail.platform.wallet.ledger;
+
+/**
+ * Types d'écriture de {@code core.transactions}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public enum TransactionType {
+    CREDIT, DEBIT, TRANSFER, COMMISSION, CASHBACK, REFUND;
+
+    /**
+     * @return true si l'écriture augmente le solde (cf. contrainte check_balance_consistency)
+     */
+    public boolean isCredit() {
+        return this == CREDIT || this == COMMISSION || this == CASHBACK || this == REFUND;
+    }
+}
@@ -0,0 +1,353 @@
+package com.ismail.platform.wallet.limits;
+
+import com.ismail.platform.wallet.exception.DailyLimitExceededException;
+import com.ismail.platform.wallet.exception.MonthlyLimitExceededException;
+import com.ismail.platform.wallet.exception.WalletNotFoundException;
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plafonds de dépense quotidiens et mensuels des portefeuilles
+ *
+ * Les cumuls de la période courante sont tenus dans Redis, en unités
+ * mineures de la devise du portefeuille, sous deux clés par portefeuille
+ * (jour et mois) qui expirent avec leur période : la remise à zéro n'est
+ * plus une écriture. Les deux clés partagent l'étiquette {@code {walletId}}
+ * et tombent sur le même slot d'un cluster Redis. Un script Lua contrôle
+ * les deux plafonds et réserve le montant en un seul aller-retour, sans
+ * verrou sur {@code core.wallets}. Les compteurs absents (première dépense
+ * de la période, perte des données Redis) sont initialisés depuis la base ;
+ * les plafonds recopiés sont relus après {@code limit-cache-ttl}, de sorte
+ * qu'une modification de plafond s'applique sans attendre la fin de la
+ * période. Un plafond {@code NULL} ne limite pas la dépense.
+ *
+ * {@link com.ismail.platform.wallet.ledger.LedgerWriter} réserve chaque
+ * débit à sa soumission et le compense si son écriture échoue.
+ *
+ * Les cumuls Redis font foi : ils sont recopiés périodiquement tels quels
+ * dans {@code daily_spent} et {@code monthly_spent}, compensations
+ * comprises. Lorsque Redis est injoignable, la réservation se fait en base
+ * par une mise à jour conditionnelle de la ligne du portefeuille ; les
+ * montants ainsi réservés ou compensés en base sont reportés dans les
+ * compteurs Redis dès que Redis répond de nouveau, puis le portefeuille est
+ * réconcilié. D'ici là, une réconciliation faite par une autre instance
+ * peut abaisser le cumul en base de ces montants.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class SpendingLimitEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpendingLimitEngine.class);
+
+    private static final String KEY_PREFIX = "ismail:wallet:spending:";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final long RESERVED = 0;
+    private static final long DAILY_LIMIT_EXCEEDED = 1;
+    private static final long MONTHLY_LIMIT_EXCEEDED = 2;
+    private static final long COUNTERS_MISSING = -1;
+    private static final String NO_LIMIT = "-1";
+
+    // Les compteurs survivent un jour à leur période, le temps d'une dernière réconciliation
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SpendingLimitRepository limitRepository;
+    private final Clock clock;
+    private final DefaultRedisScript<Long> reserveScript;
+    private final DefaultRedisScript<Long> releaseScript;
+    private final Duration limitCacheTtl;
+    private final Map<UUID, SpendingReservation> pendingReconciliation = new ConcurrentHashMap<>();
+    // Montants réservés (positifs) ou compensés (négatifs) en base, par couple de compteurs,
+    // à reporter dans Redis
+    private final Map<List<String>, Long> fallbackSpending = new ConcurrentHashMap<>();
+    // Portefeuille de chaque couple de compteurs, à réconcilier après le report
+    private final Map<List<String>, SpendingReservation> fallbackWallets = new ConcurrentHashMap<>();
+    private final Timer checkTimer;
+    private final Counter rejections;
+    private final Counter fallbacks;
+
+    @Autowired
+    public SpendingLimitEngine(StringRedisTemplate redisTemplate,
+                               SpendingLimitRepository limitRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${ismail.wallet.limits.zone:Africa/Abidjan}") ZoneId zone,
+                               @Value("${ismail.wallet.limits.limit-cache-ttl:PT1M}") Duration limitCacheTtl) {
+        this(redisTemplate, limitRepository, meterRegistry, Clock.system(zone), limitCacheTtl);
+    }
+
+    SpendingLimitEngine(StringRedisTemplate redisTemplate, SpendingLimitRepository limitRepository,
+                        MeterRegistry meterRegistry, Clock clock, Duration limitCacheTtl) {
+        this.redisTemplate = redisTemplate;
+        this.limitRepository = limitRepository;
+        this.clock = clock;
+        this.limitCacheTtl = limitCacheTtl;
+        this.reserveScript = script("redis/spending-limit-reserve.lua");
+        this.releaseScript = script("redis/spending-limit-release.lua");
+        this.checkTimer = Timer.builder("ismail.wallet.limits.check")
+                .description("Durée du contrôle et de la réservation des plafonds de dépense")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("ismail.wallet.limits.rejections")
+                .description("Dépenses refusées pour dépassement de plafond")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("ismail.wallet.limits.fallback")
+                .description("Contrôles de plafond faits en base faute de Redis")
+                .register(meterRegistry);
+    }
+
+    private static DefaultRedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    // =====================================================
+    // RÉSERVATION
+    // =====================================================
+
+    /**
+     * Contrôle les plafonds et réserve le montant
+     *
+     * @throws DailyLimitExceededException si le plafond du jour serait dépassé
+     * @throws MonthlyLimitExceededException si le plafond du mois serait dépassé
+     */
+    public SpendingReservation reserve(UUID walletId, Money amount) {
+        LocalDate day = LocalDate.now(clock);
+        return checkTimer.record(() -> {
+            long outcome;
+            boolean redis = true;
+            try {
+                outcome = reserveInRedis(walletId, amount, day);
+            } catch (WalletNotFoundException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                fallbacks.increment();
+                logger.warn("Compteurs de plafond Redis indisponibles, contrôle en base: {}", e.getMessage());
+                outcome = reserveInDatabase(walletId, amount, day);
+                redis = false;
+            }
+            if (outcome == DAILY_LIMIT_EXCEEDED) {
+                rejections.increment();
+                throw new DailyLimitExceededException("Plafond de dépense quotidien atteint");
+            }
+            if (outcome == MONTHLY_LIMIT_EXCEEDED) {
+                rejections.increment();
+                throw new MonthlyLimitExceededException("Plafond de dépense mensuel atteint");
+            }
+            SpendingReservation reservation = new SpendingReservation(walletId, amount, day, redis);
+            if (redis) {
+                pendingReconciliation.put(walletId, reservation);
+            } else {
+                recordFallback(reservation, amount.getMinorUnits());
+            }
+            return reservation;
+        });
+    }
+
+    /**
+     * Compense la réservation d'une transaction qui n'a pas abouti
+     */
+    public void release(SpendingReservation reservation) {
+        if (reservation.isRedis()) {
+            try {
+                redisTemplate.execute(releaseScript, keys(reservation.getWalletId(), reservation.getDay()),
+                        String.valueOf(reservation.getAmount().getMinorUnits()));
+                pendingReconciliation.put(reservation.getWalletId(), reservation);
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Compensation Redis impossible, compensation en base: {}", e.getMessage());
+            }
+        }
+        limitRepository.release(reservation.getWalletId(), reservation.getAmount().toBigDecimal(), reservation.getDay());
+        recordFallback(reservation, -reservation.getAmount().getMinorUnits());
+    }
+
+    private long reserveInRedis(UUID walletId, Money amount, LocalDate day) {
+        if (!fallbackWallets.isEmpty()) {
+            replayFallbackSpending();
+        }
+        List<String> keys = keys(walletId, day);
+        String minor = String.valueOf(amount.getMinorUnits());
+        String dailyTtl = String.valueOf(ttl(day.plusDays(1)));
+        String monthlyTtl = String.valueOf(ttl(day.withDayOfMonth(1).plusMonths(1)));
+        String now = String.valueOf(clock.millis());
+        String limitTtl = String.valueOf(limitCacheTtl.toMillis());
+
+        Long outcome = redisTemplate.execute(reserveScript, keys, minor, dailyTtl, monthlyTtl, now, limitTtl);
+        if (outcome != null && outcome == COUNTERS_MISSING) {
+            WalletSpending spending = limitRepository.findSpending(walletId, day)
+                    .orElseThrow(() -> new WalletNotFoundException("Portefeuille introuvable"));
+            String currency = amount.getCurrency();
+            if (!currency.equals(spending.getCurrency())) {
+                throw new IllegalArgumentException("Devise " + currency
+                        + " différente de celle du portefeuille " + spending.getCurrency());
+            }
+            outcome = redisTemplate.execute(reserveScript, keys, minor, dailyTtl, monthlyTtl, now, limitTtl,
+                    spent(spending.getDailySpent(), currency), limit(spending.getDailyLimit(), currency),
+                    spent(spending.getMonthlySpent(), currency), limit(spending.getMonthlyLimit(), currency));
+        }
+        if (outcome == null || outcome == COUNTERS_MISSING) {
+            throw new IllegalStateException("Réponse inattendue du script de plafond: " + outcome);
+        }
+        return outcome;
+    }
+
+    private long reserveInDatabase(UUID walletId, Money amount, LocalDate day) {
+        if (limitRepository.reserve(walletId, amount.toBigDecimal(), day)) {
+            return RESERVED;
+        }
+        WalletSpending spending = limitRepository.findSpending(walletId, day)
+                .orElseThrow(() -> new WalletNotFoundException("Portefeuille introuvable"));
+        return spending.exceedsDailyLimit(amount.toBigDecimal()) ? DAILY_LIMIT_EXCEEDED : MONTHLY_LIMIT_EXCEEDED;
+    }
+
+    // =====================================================
+    // REPRISE APRÈS INDISPONIBILITÉ DE REDIS
+    // =====================================================
+
+    private void recordFallback(SpendingReservation reservation, long minorUnits) {
+        List<String> keys = keys(reservation.getWalletId(), reservation.getDay());
+        fallbackWallets.put(keys, reservation);
+        fallbackSpending.merge(keys, minorUnits, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    /**
+     * Reporte dans les compteurs Redis les montants réservés ou compensés en
+     * base, et programme la réconciliation de leur portefeuille. Un compteur
+     * absent est laissé tel quel : il sera initialisé depuis la base, qui
+     * contient déjà ces montants.
+     */
+    private void replayFallbackSpending() {
+        for (List<String> keys : List.copyOf(fallbackWallets.keySet())) {
+            SpendingReservation reservation = fallbackWallets.get(keys);
+            Long minorUnits = fallbackSpending.remove(keys);
+            if (minorUnits != null) {
+                try {
+                    redisTemplate.execute(releaseScript, keys, String.valueOf(-minorUnits));
+                } catch (RuntimeException e) {
+                    fallbackSpending.merge(keys, minorUnits, (a, b) -> a + b == 0 ? null : a + b);
+                    throw e;
+                }
+            }
+            if (reservation != null) {
+                pendingReconciliation.putIfAbsent(reservation.getWalletId(), reservation);
+                if (!fallbackSpending.containsKey(keys)) {
+                    fallbackWallets.remove(keys, reservation);
+                }
+            }
+        }
+    }
+
+    // =====================================================
+    // RÉCONCILIATION
+    // =====================================================
+
+    /**
+     * Recopie en base les cumuls Redis des portefeuilles débités depuis la
+     * dernière exécution
+     */
+    @Scheduled(fixedDelayString = "${ismail.wallet.limits.reconcile-interval:PT30S}",
+               initialDelayString = "${ismail.wallet.limits.reconcile-interval:PT30S}")
+    public void reconcile() {
+        if (!fallbackWallets.isEmpty()) {
+            try {
+                replayFallbackSpending();
+            } catch (RuntimeException e) {
+                logger.warn("Report des réservations faites en base impossible: {}", e.getMessage());
+                return;
+            }
+        }
+        Map<LocalDate, List<Object[]>> byDay = new HashMap<>();
+        Map<UUID, SpendingReservation> reconciled = new HashMap<>();
+        for (UUID walletId : List.copyOf(pendingReconciliation.keySet())) {
+            SpendingReservation reservation = pendingReconciliation.remove(walletId);
+            if (reservation == null) {
+                continue;
+            }
+            LocalDate day = reservation.getDay();
+            String currency = reservation.getAmount().getCurrency();
+            try {
+                List<String> keys = keys(walletId, day);
+                Object daily = redisTemplate.opsForHash().get(keys.get(0), "spent");
+                Object monthly = redisTemplate.opsForHash().get(keys.get(1), "spent");
+                if (daily != null && monthly != null) {
+                    byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(new Object[] {walletId,
+                            fromMinor(daily.toString(), currency), fromMinor(monthly.toString(), currency)});
+                    reconciled.put(walletId, reservation);
+                }
+            } catch (RuntimeException e) {
+                pendingReconciliation.putIfAbsent(walletId, reservation);
+                logger.warn("Lecture des compteurs de plafond impossible: {}", e.getMessage());
+                return;
+            }
+        }
+        byDay.forEach((day, spending) -> {
+            try {
+                limitRepository.reconcile(spending, day);
+            } catch (RuntimeException e) {
+                spending.forEach(row -> pendingReconciliation.putIfAbsent((UUID) row[0], reconciled.get((UUID) row[0])));
+                logger.error("Échec de la réconciliation des cumuls de dépense", e);
+            }
+        });
+    }
+
+    // =====================================================
+    // CLÉS ET MONTANTS
+    // =====================================================
+
+    static List<String> keys(UUID walletId, LocalDate day) {
+        return List.of(
+                KEY_PREFIX + "{" + walletId + "}:d:" + DAY_FORMAT.format(day),
+                KEY_PREFIX + "{" + walletId + "}:m:" + MONTH_FORMAT.format(day));
+    }
+
+    private long ttl(LocalDate periodEnd) {
+        Duration remaining = Duration.between(clock.instant(), periodEnd.atStartOfDay(clock.getZone()).toInstant());
+        return remaining.plus(RETENTION).toMillis();
+    }
+
+    // Les colonnes DECIMAL(15,2) peuvent porter plus de décimales que la devise (XOF) :
+    // le cumul est arrondi au-dessus et le plafond au-dessous, jamais en faveur de la dépense
+    static String spent(BigDecimal amount, String currency) {
+        return String.valueOf(Money.of(amount, currency, RoundingMode.CEILING).getMinorUnits());
+    }
+
+    static String limit(BigDecimal amount, String currency) {
+        return amount == null ? NO_LIMIT
+                : String.valueOf(Money.of(amount, currency, RoundingMode.FLOOR).getMinorUnits());
+    }
+
+    static BigDecimal fromMinor(String minorUnits, String currency) {
+        return Money.ofMinor(Long.parseLong(minorUnits), currency).toBigDecimal();
+    }
+}
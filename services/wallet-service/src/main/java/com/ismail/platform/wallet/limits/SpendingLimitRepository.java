@@ -0,0 +1,108 @@
+package com.ismail.platform.wallet.limits;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plafonds et cumuls de dépense enregistrés dans {@code core.wallets}
+ *
+ * Les cumuls d'une période révolue (last_reset_daily ou last_reset_monthly
+ * antérieur à la période courante) valent zéro. Un plafond {@code NULL}
+ * ne limite pas la dépense.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class SpendingLimitRepository {
+
+    private static final String SPENT_TODAY =
+            "(CASE WHEN last_reset_daily = ? THEN daily_spent ELSE 0 END)";
+
+    private static final String SPENT_THIS_MONTH =
+            "(CASE WHEN last_reset_monthly = ? THEN monthly_spent ELSE 0 END)";
+
+    private static final String SEED_SQL =
+            "SELECT currency, " + SPENT_TODAY + " AS daily_spent, daily_limit, " +
+            SPENT_THIS_MONTH + " AS monthly_spent, monthly_limit FROM core.wallets WHERE id = ?";
+
+    private static final String RESERVE_SQL =
+            "UPDATE core.wallets SET daily_spent = " + SPENT_TODAY + " + ?, last_reset_daily = ?, " +
+            "monthly_spent = " + SPENT_THIS_MONTH + " + ?, last_reset_monthly = ? " +
+            "WHERE id = ? AND (daily_limit IS NULL OR " + SPENT_TODAY + " + ? <= daily_limit) " +
+            "AND (monthly_limit IS NULL OR " + SPENT_THIS_MONTH + " + ? <= monthly_limit)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE core.wallets SET " +
+            "daily_spent = CASE WHEN last_reset_daily = ? THEN GREATEST(daily_spent - ?, 0) ELSE daily_spent END, " +
+            "monthly_spent = CASE WHEN last_reset_monthly = ? THEN GREATEST(monthly_spent - ?, 0) ELSE monthly_spent END " +
+            "WHERE id = ?";
+
+    // Les cumuls Redis font foi, compensations comprises ; seule la réconciliation
+    // d'une période déjà dépassée en base (autre instance, changement de jour) est ignorée
+    private static final String RECONCILE_SQL =
+            "UPDATE core.wallets SET " +
+            "daily_spent = CASE WHEN last_reset_daily > ? THEN daily_spent ELSE ? END, " +
+            "last_reset_daily = GREATEST(last_reset_daily, ?), " +
+            "monthly_spent = CASE WHEN last_reset_monthly > ? THEN monthly_spent ELSE ? END, " +
+            "last_reset_monthly = GREATEST(last_reset_monthly, ?) " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SpendingLimitRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    Optional<WalletSpending> findSpending(UUID walletId, LocalDate day) {
+        Date today = Date.valueOf(day);
+        Date month = Date.valueOf(day.withDayOfMonth(1));
+        return jdbcTemplate.query(SEED_SQL, (rs, rowNum) -> new WalletSpending(rs.getString("currency"),
+                rs.getBigDecimal("daily_spent"), rs.getBigDecimal("daily_limit"),
+                rs.getBigDecimal("monthly_spent"), rs.getBigDecimal("monthly_limit")
+        ), today, month, walletId).stream().findFirst();
+    }
+
+    /**
+     * Réservation sous verrou de ligne, utilisée lorsque Redis est injoignable
+     *
+     * @return false si l'un des plafonds serait dépassé
+     */
+    public boolean reserve(UUID walletId, BigDecimal amount, LocalDate day) {
+        Date today = Date.valueOf(day);
+        Date month = Date.valueOf(day.withDayOfMonth(1));
+        return jdbcTemplate.update(RESERVE_SQL,
+                today, amount, today, month, amount, month,
+                walletId, today, amount, month, amount) == 1;
+    }
+
+    public void release(UUID walletId, BigDecimal amount, LocalDate day) {
+        jdbcTemplate.update(RELEASE_SQL, Date.valueOf(day), amount, Date.valueOf(day.withDayOfMonth(1)), amount, walletId);
+    }
+
+    /**
+     * @param spending pour chaque portefeuille : identifiant, dépensé du jour, dépensé du mois
+     */
+    public void reconcile(List<Object[]> spending, LocalDate day) {
+        Date today = Date.valueOf(day);
+        Date month = Date.valueOf(day.withDayOfMonth(1));
+        jdbcTemplate.batchUpdate(RECONCILE_SQL, spending, spending.size(), (ps, row) -> {
+            ps.setDate(1, today);
+            ps.setBigDecimal(2, (BigDecimal) row[1]);
+            ps.setDate(3, today);
+            ps.setDate(4, month);
+            ps.setBigDecimal(5, (BigDecimal) row[2]);
+            ps.setDate(6, month);
+            ps.setObject(7, row[0]);
+        });
+    }
+}
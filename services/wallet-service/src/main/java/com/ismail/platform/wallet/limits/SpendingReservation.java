@@ -0,0 +1,45 @@
+package com.ismail.platform.wallet.limits;
+
+import com.ismail.platform.wallet.money.Money;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Montant réservé sur les plafonds de dépense d'un portefeuille
+ *
+ * Conservé par l'appelant jusqu'à l'issue de la transaction : un débit
+ * échoué est compensé par {@link SpendingLimitEngine#release}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class SpendingReservation {
+
+    private final UUID walletId;
+    private final Money amount;
+    private final LocalDate day;
+    private final boolean redis;
+
+    SpendingReservation(UUID walletId, Money amount, LocalDate day, boolean redis) {
+        this.walletId = walletId;
+        this.amount = amount;
+        this.day = day;
+        this.redis = redis;
+    }
+
+    // Getters
+    public UUID getWalletId() { return walletId; }
+
+    public Money getAmount() { return amount; }
+
+    /**
+     * @return le jour de la réservation, qui désigne les compteurs à compenser
+     */
+    public LocalDate getDay() { return day; }
+
+    /**
+     * @return false si la réservation a été faite en base, Redis étant injoignable
+     */
+    boolean isRedis() { return redis; }
+}
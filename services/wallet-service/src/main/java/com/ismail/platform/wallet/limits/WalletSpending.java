@@ -0,0 +1,48 @@
+package com.ismail.platform.wallet.limits;
+
+import java.math.BigDecimal;
+
+/**
+ * Cumuls et plafonds de la période courante lus dans {@code core.wallets}
+ *
+ * Un plafond {@code null} signifie que le portefeuille n'a pas de plafond
+ * pour cette période.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+final class WalletSpending {
+
+    private final String currency;
+    private final BigDecimal dailySpent;
+    private final BigDecimal dailyLimit;
+    private final BigDecimal monthlySpent;
+    private final BigDecimal monthlyLimit;
+
+    WalletSpending(String currency, BigDecimal dailySpent, BigDecimal dailyLimit,
+                   BigDecimal monthlySpent, BigDecimal monthlyLimit) {
+        this.currency = currency;
+        this.dailySpent = dailySpent;
+        this.dailyLimit = dailyLimit;
+        this.monthlySpent = monthlySpent;
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    // Getters
+    String getCurrency() { return currency; }
+
+    BigDecimal getDailySpent() { return dailySpent; }
+
+    BigDecimal getDailyLimit() { return dailyLimit; }
+
+    BigDecimal getMonthlySpent() { return monthlySpent; }
+
+    BigDecimal getMonthlyLimit() { return monthlyLimit; }
+
+    /**
+     * @return true si {@code amount} dépasse le plafond du jour
+     */
+    boolean exceedsDailyLimit(BigDecimal amount) {
+        return dailyLimit != null && dailySpent.add(amount).compareTo(dailyLimit) > 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ismail.platform.wallet.money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Currency;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Publie au démarrage les décimales des devises dans {@code core.currency_scales}
+ *
+ * {@link Money#scaleOf} (java.util.Currency) reste la seule source des
+ * décimales : la base les lit dans cette table au lieu d'en tenir sa
+ * propre liste.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class CurrencyScalePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyScalePublisher.class);
+
+    private final CurrencyScaleRepository scaleRepository;
+
+    @Autowired
+    public CurrencyScalePublisher(CurrencyScaleRepository scaleRepository) {
+        this.scaleRepository = scaleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publish() {
+        try {
+            Map<String, Integer> scales = scales();
+            scaleRepository.saveAll(scales);
+            logger.info("Décimales de {} devises publiées", scales.size());
+        } catch (Exception e) {
+            logger.error("Échec de la publication des décimales des devises", e);
+        }
+    }
+
+    static Map<String, Integer> scales() {
+        Map<String, Integer> scales = new TreeMap<>();
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            scales.put(currency.getCurrencyCode(), Money.scaleOf(currency.getCurrencyCode()));
+        }
+        return scales;
+    }
+}
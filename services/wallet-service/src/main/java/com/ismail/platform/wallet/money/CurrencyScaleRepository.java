@@ -0,0 +1,41 @@
+package com.ismail.platform.wallet.money;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Accès à {@code core.currency_scales}, lue par la base pour arrondir et
+ * contrôler les montants (commissions, versements)
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class CurrencyScaleRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO core.currency_scales (code, scale) VALUES (?, ?) " +
+            "ON CONFLICT (code) DO UPDATE SET scale = EXCLUDED.scale, updated_at = NOW() " +
+            "WHERE core.currency_scales.scale <> EXCLUDED.scale";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CurrencyScaleRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Enregistre les décimales de chaque devise ; une ligne inchangée n'est pas réécrite
+     */
+    public void saveAll(Map<String, Integer> scales) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(scales.entrySet()), scales.size(), (ps, scale) -> {
+            ps.setString(1, scale.getKey());
+            ps.setInt(2, scale.getValue());
+        });
+    }
+}
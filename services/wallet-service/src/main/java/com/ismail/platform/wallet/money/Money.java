@@ -0,0 +1,250 @@
+package com.ismail.platform.wallet.money;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Montant exact exprimé en unités mineures de sa devise
+ *
+ * Le montant est un {@code long} à l'échelle de la devise (0 décimale pour
+ * le XOF, 2 pour l'EUR) : les additions, comparaisons et multiplications
+ * par un taux se font sur des entiers, sans l'allocation d'un
+ * {@link BigDecimal} par opération. Tout dépassement de capacité lève une
+ * {@link ArithmeticException} ; les opérations qui perdent de la précision
+ * prennent un {@link RoundingMode} explicite.
+ *
+ * La conversion depuis un {@link BigDecimal} est exacte : un montant plus
+ * précis que la devise est refusé. En JSON, un montant s'écrit
+ * {@code {"amount": 1500, "currency": "XOF"}}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@JsonAutoDetect(getterVisibility = JsonAutoDetect.Visibility.NONE,
+                isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+public final class Money implements Comparable<Money> {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final long minorUnits;
+    private final String currency;
+    private final int scale;
+
+    private Money(long minorUnits, String currency, int scale) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+        this.scale = scale;
+    }
+
+    // =====================================================
+    // CRÉATION
+    // =====================================================
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency, scaleOf(currency));
+    }
+
+    public static Money zero(String currency) {
+        return ofMinor(0, currency);
+    }
+
+    /**
+     * @throws ArithmeticException si le montant a plus de décimales que la devise
+     */
+    @JsonCreator
+    public static Money of(@JsonProperty("amount") BigDecimal amount, @JsonProperty("currency") String currency) {
+        return of(amount, currency, RoundingMode.UNNECESSARY);
+    }
+
+    public static Money of(BigDecimal amount, String currency, RoundingMode rounding) {
+        Objects.requireNonNull(amount, "amount");
+        int scale = scaleOf(currency);
+        return new Money(amount.setScale(scale, rounding).unscaledValue().longValueExact(), currency, scale);
+    }
+
+    /**
+     * Montant lu dans une colonne {@code DECIMAL(15,2)}, qui peut porter plus
+     * de décimales que la devise (XOF) : la fraction d'unité mineure est
+     * arrondie vers le bas, jamais en faveur du titulaire
+     */
+    public static Money ofStored(BigDecimal amount, String currency) {
+        return of(amount, currency, RoundingMode.FLOOR);
+    }
+
+    public static Money of(String amount, String currency) {
+        return of(new BigDecimal(amount), currency);
+    }
+
+    /**
+     * Seule source des décimales d'une devise, publiées pour la base dans
+     * {@code core.currency_scales} ({@link CurrencyScalePublisher})
+     *
+     * @return le nombre de décimales de la devise ISO 4217, 2 pour les
+     *         pseudo-devises qui n'en définissent pas
+     * @throws IllegalArgumentException si le code n'est pas une devise ISO 4217
+     */
+    public static int scaleOf(String currency) {
+        int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        return digits < 0 ? 2 : digits;
+    }
+
+    // =====================================================
+    // ARITHMÉTIQUE
+    // =====================================================
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return with(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return with(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return with(Math.negateExact(minorUnits));
+    }
+
+    public Money multiply(long factor) {
+        return with(Math.multiplyExact(minorUnits, factor));
+    }
+
+    /**
+     * Multiplie par un facteur décimal (taux de frais, de commission)
+     *
+     * Le facteur est lu une fois ; l'appelant qui applique le même taux en
+     * boucle peut passer par {@link #multiply(long, int, RoundingMode)}.
+     */
+    public Money multiply(BigDecimal factor, RoundingMode rounding) {
+        BigDecimal stripped = factor.stripTrailingZeros();
+        if (stripped.scale() >= 0 && stripped.scale() < POWERS_OF_TEN.length && stripped.precision() <= 18) {
+            return multiply(stripped.unscaledValue().longValue(), stripped.scale(), rounding);
+        }
+        return of(toBigDecimal().multiply(factor), currency, rounding);
+    }
+
+    /**
+     * Multiplie par {@code unscaledFactor × 10^-factorScale}
+     */
+    public Money multiply(long unscaledFactor, int factorScale, RoundingMode rounding) {
+        long product;
+        try {
+            product = Math.multiplyExact(minorUnits, unscaledFactor);
+        } catch (ArithmeticException overflow) {
+            return of(toBigDecimal().multiply(BigDecimal.valueOf(unscaledFactor, factorScale)), currency, rounding);
+        }
+        return with(divide(product, POWERS_OF_TEN[factorScale], rounding));
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    /**
+     * Division entière arrondie ; {@code divisor} doit être strictement positif
+     */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long absRemainder = Math.abs(remainder);
+        int half = Long.compare(absRemainder, divisor - absRemainder);
+        boolean positive = dividend > 0;
+        boolean awayFromZero = switch (rounding) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> positive;
+            case FLOOR -> !positive;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Arrondi nécessaire");
+        };
+        return awayFromZero ? quotient + (positive ? 1 : -1) : quotient;
+    }
+
+    // =====================================================
+    // COMPARAISON
+    // =====================================================
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    // =====================================================
+    // ACCÈS
+    // =====================================================
+
+    public long getMinorUnits() { return minorUnits; }
+
+    @JsonProperty("currency")
+    public String getCurrency() { return currency; }
+
+    public int getScale() { return scale; }
+
+    @JsonProperty("amount")
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    private Money with(long minorUnits) {
+        return minorUnits == this.minorUnits ? this : new Money(minorUnits, currency, scale);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Devises différentes : " + currency + " et " + other.currency);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+}
@@ -0,0 +1,161 @@
+package com.ismail.platform.wallet.partition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Partitions mensuelles glissantes de {@code core.transactions} et
+ * {@code audit.audit_log}
+ *
+ * À chaque passage, les partitions du mois courant et des
+ * {@code premake-months} mois suivants sont créées si elles manquent : une
+ * insertion ne tombe jamais hors des bornes, et chaque partition reçoit
+ * les index définis sur la table mère. Les partitions antérieures à la
+ * durée de rétention de la table sont détachées puis rangées dans le
+ * schéma d'archive (et sur l'espace de stockage froid s'il est configuré),
+ * où elles restent exportables sans alourdir la table active.
+ *
+ * Les requêtes bornées sur la clé de partition, comme l'historique des
+ * transactions limité à une fenêtre de dates, ne parcourent ainsi qu'une
+ * poignée de partitions quelle que soit la taille du registre.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class PartitionManager {
+
+    public static final String TRANSACTIONS_PARTITION_NAME = "'transactions_'yyyy_MM";
+    public static final String AUDIT_LOG_PARTITION_NAME = "'audit_log_y'yyyy'm'MM";
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionManager.class);
+
+    private final PartitionRepository partitionRepository;
+    private final List<PartitionedTable> tables;
+    private final int premakeMonths;
+    private final String archiveSchema;
+    private final String archiveTablespace;
+    private final String lockTimeout;
+
+    @Autowired
+    public PartitionManager(PartitionRepository partitionRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${ismail.wallet.partitions.premake-months:3}") int premakeMonths,
+                            @Value("${ismail.wallet.partitions.transactions-retention-months:60}") int transactionsRetention,
+                            @Value("${ismail.wallet.partitions.audit-log-retention-months:120}") int auditLogRetention,
+                            @Value("${ismail.wallet.partitions.archive-schema:archive}") String archiveSchema,
+                            @Value("${ismail.wallet.partitions.archive-tablespace:}") String archiveTablespace,
+                            @Value("${ismail.wallet.partitions.lock-timeout:PT5S}") Duration lockTimeout) {
+        this(partitionRepository, meterRegistry, List.of(
+                new PartitionedTable("core", "transactions", TRANSACTIONS_PARTITION_NAME, transactionsRetention),
+                new PartitionedTable("audit", "audit_log", AUDIT_LOG_PARTITION_NAME, auditLogRetention)
+        ), premakeMonths, archiveSchema, archiveTablespace, lockTimeout);
+    }
+
+    PartitionManager(PartitionRepository partitionRepository, MeterRegistry meterRegistry,
+                     List<PartitionedTable> tables, int premakeMonths, String archiveSchema,
+                     String archiveTablespace, Duration lockTimeout) {
+        this.partitionRepository = partitionRepository;
+        this.tables = tables;
+        this.premakeMonths = premakeMonths;
+        this.archiveSchema = PartitionedTable.identifier(archiveSchema);
+        this.archiveTablespace = archiveTablespace;
+        this.lockTimeout = lockTimeout.toMillis() + "ms";
+        for (PartitionedTable table : tables) {
+            Gauge.builder("ismail.wallet.partitions.count", table, PartitionedTable::getPartitionCount)
+                    .description("Partitions attachées à la table")
+                    .tag("table", table.qualifiedName())
+                    .register(meterRegistry);
+            Gauge.builder("ismail.wallet.partitions.size", table, PartitionedTable::getTotalBytes)
+                    .description("Taille des partitions attachées, index compris")
+                    .baseUnit("bytes")
+                    .tag("table", table.qualifiedName())
+                    .register(meterRegistry);
+            Gauge.builder("ismail.wallet.partitions.months-ahead", table, PartitionedTable::getMonthsAhead)
+                    .description("Mois à venir déjà couverts par une partition")
+                    .tag("table", table.qualifiedName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        maintain();
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.wallet.partitions.maintenance-interval:PT6H}",
+               initialDelayString = "${ismail.wallet.partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        YearMonth currentMonth;
+        try {
+            currentMonth = partitionRepository.currentMonth();
+        } catch (Exception e) {
+            logger.warn("Maintenance des partitions impossible: {}", e.getMessage());
+            return;
+        }
+        for (PartitionedTable table : tables) {
+            try {
+                maintain(table, currentMonth);
+            } catch (Exception e) {
+                logger.error("Échec de la maintenance des partitions de {}", table.qualifiedName(), e);
+            }
+        }
+    }
+
+    void maintain(PartitionedTable table, YearMonth currentMonth) {
+        if (!partitionRepository.isPartitioned(table)) {
+            logger.warn("{} n'est pas partitionnée, maintenance ignorée", table.qualifiedName());
+            return;
+        }
+        Map<String, Long> partitions = partitionRepository.findPartitions(table);
+
+        for (int ahead = 0; ahead <= premakeMonths; ahead++) {
+            YearMonth month = currentMonth.plusMonths(ahead);
+            if (!partitions.containsKey(table.partitionOf(month))
+                    && partitionRepository.createPartition(table, month, lockTimeout)) {
+                logger.info("Partition {}.{} créée", table.getSchema(), table.partitionOf(month));
+            }
+        }
+
+        if (table.getRetentionMonths() > 0) {
+            YearMonth oldestKept = currentMonth.minusMonths(table.getRetentionMonths());
+            for (String partition : partitions.keySet()) {
+                Optional<YearMonth> month = table.monthOf(partition);
+                if (month.isPresent() && month.get().isBefore(oldestKept)
+                        && partitionRepository.archivePartition(table, partition, archiveSchema,
+                                archiveTablespace, lockTimeout)) {
+                    logger.info("Partition {}.{} détachée et archivée dans {}", table.getSchema(), partition,
+                            archiveSchema);
+                }
+            }
+        }
+
+        recordState(table, currentMonth);
+    }
+
+    private void recordState(PartitionedTable table, YearMonth currentMonth) {
+        Map<String, Long> partitions = partitionRepository.findPartitions(table);
+        YearMonth covered = currentMonth.minusMonths(1);
+        while (partitions.containsKey(table.partitionOf(covered.plusMonths(1)))) {
+            covered = covered.plusMonths(1);
+        }
+        table.recordState(partitions.size(),
+                partitions.values().stream().mapToLong(Long::longValue).sum(),
+                ChronoUnit.MONTHS.between(currentMonth, covered));
+    }
+}
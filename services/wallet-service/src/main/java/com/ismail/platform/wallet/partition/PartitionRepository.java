@@ -0,0 +1,123 @@
+package com.ismail.platform.wallet.partition;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Catalogue et DDL des partitions mensuelles
+ *
+ * Chaque modification s'exécute dans sa propre transaction courte, sous
+ * un verrou consultatif partagé par toutes les instances et avec un
+ * {@code lock_timeout} : une partition dont la table mère est occupée est
+ * reportée au passage suivant au lieu de bloquer les écritures en attente
+ * derrière le DDL.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class PartitionRepository {
+
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p " +
+            "JOIN pg_class c ON c.oid = p.partrelid JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND c.relname = ?)";
+
+    private static final String PARTITIONS_SQL =
+            "SELECT child.relname, pg_total_relation_size(child.oid) AS size_bytes " +
+            "FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_namespace n ON n.oid = parent.relnamespace " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "WHERE n.nspname = ? AND parent.relname = ? ORDER BY child.relname";
+
+    private static final String CURRENT_MONTH_SQL =
+            "SELECT to_char(LOCALTIMESTAMP, 'YYYY-MM')";
+
+    private static final String TRY_LOCK_SQL =
+            "SELECT pg_try_advisory_xact_lock(hashtext('ismail.wallet.partitions'))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public PartitionRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isPartitioned(PartitionedTable table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class,
+                table.getSchema(), table.getTable()));
+    }
+
+    /**
+     * @return taille en octets (index compris) de chaque partition, par nom
+     */
+    public Map<String, Long> findPartitions(PartitionedTable table) {
+        Map<String, Long> partitions = new LinkedHashMap<>();
+        jdbcTemplate.query(PARTITIONS_SQL, rs -> {
+            partitions.put(rs.getString("relname"), rs.getLong("size_bytes"));
+        }, table.getSchema(), table.getTable());
+        return partitions;
+    }
+
+    /**
+     * Mois courant selon l'horloge du serveur, celle de {@code DEFAULT NOW()}
+     */
+    public YearMonth currentMonth() {
+        return YearMonth.parse(jdbcTemplate.queryForObject(CURRENT_MONTH_SQL, String.class));
+    }
+
+    /**
+     * Crée la partition du mois ; les index de la table mère y sont créés par PostgreSQL
+     *
+     * @return false si une autre instance tient le verrou de maintenance
+     */
+    public boolean createPartition(PartitionedTable table, YearMonth month, String lockTimeout) {
+        String ddl = "CREATE TABLE IF NOT EXISTS " + table.getSchema() + "." + table.partitionOf(month) +
+                " PARTITION OF " + table.qualifiedName() +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        return executeLocked(lockTimeout, ddl);
+    }
+
+    /**
+     * Détache la partition et la range dans le schéma d'archive, sur
+     * l'espace de stockage froid s'il est configuré
+     */
+    public boolean archivePartition(PartitionedTable table, String partition, String archiveSchema,
+                                    String archiveTablespace, String lockTimeout) {
+        String qualified = table.getSchema() + "." + PartitionedTable.identifier(partition);
+        if (!executeLocked(lockTimeout,
+                "ALTER TABLE " + table.qualifiedName() + " DETACH PARTITION " + qualified,
+                "ALTER TABLE " + qualified + " SET SCHEMA " + PartitionedTable.identifier(archiveSchema))) {
+            return false;
+        }
+        if (archiveTablespace != null && !archiveTablespace.isBlank()) {
+            // Réécriture de la table détachée : plus aucune requête applicative ne l'attend
+            jdbcTemplate.execute("ALTER TABLE " + archiveSchema + "." + partition +
+                    " SET TABLESPACE " + PartitionedTable.identifier(archiveTablespace));
+        }
+        return true;
+    }
+
+    private boolean executeLocked(String lockTimeout, String... statements) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+                return false;
+            }
+            jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class, lockTimeout);
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ismail.platform.wallet.partition;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Table partitionnée par mois dont les partitions sont tenues à jour
+ * par {@link PartitionManager}
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class PartitionedTable {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final String schema;
+    private final String table;
+    private final DateTimeFormatter partitionName;
+    private final int retentionMonths;
+
+    // Dernier état observé, exposé en métriques
+    private volatile long partitionCount;
+    private volatile long totalBytes;
+    private volatile long monthsAhead;
+
+    /**
+     * @param partitionName format du nom d'une partition mensuelle, par
+     *                      exemple {@code 'transactions_'yyyy_MM}
+     * @param retentionMonths mois conservés avant le mois courant ; 0 pour
+     *                        ne jamais détacher
+     */
+    public PartitionedTable(String schema, String table, String partitionName, int retentionMonths) {
+        this.schema = identifier(schema);
+        this.table = identifier(table);
+        this.partitionName = DateTimeFormatter.ofPattern(partitionName);
+        this.retentionMonths = retentionMonths;
+    }
+
+    public String partitionOf(YearMonth month) {
+        return identifier(partitionName.format(month));
+    }
+
+    /**
+     * @return le mois couvert par la partition, vide si le nom ne suit pas le format
+     */
+    public Optional<YearMonth> monthOf(String partition) {
+        try {
+            return Optional.of(YearMonth.parse(partition, partitionName));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String qualifiedName() {
+        return schema + "." + table;
+    }
+
+    static String identifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Identifiant SQL invalide : " + name);
+        }
+        return name;
+    }
+
+    void recordState(long partitionCount, long totalBytes, long monthsAhead) {
+        this.partitionCount = partitionCount;
+        this.totalBytes = totalBytes;
+        this.monthsAhead = monthsAhead;
+    }
+
+    // Getters
+    public String getSchema() { return schema; }
+
+    public String getTable() { return table; }
+
+    public int getRetentionMonths() { return retentionMonths; }
+
+    public long getPartitionCount() { return partitionCount; }
+
+    public long getTotalBytes() { return totalBytes; }
+
+    public long getMonthsAhead() { return monthsAhead; }
+}
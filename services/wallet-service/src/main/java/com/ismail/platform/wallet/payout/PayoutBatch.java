@@ -0,0 +1,85 @@
+package com.ismail.platform.wallet.payout;
+
+import com.ismail.platform.wallet.ledger.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lot de versements et avancement de son application
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class PayoutBatch {
+
+    public enum Source {
+        UPLOAD, COMMISSIONS
+    }
+
+    public enum Status {
+        RECEIVING, PENDING, COMPLETED
+    }
+
+    private final UUID id;
+    private final Source source;
+    private final TransactionType transactionType;
+    private final String currency;
+    private final Status status;
+    private final int totalItems;
+    private final int appliedItems;
+    private final int duplicateItems;
+    private final int rejectedItems;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime completedAt;
+
+    public PayoutBatch(UUID id, Source source, TransactionType transactionType, String currency, Status status,
+                       int totalItems, int appliedItems, int duplicateItems, int rejectedItems,
+                       LocalDateTime createdAt, LocalDateTime startedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.source = source;
+        this.transactionType = transactionType;
+        this.currency = currency;
+        this.status = status;
+        this.totalItems = totalItems;
+        this.appliedItems = appliedItems;
+        this.duplicateItems = duplicateItems;
+        this.rejectedItems = rejectedItems;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * @return le nombre de lignes restant à appliquer
+     */
+    public int getPendingItems() {
+        return totalItems - appliedItems - duplicateItems - rejectedItems;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+
+    public Source getSource() { return source; }
+
+    public TransactionType getTransactionType() { return transactionType; }
+
+    public String getCurrency() { return currency; }
+
+    public Status getStatus() { return status; }
+
+    public int getTotalItems() { return totalItems; }
+
+    public int getAppliedItems() { return appliedItems; }
+
+    public int getDuplicateItems() { return duplicateItems; }
+
+    public int getRejectedItems() { return rejectedItems; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
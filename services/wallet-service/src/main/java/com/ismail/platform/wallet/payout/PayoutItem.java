@@ -0,0 +1,90 @@
+package com.ismail.platform.wallet.payout;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne d'un lot de versements et son résultat
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class PayoutItem {
+
+    public enum Status {
+        PENDING,
+        APPLIED,
+        /** Référence déjà utilisée : rien n'est crédité */
+        DUPLICATE,
+        REJECTED
+    }
+
+    private final int lineNumber;
+    private final UUID walletId;
+    private final BigDecimal amount;
+    private final String reference;
+    private final String description;
+    private final UUID commissionId;
+    private Status status;
+    private UUID transactionId;
+    private String error;
+    private LocalDateTime processedAt;
+
+    public PayoutItem(int lineNumber, UUID walletId, BigDecimal amount, String reference, String description,
+                      UUID commissionId, Status status, UUID transactionId, String error, LocalDateTime processedAt) {
+        this.lineNumber = lineNumber;
+        this.walletId = walletId;
+        this.amount = amount;
+        this.reference = reference;
+        this.description = description;
+        this.commissionId = commissionId;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+        this.processedAt = processedAt;
+    }
+
+    void applied(UUID transactionId) {
+        resolve(Status.APPLIED, transactionId, null);
+    }
+
+    /**
+     * @param transactionId transaction portant déjà la référence, si elle est connue
+     */
+    void duplicate(UUID transactionId) {
+        resolve(Status.DUPLICATE, transactionId, "Référence déjà utilisée");
+    }
+
+    void rejected(String error) {
+        resolve(Status.REJECTED, null, error);
+    }
+
+    private void resolve(Status status, UUID transactionId, String error) {
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public int getLineNumber() { return lineNumber; }
+
+    public UUID getWalletId() { return walletId; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public String getReference() { return reference; }
+
+    public String getDescription() { return description; }
+
+    public UUID getCommissionId() { return commissionId; }
+
+    public Status getStatus() { return status; }
+
+    public UUID getTransactionId() { return transactionId; }
+
+    public String getError() { return error; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+}
@@ -0,0 +1,320 @@
+package com.ismail.platform.wallet.payout;
+
+import com.ismail.platform.wallet.exception.ServiceOverloadedException;
+import com.ismail.platform.wallet.exception.WalletNotActiveException;
+import com.ismail.platform.wallet.exception.WalletNotFoundException;
+import com.ismail.platform.wallet.ledger.LedgerEntry;
+import com.ismail.platform.wallet.ledger.LedgerPosting;
+import com.ismail.platform.wallet.ledger.LedgerWriter;
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application asynchrone des lots de versements
+ *
+ * Un lot est pris en charge sous bail par une seule instance, puis appliqué
+ * par tranches de {@code chunk-size} lignes lues par portefeuille croissant :
+ * les écritures d'une tranche sont soumises ensemble à l'écrivain du
+ * registre, qui les valide par transactions de plusieurs centaines
+ * d'écritures en verrouillant chaque portefeuille une seule fois. Le
+ * résultat des lignes de la tranche est enregistré en une transaction, avec
+ * l'avancement du lot et le solde des commissions versées.
+ *
+ * Avant soumission, les références déjà portées par une transaction sont
+ * écartées : une ligne n'est jamais créditée deux fois, même lorsque le lot
+ * est repris après l'arrêt de l'instance entre l'écriture d'une tranche et
+ * l'enregistrement de son résultat. Une erreur inattendue laisse les lignes
+ * concernées à appliquer et libère le lot, repris au passage suivant.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class PayoutProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayoutProcessor.class);
+
+    // Attente avant une nouvelle soumission lorsque la file du registre est pleine
+    private static final long OVERLOAD_BACKOFF_MILLIS = 20;
+    private static final int MAX_OVERLOAD_RETRIES = 500;
+
+    private final PayoutRepository payoutRepository;
+    private final LedgerWriter ledgerWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+    private final Duration retryDelay;
+    private final String leaseOwner;
+
+    private final ExecutorService runner;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean running = true;
+
+    private final Counter appliedItems;
+    private final Counter duplicateItems;
+    private final Counter rejectedItems;
+    private final Timer chunkTimer;
+    private final AtomicLong batchThroughput = new AtomicLong();
+
+    @Autowired
+    public PayoutProcessor(PayoutRepository payoutRepository,
+                           LedgerWriter ledgerWriter,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${ismail.wallet.payouts.chunk-size:1000}") int chunkSize,
+                           @Value("${ismail.wallet.payouts.lease-duration:PT2M}") Duration leaseDuration,
+                           @Value("${ismail.wallet.payouts.retry-delay:PT30S}") Duration retryDelay) {
+        this.payoutRepository = payoutRepository;
+        this.ledgerWriter = ledgerWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+        this.retryDelay = retryDelay;
+        this.leaseOwner = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.runner = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("payout-processor").daemon(true).factory());
+
+        this.appliedItems = itemCounter(meterRegistry, "applied");
+        this.duplicateItems = itemCounter(meterRegistry, "duplicate");
+        this.rejectedItems = itemCounter(meterRegistry, "rejected");
+        this.chunkTimer = Timer.builder("ismail.wallet.payouts.chunk")
+                .description("Durée d'application d'une tranche de versements")
+                .register(meterRegistry);
+        Gauge.builder("ismail.wallet.payouts.throughput", batchThroughput, AtomicLong::get)
+                .description("Débit du lot en cours ou du dernier lot appliqué (lignes/s)")
+                .register(meterRegistry);
+    }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ismail.wallet.payouts.items")
+                .tag("outcome", outcome)
+                .description("Lignes de versement traitées")
+                .register(meterRegistry);
+    }
+
+    // =====================================================
+    // PLANIFICATION
+    // =====================================================
+
+    /**
+     * Demande l'application des lots en attente ; sans effet si un passage
+     * est déjà planifié
+     */
+    public void wakeUp() {
+        if (!running || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runner.execute(() -> {
+                scheduled.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            logger.debug("Application des versements non planifiée: arrêt en cours");
+        }
+    }
+
+    /**
+     * Reprend les lots en attente, notamment ceux d'une instance disparue
+     */
+    @Scheduled(fixedDelayString = "${ismail.wallet.payouts.poll-interval:PT30S}",
+               initialDelayString = "${ismail.wallet.payouts.poll-interval:PT30S}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        runner.shutdown();
+    }
+
+    private void drain() {
+        while (running) {
+            Optional<UUID> batchId;
+            try {
+                batchId = payoutRepository.claimNextBatch(leaseOwner, leaseDuration);
+            } catch (Exception e) {
+                logger.warn("Prise en charge des lots de versements impossible: {}", e.getMessage());
+                return;
+            }
+            if (batchId.isEmpty()) {
+                return;
+            }
+            process(batchId.get());
+        }
+    }
+
+    // =====================================================
+    // APPLICATION
+    // =====================================================
+
+    void process(UUID batchId) {
+        PayoutBatch batch = payoutRepository.findBatch(batchId).orElse(null);
+        if (batch == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        long processed = 0;
+        UUID afterWalletId = new UUID(0, 0); // Plus petit identifiant dans l'ordre de PostgreSQL
+        int afterLine = 0;
+        try {
+            while (running) {
+                List<PayoutItem> chunk = payoutRepository.findPendingItems(batchId, afterWalletId, afterLine, chunkSize);
+                if (chunk.isEmpty()) {
+                    payoutRepository.completeBatch(batchId, leaseOwner);
+                    logger.info("Lot de versements {} appliqué: {} lignes en {} ms", batchId, processed,
+                            Duration.ofNanos(System.nanoTime() - started).toMillis());
+                    return;
+                }
+                PayoutItem last = chunk.get(chunk.size() - 1);
+                afterWalletId = last.getWalletId();
+                afterLine = last.getLineNumber();
+
+                boolean complete = chunkTimer.record(() -> applyChunk(batch, chunk));
+                processed += chunk.size();
+                batchThroughput.set(processed * 1_000_000_000L / Math.max(1, System.nanoTime() - started));
+                if (!complete) {
+                    payoutRepository.releaseBatch(batchId, leaseOwner, retryDelay);
+                    logger.warn("Lot de versements {} interrompu, reprise dans {}", batchId, retryDelay);
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Échec de l'application du lot de versements {}", batchId, e);
+            try {
+                payoutRepository.releaseBatch(batchId, leaseOwner, retryDelay);
+            } catch (Exception releaseFailure) {
+                logger.warn("Libération du lot {} impossible: {}", batchId, releaseFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Applique une tranche et enregistre son résultat
+     *
+     * @return false si des lignes restent à appliquer après une erreur inattendue
+     */
+    boolean applyChunk(PayoutBatch batch, List<PayoutItem> chunk) {
+        payoutRepository.resolveExisting(batch.getId(), chunk);
+
+        List<PayoutItem> submitted = new ArrayList<>(chunk.size());
+        List<CompletableFuture<LedgerPosting>> postings = new ArrayList<>(chunk.size());
+        for (PayoutItem item : chunk) {
+            if (item.getStatus() != PayoutItem.Status.PENDING) {
+                continue;
+            }
+            LedgerEntry entry;
+            try {
+                entry = new LedgerEntry(item.getWalletId(), batch.getTransactionType(),
+                        Money.of(item.getAmount(), batch.getCurrency()), null, item.getReference(),
+                        item.getDescription(), PayoutRepository.PAYMENT_METHOD, batch.getId().toString());
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                item.rejected("Montant invalide pour la devise " + batch.getCurrency());
+                continue;
+            }
+            submitted.add(item);
+            postings.add(submit(entry));
+        }
+
+        boolean complete = true;
+        for (int i = 0; i < submitted.size(); i++) {
+            PayoutItem item = submitted.get(i);
+            try {
+                item.applied(postings.get(i).join().getTransactionId());
+            } catch (CompletionException e) {
+                complete &= resolveFailure(item, e.getCause());
+            }
+        }
+
+        List<PayoutItem> resolved = chunk.stream()
+                .filter(item -> item.getStatus() != PayoutItem.Status.PENDING)
+                .toList();
+        if (!resolved.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    payoutRepository.recordResults(batch.getId(), resolved, leaseOwner, leaseDuration));
+        }
+        for (PayoutItem item : resolved) {
+            switch (item.getStatus()) {
+                case APPLIED -> appliedItems.increment();
+                case DUPLICATE -> duplicateItems.increment();
+                case REJECTED -> rejectedItems.increment();
+                default -> { }
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Soumet l'écriture au registre, en attendant que sa file se libère
+     */
+    private CompletableFuture<LedgerPosting> submit(LedgerEntry entry) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return ledgerWriter.submit(entry);
+            } catch (ServiceOverloadedException e) {
+                if (!running || attempt >= MAX_OVERLOAD_RETRIES) {
+                    return CompletableFuture.failedFuture(e);
+                }
+                try {
+                    Thread.sleep(OVERLOAD_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false si la ligne reste à appliquer
+     */
+    private static boolean resolveFailure(PayoutItem item, Throwable failure) {
+        if (failure instanceof DuplicateKeyException) {
+            item.duplicate(null);
+        } else if (failure instanceof WalletNotFoundException || failure instanceof WalletNotActiveException
+                || failure instanceof IllegalArgumentException) {
+            item.rejected(failure.getMessage());
+        } else {
+            logger.warn("Ligne {} non appliquée: {}", item.getLineNumber(), failure.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "wallet-service";
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.ismail.platform.wallet.payout;
+
+import com.ismail.platform.wallet.ledger.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Accès aux lots de versements et à leurs lignes
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class PayoutRepository {
+
+    /** Moyen de paiement des transactions écrites par les lots, dont la référence de paiement est l'identifiant du lot */
+    public static final String PAYMENT_METHOD = "BULK_PAYOUT";
+
+    private static final String INSERT_BATCH_SQL =
+            "INSERT INTO core.payout_batches (id, source, transaction_type, currency, created_by) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO core.payout_items (batch_id, line_number, wallet_id, amount, reference, description, " +
+            "status, error, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Commissions calculées de la période qu'aucun lot ne verse déjà, sur le portefeuille du commercial dans leur devise ;
+    // une commission nulle ou plus précise que sa devise est rejetée plutôt que versée arrondie
+    private static final String INSERT_COMMISSION_ITEMS_SQL =
+            "INSERT INTO core.payout_items (batch_id, line_number, wallet_id, amount, reference, description, " +
+            "commission_id, status, error, processed_at) " +
+            "SELECT ?, ROW_NUMBER() OVER (ORDER BY c.id), w.id, c.commission_amount, 'COMMISSION-' || c.id, " +
+            "       'Commission ' || c.commission_type || ' ' || c.period_start || ' - ' || c.period_end, c.id, " +
+            "       CASE WHEN e.error IS NULL THEN 'PENDING' ELSE 'REJECTED' END, e.error, " +
+            "       CASE WHEN e.error IS NOT NULL THEN NOW() END " +
+            "FROM core.commissions c " +
+            "LEFT JOIN core.wallets w ON w.user_id = c.commercial_id AND w.currency = c.currency " +
+            "CROSS JOIN LATERAL (SELECT CASE " +
+            "    WHEN w.id IS NULL THEN 'Portefeuille introuvable' " +
+            "    WHEN c.commission_amount <= 0 THEN 'Commission nulle' " +
+            "    WHEN core.currency_scale(c.currency) IS NULL THEN 'Décimales de la devise inconnues' " +
+            "    WHEN c.commission_amount <> ROUND(c.commission_amount, core.currency_scale(c.currency)) " +
+            "        THEN 'Montant plus précis que la devise, commission à recalculer' " +
+            "    END AS error) e " +
+            "WHERE c.status = 'CALCULATED' AND c.period_start = ? AND c.period_end = ? AND c.currency = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM core.payout_items i " +
+            "    WHERE i.commission_id = c.id AND i.status IN ('PENDING', 'APPLIED'))";
+
+    private static final String COUNT_ITEMS_SQL =
+            "SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE status = 'REJECTED') AS rejected " +
+            "FROM core.payout_items WHERE batch_id = ?";
+
+    private static final String OPEN_BATCH_SQL =
+            "UPDATE core.payout_batches SET status = 'PENDING', total_items = ?, duplicate_items = ?, " +
+            "rejected_items = ?, updated_at = NOW() WHERE id = ? AND status = 'RECEIVING'";
+
+    private static final String DELETE_BATCH_SQL =
+            "DELETE FROM core.payout_batches WHERE id = ?";
+
+    private static final String FIND_BATCH_SQL =
+            "SELECT id, source, transaction_type, currency, status, total_items, applied_items, duplicate_items, " +
+            "rejected_items, created_at, started_at, completed_at FROM core.payout_batches WHERE id = ?";
+
+    private static final String CLAIM_BATCH_SQL =
+            "UPDATE core.payout_batches " +
+            "SET lease_owner = ?, lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', " +
+            "    started_at = COALESCE(started_at, NOW()), updated_at = NOW() " +
+            "WHERE id = (SELECT id FROM core.payout_batches " +
+            "    WHERE status = 'PENDING' AND (lease_expires_at IS NULL OR lease_expires_at < NOW()) " +
+            "    ORDER BY created_at LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id";
+
+    private static final String PENDING_ITEMS_SQL =
+            "SELECT line_number, wallet_id, amount, reference, description, commission_id FROM core.payout_items " +
+            "WHERE batch_id = ? AND status = 'PENDING' AND (wallet_id, line_number) > (?, ?) " +
+            "ORDER BY wallet_id, line_number LIMIT ?";
+
+    // Les références sont lues dans core.transaction_references, où leur unicité est garantie
+    private static final String EXISTING_REFERENCES_SQL =
+            "SELECT reference, transaction_id, payment_method = ? AND payment_reference = ? AS own " +
+            "FROM core.transaction_references WHERE reference = ANY(?)";
+
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE core.payout_items SET status = ?, transaction_id = ?, error = ?, processed_at = ? " +
+            "WHERE batch_id = ? AND line_number = ?";
+
+    private static final String PAY_COMMISSION_SQL =
+            "UPDATE core.commissions SET status = 'PAID', paid_at = NOW(), payment_reference = ? " +
+            "WHERE id = ? AND status = 'CALCULATED' AND commission_amount = ?";
+
+    private static final String PROGRESS_SQL =
+            "UPDATE core.payout_batches SET applied_items = applied_items + ?, duplicate_items = duplicate_items + ?, " +
+            "rejected_items = rejected_items + ?, lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', " +
+            "updated_at = NOW() WHERE id = ? AND lease_owner = ?";
+
+    private static final String COMPLETE_BATCH_SQL =
+            "UPDATE core.payout_batches SET status = 'COMPLETED', completed_at = NOW(), updated_at = NOW(), " +
+            "lease_owner = NULL, lease_expires_at = NULL WHERE id = ? AND lease_owner = ?";
+
+    private static final String RELEASE_BATCH_SQL =
+            "UPDATE core.payout_batches SET lease_expires_at = NOW() + ? * INTERVAL '1 millisecond', updated_at = NOW() " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String ITEMS_SQL =
+            "SELECT line_number, wallet_id, amount, reference, description, commission_id, status, transaction_id, " +
+            "error, processed_at FROM core.payout_items WHERE batch_id = ? AND (CAST(? AS VARCHAR) IS NULL OR status = ?) " +
+            "ORDER BY line_number";
+
+    private static final RowMapper<PayoutBatch> BATCH_ROW_MAPPER = (rs, rowNum) -> new PayoutBatch(
+            rs.getObject("id", UUID.class),
+            PayoutBatch.Source.valueOf(rs.getString("source")),
+            TransactionType.valueOf(rs.getString("transaction_type")),
+            rs.getString("currency"),
+            PayoutBatch.Status.valueOf(rs.getString("status")),
+            rs.getInt("total_items"),
+            rs.getInt("applied_items"),
+            rs.getInt("duplicate_items"),
+            rs.getInt("rejected_items"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("started_at")),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    private static final RowMapper<PayoutItem> ITEM_ROW_MAPPER = (rs, rowNum) -> new PayoutItem(
+            rs.getInt("line_number"),
+            rs.getObject("wallet_id", UUID.class),
+            rs.getBigDecimal("amount"),
+            rs.getString("reference"),
+            rs.getString("description"),
+            rs.getObject("commission_id", UUID.class),
+            PayoutItem.Status.valueOf(rs.getString("status")),
+            rs.getObject("transaction_id", UUID.class),
+            rs.getString("error"),
+            toLocalDateTime(rs.getTimestamp("processed_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PayoutRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // =====================================================
+    // RÉCEPTION
+    // =====================================================
+
+    public void insertBatch(UUID batchId, PayoutBatch.Source source, TransactionType type, String currency,
+                            UUID createdBy) {
+        jdbcTemplate.update(INSERT_BATCH_SQL, batchId, source.name(), type.name(), currency, createdBy);
+    }
+
+    public void insertItems(UUID batchId, List<PayoutItem> items) {
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items, items.size(), (ps, item) -> {
+            ps.setObject(1, batchId);
+            ps.setInt(2, item.getLineNumber());
+            ps.setObject(3, item.getWalletId());
+            ps.setBigDecimal(4, item.getAmount());
+            ps.setString(5, item.getReference());
+            ps.setString(6, item.getDescription());
+            ps.setString(7, item.getStatus().name());
+            ps.setString(8, item.getError());
+            ps.setTimestamp(9, item.getProcessedAt() == null ? null : Timestamp.valueOf(item.getProcessedAt()));
+        });
+    }
+
+    /**
+     * Reprend les commissions calculées de la période ; à exécuter dans une transaction
+     *
+     * Chaque ligne porte le montant exact de sa commission : une commission
+     * nulle, plus précise que sa devise ou sans portefeuille est rejetée et
+     * reste calculée jusqu'à sa correction.
+     *
+     * @return le nombre de lignes et le nombre de lignes rejetées
+     */
+    public int[] insertCommissionItems(UUID batchId, LocalDate periodStart, LocalDate periodEnd, String currency) {
+        jdbcTemplate.update(INSERT_COMMISSION_ITEMS_SQL, batchId,
+                Date.valueOf(periodStart), Date.valueOf(periodEnd), currency);
+        return jdbcTemplate.queryForObject(COUNT_ITEMS_SQL,
+                (rs, rowNum) -> new int[] {rs.getInt("total"), rs.getInt("rejected")}, batchId);
+    }
+
+    /**
+     * Rend le lot reçu disponible pour son application
+     */
+    public void openBatch(UUID batchId, int totalItems, int duplicateItems, int rejectedItems) {
+        jdbcTemplate.update(OPEN_BATCH_SQL, totalItems, duplicateItems, rejectedItems, batchId);
+    }
+
+    public void deleteBatch(UUID batchId) {
+        jdbcTemplate.update(DELETE_BATCH_SQL, batchId);
+    }
+
+    public Optional<PayoutBatch> findBatch(UUID batchId) {
+        return jdbcTemplate.query(FIND_BATCH_SQL, BATCH_ROW_MAPPER, batchId).stream().findFirst();
+    }
+
+    // =====================================================
+    // APPLICATION
+    // =====================================================
+
+    /**
+     * Prend en charge le plus ancien lot à appliquer dont le bail est libre
+     */
+    public Optional<UUID> claimNextBatch(String owner, Duration lease) {
+        return jdbcTemplate.queryForList(CLAIM_BATCH_SQL, UUID.class, owner, lease.toMillis()).stream().findFirst();
+    }
+
+    /**
+     * @return les lignes à appliquer qui suivent ({@code afterWalletId}, {@code afterLine}),
+     *         par portefeuille croissant
+     */
+    public List<PayoutItem> findPendingItems(UUID batchId, UUID afterWalletId, int afterLine, int limit) {
+        return jdbcTemplate.query(PENDING_ITEMS_SQL, (rs, rowNum) -> new PayoutItem(
+                rs.getInt("line_number"),
+                rs.getObject("wallet_id", UUID.class),
+                rs.getBigDecimal("amount"),
+                rs.getString("reference"),
+                rs.getString("description"),
+                rs.getObject("commission_id", UUID.class),
+                PayoutItem.Status.PENDING, null, null, null
+        ), batchId, afterWalletId, afterLine, limit);
+    }
+
+    /**
+     * Résout les lignes dont la référence est déjà portée par une transaction :
+     * appliquées si la transaction vient du lot lui-même (tranche écrite dont
+     * le résultat n'a pas été enregistré), doublons sinon
+     */
+    public void resolveExisting(UUID batchId, List<PayoutItem> items) {
+        Map<String, PayoutItem> byReference = new HashMap<>();
+        items.forEach(item -> byReference.put(item.getReference(), item));
+        if (byReference.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXISTING_REFERENCES_SQL);
+            statement.setString(1, PAYMENT_METHOD);
+            statement.setString(2, batchId.toString());
+            statement.setArray(3, connection.createArrayOf("varchar", byReference.keySet().toArray()));
+            return statement;
+        }, rs -> {
+            PayoutItem item = byReference.get(rs.getString("reference"));
+            UUID transactionId = rs.getObject("transaction_id", UUID.class);
+            if (rs.getBoolean("own")) {
+                item.applied(transactionId);
+            } else {
+                item.duplicate(transactionId);
+            }
+        });
+    }
+
+    /**
+     * Enregistre le résultat des lignes traitées, solde les commissions
+     * versées et prolonge le bail ; à exécuter dans une transaction
+     *
+     * Une commission n'est soldée que si son montant est toujours celui de
+     * la ligne versée.
+     *
+     * @throws IllegalStateException si le lot n'est plus tenu par {@code owner}
+     */
+    public void recordResults(UUID batchId, List<PayoutItem> items, String owner, Duration lease) {
+        int applied = 0;
+        int duplicates = 0;
+        int rejected = 0;
+        List<Object[]> paidCommissions = new ArrayList<>();
+        for (PayoutItem item : items) {
+            switch (item.getStatus()) {
+                case APPLIED -> applied++;
+                case DUPLICATE -> duplicates++;
+                case REJECTED -> rejected++;
+                default -> { }
+            }
+            if (item.getCommissionId() != null
+                    && (item.getStatus() == PayoutItem.Status.APPLIED || item.getStatus() == PayoutItem.Status.DUPLICATE)) {
+                paidCommissions.add(new Object[] {item.getReference(), item.getCommissionId(), item.getAmount()});
+            }
+        }
+        if (jdbcTemplate.update(PROGRESS_SQL, applied, duplicates, rejected, lease.toMillis(), batchId, owner) != 1) {
+            throw new IllegalStateException("Lot de versements " + batchId + " repris par une autre instance");
+        }
+        jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, items, items.size(), (ps, item) -> {
+            ps.setString(1, item.getStatus().name());
+            ps.setObject(2, item.getTransactionId());
+            ps.setString(3, item.getError());
+            ps.setTimestamp(4, Timestamp.valueOf(item.getProcessedAt()));
+            ps.setObject(5, batchId);
+            ps.setInt(6, item.getLineNumber());
+        });
+        if (!paidCommissions.isEmpty()) {
+            jdbcTemplate.batchUpdate(PAY_COMMISSION_SQL, paidCommissions);
+        }
+    }
+
+    public void completeBatch(UUID batchId, String owner) {
+        jdbcTemplate.update(COMPLETE_BATCH_SQL, batchId, owner);
+    }
+
+    /**
+     * Libère le lot, repris par le prochain passage après {@code delay}
+     */
+    public void releaseBatch(UUID batchId, String owner, Duration delay) {
+        jdbcTemplate.update(RELEASE_BATCH_SQL, delay.toMillis(), batchId, owner);
+    }
+
+    // =====================================================
+    // RÉSULTATS
+    // =====================================================
+
+    /**
+     * Parcourt les lignes du lot par numéro de ligne, par un curseur serveur
+     * ({@code fetchSize}) ; à exécuter dans une transaction
+     *
+     * @param status statut des lignes à lire, ou null pour toutes
+     */
+    public void streamItems(UUID batchId, PayoutItem.Status status, int fetchSize, Consumer<PayoutItem> consumer) {
+        String statusName = status == null ? null : status.name();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ITEMS_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setObject(1, batchId);
+            statement.setString(2, statusName);
+            statement.setString(3, statusName);
+            return statement;
+        }, rs -> {
+            consumer.accept(ITEM_ROW_MAPPER.mapRow(rs, 0));
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
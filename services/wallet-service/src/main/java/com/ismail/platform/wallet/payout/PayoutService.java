@@ -0,0 +1,245 @@
+package com.ismail.platform.wallet.payout;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ismail.platform.wallet.dto.request.PayoutEntryRequest;
+import com.ismail.platform.wallet.dto.response.PayoutItemResponse;
+import com.ismail.platform.wallet.exception.PayoutBatchNotFoundException;
+import com.ismail.platform.wallet.ledger.TransactionType;
+import com.ismail.platform.wallet.money.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Réception et suivi des lots de versements
+ *
+ * Les lignes d'un lot (tableau JSON ou NDJSON) sont lues au fil du flux et
+ * enregistrées par paquets de {@code chunk-size} : un lot de plusieurs
+ * centaines de milliers de lignes n'est jamais chargé en mémoire. Chaque
+ * ligne est contrôlée à la réception ; une ligne invalide est rejetée avec
+ * son motif et une référence répétée dans le lot est écartée comme doublon,
+ * sans faire échouer les autres lignes. Le lot est ensuite appliqué de façon
+ * asynchrone par {@link PayoutProcessor}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class PayoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayoutService.class);
+
+    private static final int MAX_REFERENCE_LENGTH = 100;
+    // Partie entière de DECIMAL(15,2)
+    private static final int MAX_INTEGER_DIGITS = 13;
+
+    private final PayoutRepository payoutRepository;
+    private final PayoutProcessor payoutProcessor;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int maxItems;
+    private final int exportFetchSize;
+
+    @Autowired
+    public PayoutService(PayoutRepository payoutRepository,
+                         PayoutProcessor payoutProcessor,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${ismail.wallet.payouts.chunk-size:1000}") int chunkSize,
+                         @Value("${ismail.wallet.payouts.max-items:200000}") int maxItems,
+                         @Value("${ismail.wallet.payouts.export-fetch-size:1000}") int exportFetchSize) {
+        this.payoutRepository = payoutRepository;
+        this.payoutProcessor = payoutProcessor;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    // =====================================================
+    // CRÉATION
+    // =====================================================
+
+    /**
+     * Enregistre un lot de versements lu depuis un tableau JSON ou un flux NDJSON
+     *
+     * @throws IllegalArgumentException si le type de transaction n'est pas un
+     *         crédit, si le flux est illisible ou dépasse {@code max-items} lignes
+     */
+    public PayoutBatch createFromStream(InputStream in, TransactionType type, String currency, UUID createdBy) {
+        requireCredit(type);
+        int scale = Money.scaleOf(currency);
+
+        UUID batchId = UUID.randomUUID();
+        payoutRepository.insertBatch(batchId, PayoutBatch.Source.UPLOAD, type, currency, createdBy);
+        try {
+            int[] counts = readItems(batchId, in, scale);
+            payoutRepository.openBatch(batchId, counts[0], counts[1], counts[2]);
+        } catch (RuntimeException e) {
+            payoutRepository.deleteBatch(batchId);
+            throw e;
+        }
+        logger.info("Lot de versements {} reçu", batchId);
+        payoutProcessor.wakeUp();
+        return getBatch(batchId);
+    }
+
+    /**
+     * @return le nombre de lignes, de doublons et de lignes rejetées
+     */
+    private int[] readItems(UUID batchId, InputStream in, int scale) {
+        Set<String> references = new HashSet<>();
+        List<PayoutItem> chunk = new ArrayList<>(chunkSize);
+        int[] counts = new int[3];
+        try (MappingIterator<PayoutEntryRequest> entries = objectMapper.readerFor(PayoutEntryRequest.class).readValues(in)) {
+            while (entries.hasNextValue()) {
+                PayoutEntryRequest entry = entries.nextValue();
+                if (++counts[0] > maxItems) {
+                    throw new IllegalArgumentException("Un lot de versements est limité à " + maxItems + " lignes");
+                }
+                PayoutItem item = toItem(counts[0], entry, scale, references);
+                if (item.getStatus() == PayoutItem.Status.DUPLICATE) {
+                    counts[1]++;
+                } else if (item.getStatus() == PayoutItem.Status.REJECTED) {
+                    counts[2]++;
+                }
+                chunk.add(item);
+                if (chunk.size() == chunkSize) {
+                    payoutRepository.insertItems(batchId, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        } catch (RuntimeJsonMappingException e) {
+            throw new IllegalArgumentException("Ligne " + (counts[0] + 1) + " du lot illisible: "
+                    + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Lot de versements illisible: " + e.getMessage(), e);
+        }
+        if (!chunk.isEmpty()) {
+            payoutRepository.insertItems(batchId, chunk);
+        }
+        if (counts[0] == 0) {
+            throw new IllegalArgumentException("Le lot de versements ne contient aucune ligne");
+        }
+        return counts;
+    }
+
+    /**
+     * Contrôle une ligne reçue ; les références des lignes retenues sont
+     * ajoutées à {@code references}
+     */
+    static PayoutItem toItem(int lineNumber, PayoutEntryRequest entry, int scale, Set<String> references) {
+        BigDecimal amount = entry.getAmount();
+        String reference = entry.getReference() == null ? null : entry.getReference().strip();
+        String error = null;
+        if (entry.getWalletId() == null) {
+            error = "Portefeuille manquant";
+        } else if (amount == null || amount.signum() <= 0) {
+            error = "Montant invalide";
+            amount = null;
+        } else if (amount.stripTrailingZeros().scale() > scale) {
+            error = "Montant invalide pour la devise: " + scale + " décimales au plus";
+            amount = null;
+        } else if (amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            error = "Montant trop élevé";
+            amount = null;
+        } else if (reference == null || reference.isEmpty()) {
+            error = "Référence manquante";
+            reference = null;
+        } else if (reference.length() > MAX_REFERENCE_LENGTH) {
+            error = "Référence trop longue: " + MAX_REFERENCE_LENGTH + " caractères au plus";
+            reference = null;
+        }
+
+        PayoutItem item = new PayoutItem(lineNumber, entry.getWalletId(), amount, reference, entry.getDescription(),
+                null, PayoutItem.Status.PENDING, null, null, null);
+        if (error != null) {
+            item.rejected(error);
+        } else if (!references.add(reference)) {
+            item.duplicate(null);
+        }
+        return item;
+    }
+
+    /**
+     * Crée le lot de versement des commissions calculées d'une période
+     *
+     * @throws IllegalArgumentException si aucune commission n'est à verser
+     */
+    public PayoutBatch createForCommissions(LocalDate periodStart, LocalDate periodEnd, String currency,
+                                            UUID createdBy) {
+        UUID batchId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            payoutRepository.insertBatch(batchId, PayoutBatch.Source.COMMISSIONS, TransactionType.COMMISSION,
+                    currency, createdBy);
+            int[] counts = payoutRepository.insertCommissionItems(batchId, periodStart, periodEnd, currency);
+            if (counts[0] == 0) {
+                throw new IllegalArgumentException("Aucune commission à verser du " + periodStart + " au " + periodEnd);
+            }
+            payoutRepository.openBatch(batchId, counts[0], 0, counts[1]);
+        });
+        logger.info("Lot de versement des commissions du {} au {} créé: {}", periodStart, periodEnd, batchId);
+        payoutProcessor.wakeUp();
+        return getBatch(batchId);
+    }
+
+    private static void requireCredit(TransactionType type) {
+        if (type == null || !type.isCredit()) {
+            throw new IllegalArgumentException("Un lot de versements ne crée que des crédits");
+        }
+    }
+
+    // =====================================================
+    // SUIVI
+    // =====================================================
+
+    public PayoutBatch getBatch(UUID batchId) {
+        return payoutRepository.findBatch(batchId)
+                .orElseThrow(() -> new PayoutBatchNotFoundException("Lot de versements introuvable"));
+    }
+
+    /**
+     * Écrit en NDJSON le résultat des lignes du lot
+     *
+     * @param status statut des lignes à exporter, ou null pour toutes
+     */
+    public void exportItems(UUID batchId, PayoutItem.Status status, OutputStream out) {
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            readOnlyTransaction.executeWithoutResult(transaction ->
+                    payoutRepository.streamItems(batchId, status, exportFetchSize, item -> {
+                        try {
+                            writer.write(PayoutItemResponse.from(item));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'export des lignes du lot de versements", e);
+        }
+    }
+}
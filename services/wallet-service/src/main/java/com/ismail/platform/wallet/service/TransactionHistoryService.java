@@ -0,0 +1,138 @@
+package com.ismail.platform.wallet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ismail.platform.wallet.dto.response.TransactionPageResponse;
+import com.ismail.platform.wallet.dto.response.TransactionResponse;
+import com.ismail.platform.wallet.transaction.TransactionCursor;
+import com.ismail.platform.wallet.transaction.TransactionHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Historique des transactions d'un portefeuille
+ *
+ * Deux modes de lecture :
+ * - pages bornées parcourues par curseur opaque ({@link TransactionCursor}),
+ *   sans décompte total ;
+ * - export NDJSON (une transaction JSON par ligne) lu par curseur serveur et
+ *   écrit au fil de l'eau, sans matérialiser l'historique en mémoire.
+ *
+ * Toute lecture porte sur une période bornée afin que PostgreSQL n'ouvre
+ * que les partitions mensuelles concernées de {@code core.transactions}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class TransactionHistoryService {
+
+    private final TransactionHistoryRepository historyRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Duration defaultWindow;
+    private final Duration maxWindow;
+    private final Duration maxExportWindow;
+    private final int exportFetchSize;
+
+    @Autowired
+    public TransactionHistoryService(TransactionHistoryRepository historyRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     @Value("${ismail.wallet.history.default-page-size:20}") int defaultPageSize,
+                                     @Value("${ismail.wallet.history.max-page-size:100}") int maxPageSize,
+                                     @Value("${ismail.wallet.history.default-window:P90D}") Duration defaultWindow,
+                                     @Value("${ismail.wallet.history.max-window:P366D}") Duration maxWindow,
+                                     @Value("${ismail.wallet.history.export.max-window:P1827D}") Duration maxExportWindow,
+                                     @Value("${ismail.wallet.history.export.fetch-size:500}") int exportFetchSize) {
+        this.historyRepository = historyRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.defaultWindow = defaultWindow;
+        this.maxWindow = maxWindow;
+        this.maxExportWindow = maxExportWindow;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * Page de l'historique, de la transaction la plus récente à la plus ancienne
+     *
+     * @param cursor curseur renvoyé par la page précédente, ou null
+     * @param from début de période (défaut : {@code default-window} avant {@code to})
+     * @param to fin de période exclue (défaut : maintenant)
+     */
+    public TransactionPageResponse getHistory(UUID userId, String currency, String cursor,
+                                              LocalDateTime from, LocalDateTime to, Integer limit) {
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = clamp(from == null ? end.minus(defaultWindow) : from, end, maxWindow);
+
+        Optional<UUID> walletId = historyRepository.findWalletId(userId, currency);
+        if (walletId.isEmpty()) {
+            return new TransactionPageResponse(List.of(), null);
+        }
+
+        // Une ligne de plus que demandé indique l'existence d'une page suivante
+        List<TransactionResponse> rows = historyRepository.findPage(walletId.get(), start, end, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new TransactionPageResponse(rows, null);
+        }
+        List<TransactionResponse> page = rows.subList(0, pageSize);
+        TransactionResponse last = page.get(pageSize - 1);
+        return new TransactionPageResponse(page,
+                new TransactionCursor(last.getCreatedAt(), last.getTransactionId()).encode());
+    }
+
+    /**
+     * Écrit l'historique de la période au format NDJSON
+     *
+     * Les transactions sont lues par blocs de {@code export.fetch-size} et
+     * sérialisées une à une dans le flux de sortie.
+     */
+    public void exportHistory(UUID userId, String currency, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = clamp(from == null ? end.minus(maxExportWindow) : from, end, maxExportWindow);
+
+        Optional<UUID> walletId = historyRepository.findWalletId(userId, currency);
+        if (walletId.isEmpty()) {
+            return;
+        }
+
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    historyRepository.stream(walletId.get(), start, end, exportFetchSize, transaction -> {
+                        try {
+                            writer.write(transaction);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'export de l'historique des transactions", e);
+        }
+    }
+
+    private static LocalDateTime clamp(LocalDateTime from, LocalDateTime to, Duration maxWindow) {
+        LocalDateTime earliest = to.minus(maxWindow);
+        return from.isBefore(earliest) ? earliest : from;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ismail.platform.wallet.stats;
+
+import com.ismail.platform.wallet.money.Money;
+
+import java.util.UUID;
+
+/**
+ * Cumuls des transactions validées d'un portefeuille
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class WalletStats {
+
+    private final UUID walletId;
+    private final String currency;
+    private final long creditCount;
+    private final Money creditTotal;
+    private final long debitCount;
+    private final Money debitTotal;
+    private final Money feesTotal;
+
+    public WalletStats(UUID walletId, String currency, long creditCount, Money creditTotal,
+                       long debitCount, Money debitTotal, Money feesTotal) {
+        this.walletId = walletId;
+        this.currency = currency;
+        this.creditCount = creditCount;
+        this.creditTotal = creditTotal;
+        this.debitCount = debitCount;
+        this.debitTotal = debitTotal;
+        this.feesTotal = feesTotal;
+    }
+
+    public long getTransactionCount() {
+        return creditCount + debitCount;
+    }
+
+    // Getters
+    public UUID getWalletId() { return walletId; }
+
+    public String getCurrency() { return currency; }
+
+    public long getCreditCount() { return creditCount; }
+
+    public Money getCreditTotal() { return creditTotal; }
+
+    public long getDebitCount() { return debitCount; }
+
+    public Money getDebitTotal() { return debitTotal; }
+
+    public Money getFeesTotal() { return feesTotal; }
+}
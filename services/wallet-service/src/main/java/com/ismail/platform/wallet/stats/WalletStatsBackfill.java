@@ -0,0 +1,121 @@
+package com.ismail.platform.wallet.stats;
+
+import com.ismail.platform.wallet.partition.PartitionManager;
+import com.ismail.platform.wallet.partition.PartitionRepository;
+import com.ismail.platform.wallet.partition.PartitionedTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recalcul des cumuls des mois clos depuis les partitions de {@code core.transactions}
+ *
+ * Chaque partition d'un mois terminé est agrégée une fois, dans sa propre
+ * transaction, et ses cumuls remplacent ceux du mois : l'historique
+ * antérieur aux cumuls est ainsi pris en compte, et les écritures d'un
+ * mois entamé avant le déploiement sont rattrapées à sa clôture. Les
+ * partitions sont traitées en parallèle, chacune par un parcours de sa
+ * seule table.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class WalletStatsBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalletStatsBackfill.class);
+
+    private static final PartitionedTable TRANSACTIONS =
+            new PartitionedTable("core", "transactions", PartitionManager.TRANSACTIONS_PARTITION_NAME, 0);
+
+    private final WalletStatsRepository statsRepository;
+    private final PartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+
+    @Autowired
+    public WalletStatsBackfill(WalletStatsRepository statsRepository,
+                               PartitionRepository partitionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${ismail.wallet.stats.backfill.parallelism:4}") int parallelism) {
+        this.statsRepository = statsRepository;
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(fixedDelayString = "${ismail.wallet.stats.backfill.interval:PT24H}",
+               initialDelayString = "${ismail.wallet.stats.backfill.initial-delay:PT5M}")
+    public void backfillClosedMonths() {
+        List<String> pending;
+        try {
+            pending = pendingPartitions();
+        } catch (Exception e) {
+            logger.warn("Recalcul des cumuls impossible: {}", e.getMessage());
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("wallet-stats-backfill-", 0).daemon(true).factory());
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (String partition : pending) {
+                tasks.add(executor.submit(() -> rebuild(partition)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Échec du recalcul des cumuls", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return les partitions des mois clos pas encore recalculées
+     */
+    List<String> pendingPartitions() {
+        YearMonth currentMonth = partitionRepository.currentMonth();
+        Set<String> done = statsRepository.findBackfilledPartitions();
+        List<String> pending = new ArrayList<>();
+        for (String partition : partitionRepository.findPartitions(TRANSACTIONS).keySet()) {
+            Optional<YearMonth> month = TRANSACTIONS.monthOf(partition);
+            if (month.isPresent() && month.get().isBefore(currentMonth) && !done.contains(partition)) {
+                pending.add(partition);
+            }
+        }
+        return pending;
+    }
+
+    private void rebuild(String partition) {
+        YearMonth month = TRANSACTIONS.monthOf(partition).orElseThrow();
+        try {
+            Long transactions = transactionTemplate.execute(status -> statsRepository.rebuildMonth(partition, month));
+            if (transactions != null && transactions >= 0) {
+                logger.info("Cumuls de {} recalculés: {} transactions", month, transactions);
+            }
+        } catch (Exception e) {
+            logger.error("Échec du recalcul des cumuls de la partition {}", partition, e);
+        }
+    }
+}
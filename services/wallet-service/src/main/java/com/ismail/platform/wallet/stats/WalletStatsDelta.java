@@ -0,0 +1,55 @@
+package com.ismail.platform.wallet.stats;
+
+import com.ismail.platform.wallet.money.Money;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Variation des cumuls d'un portefeuille produite par un lot du registre
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class WalletStatsDelta {
+
+    private final UUID walletId;
+    private final String currency;
+    private int creditCount;
+    private long creditTotal;
+    private int debitCount;
+    private long debitTotal;
+    private long feesTotal;
+
+    public WalletStatsDelta(UUID walletId, String currency) {
+        this.walletId = walletId;
+        this.currency = currency;
+    }
+
+    /**
+     * Ajoute une écriture au cumul
+     */
+    public void add(boolean credit, Money amount, Money fees) {
+        if (credit) {
+            creditCount++;
+            creditTotal = Math.addExact(creditTotal, amount.getMinorUnits());
+        } else {
+            debitCount++;
+            debitTotal = Math.addExact(debitTotal, amount.getMinorUnits());
+        }
+        feesTotal = Math.addExact(feesTotal, fees.getMinorUnits());
+    }
+
+    // Getters
+    public UUID getWalletId() { return walletId; }
+
+    public int getCreditCount() { return creditCount; }
+
+    public BigDecimal getCreditTotal() { return Money.ofMinor(creditTotal, currency).toBigDecimal(); }
+
+    public int getDebitCount() { return debitCount; }
+
+    public BigDecimal getDebitTotal() { return Money.ofMinor(debitTotal, currency).toBigDecimal(); }
+
+    public BigDecimal getFeesTotal() { return Money.ofMinor(feesTotal, currency).toBigDecimal(); }
+}
@@ -0,0 +1,160 @@
+package com.ismail.platform.wallet.stats;
+
+import com.ismail.platform.wallet.money.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cumuls journaliers et mensuels des portefeuilles
+ *
+ * Les lignes d'un lot sont mises à jour par portefeuille croissant, dans
+ * le même ordre que les verrous du registre.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class WalletStatsRepository {
+
+    private static final String COLUMNS =
+            "credit_count, credit_total, debit_count, debit_total, fees_total";
+
+    private static final String INCREMENT =
+            "credit_count = s.credit_count + EXCLUDED.credit_count, " +
+            "credit_total = s.credit_total + EXCLUDED.credit_total, " +
+            "debit_count = s.debit_count + EXCLUDED.debit_count, " +
+            "debit_total = s.debit_total + EXCLUDED.debit_total, " +
+            "fees_total = s.fees_total + EXCLUDED.fees_total, updated_at = NOW()";
+
+    private static final String INCREMENT_DAILY_SQL =
+            "INSERT INTO core.wallet_stats_daily AS s (wallet_id, day, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (wallet_id, day) DO UPDATE SET " + INCREMENT;
+
+    private static final String INCREMENT_MONTHLY_SQL =
+            "INSERT INTO core.wallet_stats_monthly AS s (wallet_id, month, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (wallet_id, month) DO UPDATE SET " + INCREMENT;
+
+    private static final String TOTALS_SQL =
+            "SELECT COALESCE(SUM(credit_count), 0) AS credit_count, COALESCE(SUM(credit_total), 0) AS credit_total, " +
+            "       COALESCE(SUM(debit_count), 0) AS debit_count, COALESCE(SUM(debit_total), 0) AS debit_total, " +
+            "       COALESCE(SUM(fees_total), 0) AS fees_total " +
+            "FROM core.wallet_stats_monthly WHERE wallet_id = ?";
+
+    // Types qui augmentent le solde, cf. check_balance_consistency
+    private static final String IS_CREDIT = "transaction_type IN ('CREDIT', 'COMMISSION', 'CASHBACK', 'REFUND')";
+
+    private static final String BACKFILLED_SQL =
+            "SELECT partition_name FROM core.wallet_stats_backfill";
+
+    private static final String TRY_LOCK_SQL =
+            "SELECT pg_try_advisory_xact_lock(hashtext('ismail.wallet.stats.backfill:' || ?))";
+
+    private static final String DELETE_DAILY_SQL =
+            "DELETE FROM core.wallet_stats_daily WHERE day >= ? AND day < ?";
+
+    private static final String DELETE_MONTHLY_SQL =
+            "DELETE FROM core.wallet_stats_monthly WHERE month = ?";
+
+    private static final String MONTHLY_FROM_DAILY_SQL =
+            "INSERT INTO core.wallet_stats_monthly (wallet_id, month, " + COLUMNS + ") " +
+            "SELECT wallet_id, ?, SUM(credit_count), SUM(credit_total), SUM(debit_count), SUM(debit_total), SUM(fees_total) " +
+            "FROM core.wallet_stats_daily WHERE day >= ? AND day < ? GROUP BY wallet_id";
+
+    private static final String MARK_BACKFILLED_SQL =
+            "INSERT INTO core.wallet_stats_backfill (partition_name, month, transactions) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public WalletStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ajoute les variations d'un lot aux cumuls du jour et du mois
+     */
+    public void increment(Collection<WalletStatsDelta> deltas, LocalDate day) {
+        List<WalletStatsDelta> ordered = new ArrayList<>(deltas);
+        ordered.sort(Comparator.comparing(WalletStatsDelta::getWalletId));
+        increment(INCREMENT_DAILY_SQL, ordered, Date.valueOf(day));
+        increment(INCREMENT_MONTHLY_SQL, ordered, Date.valueOf(day.withDayOfMonth(1)));
+    }
+
+    private void increment(String sql, List<WalletStatsDelta> deltas, Date period) {
+        jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+            ps.setObject(1, delta.getWalletId());
+            ps.setDate(2, period);
+            ps.setInt(3, delta.getCreditCount());
+            ps.setBigDecimal(4, delta.getCreditTotal());
+            ps.setInt(5, delta.getDebitCount());
+            ps.setBigDecimal(6, delta.getDebitTotal());
+            ps.setBigDecimal(7, delta.getFeesTotal());
+        });
+    }
+
+    public WalletStats findTotals(UUID walletId, String currency) {
+        return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> new WalletStats(walletId, currency,
+                rs.getLong("credit_count"), Money.ofStored(rs.getBigDecimal("credit_total"), currency),
+                rs.getLong("debit_count"), Money.ofStored(rs.getBigDecimal("debit_total"), currency),
+                Money.ofStored(rs.getBigDecimal("fees_total"), currency)), walletId);
+    }
+
+    // =====================================================
+    // RECALCUL DES MOIS CLOS
+    // =====================================================
+
+    public Set<String> findBackfilledPartitions() {
+        return new HashSet<>(jdbcTemplate.queryForList(BACKFILLED_SQL, String.class));
+    }
+
+    /**
+     * Remplace les cumuls du mois par ceux recalculés depuis sa partition ;
+     * à exécuter dans une transaction
+     *
+     * @param partition nom de la partition, déjà validé comme identifiant SQL
+     * @return le nombre de transactions agrégées, ou -1 si une autre
+     *         instance recalcule déjà cette partition
+     */
+    public long rebuildMonth(String partition, YearMonth month) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, partition))) {
+            return -1;
+        }
+        if (findBackfilledPartitions().contains(partition)) {
+            return -1;
+        }
+        Date start = Date.valueOf(month.atDay(1));
+        Date end = Date.valueOf(month.plusMonths(1).atDay(1));
+
+        jdbcTemplate.update(DELETE_DAILY_SQL, start, end);
+        jdbcTemplate.update(
+                "INSERT INTO core.wallet_stats_daily (wallet_id, day, " + COLUMNS + ") " +
+                "SELECT wallet_id, created_at::date, " +
+                "       COUNT(*) FILTER (WHERE " + IS_CREDIT + "), " +
+                "       COALESCE(SUM(amount) FILTER (WHERE " + IS_CREDIT + "), 0), " +
+                "       COUNT(*) FILTER (WHERE NOT " + IS_CREDIT + "), " +
+                "       COALESCE(SUM(amount) FILTER (WHERE NOT " + IS_CREDIT + "), 0), " +
+                "       COALESCE(SUM(fees), 0) " +
+                "FROM core." + partition + " WHERE status = 'COMPLETED' " +
+                "GROUP BY wallet_id, created_at::date");
+        jdbcTemplate.update(DELETE_MONTHLY_SQL, start);
+        jdbcTemplate.update(MONTHLY_FROM_DAILY_SQL, start, start, end);
+
+        Long transactions = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(credit_count + debit_count), 0) FROM core.wallet_stats_monthly WHERE month = ?",
+                Long.class, start);
+        jdbcTemplate.update(MARK_BACKFILLED_SQL, partition, start, transactions);
+        return transactions == null ? 0 : transactions;
+    }
+}
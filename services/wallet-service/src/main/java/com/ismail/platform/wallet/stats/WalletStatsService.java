@@ -0,0 +1,56 @@
+package com.ismail.platform.wallet.stats;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ismail.platform.wallet.balance.WalletBalance;
+import com.ismail.platform.wallet.balance.WalletBalanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Statistiques des portefeuilles, lues sur les cumuls mensuels
+ *
+ * Une lecture additionne au plus une ligne par mois d'activité du
+ * portefeuille. Un cache local borné évite de relire les cumuls d'un
+ * portefeuille consulté plusieurs fois en quelques secondes ; les
+ * statistiques servies peuvent donc avoir jusqu'à {@code cache.ttl} de
+ * retard ({@code cache.max-size: 0} désactive le cache).
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class WalletStatsService {
+
+    private final WalletBalanceService walletBalanceService;
+    private final WalletStatsRepository statsRepository;
+    private final Cache<UUID, WalletStats> cache;
+
+    @Autowired
+    public WalletStatsService(WalletBalanceService walletBalanceService,
+                              WalletStatsRepository statsRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${ismail.wallet.stats.cache.max-size:10000}") long maxSize,
+                              @Value("${ismail.wallet.stats.cache.ttl:PT30S}") Duration ttl) {
+        this.walletBalanceService = walletBalanceService;
+        this.statsRepository = statsRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "wallet.stats");
+    }
+
+    public WalletStats getStats(UUID userId, String currency) {
+        WalletBalance wallet = walletBalanceService.getBalance(userId, currency);
+        return cache.get(wallet.getWalletId(),
+                walletId -> statsRepository.findTotals(walletId, wallet.getCurrency()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.ismail.platform.wallet.transaction;
+
+import com.ismail.platform.wallet.exception.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position dans l'historique des transactions d'un portefeuille
+ *
+ * Désigne la dernière transaction renvoyée, par le couple
+ * {@code (created_at, id)} qui ordonne l'historique. Sérialisé sous une
+ * forme opaque (Base64 URL) que les clients renvoient tel quel.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+public final class TransactionCursor {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int ENCODED_LENGTH = 1 + 8 + 4 + 16;
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public TransactionCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_LENGTH);
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(createdAt.getNano());
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws InvalidCursorException si le curseur n'a pas été produit par {@link #encode()}
+     */
+    public static TransactionCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+        if (bytes.length != ENCODED_LENGTH || bytes[0] != FORMAT_VERSION) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, ENCODED_LENGTH - 1);
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+        LocalDateTime createdAt;
+        try {
+            createdAt = LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+        return new TransactionCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+    // Getters
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public UUID getId() { return id; }
+}
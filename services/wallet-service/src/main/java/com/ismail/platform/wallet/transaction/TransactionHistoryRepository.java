@@ -0,0 +1,119 @@
+package com.ismail.platform.wallet.transaction;
+
+import com.ismail.platform.wallet.dto.response.TransactionResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Lecture de l'historique des transactions par pagination par clé
+ *
+ * Les requêtes suivent {@code idx_transactions_wallet_created} dans l'ordre
+ * {@code (created_at DESC, id DESC)} et portent toujours une borne explicite
+ * sur {@code created_at} : seules les partitions mensuelles de la période
+ * demandée sont parcourues. Aucun {@code OFFSET} ni {@code COUNT(*)}.
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public class TransactionHistoryRepository {
+
+    private static final String COLUMNS =
+            "id, transaction_type, amount, fees, balance_before, balance_after, status, description, " +
+            "reference, payment_method, created_at, processed_at";
+
+    private static final String WALLET_SQL =
+            "SELECT id FROM core.wallets WHERE user_id = ? AND currency = ?";
+
+    private static final String FIRST_PAGE_SQL =
+            "SELECT " + COLUMNS + " FROM core.transactions " +
+            "WHERE wallet_id = ? AND created_at >= ? AND created_at < ? " +
+            "ORDER BY created_at DESC, id DESC LIMIT ?";
+
+    // La borne created_at <= ? redondante avec la comparaison de ligne permet l'élagage des partitions
+    private static final String NEXT_PAGE_SQL =
+            "SELECT " + COLUMNS + " FROM core.transactions " +
+            "WHERE wallet_id = ? AND created_at >= ? AND created_at < ? AND created_at <= ? AND (created_at, id) < (?, ?) " +
+            "ORDER BY created_at DESC, id DESC LIMIT ?";
+
+    private static final String EXPORT_SQL =
+            "SELECT " + COLUMNS + " FROM core.transactions " +
+            "WHERE wallet_id = ? AND created_at >= ? AND created_at < ? " +
+            "ORDER BY created_at DESC, id DESC";
+
+    private static final RowMapper<TransactionResponse> ROW_MAPPER = (rs, rowNum) -> {
+        TransactionResponse transaction = new TransactionResponse();
+        transaction.setTransactionId(rs.getObject("id", UUID.class));
+        transaction.setType(rs.getString("transaction_type"));
+        transaction.setAmount(rs.getBigDecimal("amount"));
+        transaction.setFees(rs.getBigDecimal("fees"));
+        transaction.setBalanceBefore(rs.getBigDecimal("balance_before"));
+        transaction.setBalanceAfter(rs.getBigDecimal("balance_after"));
+        transaction.setStatus(rs.getString("status"));
+        transaction.setDescription(rs.getString("description"));
+        transaction.setReference(rs.getString("reference"));
+        transaction.setPaymentMethod(rs.getString("payment_method"));
+        transaction.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        Timestamp processedAt = rs.getTimestamp("processed_at");
+        transaction.setProcessedAt(processedAt == null ? null : processedAt.toLocalDateTime());
+        return transaction;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TransactionHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<UUID> findWalletId(UUID userId, String currency) {
+        return jdbcTemplate.queryForList(WALLET_SQL, UUID.class, userId, currency).stream().findFirst();
+    }
+
+    /**
+     * @param after dernière transaction de la page précédente, ou null pour la première page
+     * @param from borne inférieure incluse
+     * @param to borne supérieure exclue
+     */
+    public List<TransactionResponse> findPage(UUID walletId, LocalDateTime from, LocalDateTime to,
+                                              TransactionCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, ROW_MAPPER,
+                    walletId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+        }
+        Timestamp cursorCreatedAt = Timestamp.valueOf(after.getCreatedAt());
+        return jdbcTemplate.query(NEXT_PAGE_SQL, ROW_MAPPER,
+                walletId, Timestamp.valueOf(from), Timestamp.valueOf(to), cursorCreatedAt, cursorCreatedAt, after.getId(), limit);
+    }
+
+    /**
+     * Parcourt la période par un curseur serveur ({@code fetchSize}) sans
+     * charger le résultat en mémoire
+     *
+     * Doit être appelé dans une transaction : le pilote PostgreSQL ne lit par
+     * blocs qu'en dehors du mode auto-commit.
+     */
+    public void stream(UUID walletId, LocalDateTime from, LocalDateTime to, int fetchSize,
+                       Consumer<TransactionResponse> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXPORT_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setObject(1, walletId);
+            statement.setTimestamp(2, Timestamp.valueOf(from));
+            statement.setTimestamp(3, Timestamp.valueOf(to));
+            return statement;
+        }, rs -> {
+            consumer.accept(ROW_MAPPER.mapRow(rs, 0));
+        });
+    }
+}
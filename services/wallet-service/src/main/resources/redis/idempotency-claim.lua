@@ -0,0 +1,14 @@
+-- Réservation d'une clé d'idempotence en un aller-retour
+--
+-- KEYS[1] : clé d'idempotence
+-- ARGV[1] : état « en cours » à enregistrer si la clé est libre
+-- ARGV[2] : durée de la réservation en millisecondes
+--
+-- Retourne l'état déjà enregistré, ou nil si la clé vient d'être réservée.
+
+local existing = redis.call('GET', KEYS[1])
+if existing then
+    return existing
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return nil
@@ -0,0 +1,18 @@
+-- Annulation d'une réservation de plafond (transaction échouée), ou report
+-- dans les compteurs des réservations faites en base pendant une
+-- indisponibilité de Redis
+--
+-- KEYS[1] : compteur du jour de la réservation
+-- KEYS[2] : compteur du mois de la réservation
+-- ARGV[1] : montant à retirer, en unités mineures ; négatif pour un report
+--
+-- Un compteur expiré ou réinitialisé entre-temps est laissé tel quel.
+
+for i = 1, 2 do
+    if redis.call('HEXISTS', KEYS[i], 'spent') == 1 then
+        if redis.call('HINCRBY', KEYS[i], 'spent', -tonumber(ARGV[1])) < 0 then
+            redis.call('HSET', KEYS[i], 'spent', 0)
+        end
+    end
+end
+return 0
@@ -0,0 +1,55 @@
+-- Contrôle et réservation atomiques des plafonds de dépense d'un portefeuille
+--
+-- KEYS[1] : compteur du jour (hash : spent, limit, loaded), en unités mineures
+-- KEYS[2] : compteur du mois (hash : spent, limit, loaded), en unités mineures
+-- ARGV[1] : montant à réserver, en unités mineures
+-- ARGV[2] : durée de vie du compteur du jour en millisecondes
+-- ARGV[3] : durée de vie du compteur du mois en millisecondes
+-- ARGV[4] : instant courant en millisecondes
+-- ARGV[5] : durée de validité des plafonds recopiés, en millisecondes
+-- ARGV[6..9] (facultatifs) : valeurs lues en base : dépensé du jour, plafond
+--   du jour, dépensé du mois, plafond du mois. Les cumuls ne sont repris que
+--   si le compteur est absent ; les plafonds remplacent toujours ceux du
+--   compteur. Un plafond de -1 ne limite pas la dépense.
+--
+-- Retourne 0 si le montant est réservé, 1 si le plafond du jour serait
+-- dépassé, 2 si celui du mois le serait, -1 si un compteur est absent ou
+-- si ses plafonds sont périmés et doivent être relus en base.
+
+local now = tonumber(ARGV[4])
+
+local function seed(key, spent, limit, ttl)
+    if redis.call('EXISTS', key) == 0 then
+        redis.call('HSET', key, 'spent', spent, 'limit', limit, 'loaded', now)
+        redis.call('PEXPIRE', key, ttl)
+    else
+        redis.call('HSET', key, 'limit', limit, 'loaded', now)
+    end
+end
+
+if ARGV[6] then
+    seed(KEYS[1], ARGV[6], ARGV[7], ARGV[2])
+    seed(KEYS[2], ARGV[8], ARGV[9], ARGV[3])
+end
+
+local daily = redis.call('HMGET', KEYS[1], 'spent', 'limit', 'loaded')
+local monthly = redis.call('HMGET', KEYS[2], 'spent', 'limit', 'loaded')
+for _, counter in ipairs({daily, monthly}) do
+    if not counter[1] or not counter[2] or not counter[3]
+            or now - tonumber(counter[3]) > tonumber(ARGV[5]) then
+        return -1
+    end
+end
+
+local amount = tonumber(ARGV[1])
+local dailyLimit = tonumber(daily[2])
+if dailyLimit >= 0 and tonumber(daily[1]) + amount > dailyLimit then
+    return 1
+end
+local monthlyLimit = tonumber(monthly[2])
+if monthlyLimit >= 0 and tonumber(monthly[1]) + amount > monthlyLimit then
+    return 2
+end
+redis.call('HINCRBY', KEYS[1], 'spent', amount)
+redis.call('HINCRBY', KEYS[2], 'spent', amount)
+return 0
@@ -0,0 +1,93 @@
+package com.ismail.platform.common.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du relais de la boîte d'envoi
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class OutboxRelayTest {
+
+    private static final String SOURCE = "wallet";
+
+    private final OutboxRepository repository = mock(OutboxRepository.class);
+    private final OutboxTransport transport = mock(OutboxTransport.class);
+    private final OutboxRelay relay = relay(Duration.ofMinutes(1));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsDeliveriesAndReschedulesFailuresOfABatch() throws Exception {
+        OutboxEvent delivered = event(1, 1);
+        OutboxEvent exhausted = event(2, 3);
+        when(repository.claim(eq(SOURCE), eq(2), any())).thenReturn(List.of(delivered, exhausted));
+        doThrow(new IllegalStateException("503")).when(transport).deliver(exhausted);
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        verify(repository).markDelivered(List.of(1L));
+        ArgumentCaptor<List<Object[]>> failures = ArgumentCaptor.forClass(List.class);
+        verify(repository).markFailed(failures.capture(), eq(3));
+        assertThat(failures.getValue()).singleElement()
+                .satisfies(failure -> assertThat(failure[0]).isEqualTo(2L))
+                .satisfies(failure -> assertThat(failure[1]).isEqualTo(4_000L));
+    }
+
+    @Test
+    void drainsFullBatchesAndCapsBackoff() {
+        when(repository.claim(any(), anyInt(), any()))
+                .thenReturn(List.of(event(1, 1), event(2, 1)))
+                .thenReturn(List.of(event(3, 1)));
+
+        relay.relay();
+
+        verify(repository, times(2)).claim(any(), anyInt(), any());
+        assertThat(relay.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(relay.backoff(10)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void releasesDeliveriesStillRunningNearTheEndOfTheLease() throws Exception {
+        OutboxRelay shortLease = relay(Duration.ofMillis(400));
+        OutboxEvent fast = event(1, 1);
+        OutboxEvent stuck = event(2, 1);
+        when(repository.claim(any(), anyInt(), any())).thenReturn(List.of(fast, stuck));
+        doAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(10));
+            return null;
+        }).when(transport).deliver(stuck);
+
+        try {
+            assertThat(shortLease.relayBatch()).isEqualTo(1);
+        } finally {
+            shortLease.shutdown();
+        }
+
+        verify(repository).markDelivered(List.of(1L));
+        verify(repository).markFailed(List.of(), 3);
+        verify(repository).release(List.of(2L));
+    }
+
+    private OutboxRelay relay(Duration lease) {
+        return new OutboxRelay(repository, transport, new SimpleMeterRegistry(), SOURCE,
+                2, 4, lease, 3, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofDays(7));
+    }
+
+    private static OutboxEvent event(long id, int attempts) {
+        return new OutboxEvent(id, SOURCE, "wallet.transaction.completed", "w-" + id, "{}",
+                attempts, LocalDateTime.now());
+    }
+}
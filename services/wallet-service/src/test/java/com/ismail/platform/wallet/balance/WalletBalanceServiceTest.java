@@ -0,0 +1,51 @@
+package com.ismail.platform.wallet.balance;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du fractionnement des soldes
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class WalletBalanceServiceTest {
+
+    private final UUID walletId = UUID.randomUUID();
+    private final WalletBalanceRepository repository = mock(WalletBalanceRepository.class);
+    private final WalletBalanceService service = new WalletBalanceService(repository);
+
+    @Test
+    void createsMissingShardsWhenTheCountGrows() {
+        when(repository.findById(walletId))
+                .thenReturn(Optional.of(new WalletBalance(walletId, "XOF", "ACTIVE", 4, BigDecimal.TEN)))
+                .thenReturn(Optional.of(new WalletBalance(walletId, "XOF", "ACTIVE", 8, BigDecimal.TEN)));
+
+        WalletBalance wallet = service.enableSharding(walletId, 8);
+
+        verify(repository).enableShards(walletId, 8);
+        assertThat(wallet.getShards()).isEqualTo(8);
+    }
+
+    @Test
+    void neverLowersTheShardCount() {
+        when(repository.findById(walletId))
+                .thenReturn(Optional.of(new WalletBalance(walletId, "XOF", "ACTIVE", 8, BigDecimal.TEN)));
+
+        // Un crédit routé avec l'ancien nombre de sous-soldes ne trouverait plus sa ligne
+        assertThatThrownBy(() -> service.enableSharding(walletId, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.enableSharding(walletId, WalletBalanceService.MAX_SHARDS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).enableShards(any(), anyInt());
+    }
+}
@@ -0,0 +1,67 @@
+package com.ismail.platform.wallet.commission;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests du barème des commissions
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class CommissionCalculatorTest {
+
+    private final UUID director = UUID.randomUUID();
+    private final UUID manager = UUID.randomUUID();
+    private final UUID junior = UUID.randomUUID();
+    private final UUID shop = UUID.randomUUID();
+    private final UUID hotel = UUID.randomUUID();
+
+    private final CommissionCalculator calculator = new CommissionCalculator(new BigDecimal("0.04"),
+            new BigDecimal("0.06"), new BigDecimal("0.02"), new BigDecimal("0.01"),
+            new BigDecimal("1000000.00"), new BigDecimal("50.00"));
+
+    @Test
+    void paysDirectTeamAndBonusCommissionsUpTheHierarchyAtTheCurrencyScale() {
+        Map<UUID, UUID> managers = new LinkedHashMap<>();
+        managers.put(junior, manager);
+        managers.put(manager, director);
+        Map<UUID, UUID> partners = new LinkedHashMap<>();
+        partners.put(shop, junior);
+        partners.put(hotel, manager);
+        CommissionHierarchy hierarchy = CommissionHierarchy.of(managers, Set.of(manager), partners);
+
+        long[] bases = new long[hierarchy.partnerCount()];
+        bases[hierarchy.partnerIndexOf(shop)] = 1_200_000;
+        bases[hierarchy.partnerIndexOf(hotel)] = 2_010;
+
+        List<CommissionLine> lines = calculator.calculate(hierarchy, bases, "XOF");
+
+        assertThat(lines).extracting(CommissionLine::getCommercialId, CommissionLine::getPartnerId,
+                        CommissionLine::getType, CommissionLine::getAmount)
+                .containsExactly(
+                        tuple(junior, shop, CommissionType.DIRECT, new BigDecimal("48000")),
+                        tuple(manager, hotel, CommissionType.DIRECT, new BigDecimal("121")),
+                        tuple(manager, null, CommissionType.TEAM, new BigDecimal("24000")),
+                        tuple(director, null, CommissionType.TEAM, new BigDecimal("24040")),
+                        tuple(junior, null, CommissionType.BONUS, new BigDecimal("12000")));
+    }
+
+    @Test
+    void rejectsCyclicHierarchies() {
+        Map<UUID, UUID> managers = Map.of(manager, junior, junior, manager);
+
+        assertThatThrownBy(() -> CommissionHierarchy.of(managers, Set.of(), Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
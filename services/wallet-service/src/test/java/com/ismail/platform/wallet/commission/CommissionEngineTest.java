@@ -0,0 +1,82 @@
+package com.ismail.platform.wallet.commission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du calcul des commissions de fin de mois
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class CommissionEngineTest {
+
+    private final UUID commercial = UUID.randomUUID();
+    private final UUID partner = UUID.randomUUID();
+    private final CommissionRepository repository = mock(CommissionRepository.class);
+    private final CommissionEngine engine = new CommissionEngine(repository, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), new BigDecimal("0.04"), new BigDecimal("0.06"), new BigDecimal("0.02"),
+            new BigDecimal("0.01"), new BigDecimal("1000000.00"), new BigDecimal("50.00"), "XOF", 2, 100,
+            Duration.ofMinutes(10), ZoneId.of("Africa/Abidjan"));
+
+    @AfterEach
+    void shutdown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsTheStoredFractionOfAXofCreditInsteadOfFailingTheShard() {
+        YearMonth month = YearMonth.of(2026, 9);
+        LocalDate day = month.atDay(15);
+        Set<LocalDate> done = new HashSet<>();
+        for (LocalDate d = month.atDay(1); !d.isAfter(month.atEndOfMonth()); d = d.plusDays(1)) {
+            if (!d.equals(day)) {
+                done.add(d);
+            }
+        }
+        when(repository.claimRun(any(), any(), eq("XOF"), anyString(), any())).thenReturn(Optional.of(7L));
+        when(repository.loadHierarchy())
+                .thenReturn(CommissionHierarchy.of(Map.of(), Set.of(), Map.of(partner, commercial)));
+        when(repository.findCompletedShards(7L)).thenReturn(done);
+        // Crédit XOF enregistré avec une fraction dans DECIMAL(15,2)
+        when(repository.streamCredits(eq(day), eq("XOF"), anyInt(), any())).thenAnswer(invocation -> {
+            BiConsumer<UUID, BigDecimal> consumer = invocation.getArgument(3);
+            consumer.accept(partner, new BigDecimal("2500.40"));
+            consumer.accept(partner, new BigDecimal("1000.00"));
+            return 2L;
+        });
+        when(repository.findPartnerBases(eq(7L), any())).thenReturn(new long[] {3_500});
+
+        engine.calculate(month);
+
+        ArgumentCaptor<long[]> bases = ArgumentCaptor.forClass(long[].class);
+        verify(repository).completeShard(eq(7L), eq(day), eq(2L), bases.capture(), any(), anyString(), any());
+        assertThat(bases.getValue()).containsExactly(3_500);
+        verify(repository).completeRun(eq(7L), any(), any(), eq("XOF"), any(), anyString());
+        verify(repository, never()).releaseRun(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,42 @@
+package com.ismail.platform.wallet.exchange;
+
+import com.ismail.platform.wallet.exception.UnsupportedCurrencyPairException;
+import com.ismail.platform.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de la matrice des taux de change
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class ExchangeRateSnapshotTest {
+
+    private final ExchangeRateSnapshot snapshot = ExchangeRateSnapshot.of(List.of(
+            new ExchangeRate("EUR", "XOF", new BigDecimal("655.957")),
+            new ExchangeRate("USD", "XOF", new BigDecimal("600.00"))
+    ), "XOF", LocalDateTime.now(), null);
+
+    @Test
+    void derivesInverseAndCrossRates() {
+        assertThat(snapshot.convert(Money.of("1000", "XOF"), "EUR")).isEqualTo(Money.of("1.52", "EUR"));
+        assertThat(snapshot.convert(Money.of("10.00", "EUR"), "XOF")).isEqualTo(Money.of("6560", "XOF"));
+        assertThat(snapshot.rate("EUR", "USD")).isEqualByComparingTo("1.093261666666667");
+        assertThat(snapshot.rate("XOF", "XOF")).isEqualByComparingTo(BigDecimal.ONE);
+    }
+
+    @Test
+    void rejectsUnknownPairs() {
+        assertThatThrownBy(() -> snapshot.rate("XOF", "GBP"))
+                .isInstanceOf(UnsupportedCurrencyPairException.class);
+        assertThatThrownBy(() -> snapshot.convert(Money.of("10", "XOF"), "eur"))
+                .isInstanceOf(UnsupportedCurrencyPairException.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ismail.platform.wallet.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du rejeu des requêtes idempotentes
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class IdempotencyFilterTest {
+
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, new ObjectMapper(), new SimpleMeterRegistry(),
+            List.of("/api/wallet/transfer"), Duration.ofMillis(100), DataSize.ofBytes(64));
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void replaysStoredResponseWithoutReachingTheController() throws Exception {
+        when(store.claim(anyString(), anyString())).thenReturn(Optional.empty());
+        MockHttpServletResponse first = send("{\"amount\":1000}");
+
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(store).complete(eq("user-1:key-1"), stored.capture());
+        when(store.claim(anyString(), anyString())).thenReturn(Optional.of(stored.getValue()));
+        MockHttpServletResponse retry = send("{\"amount\":1000}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(first.getStatus());
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void rejectsKeyReusedForADifferentRequest() throws Exception {
+        when(store.claim(anyString(), anyString()))
+                .thenReturn(Optional.of(IdempotencyRecord.completed("other", 200, "application/json", new byte[0])));
+
+        MockHttpServletResponse response = send("{\"amount\":5000}");
+
+        assertThat(executions).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("idempotency_key_reused");
+    }
+
+    @Test
+    void refusesKeysWithoutAuthenticatedSubject() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/wallet/transfer");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.addHeader("Authorization", "Bearer forged");
+
+        MockHttpServletResponse response = send(request, "{\"amount\":1000}");
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(executions).hasValue(0);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void refusesBodiesTooLargeToFingerprint() throws Exception {
+        MockHttpServletResponse response = send("{\"amount\":1000,\"description\":\"" + "x".repeat(64) + "\"}");
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(response.getContentAsString()).contains("payload_too_large");
+        assertThat(executions).hasValue(0);
+        verifyNoInteractions(store);
+    }
+
+    private MockHttpServletResponse send(String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/wallet/transfer");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setAttribute("userId", "user-1");
+        return send(request, body);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, String body) throws Exception {
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                executions.incrementAndGet();
+                res.setContentType("application/json");
+                res.getWriter().write("{\"success\":true,\"transactionId\":\"t-" + executions.get() + "\"}");
+            }
+        }));
+        return response;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ismail.platform.wallet.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du magasin d'idempotence lors d'une indisponibilité de Redis
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+@SuppressWarnings("unchecked")
+class IdempotencyStoreTest {
+
+    private static final String KEY = "user-1:key-1";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final IdempotencyStore store = new IdempotencyStore(redisTemplate, jdbcTemplate, new ObjectMapper(),
+            new SimpleMeterRegistry(), Duration.ofMinutes(1), Duration.ofHours(24));
+
+    @Test
+    void responseCompletedDuringOutageSurvivesRedisClaim() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(null);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(KEY))).thenReturn(List.of());
+
+        // Réservation dans Redis, puis Redis tombe avant l'enregistrement de la réponse
+        assertThat(store.claim(KEY, "fp")).isEmpty();
+        doThrow(new RedisConnectionFailureException("down")).when(values).set(anyString(), anyString(), any(Duration.class));
+        byte[] body = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+        IdempotencyRecord completed = IdempotencyRecord.completed("fp", 200, "application/json", body);
+        store.complete(KEY, completed);
+
+        verify(jdbcTemplate).update(contains("ON CONFLICT (scope_key) DO UPDATE"),
+                eq(KEY), eq("fp"), eq(200), eq("application/json"), eq(body), eq(Duration.ofHours(24).toMillis()));
+
+        // Redis revenu, réservation expirée : le rejeu obtient la réponse enregistrée en base
+        doNothing().when(values).set(anyString(), anyString(), any(Duration.class));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(KEY))).thenReturn(List.of(completed));
+
+        Optional<IdempotencyRecord> retry = store.claim(KEY, "fp");
+
+        assertThat(retry).containsSame(completed);
+        verify(values, times(2)).set(eq("ismail:wallet:idempotency:" + KEY), anyString(), eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    void claimWithoutOutageDoesNotQueryPostgres() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(null);
+
+        assertThat(store.claim(KEY, "fp")).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void replayAfterOutageStopsPostgresChecks() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(null);
+        when(jdbcTemplate.update(anyString(), eq(KEY), eq("fp"), anyLong())).thenReturn(1);
+
+        // Réservation en base pendant la panne, puis recopie dans Redis
+        assertThat(store.claim(KEY, "fp")).isEmpty();
+        store.replayFallbackRecords();
+        verify(jdbcTemplate).query(contains("remaining_millis"), any(RowCallbackHandler.class));
+
+        clearInvocations(jdbcTemplate);
+        assertThat(store.claim(KEY, "fp")).isEmpty();
+        store.replayFallbackRecords();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
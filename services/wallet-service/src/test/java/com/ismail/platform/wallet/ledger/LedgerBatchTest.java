@@ -0,0 +1,129 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.common.outbox.OutboxMessage;
+import com.ismail.platform.wallet.exception.InsufficientBalanceException;
+import com.ismail.platform.wallet.money.Money;
+import com.ismail.platform.wallet.stats.WalletStatsDelta;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de l'application en mémoire d'un lot du registre
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class LedgerBatchTest {
+
+    private final UUID sender = UUID.randomUUID();
+    private final UUID recipient = UUID.randomUUID();
+    private final Map<UUID, LedgerBatch.LockedWallet> wallets = new HashMap<>();
+    private final LedgerBatch batch;
+
+    LedgerBatchTest() {
+        wallets.put(sender, new LedgerBatch.LockedWallet(sender, "ACTIVE", "EUR", 10_000, new long[] {5_000}));
+        wallets.put(recipient, new LedgerBatch.LockedWallet(recipient, "ACTIVE", "EUR", 0, new long[0]));
+        batch = new LedgerBatch(wallets, LocalDateTime.now());
+    }
+
+    @Test
+    void chainsBalancesOfSuccessiveEntriesOnTheSameWallet() {
+        LedgerPosting first = batch.apply(List.of(entry(sender, TransactionType.CREDIT, "10.00"))).get(0);
+        LedgerPosting second = batch.apply(List.of(entry(sender, TransactionType.DEBIT, "130.00"))).get(0);
+
+        assertThat(first.getBalanceBefore()).isEqualTo(Money.of("150.00", "EUR"));
+        assertThat(first.getBalanceAfter()).isEqualTo(second.getBalanceBefore());
+        assertThat(second.getBalanceAfter()).isEqualTo(Money.of("30.00", "EUR"));
+        // Le débit vide le solde principal avant d'entamer le sous-solde
+        assertThat(wallets.get(sender).getMain().isZero()).isTrue();
+        assertThat(wallets.get(sender).getShard(0)).isEqualTo(Money.of("30.00", "EUR"));
+        assertThat(wallets.get(sender).isShardDirty(0)).isTrue();
+    }
+
+    @Test
+    void creditsTheHashedShardOfAPartiallyLockedWallet() {
+        UUID merchant = UUID.randomUUID();
+        LedgerEntry credit = entry(merchant, TransactionType.CREDIT, "25.00");
+        int shard = LedgerBatch.shardOf(credit, 4);
+        boolean[] locked = new boolean[4];
+        locked[shard] = true;
+        wallets.put(merchant, new LedgerBatch.LockedWallet(merchant, "ACTIVE", "EUR", 1_000, false,
+                new long[] {100, 100, 100, 100}, locked));
+
+        LedgerPosting posting = batch.apply(List.of(credit)).get(0);
+
+        assertThat(posting.getBalanceAfter()).isEqualTo(Money.of("39.00", "EUR"));
+        assertThat(wallets.get(merchant).getShard(shard)).isEqualTo(Money.of("26.00", "EUR"));
+        assertThat(wallets.get(merchant).isShardDirty(shard)).isTrue();
+        assertThat(wallets.get(merchant).isMainDirty()).isFalse();
+        // Un débit doit verrouiller le solde principal et tous les sous-soldes
+        assertThatThrownBy(() -> batch.apply(List.of(entry(merchant, TransactionType.DEBIT, "1.00"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsTransferAsAWholeWhenSenderCannotCoverIt() {
+        List<LedgerEntry> transfer = List.of(
+                entry(sender, TransactionType.TRANSFER, "200.00"),
+                entry(recipient, TransactionType.CREDIT, "200.00"));
+
+        assertThatThrownBy(() -> batch.apply(transfer)).isInstanceOf(InsufficientBalanceException.class);
+        assertThat(batch.getEntries()).isEmpty();
+        assertThat(wallets.get(recipient).total().isZero()).isTrue();
+    }
+
+    @Test
+    void linksEntriesOfATransfer() {
+        LedgerEntry debit = entry(sender, TransactionType.TRANSFER, "40.00");
+        LedgerEntry credit = entry(recipient, TransactionType.CREDIT, "40.00");
+
+        batch.apply(List.of(debit, credit));
+
+        assertThat(batch.relatedTransactionOf(debit)).isEqualTo(credit.getTransactionId());
+        assertThat(batch.relatedTransactionOf(credit)).isEqualTo(debit.getTransactionId());
+        assertThat(wallets.get(recipient).total()).isEqualTo(Money.of("40.00", "EUR"));
+    }
+
+    @Test
+    void publishesOneEventPerEntryWithItsBalanceAfter() {
+        List<LedgerPosting> postings = batch.apply(List.of(
+                entry(sender, TransactionType.TRANSFER, "40.00"),
+                entry(recipient, TransactionType.CREDIT, "40.00")));
+
+        List<OutboxMessage> events = batch.events();
+
+        assertThat(events).extracting(OutboxMessage::getAggregateId)
+                .containsExactly(sender.toString(), recipient.toString());
+        assertThat(events).allMatch(event -> LedgerBatch.TRANSACTION_COMPLETED.equals(event.getEventType()));
+        Map<?, ?> payload = (Map<?, ?>) events.get(1).getPayload();
+        assertThat(payload.get("balanceAfter")).isEqualTo(Money.of("40.00", "EUR"));
+        assertThat(payload.get("relatedTransactionId")).isEqualTo(postings.get(0).getTransactionId());
+    }
+
+    @Test
+    void aggregatesStatsDeltasPerWallet() {
+        batch.apply(List.of(entry(sender, TransactionType.CREDIT, "10.00")));
+        batch.apply(List.of(
+                entry(sender, TransactionType.TRANSFER, "25.00"),
+                entry(recipient, TransactionType.CREDIT, "25.00")));
+
+        WalletStatsDelta senderDelta = batch.statsDeltas().stream()
+                .filter(delta -> delta.getWalletId().equals(sender)).findFirst().orElseThrow();
+        assertThat(batch.statsDeltas()).hasSize(2);
+        assertThat(senderDelta.getCreditCount()).isEqualTo(1);
+        assertThat(senderDelta.getDebitCount()).isEqualTo(1);
+        assertThat(senderDelta.getDebitTotal()).isEqualByComparingTo("25.00");
+    }
+
+    private static LedgerEntry entry(UUID walletId, TransactionType type, String amount) {
+        return new LedgerEntry(walletId, type, Money.of(amount, "EUR"), null, null, null, null, null);
+    }
+}
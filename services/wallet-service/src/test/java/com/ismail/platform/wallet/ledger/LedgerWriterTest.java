@@ -0,0 +1,142 @@
+package com.ismail.platform.wallet.ledger;
+
+import com.ismail.platform.common.outbox.OutboxPublisher;
+import com.ismail.platform.wallet.exception.DailyLimitExceededException;
+import com.ismail.platform.wallet.exception.InsufficientBalanceException;
+import com.ismail.platform.wallet.limits.SpendingLimitEngine;
+import com.ismail.platform.wallet.limits.SpendingReservation;
+import com.ismail.platform.wallet.money.Money;
+import com.ismail.platform.wallet.stats.WalletStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la validation groupée du registre
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class LedgerWriterTest {
+
+    private final UUID walletId = UUID.randomUUID();
+    private final LedgerRepository repository = mock(LedgerRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SpendingLimitEngine spendingLimitEngine = mock(SpendingLimitEngine.class);
+    // Lots de trois opérations au plus, rassemblées pendant une seconde au plus
+    private final LedgerWriter writer = new LedgerWriter(repository, mock(WalletStatsRepository.class),
+            mock(OutboxPublisher.class), spendingLimitEngine, transactionManager, new SimpleMeterRegistry(),
+            3, Duration.ofSeconds(1), 100);
+
+    LedgerWriterTest() {
+        when(repository.lockWallets(anyCollection())).thenAnswer(invocation -> {
+            Map<UUID, LedgerBatch.LockedWallet> wallets = new HashMap<>();
+            wallets.put(walletId, new LedgerBatch.LockedWallet(walletId, "ACTIVE", "XOF", 1_000, new long[0]));
+            return wallets;
+        });
+        writer.start();
+    }
+
+    @AfterEach
+    void stopWriter() {
+        writer.stop();
+    }
+
+    @Test
+    void commitsOperationsSubmittedTogetherInOneTransaction() throws Exception {
+        List<CompletableFuture<LedgerPosting>> results = List.of(
+                writer.submit(entry(TransactionType.CREDIT, "100", null)),
+                writer.submit(entry(TransactionType.CREDIT, "200", null)),
+                writer.submit(entry(TransactionType.DEBIT, "50", null)));
+
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS).getBalanceAfter()).isEqualTo(Money.of("1250", "XOF"));
+        assertThat(results.get(0).get().getBalanceBefore()).isEqualTo(Money.of("1000", "XOF"));
+        verify(transactionManager, times(1)).commit(any());
+        verify(repository, times(1)).write(any(), any());
+    }
+
+    @Test
+    void passesARejectionToItsOwnOperationOnly() throws Exception {
+        CompletableFuture<LedgerPosting> credit = writer.submit(entry(TransactionType.CREDIT, "100", null));
+        CompletableFuture<LedgerPosting> overdraft = writer.submit(entry(TransactionType.DEBIT, "5000", null));
+        CompletableFuture<LedgerPosting> debit = writer.submit(entry(TransactionType.DEBIT, "1100", null));
+
+        assertThat(debit.get(5, TimeUnit.SECONDS).getBalanceAfter().isZero()).isTrue();
+        assertThat(credit.get().getBalanceAfter()).isEqualTo(Money.of("1100", "XOF"));
+        assertThatThrownBy(overdraft::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(InsufficientBalanceException.class);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void releasesTheSpendingReservationOfADebitThatIsNotWritten() throws Exception {
+        SpendingReservation written = mock(SpendingReservation.class);
+        SpendingReservation refused = mock(SpendingReservation.class);
+        when(spendingLimitEngine.reserve(eq(walletId), any())).thenReturn(written, refused);
+
+        CompletableFuture<LedgerPosting> debit = writer.submit(entry(TransactionType.DEBIT, "600", null));
+        CompletableFuture<LedgerPosting> overdraft = writer.submit(entry(TransactionType.DEBIT, "600", null));
+
+        assertThat(debit.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(overdraft::get).hasCauseInstanceOf(InsufficientBalanceException.class);
+        verify(spendingLimitEngine, timeout(5_000)).release(refused);
+        verify(spendingLimitEngine, never()).release(written);
+    }
+
+    @Test
+    void rejectsADebitAboveItsSpendingLimitWithoutWritingIt() {
+        when(spendingLimitEngine.reserve(eq(walletId), any()))
+                .thenThrow(new DailyLimitExceededException("Plafond de dépense quotidien atteint"));
+
+        CompletableFuture<LedgerPosting> debit = writer.submit(entry(TransactionType.DEBIT, "50", null));
+
+        assertThatThrownBy(() -> debit.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DailyLimitExceededException.class);
+        verify(repository, never()).lockWallets(anyCollection());
+    }
+
+    @Test
+    void replaysEachOperationAloneWhenTheBatchFails() throws Exception {
+        doAnswer(invocation -> {
+            LedgerBatch batch = invocation.getArgument(0);
+            if (batch.getEntries().stream().anyMatch(entry -> "TX-DUP".equals(entry.getReference()))) {
+                throw new DuplicateKeyException("transaction_references_pkey");
+            }
+            return null;
+        }).when(repository).write(any(), any());
+
+        CompletableFuture<LedgerPosting> first = writer.submit(entry(TransactionType.CREDIT, "100", "TX-1"));
+        CompletableFuture<LedgerPosting> duplicate = writer.submit(entry(TransactionType.CREDIT, "100", "TX-DUP"));
+        CompletableFuture<LedgerPosting> last = writer.submit(entry(TransactionType.CREDIT, "100", "TX-3"));
+
+        assertThat(last.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(first.get()).isNotNull();
+        assertThatThrownBy(duplicate::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DuplicateKeyException.class);
+        // Le lot, puis chacune de ses trois opérations seule
+        verify(repository, times(4)).write(any(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private LedgerEntry entry(TransactionType type, String amount, String reference) {
+        return new LedgerEntry(walletId, type, Money.of(amount, "XOF"), null, reference, null, null, null);
+    }
+}
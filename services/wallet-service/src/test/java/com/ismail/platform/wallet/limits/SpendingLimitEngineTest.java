@@ -0,0 +1,130 @@
+package com.ismail.platform.wallet.limits;
+
+import com.ismail.platform.wallet.exception.DailyLimitExceededException;
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du moteur de plafonds de dépense
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class SpendingLimitEngineTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private final UUID walletId = UUID.randomUUID();
+    private final LocalDate today = LocalDate.of(2026, 10, 17);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SpendingLimitRepository repository = mock(SpendingLimitRepository.class);
+    private final SpendingLimitEngine engine = new SpendingLimitEngine(redisTemplate, repository,
+            new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofMinutes(1));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seedsMissingCountersFromDatabaseThenReserves() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(-1L, 0L);
+        when(repository.findSpending(walletId, today)).thenReturn(Optional.of(new WalletSpending("XOF",
+                new BigDecimal("250.50"), new BigDecimal("1000000.00"),
+                new BigDecimal("9000.00"), new BigDecimal("10000000.00"))));
+
+        SpendingReservation reservation = engine.reserve(walletId, Money.of("100", "XOF"));
+
+        assertThat(reservation.getDay()).isEqualTo(today);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(SpendingLimitEngine.keys(walletId, today)),
+                eq("100"), any(), any(), eq(String.valueOf(NOW.toEpochMilli())), eq("60000"),
+                eq("251"), eq("1000000"), eq("9000"), eq("10000000"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void treatsMissingLimitsAsUnlimited() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(-1L, 0L);
+        when(repository.findSpending(walletId, today)).thenReturn(Optional.of(new WalletSpending("XOF",
+                BigDecimal.ZERO, null, BigDecimal.ZERO, null)));
+
+        engine.reserve(walletId, Money.of("100", "XOF"));
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(),
+                eq("100"), any(), any(), any(), any(), eq("0"), eq("-1"), eq("0"), eq("-1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaysDatabaseReservationsOnceRedisIsBack() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("Redis injoignable"))
+                .thenReturn(0L, 0L);
+        when(repository.reserve(walletId, new BigDecimal("100"), today)).thenReturn(true);
+
+        engine.reserve(walletId, Money.of("100", "XOF"));
+        engine.reserve(walletId, Money.of("50", "XOF"));
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(SpendingLimitEngine.keys(walletId, today)),
+                eq("-100"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcilesTheRedisCountersOfAWalletOnceItsDatabaseReservationsAreReplayed() {
+        HashOperations<String, Object, Object> hashes = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashes);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("Redis injoignable"))
+                .thenReturn(0L);
+        when(repository.reserve(walletId, new BigDecimal("100"), today)).thenReturn(true);
+        List<String> keys = SpendingLimitEngine.keys(walletId, today);
+        // Compteurs Redis plus bas que la base : une dépense y a été compensée entre-temps
+        when(hashes.get(keys.get(0), "spent")).thenReturn("40");
+        when(hashes.get(keys.get(1), "spent")).thenReturn("900");
+
+        engine.reserve(walletId, Money.of("100", "XOF"));
+        engine.reconcile();
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(keys), eq("-100"));
+        verify(repository).reconcile(argThat(rows -> rows.size() == 1 && rows.get(0)[0].equals(walletId)
+                && new BigDecimal("40").compareTo((BigDecimal) rows.get(0)[1]) == 0
+                && new BigDecimal("900").compareTo((BigDecimal) rows.get(0)[2]) == 0), eq(today));
+    }
+
+    @Test
+    void tagsBothCountersWithTheWalletForRedisCluster() {
+        assertThat(SpendingLimitEngine.keys(walletId, today))
+                .allSatisfy(key -> assertThat(key).contains("{" + walletId + "}"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsSpendingAboveDailyLimit() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        assertThatThrownBy(() -> engine.reserve(walletId, Money.of("2000000", "XOF")))
+                .isInstanceOf(DailyLimitExceededException.class);
+        verifyNoInteractions(repository);
+    }
+}
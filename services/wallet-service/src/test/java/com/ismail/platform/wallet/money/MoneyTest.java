@@ -0,0 +1,56 @@
+package com.ismail.platform.wallet.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests des montants en unités mineures
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class MoneyTest {
+
+    @Test
+    void usesTheFractionDigitsOfTheCurrency() {
+        assertThat(Money.of("1500.00", "XOF").getMinorUnits()).isEqualTo(1500);
+        assertThat(Money.of("12.34", "EUR").getMinorUnits()).isEqualTo(1234);
+        assertThatThrownBy(() -> Money.of("1500.50", "XOF")).isInstanceOf(ArithmeticException.class);
+        assertThat(Money.ofStored(new BigDecimal("1500.50"), "XOF").getMinorUnits()).isEqualTo(1500);
+        assertThat(Money.ofStored(new BigDecimal("-0.50"), "XOF").getMinorUnits()).isEqualTo(-1);
+        assertThatThrownBy(() -> Money.of("1", "XOF").plus(Money.of("1", "EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE, "XOF").plus(Money.of("1", "XOF")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void roundsRateProductsLikeBigDecimal() {
+        BigDecimal rate = new BigDecimal("0.015");
+        for (RoundingMode mode : new RoundingMode[] {RoundingMode.HALF_EVEN, RoundingMode.HALF_UP,
+                RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR}) {
+            for (String amount : new String[] {"1700", "-1700", "2500", "-2500", "33", "1"}) {
+                BigDecimal expected = new BigDecimal(amount).multiply(rate).setScale(0, mode);
+                assertThat(Money.of(amount, "XOF").multiply(rate, mode).toBigDecimal())
+                        .as("%s × %s en %s", amount, rate, mode)
+                        .isEqualByComparingTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void mapsToJsonAsAmountAndCurrency() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        String json = objectMapper.writeValueAsString(Money.of("12.50", "EUR"));
+
+        assertThat(json).isEqualTo("{\"amount\":12.50,\"currency\":\"EUR\"}");
+        assertThat(objectMapper.readValue(json, Money.class)).isEqualTo(Money.of("12.5", "EUR"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ismail.platform.wallet.partition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du gestionnaire de partitions mensuelles
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class PartitionManagerTest {
+
+    private final PartitionedTable transactions =
+            new PartitionedTable("core", "transactions", "'transactions_'yyyy_MM", 12);
+    private final PartitionRepository repository = mock(PartitionRepository.class);
+    private final PartitionManager manager = new PartitionManager(repository, new SimpleMeterRegistry(),
+            List.of(transactions), 2, "archive", "", Duration.ofSeconds(5));
+
+    @Test
+    void createsMissingMonthsAndArchivesExpiredOnes() {
+        Map<String, Long> partitions = new LinkedHashMap<>();
+        partitions.put("transactions_2025_09", 4096L);
+        partitions.put("transactions_2025_10", 8192L);
+        partitions.put("transactions_2026_10", 1024L);
+        partitions.put("transactions_default", 0L);
+        when(repository.isPartitioned(transactions)).thenReturn(true);
+        when(repository.findPartitions(transactions)).thenReturn(partitions);
+        when(repository.createPartition(eq(transactions), any(), anyString())).thenReturn(true);
+
+        manager.maintain(transactions, YearMonth.of(2026, 10));
+
+        verify(repository).createPartition(transactions, YearMonth.of(2026, 11), "5000ms");
+        verify(repository).createPartition(transactions, YearMonth.of(2026, 12), "5000ms");
+        verify(repository, never()).createPartition(transactions, YearMonth.of(2026, 10), "5000ms");
+        verify(repository).archivePartition(transactions, "transactions_2025_09", "archive", "", "5000ms");
+        verify(repository, never()).archivePartition(eq(transactions), eq("transactions_2025_10"), any(), any(), any());
+        verify(repository, never()).archivePartition(eq(transactions), eq("transactions_default"), any(), any(), any());
+        assertThat(transactions.getPartitionCount()).isEqualTo(4);
+        assertThat(transactions.getTotalBytes()).isEqualTo(13312);
+    }
+
+    @Test
+    void namesPartitionsAfterTheirMonth() {
+        PartitionedTable auditLog = new PartitionedTable("audit", "audit_log", "'audit_log_y'yyyy'm'MM", 0);
+
+        assertThat(auditLog.partitionOf(YearMonth.of(2024, 2))).isEqualTo("audit_log_y2024m02");
+        assertThat(auditLog.monthOf("audit_log_y2024m02")).contains(YearMonth.of(2024, 2));
+        assertThat(auditLog.monthOf("audit_log_default")).isEmpty();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ismail.platform.wallet.payout;
+
+import com.ismail.platform.wallet.exception.WalletNotFoundException;
+import com.ismail.platform.wallet.ledger.LedgerEntry;
+import com.ismail.platform.wallet.ledger.LedgerPosting;
+import com.ismail.platform.wallet.ledger.LedgerWriter;
+import com.ismail.platform.wallet.ledger.TransactionType;
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de l'application des lots de versements
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class PayoutProcessorTest {
+
+    private final PayoutRepository repository = mock(PayoutRepository.class);
+    private final LedgerWriter ledgerWriter = mock(LedgerWriter.class);
+    private final PayoutProcessor processor = new PayoutProcessor(repository, ledgerWriter,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+            1000, Duration.ofMinutes(2), Duration.ofSeconds(30));
+
+    private final PayoutBatch batch = new PayoutBatch(UUID.randomUUID(), PayoutBatch.Source.UPLOAD,
+            TransactionType.CASHBACK, "XOF", PayoutBatch.Status.PENDING, 5, 0, 0, 0,
+            LocalDateTime.now(), LocalDateTime.now(), null);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resolvesEachLineOfAChunkAndRecordsTheOutcome() {
+        PayoutItem alreadyWritten = item(1, "REF-1");
+        PayoutItem credited = item(2, "REF-2");
+        PayoutItem unknownWallet = item(3, "REF-3");
+        PayoutItem duplicate = item(4, "REF-4");
+        PayoutItem tooPrecise = new PayoutItem(5, UUID.randomUUID(), new BigDecimal("10.50"), "REF-5", null, null,
+                PayoutItem.Status.PENDING, null, null, null);
+        UUID existingTransaction = UUID.randomUUID();
+        doAnswer(invocation -> {
+            alreadyWritten.applied(existingTransaction);
+            return null;
+        }).when(repository).resolveExisting(eq(batch.getId()), anyList());
+        UUID creditTransaction = UUID.randomUUID();
+        when(ledgerWriter.submit(any(LedgerEntry.class)))
+                .thenReturn(CompletableFuture.completedFuture(new LedgerPosting(creditTransaction,
+                        credited.getWalletId(), Money.zero("XOF"), Money.of("2500", "XOF"), LocalDateTime.now())))
+                .thenReturn(CompletableFuture.failedFuture(new WalletNotFoundException("Portefeuille introuvable")))
+                .thenReturn(CompletableFuture.failedFuture(new DuplicateKeyException("reference")));
+
+        boolean complete = processor.applyChunk(batch,
+                List.of(alreadyWritten, credited, unknownWallet, duplicate, tooPrecise));
+
+        assertThat(complete).isTrue();
+        assertThat(alreadyWritten.getTransactionId()).isEqualTo(existingTransaction);
+        assertThat(credited.getStatus()).isEqualTo(PayoutItem.Status.APPLIED);
+        assertThat(credited.getTransactionId()).isEqualTo(creditTransaction);
+        assertThat(unknownWallet.getStatus()).isEqualTo(PayoutItem.Status.REJECTED);
+        assertThat(duplicate.getStatus()).isEqualTo(PayoutItem.Status.DUPLICATE);
+        assertThat(tooPrecise.getStatus()).isEqualTo(PayoutItem.Status.REJECTED);
+
+        ArgumentCaptor<LedgerEntry> entries = ArgumentCaptor.forClass(LedgerEntry.class);
+        verify(ledgerWriter, times(3)).submit(entries.capture());
+        assertThat(entries.getAllValues()).allSatisfy(entry -> {
+            assertThat(entry.getType()).isEqualTo(TransactionType.CASHBACK);
+            assertThat(entry.getPaymentReference()).isEqualTo(batch.getId().toString());
+        });
+        ArgumentCaptor<List<PayoutItem>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(repository).recordResults(eq(batch.getId()), recorded.capture(), any(), any());
+        assertThat(recorded.getValue()).hasSize(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void leavesLinesPendingAfterAnUnexpectedFailure() {
+        PayoutItem credited = item(1, "REF-1");
+        PayoutItem failed = item(2, "REF-2");
+        when(ledgerWriter.submit(any(LedgerEntry.class)))
+                .thenReturn(CompletableFuture.completedFuture(new LedgerPosting(UUID.randomUUID(),
+                        credited.getWalletId(), Money.zero("XOF"), Money.of("2500", "XOF"), LocalDateTime.now())))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("connexion perdue")));
+
+        assertThat(processor.applyChunk(batch, List.of(credited, failed))).isFalse();
+
+        assertThat(failed.getStatus()).isEqualTo(PayoutItem.Status.PENDING);
+        ArgumentCaptor<List<PayoutItem>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(repository).recordResults(eq(batch.getId()), recorded.capture(), any(), any());
+        assertThat(recorded.getValue()).containsExactly(credited);
+    }
+
+    private static PayoutItem item(int line, String reference) {
+        return new PayoutItem(line, UUID.randomUUID(), new BigDecimal("2500"), reference, null, null,
+                PayoutItem.Status.PENDING, null, null, null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ismail.platform.wallet.payout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ismail.platform.wallet.ledger.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la réception des lots de versements
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class PayoutServiceTest {
+
+    private static final String WALLET = "6f1c2d3e-0000-4000-8000-000000000001";
+
+    private final PayoutRepository repository = mock(PayoutRepository.class);
+    private final PayoutProcessor processor = mock(PayoutProcessor.class);
+    private final PayoutService service = new PayoutService(repository, processor, new ObjectMapper(),
+            mock(PlatformTransactionManager.class), 2, 10, 100);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsNdjsonByChunksAndChecksEachLine() {
+        when(repository.findBatch(any())).thenReturn(Optional.of(mock(PayoutBatch.class)));
+        String body = String.join("\n",
+                "{\"walletId\":\"" + WALLET + "\",\"amount\":2500,\"reference\":\"CB-1\"}",
+                "{\"walletId\":\"" + WALLET + "\",\"amount\":2500.5,\"reference\":\"CB-2\"}",
+                "{\"walletId\":\"" + WALLET + "\",\"amount\":1000,\"reference\":\"CB-1\"}",
+                "{\"amount\":1000,\"reference\":\"CB-3\"}",
+                "{\"walletId\":\"" + WALLET + "\",\"amount\":1000,\"reference\":\" \"}");
+
+        service.createFromStream(stream(body), TransactionType.CASHBACK, "XOF", null);
+
+        ArgumentCaptor<List<PayoutItem>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(3)).insertItems(any(), chunks.capture());
+        assertThat(chunks.getAllValues()).flatExtracting(chunk -> chunk.stream().map(PayoutItem::getStatus).toList())
+                .containsExactly(PayoutItem.Status.PENDING, PayoutItem.Status.REJECTED, PayoutItem.Status.DUPLICATE,
+                        PayoutItem.Status.REJECTED, PayoutItem.Status.REJECTED);
+        verify(repository).openBatch(any(), eq(5), eq(1), eq(3));
+        verify(processor).wakeUp();
+    }
+
+    @Test
+    void readsAJsonArray() {
+        when(repository.findBatch(any())).thenReturn(Optional.of(mock(PayoutBatch.class)));
+        String body = "[{\"walletId\":\"" + WALLET + "\",\"amount\":2500,\"reference\":\"CB-1\"},"
+                + "{\"walletId\":\"" + WALLET + "\",\"amount\":1500,\"reference\":\"CB-2\"}]";
+
+        service.createFromStream(stream(body), TransactionType.CREDIT, "XOF", null);
+
+        verify(repository).openBatch(any(), eq(2), eq(0), eq(0));
+    }
+
+    @Test
+    void dropsTheBatchWhenTheStreamIsUnreadableOrTooLarge() {
+        assertThatThrownBy(() -> service.createFromStream(stream("{\"walletId\":"), TransactionType.CREDIT, "XOF", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        String tooLarge = "{\"walletId\":\"" + WALLET + "\",\"amount\":1,\"reference\":\"R\"}\n".repeat(11);
+        assertThatThrownBy(() -> service.createFromStream(stream(tooLarge), TransactionType.CREDIT, "XOF", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.createFromStream(stream("[]"), TransactionType.DEBIT, "XOF", null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(repository, times(2)).deleteBatch(any());
+        verify(repository, never()).openBatch(any(), anyInt(), anyInt(), anyInt());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ismail.platform.wallet.stats;
+
+import com.ismail.platform.wallet.balance.WalletBalance;
+import com.ismail.platform.wallet.balance.WalletBalanceService;
+import com.ismail.platform.wallet.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la lecture des statistiques des portefeuilles
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class WalletStatsServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID walletId = UUID.randomUUID();
+    private final WalletBalanceService balanceService = mock(WalletBalanceService.class);
+    private final WalletStatsRepository repository = mock(WalletStatsRepository.class);
+
+    @Test
+    void servesRepeatedReadsFromTheLocalCache() {
+        when(balanceService.getBalance(userId, "XOF"))
+                .thenReturn(new WalletBalance(walletId, "XOF", "ACTIVE", 0, BigDecimal.ZERO));
+        when(repository.findTotals(walletId, "XOF")).thenReturn(new WalletStats(walletId, "XOF",
+                3, Money.of("1500", "XOF"), 2, Money.of("700", "XOF"), Money.zero("XOF")));
+        WalletStatsService service = new WalletStatsService(balanceService, repository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1));
+
+        WalletStats first = service.getStats(userId, "XOF");
+        WalletStats second = service.getStats(userId, "XOF");
+
+        assertThat(first.getTransactionCount()).isEqualTo(5);
+        assertThat(second).isSameAs(first);
+        verify(repository, times(1)).findTotals(walletId, "XOF");
+    }
+}
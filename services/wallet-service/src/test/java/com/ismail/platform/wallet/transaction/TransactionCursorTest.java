@@ -0,0 +1,40 @@
+package com.ismail.platform.wallet.transaction;
+
+import com.ismail.platform.wallet.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests du curseur opaque de l'historique des transactions
+ *
+ * @author ISMAIL Platform Team
+ * @version 1.0.0
+ */
+class TransactionCursorTest {
+
+    @Test
+    void roundTripsPositionWithMicroseconds() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000);
+        UUID id = UUID.randomUUID();
+
+        TransactionCursor decoded = TransactionCursor.decode(new TransactionCursor(createdAt, id).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        String cursor = new TransactionCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThatThrownBy(() -> TransactionCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> TransactionCursor.decode(cursor.substring(0, cursor.length() - 4)))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
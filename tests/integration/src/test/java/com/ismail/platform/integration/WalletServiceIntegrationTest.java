@@ -274,7 +274,7 @@ class WalletServiceIntegrationTest {
 
         // Envoyer la requête
         ResponseEntity<Map> response = restTemplate.exchange(
-                baseUrl + "/transactions?page=0&size=10",
+                baseUrl + "/transactions?limit=10",
                 HttpMethod.GET,
                 entity,
                 Map.class
@@ -284,7 +284,7 @@ class WalletServiceIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().get("content")).isNotNull();
-        assertThat(response.getBody().get("totalElements")).isNotNull();
+        assertThat(response.getBody().get("hasMore")).isNotNull();
     }
 
     @Test
@@ -0,0 +1,97 @@
+// Comparaison threads virtuels / pool de threads plateforme
+// Charge I/O-bound à forte concurrence sur les services auth et wallet
+//
+// Exécuter deux fois contre le même déploiement, en changeant uniquement
+// VIRTUAL_THREADS_ENABLED côté services, puis comparer les résultats :
+//   k6 run -e THREADING=platform tests/performance/virtual-threads-comparison.js
+//   k6 run -e THREADING=virtual  tests/performance/virtual-threads-comparison.js
+// Le tag "threading" permet de superposer les deux exécutions dans Grafana.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate, Trend, Counter } from 'k6/metrics';
+
+// Métriques personnalisées
+const requestSuccessRate = new Rate('request_success_rate');
+const profileDuration = new Trend('profile_duration');
+const balanceDuration = new Trend('balance_duration');
+const rejectedCount = new Counter('rejected_count');
+
+// Configuration de l'environnement
+const AUTH_URL = __ENV.AUTH_URL || 'http://localhost:8080';
+const WALLET_URL = __ENV.WALLET_URL || 'http://localhost:8081';
+const THREADING = __ENV.THREADING || 'platform';
+// Pool Tomcat par défaut : 200 threads. L'objectif est de tenir 10x en vol.
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000');
+
+// Configuration du test
+export const options = {
+  tags: { threading: THREADING },
+  scenarios: {
+    concurrency_ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '1m', target: MAX_VUS / 10 }, // Niveau du pool plateforme
+        { duration: '2m', target: MAX_VUS / 2 },
+        { duration: '3m', target: MAX_VUS },      // 10x en vol
+        { duration: '2m', target: MAX_VUS },
+        { duration: '1m', target: 0 },
+      ],
+      gracefulRampDown: '30s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    profile_duration: ['p(99)<1500'],
+    balance_duration: ['p(99)<1500'],
+  },
+};
+
+// Préparation : un compte par exécution, partagé par tous les VUs
+export function setup() {
+  const suffix = `${Date.now()}`;
+  const user = {
+    email: `vt-${THREADING}-${suffix}@ismail-platform.com`,
+    phone: `+22507${suffix.slice(-8)}`,
+    password: 'TestPassword123!',
+    confirmPassword: 'TestPassword123!',
+    firstName: 'Virtual',
+    lastName: 'Threads',
+    profileType: 'CLIENT',
+    acceptTerms: true,
+    acceptPrivacy: true,
+  };
+
+  const response = http.post(`${AUTH_URL}/api/auth/register`, JSON.stringify(user), {
+    headers: { 'Content-Type': 'application/json' },
+  });
+
+  check(response, { 'setup registration status is 201': (r) => r.status === 201 });
+  return { token: JSON.parse(response.body).accessToken };
+}
+
+export default function (data) {
+  const params = {
+    headers: {
+      'Authorization': `Bearer ${data.token}`,
+      'Content-Type': 'application/json',
+    },
+  };
+
+  // Lecture profil : validation JWT + PostgreSQL
+  const profile = http.get(`${AUTH_URL}/api/auth/profile`, params);
+  profileDuration.add(profile.timings.duration);
+
+  // Lecture solde : PostgreSQL + Redis
+  const balance = http.get(`${WALLET_URL}/api/wallet/balance`, params);
+  balanceDuration.add(balance.timings.duration);
+
+  const success = check(profile, { 'profile status is 200': (r) => r.status === 200 })
+      && check(balance, { 'balance status is 200': (r) => r.status === 200 });
+  requestSuccessRate.add(success);
+
+  if (profile.status === 503 || balance.status === 503) {
+    rejectedCount.add(1);
+  }
+}